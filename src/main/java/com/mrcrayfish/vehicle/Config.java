@@ -26,6 +26,9 @@ public class Config
         public final ForgeConfigSpec.BooleanValue forceRenderAllInteractableBoxes;
         public final ForgeConfigSpec.BooleanValue debugCamera;
         public final ForgeConfigSpec.IntValue hoseSegments;
+        public final ForgeConfigSpec.IntValue particleBudget;
+        public final ForgeConfigSpec.DoubleValue particleDistance;
+        public final ForgeConfigSpec.IntValue maxVehicleSounds;
 
         public final ForgeConfigSpec.BooleanValue immersiveCamera;
         public final ForgeConfigSpec.BooleanValue followVehicleOrientation;
@@ -62,6 +65,9 @@ public class Config
                     this.forceFirstPersonOnExit = builder.comment("If enabled, camera perspective will always be forced back to first person when exiting a vehicle.").translation(Reference.MOD_ID + ".config.client.display.force_first_person_on_exit").define("forceFirstPersonOnExit", false);
                     this.workstationAnimation = builder.comment("If true, an animation is performed while cycling vehicles in the workstation").translation(Reference.MOD_ID + ".config.client.display.workstation_animation").define("workstationAnimation", true);
                     this.hoseSegments = builder.comment("The amount of segments to use to render the hose on a gas pump. The lower the value, the better the performance but renders a less realistically looking hose").translation(Reference.MOD_ID + ".config.client.display.hose_segments").defineInRange("hoseSegments", 10, 1, 100);
+                    this.particleBudget = builder.comment("The maximum amount of particles all vehicles can spawn combined each tick. The budget is shared between vehicles, with closer and faster vehicles receiving a larger share. Set to zero to disable vehicle particles").translation(Reference.MOD_ID + ".config.client.display.particle_budget").defineInRange("particleBudget", 200, 0, 2000);
+                    this.particleDistance = builder.comment("The maximum distance in blocks from the camera that vehicles will spawn particles").translation(Reference.MOD_ID + ".config.client.display.particle_distance").defineInRange("particleDistance", 64.0, 8.0, 256.0);
+                    this.maxVehicleSounds = builder.comment("The maximum amount of engine and horn sounds from vehicles that can play at the same time. Only the loudest vehicles are heard, which prevents vehicles from using up all the sound channels").translation(Reference.MOD_ID + ".config.client.display.max_vehicle_sounds").defineInRange("maxVehicleSounds", 8, 1, 32);
 
                     builder.comment("Configuration for camera related options").push("camera");
                     {
@@ -84,6 +90,9 @@ public class Config
     {
         public final ForgeConfigSpec.BooleanValue fuelEnabled;
         public final ForgeConfigSpec.BooleanValue vehicleDamage;
+        public final ForgeConfigSpec.BooleanValue vehicleCollisions;
+        public final ForgeConfigSpec.BooleanValue sleepIdleVehicles;
+        public final ForgeConfigSpec.DoubleValue reducedTickDistance;
         public final ForgeConfigSpec.DoubleValue trailerDetachThreshold;
         public final ForgeConfigSpec.IntValue trailerSyncCooldown;
         public final ForgeConfigSpec.IntValue trailerInventorySyncCooldown;
@@ -115,10 +124,13 @@ public class Config
                 builder.comment("General configuration options").push("general");
                 this.fuelEnabled = builder.comment("If true, vehicles will require fuel for them to be driven.").translation(Reference.MOD_ID + ".config.server.fuel_enabled").define("fuelEnabled", true);
                 this.vehicleDamage = builder.comment("If true, vehicles will take damage.").translation(Reference.MOD_ID + ".config.server.vehicle_damage").define("vehicleDamage", true);
+                this.vehicleCollisions = builder.comment("If true, vehicles will collide with each other instead of passing through").translation(Reference.MOD_ID + ".config.server.vehicle_collisions").define("vehicleCollisions", true);
+                this.sleepIdleVehicles = builder.comment("If true, vehicles with no passengers that have been resting on the ground for a few seconds will stop updating until they are disturbed").translation(Reference.MOD_ID + ".config.server.sleep_idle_vehicles").define("sleepIdleVehicles", true);
+                this.reducedTickDistance = builder.comment("Vehicles with no passengers further than this distance (in blocks) from all players will only update every few ticks while on the ground. Set to 0 to disable.").translation(Reference.MOD_ID + ".config.server.reduced_tick_distance").defineInRange("reducedTickDistance", 64.0, 0.0, 1024.0);
                 this.pickUpVehicles = builder.comment("Allows players to pick up vehicles by crouching and right clicking").translation(Reference.MOD_ID + ".config.server.pick_up_vehicles").define("pickUpVehicles", true);
                 this.energyConsumptionFactor = builder.comment("Change the amount of fuel vehicles consumes by multiplying the consumption rate by this factor").translation(Reference.MOD_ID + ".config.server.fuel_consumption_modifier").defineInRange("fuelConsumptionModifier", 1.0, 0.0, Double.MAX_VALUE);
                 this.disabledVehicles = builder.comment("A list of vehicles that are prevented from being crafted in the workstation").defineList("disabledVehicles", Collections.emptyList(), o -> true);
-                this.validFuels = builder.comment("A list of fluids that can be used as fuel for vehicles").defineList("validFuels", Arrays.asList("vehicle:fuelium", "immersiveengineering:biodiesel", "immersivepetroleum:diesel"), o -> true);
+                this.validFuels = builder.comment("A list of fluids that can be used as fuel for vehicles. Fluid tags can be used by prefixing the tag with a hash, e.g. #forge:diesel").defineList("validFuels", Arrays.asList("vehicle:fuelium", "immersiveengineering:biodiesel", "immersivepetroleum:diesel"), o -> true);
                 this.globalSpeedLimit = builder.comment("The maximum speed (in blocks per second) vehicles are allowed to travel. This will prevent vehicles travelling faster than the specified amount").defineInRange("globalSpeedLimit", 100F, 0F, 100F);
                 builder.pop();
 
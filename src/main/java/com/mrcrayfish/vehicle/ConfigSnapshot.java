@@ -0,0 +1,192 @@
+package com.mrcrayfish.vehicle;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.mrcrayfish.vehicle.common.FuelIndex;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.config.ModConfig;
+
+/**
+ * An immutable snapshot of the effective values of the {@link Config}. Getting a value from a
+ * Forge config goes through the config machinery on every call, which adds up for values read
+ * every tick or every frame. Instead, all the values are copied into plain fields when a config is
+ * loaded or reloaded, and list values are parsed ahead of time.
+ *
+ * A new snapshot is created on every reload instead of updating the fields, since reloads can
+ * happen on the config watcher thread while the values are being read.
+ *
+ * Author: MrCrayfish
+ */
+public class ConfigSnapshot
+{
+    private static volatile Client client = new Client(Config.CLIENT);
+    private static volatile Server server = new Server(Config.SERVER);
+
+    public static Client client()
+    {
+        return client;
+    }
+
+    public static Server server()
+    {
+        return server;
+    }
+
+    public static void onConfigChanged(ModConfig.ModConfigEvent event)
+    {
+        ModConfig config = event.getConfig();
+        if(!config.getModId().equals(Reference.MOD_ID))
+            return;
+
+        if(config.getType() == ModConfig.Type.CLIENT)
+        {
+            client = new Client(Config.CLIENT);
+        }
+        else if(config.getType() == ModConfig.Type.SERVER)
+        {
+            server = new Server(Config.SERVER);
+            FuelIndex.instance().invalidate();
+        }
+    }
+
+    public static class Client
+    {
+        public final boolean renderOutlines;
+        public final boolean renderDebugging;
+        public final boolean reloadRayTracerEachTick;
+        public final boolean enabledLeftClick;
+        public final boolean enabledSpeedometer;
+        public final boolean autoPerspective;
+        public final boolean forceFirstPersonOnExit;
+        public final boolean workstationAnimation;
+        public final boolean reloadVehiclePropertiesEachTick;
+        public final boolean forceRenderAllInteractableBoxes;
+        public final boolean debugCamera;
+        public final int hoseSegments;
+        public final int particleBudget;
+        public final double particleDistance;
+        public final int maxVehicleSounds;
+
+        public final boolean immersiveCamera;
+        public final boolean followVehicleOrientation;
+        public final boolean useVehicleAsFocusPoint;
+        public final boolean shouldFollowYaw;
+        public final boolean shouldFollowPitch;
+        public final boolean shouldFollowRoll;
+
+        private Client(Config.Client config)
+        {
+            this.renderOutlines = config.renderOutlines.get();
+            this.renderDebugging = config.renderDebugging.get();
+            this.reloadRayTracerEachTick = config.reloadRayTracerEachTick.get();
+            this.enabledLeftClick = config.enabledLeftClick.get();
+            this.enabledSpeedometer = config.enabledSpeedometer.get();
+            this.autoPerspective = config.autoPerspective.get();
+            this.forceFirstPersonOnExit = config.forceFirstPersonOnExit.get();
+            this.workstationAnimation = config.workstationAnimation.get();
+            this.reloadVehiclePropertiesEachTick = config.reloadVehiclePropertiesEachTick.get();
+            this.forceRenderAllInteractableBoxes = config.forceRenderAllInteractableBoxes.get();
+            this.debugCamera = config.debugCamera.get();
+            this.hoseSegments = config.hoseSegments.get();
+            this.particleBudget = config.particleBudget.get();
+            this.particleDistance = config.particleDistance.get();
+            this.maxVehicleSounds = config.maxVehicleSounds.get();
+            this.immersiveCamera = config.immersiveCamera.get();
+            this.followVehicleOrientation = config.followVehicleOrientation.get();
+            this.useVehicleAsFocusPoint = config.useVehicleAsFocusPoint.get();
+            this.shouldFollowYaw = config.shouldFollowYaw.get();
+            this.shouldFollowPitch = config.shouldFollowPitch.get();
+            this.shouldFollowRoll = config.shouldFollowRoll.get();
+        }
+    }
+
+    public static class Server
+    {
+        public final boolean fuelEnabled;
+        public final boolean vehicleDamage;
+        public final boolean vehicleCollisions;
+        public final boolean sleepIdleVehicles;
+        public final double reducedTickDistance;
+        public final double trailerDetachThreshold;
+        public final int trailerSyncCooldown;
+        public final int trailerInventorySyncCooldown;
+        public final boolean pickUpVehicles;
+        public final double maxHoseDistance;
+        public final int pumpTransferAmount;
+        public final int gasPumpCapacity;
+        public final int pumpCapacity;
+        public final int extractorCapacity;
+        public final int extractorExtractTime;
+        public final int mixerInputCapacity;
+        public final int mixerOutputCapacity;
+        public final int mixerMixTime;
+        public final int fuelDrumCapacity;
+        public final int industrialFuelDrumCapacity;
+        public final double energyConsumptionFactor;
+        public final ImmutableSet<ResourceLocation> disabledVehicles;
+        public final ImmutableList<String> validFuels;
+        public final int jerryCanCapacity;
+        public final int industrialJerryCanCapacity;
+        public final int jerryCanFillRate;
+        public final int sprayCanCapacity;
+        public final double globalSpeedLimit;
+
+        private Server(Config.Server config)
+        {
+            this.fuelEnabled = config.fuelEnabled.get();
+            this.vehicleDamage = config.vehicleDamage.get();
+            this.vehicleCollisions = config.vehicleCollisions.get();
+            this.sleepIdleVehicles = config.sleepIdleVehicles.get();
+            this.reducedTickDistance = config.reducedTickDistance.get();
+            this.trailerDetachThreshold = config.trailerDetachThreshold.get();
+            this.trailerSyncCooldown = config.trailerSyncCooldown.get();
+            this.trailerInventorySyncCooldown = config.trailerInventorySyncCooldown.get();
+            this.pickUpVehicles = config.pickUpVehicles.get();
+            this.maxHoseDistance = config.maxHoseDistance.get();
+            this.pumpTransferAmount = config.pumpTransferAmount.get();
+            this.gasPumpCapacity = config.gasPumpCapacity.get();
+            this.pumpCapacity = config.pumpCapacity.get();
+            this.extractorCapacity = config.extractorCapacity.get();
+            this.extractorExtractTime = config.extractorExtractTime.get();
+            this.mixerInputCapacity = config.mixerInputCapacity.get();
+            this.mixerOutputCapacity = config.mixerOutputCapacity.get();
+            this.mixerMixTime = config.mixerMixTime.get();
+            this.fuelDrumCapacity = config.fuelDrumCapacity.get();
+            this.industrialFuelDrumCapacity = config.industrialFuelDrumCapacity.get();
+            this.energyConsumptionFactor = config.energyConsumptionFactor.get();
+            this.disabledVehicles = parseIds(config.disabledVehicles.get());
+            this.validFuels = ImmutableList.copyOf(config.validFuels.get());
+            this.jerryCanCapacity = config.jerryCanCapacity.get();
+            this.industrialJerryCanCapacity = config.industrialJerryCanCapacity.get();
+            this.jerryCanFillRate = config.jerryCanFillRate.get();
+            this.sprayCanCapacity = config.sprayCanCapacity.get();
+            this.globalSpeedLimit = config.globalSpeedLimit.get();
+        }
+
+        /**
+         * Checks if the vehicle with the given registry name has been disabled
+         */
+        public boolean isVehicleDisabled(ResourceLocation id)
+        {
+            return this.disabledVehicles.contains(id);
+        }
+    }
+
+    private static ImmutableSet<ResourceLocation> parseIds(Iterable<? extends String> entries)
+    {
+        ImmutableSet.Builder<ResourceLocation> builder = ImmutableSet.builder();
+        for(String entry : entries)
+        {
+            ResourceLocation id = ResourceLocation.tryParse(entry);
+            if(id != null)
+            {
+                builder.add(id);
+            }
+            else
+            {
+                VehicleMod.LOGGER.warn("Invalid vehicle id in config: {}", entry);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -5,6 +5,13 @@ import com.mrcrayfish.vehicle.client.model.ComponentManager;
 import com.mrcrayfish.vehicle.client.model.VehicleModels;
 import com.mrcrayfish.vehicle.common.CommonEvents;
 import com.mrcrayfish.vehicle.common.FluidNetworkHandler;
+import com.mrcrayfish.vehicle.common.PipeNetworkManager;
+import com.mrcrayfish.vehicle.common.FuelIndex;
+import com.mrcrayfish.vehicle.common.FuelingSessionHandler;
+import com.mrcrayfish.vehicle.common.TrailerHitchHandler;
+import com.mrcrayfish.vehicle.common.VehicleCollisionHandler;
+import com.mrcrayfish.vehicle.common.VehicleSleepHandler;
+import com.mrcrayfish.vehicle.common.VehicleSnapshotHandler;
 import com.mrcrayfish.vehicle.common.entity.HeldVehicleDataHandler;
 import com.mrcrayfish.vehicle.crafting.RecipeType;
 import com.mrcrayfish.vehicle.crafting.WorkstationIngredient;
@@ -73,9 +80,17 @@ public class VehicleMod
         eventBus.addListener(this::onCommonSetup);
         eventBus.addListener(this::onClientSetup);
         eventBus.addListener(this::onGatherData);
+        eventBus.addListener(ConfigSnapshot::onConfigChanged);
         MinecraftForge.EVENT_BUS.register(new CommonEvents());
         MinecraftForge.EVENT_BUS.register(new ModCommands());
         MinecraftForge.EVENT_BUS.register(FluidNetworkHandler.instance());
+        MinecraftForge.EVENT_BUS.register(PipeNetworkManager.instance());
+        MinecraftForge.EVENT_BUS.register(TrailerHitchHandler.instance());
+        MinecraftForge.EVENT_BUS.register(VehicleCollisionHandler.instance());
+        MinecraftForge.EVENT_BUS.register(VehicleSleepHandler.instance());
+        MinecraftForge.EVENT_BUS.register(FuelIndex.instance());
+        MinecraftForge.EVENT_BUS.register(FuelingSessionHandler.instance());
+        MinecraftForge.EVENT_BUS.register(VehicleSnapshotHandler.instance());
         ExtendedProperties.register(new ResourceLocation(Reference.MOD_ID, "powered"), PoweredProperties.class, PoweredProperties::new);
         ExtendedProperties.register(new ResourceLocation(Reference.MOD_ID, "land"), LandProperties.class, LandProperties::new);
         ExtendedProperties.register(new ResourceLocation(Reference.MOD_ID, "motorcycle"), MotorcycleProperties.class, MotorcycleProperties::new);
@@ -107,6 +122,6 @@ public class VehicleMod
         DataGenerator generator = event.getGenerator();
         generator.addProvider(new LootTableGen(generator));
         generator.addProvider(new RecipeGen(generator));
-        generator.addProvider(new VehiclePropertiesGen(generator));
+        generator.addProvider(new VehiclePropertiesGen(generator, event.getExistingFileHelper()));
     }
 }
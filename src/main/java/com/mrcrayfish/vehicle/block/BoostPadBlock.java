@@ -56,25 +56,18 @@ public class BoostPadBlock extends RotatedObjectBlock
     @Override
     public void entityInside(BlockState state, World worldIn, BlockPos pos, Entity entityIn)
     {
-        if(entityIn instanceof PoweredVehicleEntity && entityIn.getControllingPassenger() != null)
+        if(!(entityIn instanceof PoweredVehicleEntity))
+            return;
+
+        PoweredVehicleEntity poweredVehicle = (PoweredVehicleEntity) entityIn;
+        if(poweredVehicle.hasBoostedThisTick() || poweredVehicle.getControllingPassenger() == null)
+            return;
+
+        if(state.getValue(DIRECTION) == poweredVehicle.getDirection())
         {
-            Direction facing = state.getValue(DIRECTION);
-            if(facing == entityIn.getDirection())
+            if(poweredVehicle.boostFrom(pos))
             {
-                float speedMultiplier = 0.0F;
-                TileEntity tileEntity = worldIn.getBlockEntity(pos);
-                if(tileEntity instanceof BoostTileEntity)
-                {
-                    speedMultiplier = ((BoostTileEntity) tileEntity).getSpeedMultiplier();
-                }
-
-                PoweredVehicleEntity poweredVehicle = (PoweredVehicleEntity) entityIn;
-                if(!poweredVehicle.isBoosting())
-                {
-                    worldIn.playSound(null, pos, ModSounds.BLOCK_BOOST_PAD_BOOST.get(), SoundCategory.BLOCKS, 1.0F, 0.5F);
-                }
-                poweredVehicle.setBoosting(true);
-                poweredVehicle.setSpeedMultiplier(speedMultiplier);
+                worldIn.playSound(null, pos, ModSounds.BLOCK_BOOST_PAD_BOOST.get(), SoundCategory.BLOCKS, 1.0F, 0.5F);
             }
         }
     }
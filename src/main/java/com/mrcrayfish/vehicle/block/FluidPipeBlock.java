@@ -1,6 +1,7 @@
 package com.mrcrayfish.vehicle.block;
 
 import com.mrcrayfish.vehicle.common.FluidNetworkHandler;
+import com.mrcrayfish.vehicle.common.PipeNetworkManager;
 import com.mrcrayfish.vehicle.init.ModBlocks;
 import com.mrcrayfish.vehicle.item.WrenchItem;
 import com.mrcrayfish.vehicle.tileentity.PipeTileEntity;
@@ -189,6 +190,8 @@ public class FluidPipeBlock extends ObjectBlock
     @Override
     public void onPlace(BlockState state, World world, BlockPos pos, BlockState newState, boolean what)
     {
+        PipeNetworkManager.instance().updatePipe(world, pos, state);
+
         if(state.getBlock() == newState.getBlock())
             return;
 
@@ -211,6 +214,8 @@ public class FluidPipeBlock extends ObjectBlock
     @Override
     public void neighborChanged(BlockState state, World world, BlockPos pos, Block neighborBlock, BlockPos neighborPos, boolean p_220069_6_)
     {
+        PipeNetworkManager.instance().updatePipePower(world, pos, state);
+
         boolean disabled = this.getDisabledState(state, world, pos).getValue(DISABLED);
         if(state.getValue(DISABLED) != disabled)
         {
@@ -245,6 +250,7 @@ public class FluidPipeBlock extends ObjectBlock
     {
         if(!state.is(replaceState.getBlock()))
         {
+            PipeNetworkManager.instance().removePipe(world, pos);
             this.invalidatePipeNetwork(world, pos);
             super.onRemove(state, world, pos, replaceState, what);
         }
@@ -1,5 +1,6 @@
 package com.mrcrayfish.vehicle.block;
 
+import com.mrcrayfish.vehicle.common.PipeNetworkManager;
 import com.mrcrayfish.vehicle.init.ModItems;
 import com.mrcrayfish.vehicle.tileentity.PipeTileEntity;
 import com.mrcrayfish.vehicle.tileentity.PumpTileEntity;
@@ -124,6 +125,7 @@ public class FluidPumpBlock extends FluidPipeBlock
             {
                 ((PumpTileEntity) tileEntity).removePumpFromPipes();
             }
+            PipeNetworkManager.instance().removeNetwork(world, pos);
         }
         super.onRemove(state, world, pos, replaceState, what);
     }
@@ -1,5 +1,6 @@
 package com.mrcrayfish.vehicle.block;
 
+import com.mrcrayfish.vehicle.common.FuelingSessionHandler;
 import com.mrcrayfish.vehicle.init.ModSounds;
 import com.mrcrayfish.vehicle.tileentity.GasPumpTankTileEntity;
 import com.mrcrayfish.vehicle.tileentity.GasPumpTileEntity;
@@ -93,14 +94,14 @@ public class GasPumpBlock extends RotatedObjectBlock
             if(tileEntity instanceof GasPumpTileEntity)
             {
                 GasPumpTileEntity gasPump = (GasPumpTileEntity) tileEntity;
-                if(gasPump.getFuelingEntity() != null && gasPump.getFuelingEntity().getId() == playerEntity.getId())
+                if(FuelingSessionHandler.instance().getPump(playerEntity) == gasPump)
                 {
-                    gasPump.setFuelingEntity(null);
+                    FuelingSessionHandler.instance().endSession(playerEntity);
                     world.playSound(null, pos, ModSounds.BLOCK_GAS_PUMP_NOZZLE_PUT_DOWN.get(), SoundCategory.BLOCKS, 1.0F, 1.0F);
                 }
                 else if(state.getValue(DIRECTION).getClockWise().equals(result.getDirection()))
                 {
-                    gasPump.setFuelingEntity(playerEntity);
+                    FuelingSessionHandler.instance().startSession(playerEntity, gasPump);
                     world.playSound(null, pos, ModSounds.BLOCK_GAS_PUMP_NOZZLE_PICK_UP.get(), SoundCategory.BLOCKS, 1.0F, 1.0F);
                 }
             }
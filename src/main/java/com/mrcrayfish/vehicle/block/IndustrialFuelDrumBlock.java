@@ -1,6 +1,6 @@
 package com.mrcrayfish.vehicle.block;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.tileentity.IndustrialFuelDrumTileEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.tileentity.TileEntity;
@@ -16,7 +16,7 @@ public class IndustrialFuelDrumBlock extends FuelDrumBlock
     @Override
     public int getCapacity()
     {
-        return Config.SERVER.industrialFuelDrumCapacity.get();
+        return ConfigSnapshot.server().industrialFuelDrumCapacity;
     }
 
     @Nullable
@@ -18,7 +18,6 @@ import net.minecraft.util.Direction;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.IBlockReader;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
@@ -58,30 +57,21 @@ public class SteepBoostRampBlock extends RotatedObjectBlock
     @Override
     public void entityInside(BlockState state, World world, BlockPos pos, Entity entity)
     {
-        if(entity instanceof PoweredVehicleEntity && entity.getControllingPassenger() != null)
+        if(!(entity instanceof PoweredVehicleEntity))
+            return;
+
+        PoweredVehicleEntity poweredVehicle = (PoweredVehicleEntity) entity;
+        if(poweredVehicle.getControllingPassenger() == null)
+            return;
+
+        if(state.getValue(DIRECTION) == poweredVehicle.getDirection())
         {
-            Direction facing = state.getValue(DIRECTION);
-            if(facing == entity.getDirection())
+            /* Launching is still refreshed if another boost block already boosted the vehicle this tick */
+            if(poweredVehicle.boostFrom(pos))
             {
-                float speedMultiplier = 0.0F;
-                TileEntity tileEntity = world.getBlockEntity(pos);
-                if(tileEntity instanceof BoostTileEntity)
-                {
-                    speedMultiplier = ((BoostTileEntity) tileEntity).getSpeedMultiplier();
-                }
-
-                PoweredVehicleEntity poweredVehicle = (PoweredVehicleEntity) entity;
-                if(!poweredVehicle.isBoosting())
-                {
-                    world.playSound(null, pos, ModSounds.BLOCK_BOOST_PAD_BOOST.get(), SoundCategory.BLOCKS, 2.0F, 0.5F);
-                }
-                poweredVehicle.setBoosting(true);
-                poweredVehicle.setLaunching(3);
-                //poweredVehicle.currentSpeed = poweredVehicle.getActualMaxSpeed();
-                poweredVehicle.setSpeedMultiplier(speedMultiplier);
-                Vector3d motion = poweredVehicle.getDeltaMovement();
-                //poweredVehicle.setDeltaMovement(new Vector3d(motion.x, poweredVehicle.currentSpeed / 20F + 0.1, motion.z));
+                world.playSound(null, pos, ModSounds.BLOCK_BOOST_PAD_BOOST.get(), SoundCategory.BLOCKS, 2.0F, 0.5F);
             }
+            poweredVehicle.setLaunching(3);
         }
     }
 
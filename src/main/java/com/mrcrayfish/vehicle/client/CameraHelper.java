@@ -1,6 +1,6 @@
 package com.mrcrayfish.vehicle.client;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.util.MathUtil;
 import com.mrcrayfish.vehicle.common.Seat;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
@@ -14,32 +14,43 @@ import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.math.vector.Vector3f;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import net.minecraftforge.common.model.TransformationHelper;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
- * A helper class that manages the camera rotations for vehicles
+ * A helper class that manages the camera rotations for vehicles. The camera is updated every tick
+ * and every frame, so all the maths is done using quaternions and vectors owned by this class
+ * instead of creating new ones.
  *
  * Author: MrCrayfish
  */
 @OnlyIn(Dist.CLIENT)
 public class CameraHelper
 {
-    private static final Method SET_POSITION_METHOD = ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216775_b", double.class, double.class, double.class);
-    private static final Method MOVE_METHOD = ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216782_a", double.class, double.class, double.class);
-    private static final Method GET_MAX_MOVE_METHOD = ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216779_a", double.class);
-    private static final Field LEFT_FIELD = ObfuscationReflectionHelper.findField(ActiveRenderInfo.class, "field_216796_h");
+    /* Method handles are invoked with primitive arguments, so unlike reflection, no boxing or
+     * argument arrays are needed when calling them */
+    private static final MethodHandle SET_POSITION_METHOD = unreflect(ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216775_b", double.class, double.class, double.class));
+    private static final MethodHandle MOVE_METHOD = unreflect(ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216782_a", double.class, double.class, double.class));
+    private static final MethodHandle GET_MAX_MOVE_METHOD = unreflect(ObfuscationReflectionHelper.findMethod(ActiveRenderInfo.class, "func_216779_a", double.class));
+    private static final MethodHandle LEFT_FIELD = unreflectGetter(ObfuscationReflectionHelper.findField(ActiveRenderInfo.class, "field_216796_h"));
 
     private VehicleProperties properties;
-    private Quaternion currentRotation;
-    private Quaternion prevRotation;
+    private final Quaternion currentRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Quaternion prevRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
     private float pitchOffset;
     private float yawOffset;
 
+    // Scratch objects reused between calls
+    private final Quaternion targetRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Quaternion partialRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Quaternion localRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Quaternion axisRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Vector3f offset = new Vector3f();
+
     // Debug properties
     public float debugOffsetX;
     public float debugOffsetY;
@@ -54,28 +65,31 @@ public class CameraHelper
         this.properties = vehicle.getProperties();
         this.pitchOffset = 0F;
         this.yawOffset = 0F;
-        this.currentRotation = new Quaternion(vehicle.getViewPitch(1F), -vehicle.getViewYaw(1F), vehicle.getViewRoll(1F), true);
-        this.prevRotation = new Quaternion(this.currentRotation);
+        Quaternion rotation = new Quaternion(vehicle.getViewPitch(1F), -vehicle.getViewYaw(1F), vehicle.getViewRoll(1F), true);
+        this.currentRotation.set(rotation.i(), rotation.j(), rotation.k(), rotation.r());
+        this.prevRotation.set(this.currentRotation.i(), this.currentRotation.j(), this.currentRotation.k(), this.currentRotation.r());
     }
 
     public void tick(VehicleEntity vehicle, PointOfView pov)
     {
         float strength = this.getStrength(pov);
-        this.prevRotation = this.currentRotation;
-        Quaternion quaternion = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
-        quaternion.mul(Vector3f.YP.rotationDegrees(-vehicle.getViewYaw(1F) + (Config.CLIENT.debugCamera.get() ? this.debugOffsetYaw : 0F)));
-        quaternion.mul(Vector3f.XP.rotationDegrees(vehicle.getViewPitch(1F) + (Config.CLIENT.debugCamera.get() ? this.debugOffsetPitch : 0F)));
-        quaternion.mul(Vector3f.ZP.rotationDegrees(vehicle.getViewRoll(1F) + (Config.CLIENT.debugCamera.get() ? this.debugOffsetRoll : 0F)));
-        this.currentRotation = MathUtil.slerp(this.currentRotation, quaternion, strength);
+        boolean debug = ConfigSnapshot.client().debugCamera;
+        this.prevRotation.set(this.currentRotation.i(), this.currentRotation.j(), this.currentRotation.k(), this.currentRotation.r());
+        this.targetRotation.set(0.0F, 0.0F, 0.0F, 1.0F);
+        MathUtil.rotate(this.targetRotation, this.axisRotation, Vector3f.YP, -vehicle.getViewYaw(1F) + (debug ? this.debugOffsetYaw : 0F));
+        MathUtil.rotate(this.targetRotation, this.axisRotation, Vector3f.XP, vehicle.getViewPitch(1F) + (debug ? this.debugOffsetPitch : 0F));
+        MathUtil.rotate(this.targetRotation, this.axisRotation, Vector3f.ZP, vehicle.getViewRoll(1F) + (debug ? this.debugOffsetRoll : 0F));
+        MathUtil.slerp(this.currentRotation, this.targetRotation, strength, this.currentRotation);
     }
 
     private float getStrength(PointOfView pov)
     {
-        return (!Config.CLIENT.debugCamera.get() || this.debugEnableStrength) && pov == PointOfView.THIRD_PERSON_BACK && this.properties.getCamera().getType() != CameraProperties.Type.LOCKED ? this.properties.getCamera().getStrength() : 1.0F;
+        return (!ConfigSnapshot.client().debugCamera || this.debugEnableStrength) && pov == PointOfView.THIRD_PERSON_BACK && this.properties.getCamera().getType() != CameraProperties.Type.LOCKED ? this.properties.getCamera().getStrength() : 1.0F;
     }
 
     public void setupVanillaCamera(ActiveRenderInfo info, PointOfView pov, VehicleEntity vehicle, ClientPlayerEntity player, float partialTicks)
     {
+        MathUtil.slerp(this.prevRotation, this.currentRotation, partialTicks, this.partialRotation);
         switch(pov)
         {
             case FIRST_PERSON:
@@ -97,23 +111,16 @@ public class CameraHelper
             int index = vehicle.getSeatTracker().getSeatIndex(player.getUUID());
             if(index != -1)
             {
-                if(Config.CLIENT.followVehicleOrientation.get())
+                if(ConfigSnapshot.client().followVehicleOrientation)
                 {
                     this.setVehicleRotation(info, vehicle, player, partialTicks);
                 }
 
-                Seat seat = this.properties.getSeats().get(index);
-                Vector3d eyePos = seat.getPosition().add(0, this.properties.getAxleOffset() + this.properties.getWheelOffset(), 0).scale(this.properties.getBodyTransform().getScale()).multiply(-1, 1, 1).add(this.properties.getBodyTransform().getTranslate()).scale(0.0625);
-                eyePos = eyePos.add(0, player.getMyRidingOffset() + player.getEyeHeight(), 0);
-                Vector3f rotatedEyePos = new Vector3f(eyePos);
-                rotatedEyePos.transform(MathUtil.slerp(this.prevRotation, this.currentRotation, partialTicks));
-                float cameraX = (float) (MathHelper.lerp(partialTicks, vehicle.xo, vehicle.getX()) + rotatedEyePos.x());
-                float cameraY = (float) (MathHelper.lerp(partialTicks, vehicle.yo, vehicle.getY()) + rotatedEyePos.y());
-                float cameraZ = (float) (MathHelper.lerp(partialTicks, vehicle.zo, vehicle.getZ()) + rotatedEyePos.z());
-                SET_POSITION_METHOD.invoke(info, cameraX, cameraY, cameraZ);
+                this.setEyeOffset(this.properties.getSeats().get(index), player);
+                this.setCameraPosition(info, vehicle, partialTicks);
             }
         }
-        catch(InvocationTargetException | IllegalAccessException e)
+        catch(Throwable e)
         {
             e.printStackTrace();
         }
@@ -123,48 +130,65 @@ public class CameraHelper
     {
         try
         {
-            if(Config.CLIENT.followVehicleOrientation.get())
+            if(ConfigSnapshot.client().followVehicleOrientation)
             {
                 this.setVehicleRotation(info, vehicle, player, partialTicks);
             }
 
-            if(Config.CLIENT.useVehicleAsFocusPoint.get() && !front)
+            if(ConfigSnapshot.client().useVehicleAsFocusPoint && !front)
             {
                 Vector3d position = this.properties.getCamera().getPosition();
-                Vector3f rotatedPosition = new Vector3f(position);
-                if(Config.CLIENT.debugCamera.get()) rotatedPosition.add(this.debugOffsetX, this.debugOffsetY, this.debugOffsetZ);
-                rotatedPosition.transform(MathUtil.slerp(this.prevRotation, this.currentRotation, partialTicks));
-                float cameraX = (float) (MathHelper.lerp(partialTicks, vehicle.xo, vehicle.getX()) + rotatedPosition.x());
-                float cameraY = (float) (MathHelper.lerp(partialTicks, vehicle.yo, vehicle.getY()) + rotatedPosition.y());
-                float cameraZ = (float) (MathHelper.lerp(partialTicks, vehicle.zo, vehicle.getZ()) + rotatedPosition.z());
-                SET_POSITION_METHOD.invoke(info, cameraX, cameraY, cameraZ);
+                this.offset.set((float) position.x, (float) position.y, (float) position.z);
+                if(ConfigSnapshot.client().debugCamera) this.offset.add(this.debugOffsetX, this.debugOffsetY, this.debugOffsetZ);
+                this.setCameraPosition(info, vehicle, partialTicks);
             }
             else
             {
                 int index = vehicle.getSeatTracker().getSeatIndex(player.getUUID());
                 if(index != -1)
                 {
-                    Seat seat = this.properties.getSeats().get(index);
-                    Vector3d eyePos = seat.getPosition().add(0, this.properties.getAxleOffset() + this.properties.getWheelOffset(), 0).scale(this.properties.getBodyTransform().getScale()).multiply(-1, 1, 1).add(this.properties.getBodyTransform().getTranslate()).scale(0.0625);
-                    eyePos = eyePos.add(0, player.getMyRidingOffset() + player.getEyeHeight(), 0);
-                    Vector3f rotatedEyePos = new Vector3f(eyePos);
-                    rotatedEyePos.transform(TransformationHelper.slerp(this.prevRotation, this.currentRotation, partialTicks));
-                    float cameraX = (float) (MathHelper.lerp(partialTicks, vehicle.xo, vehicle.getX()) + rotatedEyePos.x());
-                    float cameraY = (float) (MathHelper.lerp(partialTicks, vehicle.yo, vehicle.getY()) + rotatedEyePos.y());
-                    float cameraZ = (float) (MathHelper.lerp(partialTicks, vehicle.zo, vehicle.getZ()) + rotatedEyePos.z());
-                    SET_POSITION_METHOD.invoke(info, cameraX, cameraY, cameraZ);
+                    this.setEyeOffset(this.properties.getSeats().get(index), player);
+                    this.setCameraPosition(info, vehicle, partialTicks);
                 }
             }
 
             double distance = front ? 4.0 : this.properties.getCamera().getDistance();
-            MOVE_METHOD.invoke(info, -(double) GET_MAX_MOVE_METHOD.invoke(info, distance), 0, 0);
+            double maxMove = (double) GET_MAX_MOVE_METHOD.invokeExact(info, distance);
+            MOVE_METHOD.invokeExact(info, -maxMove, 0.0, 0.0);
         }
-        catch(InvocationTargetException | IllegalAccessException e)
+        catch(Throwable e)
         {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Sets the offset to the position of the eyes of the player sitting in the given seat,
+     * relative to the origin of the vehicle before it's rotated.
+     */
+    private void setEyeOffset(Seat seat, ClientPlayerEntity player)
+    {
+        Vector3d seatPosition = seat.getPosition();
+        Vector3d translate = this.properties.getBodyTransform().getTranslate();
+        double scale = this.properties.getBodyTransform().getScale();
+        double x = -seatPosition.x * scale + translate.x;
+        double y = (seatPosition.y + this.properties.getAxleOffset() + this.properties.getWheelOffset()) * scale + translate.y;
+        double z = seatPosition.z * scale + translate.z;
+        this.offset.set((float) (x * 0.0625), (float) (y * 0.0625 + player.getMyRidingOffset() + player.getEyeHeight()), (float) (z * 0.0625));
+    }
+
+    /**
+     * Rotates the offset by the interpolated rotation of the vehicle and moves the camera to it
+     */
+    private void setCameraPosition(ActiveRenderInfo info, VehicleEntity vehicle, float partialTicks) throws Throwable
+    {
+        MathUtil.transform(this.offset, this.partialRotation);
+        double cameraX = MathHelper.lerp(partialTicks, vehicle.xo, vehicle.getX()) + this.offset.x();
+        double cameraY = MathHelper.lerp(partialTicks, vehicle.yo, vehicle.getY()) + this.offset.y();
+        double cameraZ = MathHelper.lerp(partialTicks, vehicle.zo, vehicle.getZ()) + this.offset.z();
+        SET_POSITION_METHOD.invokeExact(info, cameraX, cameraY, cameraZ);
+    }
+
     private void setVehicleRotation(ActiveRenderInfo info, VehicleEntity vehicle, ClientPlayerEntity player, float partialTicks)
     {
         try
@@ -187,46 +211,47 @@ public class CameraHelper
                 rotation.mul(Vector3f.ZP.rotationDegrees(this.getRoll(partialTicks)));
             }*/
 
-            rotation.mul(MathUtil.slerp(this.prevRotation, this.currentRotation, partialTicks));
+            rotation.mul(this.partialRotation);
 
             // Applies the player's pitch and yaw offset
-            Quaternion quaternion = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+            Quaternion quaternion = this.localRotation;
+            quaternion.set(0.0F, 0.0F, 0.0F, 1.0F);
 
             if(VehicleHelper.isThirdPersonFront())
             {
-                quaternion.mul(Vector3f.YP.rotationDegrees(180F));
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.YP, 180F);
             }
 
-            if(vehicle.canApplyYawOffset(player) && Config.CLIENT.shouldFollowYaw.get())
+            if(vehicle.canApplyYawOffset(player) && ConfigSnapshot.client().shouldFollowYaw)
             {
-                quaternion.mul(Vector3f.YP.rotationDegrees(-this.yawOffset));
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.YP, -this.yawOffset);
             }
             else
             {
-                quaternion.mul(Vector3f.YP.rotationDegrees(-player.getViewYRot(partialTicks)));
-                if(Config.CLIENT.shouldFollowYaw.get())
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.YP, -player.getViewYRot(partialTicks));
+                if(ConfigSnapshot.client().shouldFollowYaw)
                 {
-                    quaternion.mul(Vector3f.YP.rotationDegrees(vehicle.getViewYaw(partialTicks)));
+                    MathUtil.rotate(quaternion, this.axisRotation, Vector3f.YP, vehicle.getViewYaw(partialTicks));
                 }
             }
 
-            if(Config.CLIENT.shouldFollowPitch.get())
+            if(ConfigSnapshot.client().shouldFollowPitch)
             {
-                quaternion.mul(Vector3f.XP.rotationDegrees(VehicleHelper.isThirdPersonFront() ? -this.pitchOffset : this.pitchOffset));
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.XP, VehicleHelper.isThirdPersonFront() ? -this.pitchOffset : this.pitchOffset);
             }
             else
             {
-                quaternion.mul(Vector3f.XP.rotationDegrees(MathHelper.lerp(partialTicks, player.xRotO, player.xRot)));
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.XP, MathHelper.lerp(partialTicks, player.xRotO, player.xRot));
             }
 
             // If the player is in third person, applies additional vehicle specific camera rotations
-            if(Config.CLIENT.useVehicleAsFocusPoint.get() && VehicleHelper.isThirdPersonBack())
+            if(ConfigSnapshot.client().useVehicleAsFocusPoint && VehicleHelper.isThirdPersonBack())
             {
                 CameraProperties camera = vehicle.getProperties().getCamera();
                 Vector3d cameraRotation = camera.getRotation();
-                quaternion.mul(Vector3f.YP.rotationDegrees((float) cameraRotation.y));
-                quaternion.mul(Vector3f.XP.rotationDegrees((float) cameraRotation.x));
-                quaternion.mul(Vector3f.ZP.rotationDegrees((float) cameraRotation.z));
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.YP, (float) cameraRotation.y);
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.XP, (float) cameraRotation.x);
+                MathUtil.rotate(quaternion, this.axisRotation, Vector3f.ZP, (float) cameraRotation.z);
             }
 
             // Finally applies local rotations to the camera
@@ -234,17 +259,17 @@ public class CameraHelper
 
             Vector3f forward = info.getLookVector();
             forward.set(0.0F, 0.0F, 1.0F);
-            forward.transform(rotation);
+            MathUtil.transform(forward, rotation);
 
             Vector3f up = info.getUpVector();
             up.set(0.0F, 1.0F, 0.0F);
-            up.transform(rotation);
+            MathUtil.transform(up, rotation);
 
-            Vector3f left = (Vector3f) LEFT_FIELD.get(info);
+            Vector3f left = (Vector3f) LEFT_FIELD.invokeExact(info);
             left.set(1.0F, 0.0F, 0.0F);
-            left.transform(rotation);
+            MathUtil.transform(left, rotation);
         }
-        catch(IllegalAccessException e)
+        catch(Throwable e)
         {
             e.printStackTrace();
         }
@@ -257,4 +282,28 @@ public class CameraHelper
         this.pitchOffset = MathHelper.clamp(this.pitchOffset, -90F, 90F);
         this.yawOffset = MathHelper.clamp(this.yawOffset, -120F, 120F);
     }
+
+    private static MethodHandle unreflect(Method method)
+    {
+        try
+        {
+            return MethodHandles.lookup().unreflect(method);
+        }
+        catch(IllegalAccessException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MethodHandle unreflectGetter(Field field)
+    {
+        try
+        {
+            return MethodHandles.lookup().unreflectGetter(field);
+        }
+        catch(IllegalAccessException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
 }
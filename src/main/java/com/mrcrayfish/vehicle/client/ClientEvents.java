@@ -1,12 +1,15 @@
 package com.mrcrayfish.vehicle.client;
 
 import com.mrcrayfish.vehicle.client.screen.DashboardScreen;
+import com.mrcrayfish.vehicle.crafting.RecipeGeneration;
+import com.mrcrayfish.vehicle.crafting.WorkstationRecipes;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.InputEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.loading.FMLLoader;
 import org.lwjgl.glfw.GLFW;
@@ -37,6 +40,13 @@ public class ClientEvents
         }
     }
 
+    @SubscribeEvent
+    public void onRecipesUpdated(RecipesUpdatedEvent event)
+    {
+        WorkstationRecipes.invalidate(event.getRecipeManager());
+        RecipeGeneration.increment();
+    }
+
     /*@SubscribeEvent
     public void setLiquidFogDensity(EntityViewRenderEvent.FogDensity event)
     {
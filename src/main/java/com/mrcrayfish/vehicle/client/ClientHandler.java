@@ -1,6 +1,7 @@
 package com.mrcrayfish.vehicle.client;
 
 import com.mrcrayfish.vehicle.Reference;
+import com.mrcrayfish.vehicle.client.audio.VehicleSoundManager;
 import com.mrcrayfish.vehicle.client.handler.CameraHandler;
 import com.mrcrayfish.vehicle.client.handler.ControllerHandler;
 import com.mrcrayfish.vehicle.client.handler.FuelingHandler;
@@ -88,6 +89,8 @@ public class ClientHandler
         MinecraftForge.EVENT_BUS.register(EntityRayTracer.instance());
         MinecraftForge.EVENT_BUS.register(CosmeticCache.instance());
         MinecraftForge.EVENT_BUS.register(CameraHandler.instance());
+        MinecraftForge.EVENT_BUS.register(ParticleBudget.instance());
+        MinecraftForge.EVENT_BUS.register(VehicleSoundManager.instance());
         MinecraftForge.EVENT_BUS.register(new FuelingHandler());
         MinecraftForge.EVENT_BUS.register(new HeldVehicleHandler());
         MinecraftForge.EVENT_BUS.register(new InputHandler());
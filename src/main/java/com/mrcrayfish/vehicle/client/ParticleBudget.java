@@ -0,0 +1,79 @@
+package com.mrcrayfish.vehicle.client;
+
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.settings.ParticleStatus;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.vector.Vector3d;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Limits the amount of particles vehicles can spawn each tick on the client. The budget is split
+ * between vehicles by weight, where vehicles closer to the camera and travelling faster receive a
+ * larger share. Since vehicles request their share while ticking, the weights of the previous tick
+ * are used to split the budget. Vehicles beyond the configured distance receive nothing.
+ *
+ * Author: MrCrayfish
+ */
+public class ParticleBudget
+{
+    private static ParticleBudget instance;
+
+    public static ParticleBudget instance()
+    {
+        if(instance == null)
+        {
+            instance = new ParticleBudget();
+        }
+        return instance;
+    }
+
+    private double totalWeight;
+    private double pendingWeight;
+
+    private ParticleBudget() {}
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.START)
+            return;
+
+        this.totalWeight = this.pendingWeight;
+        this.pendingWeight = 0;
+    }
+
+    /**
+     * Requests the amount of particles the given vehicle is allowed to spawn this tick. This should
+     * only be called once per tick for each vehicle.
+     *
+     * @param vehicle the vehicle spawning particles
+     * @return the maximum amount of particles the vehicle can spawn this tick
+     */
+    public int request(VehicleEntity vehicle)
+    {
+        Minecraft mc = Minecraft.getInstance();
+        int budget = ConfigSnapshot.client().particleBudget;
+        if(budget <= 0 || mc.options.particles == ParticleStatus.MINIMAL)
+            return 0;
+
+        if(mc.options.particles == ParticleStatus.DECREASED)
+        {
+            budget /= 2;
+        }
+
+        double maxDistance = ConfigSnapshot.client().particleDistance;
+        Vector3d camera = mc.gameRenderer.getMainCamera().getPosition();
+        double distanceSqr = vehicle.distanceToSqr(camera);
+        if(distanceSqr >= maxDistance * maxDistance)
+            return 0;
+
+        double proximity = 1.0 - Math.sqrt(distanceSqr) / maxDistance;
+        double speed = Math.min(vehicle.getDeltaMovement().length(), 1.0);
+        double weight = proximity * proximity * (0.5 + 0.5 * speed);
+        this.pendingWeight += weight;
+        return MathHelper.ceil(budget * weight / Math.max(this.totalWeight, weight));
+    }
+}
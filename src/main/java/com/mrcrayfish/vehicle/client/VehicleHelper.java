@@ -3,9 +3,8 @@ package com.mrcrayfish.vehicle.client;
 import com.mrcrayfish.controllable.Controllable;
 import com.mrcrayfish.controllable.client.Buttons;
 import com.mrcrayfish.controllable.client.Controller;
-import com.mrcrayfish.vehicle.Config;
-import com.mrcrayfish.vehicle.client.audio.MovingEngineSound;
-import com.mrcrayfish.vehicle.client.audio.MovingHornSound;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.client.audio.VehicleSoundManager;
 import com.mrcrayfish.vehicle.client.handler.ControllerHandler;
 import com.mrcrayfish.vehicle.entity.HelicopterEntity;
 import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
@@ -13,7 +12,6 @@ import com.mrcrayfish.vehicle.init.ModParticleTypes;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.audio.ISound;
-import net.minecraft.client.audio.ITickableSound;
 import net.minecraft.client.audio.SimpleSound;
 import net.minecraft.client.particle.DiggingParticle;
 import net.minecraft.client.particle.Particle;
@@ -30,44 +28,24 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 
-import java.util.EnumMap;
-import java.util.Map;
-import java.util.WeakHashMap;
-
 /**
  * Author: MrCrayfish
  */
 public class VehicleHelper
 {
-    private static final WeakHashMap<PoweredVehicleEntity, EnumMap<SoundType, ITickableSound>> SOUND_TRACKER = new WeakHashMap<>();
-
     public static void tryPlayEngineSound(PoweredVehicleEntity vehicle)
     {
         if(vehicle.getEngineSound() != null && vehicle.getControllingPassenger() != null && vehicle.isEnginePowered())
         {
-            Map<SoundType, ITickableSound> soundMap = SOUND_TRACKER.computeIfAbsent(vehicle, v -> new EnumMap<>(SoundType.class));
-            ITickableSound sound = soundMap.get(SoundType.ENGINE);
-            if(sound == null || sound.isStopped() || !Minecraft.getInstance().getSoundManager().isActive(sound))
-            {
-                sound = new MovingEngineSound(Minecraft.getInstance().player, vehicle);
-                soundMap.put(SoundType.ENGINE, sound);
-                Minecraft.getInstance().getSoundManager().play(sound);
-            }
+            VehicleSoundManager.instance().requestEngine(vehicle);
         }
     }
 
     public static void tryPlayHornSound(PoweredVehicleEntity vehicle)
     {
-        if(vehicle.hasHorn() && vehicle.getHornSound() != null)
+        if(vehicle.hasHorn() && vehicle.getHornSound() != null && !vehicle.getPassengers().isEmpty())
         {
-            Map<SoundType, ITickableSound> soundMap = SOUND_TRACKER.computeIfAbsent(vehicle, v -> new EnumMap<>(SoundType.class));
-            ITickableSound sound = soundMap.get(SoundType.HORN);
-            if(sound == null || sound.isStopped() || !Minecraft.getInstance().getSoundManager().isActive(sound))
-            {
-                sound = new MovingHornSound(Minecraft.getInstance().player, vehicle);
-                soundMap.put(SoundType.HORN, sound);
-                Minecraft.getInstance().getSoundManager().play(sound);
-            }
+            VehicleSoundManager.instance().requestHorn(vehicle);
         }
     }
 
@@ -290,7 +268,7 @@ public class VehicleHelper
     {
         if(passenger.equals(Minecraft.getInstance().player))
         {
-            return Config.CLIENT.followVehicleOrientation.get();
+            return ConfigSnapshot.client().followVehicleOrientation;
         }
         return false;
     }
@@ -331,10 +309,4 @@ public class VehicleHelper
     {
         return Minecraft.getInstance().options.getCameraType() == PointOfView.THIRD_PERSON_FRONT;
     }
-
-    private enum SoundType
-    {
-        ENGINE,
-        HORN
-    }
 }
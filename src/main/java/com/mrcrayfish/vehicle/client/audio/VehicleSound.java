@@ -0,0 +1,155 @@
+package com.mrcrayfish.vehicle.client.audio;
+
+import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.TickableSound;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+
+/**
+ * A looping sound voice that follows a vehicle. Voices are owned by {@link VehicleSoundManager},
+ * which fades them in and out as the set of audible vehicles changes. A voice can be moved to
+ * another vehicle using the same sound, in which case it fades out before switching vehicles and
+ * fades back in afterwards, so the sound instance doesn't need to be recreated.
+ *
+ * Author: MrCrayfish
+ */
+@OnlyIn(Dist.CLIENT)
+public abstract class VehicleSound extends TickableSound
+{
+    private static final float FADE_STEP = 0.1F;
+
+    private WeakReference<PoweredVehicleEntity> vehicleRef;
+    private WeakReference<PoweredVehicleEntity> pendingVehicleRef;
+    private float gain;
+    private float targetGain = 1.0F;
+    protected float baseVolume;
+
+    protected VehicleSound(SoundEvent event, PoweredVehicleEntity vehicle)
+    {
+        super(event, SoundCategory.NEUTRAL);
+        this.vehicleRef = new WeakReference<>(vehicle);
+        this.volume = 0.0F;
+        this.looping = true;
+        this.delay = 0;
+        this.updatePosition(vehicle);
+    }
+
+    @Override
+    public boolean canStartSilent()
+    {
+        return true;
+    }
+
+    @Nullable
+    public PoweredVehicleEntity getVehicle()
+    {
+        PoweredVehicleEntity pending = this.pendingVehicleRef != null ? this.pendingVehicleRef.get() : null;
+        return pending != null ? pending : this.vehicleRef.get();
+    }
+
+    /**
+     * Moves this voice to another vehicle. The voice fades out first if it is currently audible.
+     */
+    void setVehicle(PoweredVehicleEntity vehicle)
+    {
+        if(this.vehicleRef.get() != vehicle)
+        {
+            this.pendingVehicleRef = new WeakReference<>(vehicle);
+        }
+        else
+        {
+            this.pendingVehicleRef = null;
+        }
+    }
+
+    void setTargetGain(float targetGain)
+    {
+        this.targetGain = targetGain;
+    }
+
+    /**
+     * @return true if this voice has fully faded out and isn't waiting to switch vehicles
+     */
+    boolean isSilent()
+    {
+        return this.gain <= 0F && this.targetGain <= 0F;
+    }
+
+    @Override
+    public void tick()
+    {
+        // Minecraft will still tick the sound even after stop has been called
+        if(this.isStopped())
+            return;
+
+        PoweredVehicleEntity vehicle = this.vehicleRef.get();
+        boolean switching = this.pendingVehicleRef != null;
+        float targetGain = switching || vehicle == null || !vehicle.isAlive() ? 0F : this.targetGain;
+        if(this.gain < targetGain)
+        {
+            this.gain = Math.min(targetGain, this.gain + FADE_STEP);
+        }
+        else if(this.gain > targetGain)
+        {
+            this.gain = Math.max(targetGain, this.gain - FADE_STEP);
+        }
+
+        if(switching && this.gain <= 0F)
+        {
+            vehicle = this.pendingVehicleRef.get();
+            this.vehicleRef = new WeakReference<>(vehicle);
+            this.pendingVehicleRef = null;
+            this.baseVolume = 0F;
+            if(vehicle != null)
+            {
+                this.onVehicleChanged(vehicle);
+            }
+        }
+
+        if(vehicle == null)
+        {
+            this.volume = 0F;
+            return;
+        }
+
+        this.updateSound(vehicle);
+        this.volume = this.baseVolume * this.gain;
+        this.updatePosition(vehicle);
+    }
+
+    private void updatePosition(PoweredVehicleEntity vehicle)
+    {
+        PlayerEntity player = Minecraft.getInstance().player;
+        boolean riding = player != null && vehicle.equals(player.getVehicle());
+        this.attenuation = riding ? AttenuationType.NONE : AttenuationType.LINEAR;
+        if(player != null && !riding)
+        {
+            this.x = vehicle.getX() + (player.getX() - vehicle.getX()) * 0.65;
+            this.y = vehicle.getY() + (player.getY() - vehicle.getY()) * 0.65;
+            this.z = vehicle.getZ() + (player.getZ() - vehicle.getZ()) * 0.65;
+        }
+        else
+        {
+            this.x = vehicle.getX();
+            this.y = vehicle.getY();
+            this.z = vehicle.getZ();
+        }
+    }
+
+    /**
+     * Called when this voice has switched to a different vehicle
+     */
+    protected void onVehicleChanged(PoweredVehicleEntity vehicle) {}
+
+    /**
+     * Updates the base volume and pitch of this sound from the state of the vehicle
+     */
+    protected abstract void updateSound(PoweredVehicleEntity vehicle);
+}
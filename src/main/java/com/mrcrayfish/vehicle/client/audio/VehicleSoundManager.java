@@ -0,0 +1,234 @@
+package com.mrcrayfish.vehicle.client.audio;
+
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.audio.SoundHandler;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.SoundEvent;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Manages the engine and horn sounds of vehicles. Vehicles request a voice each tick they want to
+ * be heard, and at the end of the tick only the most audible requests, based on their volume and
+ * distance to the player, are given a voice. This keeps the amount of sound channels used by
+ * vehicles bounded regardless of how many vehicles are nearby. Voices that are no longer needed
+ * fade out and are reused by other vehicles using the same sound before being released.
+ *
+ * Author: MrCrayfish
+ */
+@OnlyIn(Dist.CLIENT)
+public class VehicleSoundManager
+{
+    private static final int RELEASE_DELAY = 40;
+    private static final Comparator<Request> AUDIBILITY_SORT = Comparator.comparingDouble(request -> -request.audibility);
+
+    private static VehicleSoundManager instance;
+
+    public static VehicleSoundManager instance()
+    {
+        if(instance == null)
+        {
+            instance = new VehicleSoundManager();
+        }
+        return instance;
+    }
+
+    private final List<Request> requests = new ArrayList<>();
+    private int requestCount;
+    private final List<Voice> voices = new ArrayList<>();
+
+    private VehicleSoundManager() {}
+
+    /**
+     * Requests the engine of the given vehicle to be heard this tick
+     */
+    public void requestEngine(PoweredVehicleEntity vehicle)
+    {
+        this.request(vehicle, Type.ENGINE, vehicle.getEngineSound(), vehicle.getEngineVolume());
+    }
+
+    /**
+     * Requests the horn of the given vehicle to be heard this tick
+     */
+    public void requestHorn(PoweredVehicleEntity vehicle)
+    {
+        this.request(vehicle, Type.HORN, vehicle.getHornSound(), 1.0F);
+    }
+
+    private void request(PoweredVehicleEntity vehicle, Type type, SoundEvent event, float volume)
+    {
+        PlayerEntity player = Minecraft.getInstance().player;
+        if(event == null || player == null)
+            return;
+
+        double audibility = Double.MAX_VALUE;
+        if(!vehicle.equals(player.getVehicle()))
+        {
+            /* Sounds are played between the vehicle and the player and use linear attenuation, so
+             * this matches how loud the sound will actually be heard */
+            double range = Math.max(volume, 1.0F) * 16.0;
+            double distance = Math.sqrt(vehicle.distanceToSqr(player)) * 0.35;
+            if(distance >= range)
+                return;
+            audibility = volume * (1.0 - distance / range);
+        }
+
+        if(this.requestCount == this.requests.size())
+        {
+            this.requests.add(new Request());
+        }
+        Request request = this.requests.get(this.requestCount++);
+        request.vehicle = vehicle;
+        request.type = type;
+        request.event = event;
+        request.audibility = audibility;
+        request.assigned = false;
+    }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END)
+            return;
+
+        if(this.requestCount == 0 && this.voices.isEmpty())
+            return;
+
+        int maxVoices = ConfigSnapshot.client().maxVehicleSounds;
+        List<Request> requests = this.requests.subList(0, this.requestCount);
+        requests.sort(AUDIBILITY_SORT);
+        int audibleCount = Math.min(this.requestCount, maxVoices);
+
+        SoundHandler soundHandler = Minecraft.getInstance().getSoundManager();
+        Iterator<Voice> it = this.voices.iterator();
+        while(it.hasNext())
+        {
+            Voice voice = it.next();
+            if(voice.sound.isStopped() || !soundHandler.isActive(voice.sound))
+            {
+                it.remove();
+                continue;
+            }
+
+            Request request = this.findRequest(voice, audibleCount);
+            voice.active = request != null;
+            if(voice.active)
+            {
+                request.assigned = true;
+                voice.sound.setTargetGain(1.0F);
+                voice.idleTicks = 0;
+            }
+            else
+            {
+                voice.sound.setTargetGain(0F);
+                if(voice.sound.isSilent() && ++voice.idleTicks > RELEASE_DELAY)
+                {
+                    soundHandler.stop(voice.sound);
+                    it.remove();
+                }
+            }
+        }
+
+        for(int i = 0; i < audibleCount; i++)
+        {
+            Request request = requests.get(i);
+            if(request.assigned)
+                continue;
+
+            Voice voice = this.findReusableVoice(request);
+            if(voice != null)
+            {
+                voice.sound.setVehicle(request.vehicle);
+                voice.sound.setTargetGain(1.0F);
+                voice.active = true;
+                voice.idleTicks = 0;
+            }
+            else if(this.voices.size() < maxVoices)
+            {
+                VehicleSound sound = request.type.factory.apply(request.vehicle);
+                Voice newVoice = new Voice(request.type, sound);
+                newVoice.active = true;
+                this.voices.add(newVoice);
+                soundHandler.play(sound);
+            }
+        }
+
+        for(int i = 0; i < this.requestCount; i++)
+        {
+            this.requests.get(i).vehicle = null;
+        }
+        this.requestCount = 0;
+    }
+
+    private Request findRequest(Voice voice, int audibleCount)
+    {
+        PoweredVehicleEntity vehicle = voice.sound.getVehicle();
+        for(int i = 0; i < audibleCount; i++)
+        {
+            Request request = this.requests.get(i);
+            if(!request.assigned && request.type == voice.type && request.vehicle == vehicle)
+            {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private Voice findReusableVoice(Request request)
+    {
+        for(Voice voice : this.voices)
+        {
+            if(!voice.active && voice.type == request.type && voice.sound.getLocation().equals(request.event.getLocation()))
+            {
+                return voice;
+            }
+        }
+        return null;
+    }
+
+    private enum Type
+    {
+        ENGINE(MovingEngineSound::new),
+        HORN(MovingHornSound::new);
+
+        private final Function<PoweredVehicleEntity, VehicleSound> factory;
+
+        Type(Function<PoweredVehicleEntity, VehicleSound> factory)
+        {
+            this.factory = factory;
+        }
+    }
+
+    private static class Request
+    {
+        private PoweredVehicleEntity vehicle;
+        private Type type;
+        private SoundEvent event;
+        private double audibility;
+        private boolean assigned;
+    }
+
+    private static class Voice
+    {
+        private final Type type;
+        private final VehicleSound sound;
+        private boolean active;
+        private int idleTicks;
+
+        private Voice(Type type, VehicleSound sound)
+        {
+            this.type = type;
+            this.sound = sound;
+        }
+    }
+}
@@ -2,8 +2,9 @@ package com.mrcrayfish.vehicle.client.handler;
 
 import com.google.common.collect.ImmutableMap;
 import com.mojang.blaze3d.matrix.MatrixStack;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.CameraHelper;
+import com.mrcrayfish.vehicle.client.util.MathUtil;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.player.ClientPlayerEntity;
@@ -39,6 +40,8 @@ public class CameraHandler
     @Nullable
     private PointOfView originalPointOfView = null;
     private final CameraHelper cameraHelper = new CameraHelper();
+    private final Quaternion cameraRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
+    private final Quaternion axisRotation = new Quaternion(0.0F, 0.0F, 0.0F, 1.0F);
 
     private CameraHandler() {}
 
@@ -54,7 +57,7 @@ public class CameraHandler
     @SubscribeEvent
     public void onEntityMount(EntityMountEvent event)
     {
-        if(!Config.CLIENT.autoPerspective.get())
+        if(!ConfigSnapshot.client().autoPerspective)
             return;
 
         if(!event.getWorldObj().isClientSide())
@@ -74,7 +77,7 @@ public class CameraHandler
         }
         else
         {
-            if(Config.CLIENT.forceFirstPersonOnExit.get())
+            if(ConfigSnapshot.client().forceFirstPersonOnExit)
             {
                 Minecraft.getInstance().options.setCameraType(PointOfView.FIRST_PERSON);
             }
@@ -89,7 +92,7 @@ public class CameraHandler
     @SubscribeEvent
     public void onKeyInput(InputEvent.KeyInputEvent event)
     {
-        if(!Config.CLIENT.autoPerspective.get())
+        if(!ConfigSnapshot.client().autoPerspective)
             return;
 
         PlayerEntity player = Minecraft.getInstance().player;
@@ -136,7 +139,7 @@ public class CameraHandler
     @SubscribeEvent(receiveCanceled = true)
     public void onMountEntity(EntityMountEvent event)
     {
-        if(!Config.CLIENT.immersiveCamera.get())
+        if(!ConfigSnapshot.client().immersiveCamera)
             return;
 
         if(!event.isMounting())
@@ -155,7 +158,7 @@ public class CameraHandler
     @SubscribeEvent
     public void onPostClientTick(TickEvent.ClientTickEvent event)
     {
-        if(!Config.CLIENT.immersiveCamera.get())
+        if(!ConfigSnapshot.client().immersiveCamera)
             return;
 
         if(event.phase != TickEvent.Phase.END)
@@ -184,7 +187,7 @@ public class CameraHandler
 
     public void setupVanillaCamera(ActiveRenderInfo info, float partialTicks)
     {
-        if(!Config.CLIENT.immersiveCamera.get())
+        if(!ConfigSnapshot.client().immersiveCamera)
             return;
 
         Minecraft minecraft = Minecraft.getInstance();
@@ -206,7 +209,8 @@ public class CameraHandler
     @SuppressWarnings("unused")
     public static void setupVehicleCamera(MatrixStack matrixStack)
     {
-        if(!Config.CLIENT.immersiveCamera.get())
+        CameraHandler handler = CameraHandler.instance();
+        if(!ConfigSnapshot.client().immersiveCamera)
             return;
 
         ActiveRenderInfo info = Minecraft.getInstance().gameRenderer.getMainCamera();
@@ -215,13 +219,16 @@ public class CameraHandler
             return;
 
         // Undo the rotations created by vanilla
-        matrixStack.mulPose(Vector3f.YP.rotationDegrees(-(info.getYRot() + 180F)));
-        matrixStack.mulPose(Vector3f.XP.rotationDegrees(-info.getXRot()));
+        Quaternion quaternion = handler.cameraRotation;
+        quaternion.set(0.0F, 0.0F, 0.0F, 1.0F);
+        MathUtil.rotate(quaternion, handler.axisRotation, Vector3f.YP, -(info.getYRot() + 180F));
+        MathUtil.rotate(quaternion, handler.axisRotation, Vector3f.XP, -info.getXRot());
+        matrixStack.mulPose(quaternion);
 
         // Applies quaternion to rotate camera rather than euler angles
         Quaternion rotation = info.rotation();
-        Quaternion quaternion = new Quaternion(rotation);
-        quaternion.mul(Vector3f.YP.rotationDegrees(180F));
+        quaternion.set(rotation.i(), rotation.j(), rotation.k(), rotation.r());
+        MathUtil.rotate(quaternion, handler.axisRotation, Vector3f.YP, 180F);
         quaternion.conj();
         matrixStack.mulPose(quaternion);
     }
@@ -245,7 +252,7 @@ public class CameraHandler
     @SubscribeEvent
     public void onMouseScroll(InputEvent.MouseScrollEvent event)
     {
-        if(!Config.CLIENT.debugCamera.get())
+        if(!ConfigSnapshot.client().debugCamera)
             return;
         Minecraft minecraft = Minecraft.getInstance();
         if(minecraft.level == null)
@@ -265,7 +272,7 @@ public class CameraHandler
     @SubscribeEvent
     public void onKeyPress(InputEvent.KeyInputEvent event)
     {
-        if(!Config.CLIENT.debugCamera.get())
+        if(!ConfigSnapshot.client().debugCamera)
             return;
         Minecraft minecraft = Minecraft.getInstance();
         if(minecraft.level == null)
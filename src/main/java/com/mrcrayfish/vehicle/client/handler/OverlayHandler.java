@@ -1,7 +1,7 @@
 package com.mrcrayfish.vehicle.client.handler;
 
 import com.mojang.blaze3d.matrix.MatrixStack;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.entity.LandVehicleEntity;
 import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
 import net.minecraft.client.Minecraft;
@@ -20,11 +20,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Shows the speed and fuel of the vehicle the player is driving. The text of a stat is only rebuilt
+ * when its value changes at the precision it's displayed with, which for most of the time spent
+ * driving at a constant speed or sitting still means nothing is created at all.
+ *
  * Author: MrCrayfish
  */
 public class OverlayHandler
 {
-    private List<ITextComponent> stats = new ArrayList<>();
+    private static final DecimalFormat FORMAT = new DecimalFormat("0.00");
+
+    private final Stat speed = new Stat("BPS");
+    private final Stat fuel = new Stat("Fuel");
+    private final Stat traction = new Stat("Traction");
+    private final Stat side = new Stat("Side");
+    private final List<ITextComponent> stats = new ArrayList<>();
+    private final MatrixStack matrixStack = new MatrixStack();
 
     @SubscribeEvent
     public void onClientTick(TickEvent.ClientTickEvent event)
@@ -34,7 +45,7 @@ public class OverlayHandler
 
         this.stats.clear();
 
-        if(!Config.CLIENT.enabledSpeedometer.get())
+        if(!ConfigSnapshot.client().enabledSpeedometer)
             return;
 
         Minecraft mc = Minecraft.getInstance();
@@ -50,13 +61,11 @@ public class OverlayHandler
             return;
 
         PoweredVehicleEntity vehicle = (PoweredVehicleEntity) entity;
-        DecimalFormat format = new DecimalFormat("0.00");
-        this.addStat("BPS", format.format(vehicle.getSpeed()));
+        this.stats.add(this.speed.update(vehicle.getSpeed()));
 
         if(vehicle.requiresEnergy())
         {
-            String fuel = format.format(vehicle.getCurrentEnergy()) + "/" + format.format(vehicle.getEnergyCapacity());
-            this.addStat("Fuel", fuel);
+            this.stats.add(this.fuel.update(vehicle.getCurrentEnergy(), vehicle.getEnergyCapacity()));
         }
 
         if(!FMLLoader.isProduction())
@@ -64,33 +73,80 @@ public class OverlayHandler
             if(vehicle instanceof LandVehicleEntity)
             {
                 LandVehicleEntity landVehicle = (LandVehicleEntity) vehicle;
-                String traction = format.format(landVehicle.getTraction());
-                this.addStat("Traction", traction);
+                this.stats.add(this.traction.update(landVehicle.getTraction()));
 
                 Vector3d forward = Vector3d.directionFromRotation(landVehicle.getRotationVector());
                 float side = (float) landVehicle.getVelocity().normalize().cross(forward.normalize()).length();
-                String sideString = format.format(side);
-                this.addStat("Side", sideString);
+                this.stats.add(this.side.update(side));
             }
         }
     }
 
-    private void addStat(String label, String value)
-    {
-        this.stats.add(new StringTextComponent(label + ": ").withStyle(TextFormatting.BOLD).withStyle(TextFormatting.RESET).append(new StringTextComponent(value).withStyle(TextFormatting.YELLOW)));
-    }
-
     @SubscribeEvent
     public void onRenderTick(TickEvent.RenderTickEvent event)
     {
         if(event.phase != TickEvent.Phase.END)
             return;
 
-        MatrixStack stack = new MatrixStack();
+        if(this.stats.isEmpty())
+            return;
+
         Minecraft mc = Minecraft.getInstance();
         for(int i = 0; i < this.stats.size(); i++)
         {
-            mc.font.drawShadow(stack, this.stats.get(i), 10, 10 + 15 * i, 0xFFFFFF);
+            mc.font.drawShadow(this.matrixStack, this.stats.get(i), 10, 10 + 15 * i, 0xFFFFFF);
+        }
+    }
+
+    /**
+     * A line of the overlay. Values are compared in hundredths, the same precision they are shown
+     * with, and the text is only created again when one of them changes.
+     */
+    private static class Stat
+    {
+        private final String label;
+        private long value = Long.MIN_VALUE;
+        private long maxValue = Long.MIN_VALUE;
+        private ITextComponent text;
+
+        private Stat(String label)
+        {
+            this.label = label;
+        }
+
+        private ITextComponent update(double value)
+        {
+            long hundredths = Math.round(value * 100);
+            if(this.text == null || this.value != hundredths)
+            {
+                this.value = hundredths;
+                this.text = this.createText(format(hundredths));
+            }
+            return this.text;
+        }
+
+        private ITextComponent update(double value, double maxValue)
+        {
+            long hundredths = Math.round(value * 100);
+            long maxHundredths = Math.round(maxValue * 100);
+            if(this.text == null || this.value != hundredths || this.maxValue != maxHundredths)
+            {
+                this.value = hundredths;
+                this.maxValue = maxHundredths;
+                this.text = this.createText(format(hundredths) + "/" + format(maxHundredths));
+            }
+            return this.text;
+        }
+
+        private ITextComponent createText(String value)
+        {
+            return new StringTextComponent(this.label + ": ").withStyle(TextFormatting.BOLD).withStyle(TextFormatting.RESET).append(new StringTextComponent(value).withStyle(TextFormatting.YELLOW));
+        }
+
+        /* Formats the rounded value rather than the raw one so the text always matches the value it was compared with */
+        private static String format(long hundredths)
+        {
+            return FORMAT.format(hundredths / 100.0);
         }
     }
 }
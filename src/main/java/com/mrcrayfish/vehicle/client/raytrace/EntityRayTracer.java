@@ -4,7 +4,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mojang.blaze3d.vertex.IVertexBuilder;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.VehicleMod;
 import com.mrcrayfish.vehicle.client.event.VehicleRayTraceEvent;
 import com.mrcrayfish.vehicle.client.model.VehicleModels;
@@ -14,6 +14,7 @@ import com.mrcrayfish.vehicle.client.raytrace.data.RayTraceData;
 import com.mrcrayfish.vehicle.client.raytrace.data.ComponentModelRayTraceData;
 import com.mrcrayfish.vehicle.common.cosmetic.actions.Action;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
 import com.mrcrayfish.vehicle.network.PacketHandler;
 import com.mrcrayfish.vehicle.network.message.MessageInteractCosmetic;
 import com.mrcrayfish.vehicle.network.message.MessageInteractKey;
@@ -40,7 +41,6 @@ import net.minecraft.util.math.vector.Matrix4f;
 import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.math.vector.Vector3f;
 import net.minecraft.util.math.vector.Vector4f;
-import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.InputEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
@@ -55,6 +55,7 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -77,9 +78,16 @@ public class EntityRayTracer
 {
     private static EntityRayTracer instance;
 
-    //TODO lazy load ray trace transforms and regenerate when joining a server
     private final Map<EntityType<?>, Supplier<RayTraceTransforms>> entityRayTraceTransformSuppliers = new HashMap<>();
 
+    /**
+     * The properties and cache key the ray trace data of each entity was last built with. The data is
+     * only rebuilt when the key changes, which allows it to be reused across reconnects.
+     */
+    private final Map<EntityType<?>, VehicleProperties> entityRayTraceProperties = new HashMap<>();
+    private final Map<EntityType<?>, String> entityRayTraceKeys = new HashMap<>();
+    private int modelGeneration;
+
     /**
      * Maps raytraceable entities to maps, which map rendered model item parts to the triangles that comprise static versions of the faces of their BakedQuads
      */
@@ -127,13 +135,13 @@ public class EntityRayTracer
     }
 
     /**
-     * Clears registration data and triggers re-registration in the next client tick
+     * Invalidates the generated ray trace data of all entities. The data is not thrown away, instead
+     * the model generation is changed which causes it to be rebuilt the next time it is used.
      */
     public void clearDataForReregistration()
     {
-        this.entityRayTraceData.clear();
-        this.entityInteractableBoxData.clear();
-        this.entityCrateScalesAndOffsets.clear();
+        this.modelGeneration++;
+        this.entityRayTraceProperties.clear();
     }
 
     @Nullable
@@ -222,8 +230,8 @@ public class EntityRayTracer
      */
     public Pair<Float, Float> getCrateScaleAndOffset(EntityType<? extends VehicleEntity> entityType)
     {
-        Pair<Float, Float> scaleAndOffset = this.entityCrateScalesAndOffsets.get(entityType);
         this.initializeTransforms(entityType);
+        Pair<Float, Float> scaleAndOffset = this.entityCrateScalesAndOffsets.get(entityType);
         return scaleAndOffset == null ? SCALE_AND_OFFSET_DEFAULT : scaleAndOffset;
     }
 
@@ -352,13 +360,6 @@ public class EntityRayTracer
         }
     }
 
-    @SubscribeEvent
-    public void onClientConnect(ClientPlayerNetworkEvent.LoggedInEvent event)
-    {
-        // Clear cache when player logs in as the server may have datapacks
-        this.clearDataForReregistration();
-    }
-
     @SubscribeEvent
     public void onClientTick(InputEvent.KeyInputEvent event)
     {
@@ -389,7 +390,7 @@ public class EntityRayTracer
         boolean rightClick = event.getButton() == Minecraft.getInstance().options.keyUse.getKey().getValue();
         boolean leftClick = event.getButton() == Minecraft.getInstance().options.keyAttack.getKey().getValue();
 
-        if(!rightClick && (!Config.CLIENT.enabledLeftClick.get() || !leftClick))
+        if(!rightClick && (!ConfigSnapshot.client().enabledLeftClick || !leftClick))
             return;
 
         if(this.performRayTrace(rightClick))
@@ -432,8 +433,7 @@ public class EntityRayTracer
         Vector3d eyeVec = player.getEyePosition(1.0F);
         Vector3d forwardVec = eyeVec.add(player.getViewVector(1.0F).scale(reach));
         AxisAlignedBB box = new AxisAlignedBB(eyeVec, eyeVec).inflate(reach);
-        VehicleRayTraceResult closestRayTraceResult = null;
-        double closestDistance = Double.MAX_VALUE;
+        List<Candidate> candidates = new ArrayList<>();
         for(VehicleEntity entity : Objects.requireNonNull(minecraft.level).getEntitiesOfClass(VehicleEntity.class, box))
         {
             EntityType<T> type = (EntityType<T>) entity.getType();
@@ -443,15 +443,12 @@ public class EntityRayTracer
                  * sake, not that it does much */
                 this.initializeTransforms(type);
 
-                VehicleRayTraceResult rayTraceResult = this.rayTraceEntityRotated(entity, eyeVec, forwardVec, reach, rightClick);
-                if(rayTraceResult != null)
+                /* Only vehicles where the view ray enters the bounds of the ray trace triangles
+                 * are candidates. This also filters out any vehicles not in front of the player. */
+                double entryDistance = this.getEntryDistance(entity, eyeVec, forwardVec);
+                if(entryDistance >= 0)
                 {
-                    double distance = rayTraceResult.getDistanceToEyes();
-                    if(distance < closestDistance)
-                    {
-                        closestRayTraceResult = rayTraceResult;
-                        closestDistance = distance;
-                    }
+                    candidates.add(new Candidate(entity, entryDistance));
                 }
             }
             else
@@ -459,6 +456,28 @@ public class EntityRayTracer
                 VehicleMod.LOGGER.warn("The vehicle '" + type.getRegistryName() + "' does not have any registered ray trace transforms.");
             }
         }
+
+        /* Trace the candidates from nearest to furthest entry distance. Once a hit is found that is
+         * closer than where the ray enters the next candidate, the remaining ones can't be closer */
+        candidates.sort(Comparator.comparingDouble(Candidate::getEntryDistance));
+        VehicleRayTraceResult closestRayTraceResult = null;
+        double closestDistance = Double.MAX_VALUE;
+        for(Candidate candidate : candidates)
+        {
+            if(candidate.getEntryDistance() >= closestDistance)
+                break;
+
+            VehicleRayTraceResult rayTraceResult = this.rayTraceEntityRotated(candidate.getEntity(), eyeVec, forwardVec, reach, rightClick);
+            if(rayTraceResult != null)
+            {
+                double distance = rayTraceResult.getDistanceToEyes();
+                if(distance < closestDistance)
+                {
+                    closestRayTraceResult = rayTraceResult;
+                    closestDistance = distance;
+                }
+            }
+        }
         if(closestRayTraceResult != null)
         {
             double eyeDistance = closestRayTraceResult.getDistanceToEyes();
@@ -512,19 +531,103 @@ public class EntityRayTracer
         return null;
     }
 
-    private <T extends VehicleEntity> void initializeTransforms(EntityType<T> type)
+    /**
+     * Gets the distance from the eyes to where the ray enters the bounds of the entity's ray trace
+     * triangles. The bounds are a box around a sphere that contains every triangle that will be
+     * traced, including the dynamic triangles and active interaction boxes, so they hold no matter
+     * how the entity is rotated.
+     *
+     * @param entity     the vehicle entity
+     * @param eyeVec     position of the player's eyes
+     * @param forwardVec eyeVec extended by reach distance in the direction the player is looking in
+     * @return the entry distance or -1 if the ray misses the bounds
+     */
+    private double getEntryDistance(VehicleEntity entity, Vector3d eyeVec, Vector3d forwardVec)
     {
-        if(!this.entityRayTraceData.containsKey(type))
+        double radius = this.getRayTraceRadius(entity);
+        Vector3d pos = entity.position();
+        AxisAlignedBB bounds = new AxisAlignedBB(pos.x - radius, pos.y - radius, pos.z - radius, pos.x + radius, pos.y + radius, pos.z + radius);
+        if(bounds.contains(eyeVec))
         {
-            List<MatrixTransform> transforms = new ArrayList<>();
-            TransformHelper.createBodyTransforms(transforms, type);
-            HashMap<RayTraceData, List<MatrixTransform>> parts = Maps.newHashMap();
-            RayTraceTransforms rayTraceTransforms = this.entityRayTraceTransformSuppliers.get(type).get();
-            rayTraceTransforms.load(this, transforms, parts);
-            this.generateEntityTriangles(type, parts);
-            this.generateScalingAndOffset(type);
-            this.generateInteractableBoxes(type, transforms);
+            return 0;
         }
+        return bounds.clip(eyeVec, forwardVec).map(hit -> hit.distanceTo(eyeVec)).orElse(-1.0);
+    }
+
+    /**
+     * Gets the distance from the origin of the entity to the furthest point of the triangles that
+     * are traced by {@link #rayTraceEntityRotated}
+     */
+    private double getRayTraceRadius(VehicleEntity entity)
+    {
+        float radius = getRadius(entity, this.entityRayTraceData.get(entity.getType()));
+        radius = Math.max(radius, getRadius(entity, this.getApplicableInteractableBoxes(entity)));
+        Function<VehicleEntity, List<RayTraceData>> function = this.entityDynamicRayTraceData.get(entity.getType());
+        if(function != null)
+        {
+            radius = Math.max(radius, getRadius(entity, function.apply(entity)));
+        }
+        return radius;
+    }
+
+    private static float getRadius(VehicleEntity entity, @Nullable List<RayTraceData> dataList)
+    {
+        float radius = 0;
+        if(dataList != null)
+        {
+            for(RayTraceData data : dataList)
+            {
+                ITriangleList triangleList = data.getTriangleList();
+                if(triangleList != null)
+                {
+                    radius = Math.max(radius, triangleList.getRadius(data, entity));
+                }
+            }
+        }
+        return radius;
+    }
+
+    /**
+     * Builds the ray trace data for the given entity type if it doesn't exist or is out of date. The
+     * data is considered out of date if the vehicle properties or models have changed since it was
+     * built, for example when joining a server that has datapacks.
+     */
+    private <T extends VehicleEntity> void initializeTransforms(EntityType<T> type)
+    {
+        Supplier<RayTraceTransforms> supplier = this.entityRayTraceTransformSuppliers.get(type);
+        if(supplier == null)
+            return;
+
+        VehicleProperties properties = VehicleProperties.get(type);
+        if(this.entityRayTraceProperties.get(type) == properties)
+            return;
+
+        String key = this.createTransformsKey(properties);
+        this.entityRayTraceProperties.put(type, properties);
+        if(this.entityRayTraceData.containsKey(type) && key.equals(this.entityRayTraceKeys.get(type)))
+            return;
+
+        long startTime = System.nanoTime();
+        List<MatrixTransform> transforms = new ArrayList<>();
+        TransformHelper.createBodyTransforms(transforms, type);
+        HashMap<RayTraceData, List<MatrixTransform>> parts = Maps.newHashMap();
+        RayTraceTransforms rayTraceTransforms = supplier.get();
+        rayTraceTransforms.load(this, transforms, parts);
+        this.generateEntityTriangles(type, parts);
+        this.generateScalingAndOffset(type);
+        this.generateInteractableBoxes(type, transforms);
+        this.entityRayTraceKeys.put(type, key);
+        VehicleMod.LOGGER.debug("Built ray trace data for '{}' in {}ms", type.getRegistryName(), (System.nanoTime() - startTime) / 1000000.0);
+    }
+
+    /**
+     * Creates a key that represents the state used to build the ray trace data of a vehicle, which
+     * is the current generation of the models and the serialized vehicle properties. The whole
+     * serialized properties are used rather than a hash, so different properties never share data.
+     */
+    private String createTransformsKey(VehicleProperties properties)
+    {
+        return this.modelGeneration + ":" + VehicleProperties.GSON.toJson(properties);
     }
 
     private <T extends VehicleEntity> void generateScalingAndOffset(EntityType<T> type)
@@ -557,6 +660,7 @@ public class EntityRayTracer
 
     private <T extends VehicleEntity> void generateInteractableBoxes(EntityType<T> type, List<MatrixTransform> transforms)
     {
+        this.entityInteractableBoxData.remove(type);
         Optional.ofNullable(this.entityInteractableBoxes.get(type)).ifPresent(list ->
         {
             list.forEach(box ->
@@ -702,7 +806,7 @@ public class EntityRayTracer
 
     public <T extends VehicleEntity> void renderRayTraceElements(T entity, MatrixStack matrixStack, IRenderTypeBuffer renderTypeBuffer, float yaw)
     {
-        if(!Config.CLIENT.renderOutlines.get())
+        if(!ConfigSnapshot.client().renderOutlines)
             return;
 
         matrixStack.pushPose();
@@ -740,7 +844,7 @@ public class EntityRayTracer
         {
             list.forEach(data ->
             {
-                if(!Config.CLIENT.forceRenderAllInteractableBoxes.get() && data instanceof InteractableBoxRayTraceData)
+                if(!ConfigSnapshot.client().forceRenderAllInteractableBoxes && data instanceof InteractableBoxRayTraceData)
                 {
                     InteractableBoxRayTraceData interactableBoxData = (InteractableBoxRayTraceData) data;
                     if(!interactableBoxData.getInteractableBox().isActive(entity))
@@ -915,4 +1019,29 @@ public class EntityRayTracer
         }
         return false;
     }
+
+    /**
+     * A vehicle that may be hit by the ray trace and the distance at which the ray enters its bounds
+     */
+    private static class Candidate
+    {
+        private final VehicleEntity entity;
+        private final double entryDistance;
+
+        private Candidate(VehicleEntity entity, double entryDistance)
+        {
+            this.entity = entity;
+            this.entryDistance = entryDistance;
+        }
+
+        public VehicleEntity getEntity()
+        {
+            return this.entity;
+        }
+
+        public double getEntryDistance()
+        {
+            return this.entryDistance;
+        }
+    }
 }
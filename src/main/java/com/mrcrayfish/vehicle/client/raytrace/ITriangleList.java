@@ -13,4 +13,11 @@ public interface ITriangleList
     List<Triangle> getTriangles(RayTraceData data, Entity entity);
 
     List<Triangle> getTriangles();
+
+    /**
+     * Gets the distance from the origin of the entity to the furthest point of the triangles
+     * returned by {@link #getTriangles(RayTraceData, Entity)}. This may be larger than the exact
+     * distance but never smaller.
+     */
+    float getRadius(RayTraceData data, Entity entity);
 }
@@ -1,7 +1,6 @@
 package com.mrcrayfish.vehicle.client.raytrace;
 
 import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
 import com.mrcrayfish.vehicle.client.handler.ControllerHandler;
 import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
 import com.mrcrayfish.vehicle.init.ModDataKeys;
@@ -61,7 +60,7 @@ public interface RayTraceFunction
             GasPumpTankTileEntity gasPumpTank = (GasPumpTankTileEntity) tileEntity;
             FluidTank tank = gasPumpTank.getFluidTank();
             FluidStack stack = tank.getFluid();
-            if(stack.isEmpty() || !Config.SERVER.validFuels.get().contains(stack.getFluid().getRegistryName().toString()))
+            if(!poweredVehicle.isValidFuel(stack))
                 break gasPump;
 
             if(rayTracer.getContinuousInteractionTickCounter() % 2 == 0)
@@ -83,7 +82,7 @@ public interface RayTraceFunction
 
             IFluidHandlerItem handler = optional.get();
             FluidStack fluidStack = handler.getFluidInTank(0);
-            if(fluidStack.isEmpty() || !Config.SERVER.validFuels.get().contains(fluidStack.getFluid().getRegistryName().toString()))
+            if(!poweredVehicle.isValidFuel(fluidStack))
                 continue;
 
             if(rayTracer.getContinuousInteractionTickCounter() % 2 == 0)
@@ -0,0 +1,81 @@
+package com.mrcrayfish.vehicle.client.raytrace;
+
+import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraft.util.math.vector.Vector4f;
+
+import java.util.List;
+
+/**
+ * An axis aligned box around a list of triangles. This is used to find how far the triangles of a
+ * vehicle can reach from its origin, without transforming every triangle.
+ *
+ * Author: MrCrayfish
+ */
+public class TriangleBounds
+{
+    private final float minX, minY, minZ;
+    private final float maxX, maxY, maxZ;
+
+    private TriangleBounds(float minX, float minY, float minZ, float maxX, float maxY, float maxZ)
+    {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    public static TriangleBounds of(List<Triangle> triangles)
+    {
+        if(triangles.isEmpty())
+        {
+            return new TriangleBounds(0, 0, 0, 0, 0, 0);
+        }
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE, maxZ = -Float.MAX_VALUE;
+        for(Triangle triangle : triangles)
+        {
+            float[] vertices = triangle.getVertices();
+            for(int i = 0; i < vertices.length; i += 3)
+            {
+                minX = Math.min(minX, vertices[i]);
+                minY = Math.min(minY, vertices[i + 1]);
+                minZ = Math.min(minZ, vertices[i + 2]);
+                maxX = Math.max(maxX, vertices[i]);
+                maxY = Math.max(maxY, vertices[i + 1]);
+                maxZ = Math.max(maxZ, vertices[i + 2]);
+            }
+        }
+        return new TriangleBounds(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Gets the distance from the origin to the furthest corner of the bounds. A sphere with this
+     * radius contains the triangles no matter how they are rotated around the origin.
+     */
+    public float getRadius()
+    {
+        float x = Math.max(Math.abs(this.minX), Math.abs(this.maxX));
+        float y = Math.max(Math.abs(this.minY), Math.abs(this.maxY));
+        float z = Math.max(Math.abs(this.minZ), Math.abs(this.maxZ));
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Gets the distance from the origin to the furthest corner of the bounds once transformed by
+     * the given matrix.
+     */
+    public float getRadius(Matrix4f matrix)
+    {
+        float radius = 0;
+        Vector4f corner = new Vector4f();
+        for(int i = 0; i < 8; i++)
+        {
+            corner.set((i & 1) == 0 ? this.minX : this.maxX, (i & 2) == 0 ? this.minY : this.maxY, (i & 4) == 0 ? this.minZ : this.maxZ, 1.0F);
+            corner.transform(matrix);
+            radius = Math.max(radius, corner.x() * corner.x() + corner.y() * corner.y() + corner.z() * corner.z());
+        }
+        return (float) Math.sqrt(radius);
+    }
+}
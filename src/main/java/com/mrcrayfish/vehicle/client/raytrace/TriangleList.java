@@ -14,6 +14,7 @@ public class TriangleList implements ITriangleList
 {
     private final List<Triangle> triangles;
     private final BiFunction<RayTraceData, Entity, Matrix4f> dynamicMatrix;
+    private TriangleBounds bounds;
 
     public TriangleList(List<Triangle> triangles)
     {
@@ -59,4 +60,14 @@ public class TriangleList implements ITriangleList
     {
         return this.triangles;
     }
+
+    @Override
+    public float getRadius(RayTraceData data, Entity entity)
+    {
+        if(this.bounds == null)
+        {
+            this.bounds = TriangleBounds.of(this.triangles);
+        }
+        return this.dynamicMatrix != null ? this.bounds.getRadius(this.dynamicMatrix.apply(data, entity)) : this.bounds.getRadius();
+    }
 }
@@ -8,6 +8,7 @@ import com.mrcrayfish.vehicle.client.raytrace.MatrixTransform;
 import com.mrcrayfish.vehicle.client.raytrace.RayTraceFunction;
 import com.mrcrayfish.vehicle.client.raytrace.TransformHelper;
 import com.mrcrayfish.vehicle.client.raytrace.Triangle;
+import com.mrcrayfish.vehicle.client.raytrace.TriangleBounds;
 import com.mrcrayfish.vehicle.client.render.complex.ComplexModel;
 import com.mrcrayfish.vehicle.client.render.complex.transforms.Transform;
 import com.mrcrayfish.vehicle.common.CosmeticTracker;
@@ -70,6 +71,7 @@ public class CosmeticRayTraceData extends RayTraceData
     {
         private final Matrix4f baseMatrix;
         private final List<Pair<List<Triangle>, BiFunction<RayTraceData, Entity, Matrix4f>>> matrixPairs = new ArrayList<>();
+        private List<TriangleBounds> bounds;
 
         public CosmeticTriangleList(ComponentModel model, Matrix4f baseMatrix)
         {
@@ -143,5 +145,21 @@ public class CosmeticRayTraceData extends RayTraceData
         {
             return Collections.emptyList();
         }
+
+        @Override
+        public float getRadius(RayTraceData data, Entity entity)
+        {
+            if(this.bounds == null)
+            {
+                this.bounds = new ArrayList<>();
+                this.matrixPairs.forEach(pair -> this.bounds.add(TriangleBounds.of(pair.getLeft())));
+            }
+            float radius = 0;
+            for(int i = 0; i < this.matrixPairs.size(); i++)
+            {
+                radius = Math.max(radius, this.bounds.get(i).getRadius(this.matrixPairs.get(i).getRight().apply(data, entity)));
+            }
+            return radius;
+        }
     }
 }
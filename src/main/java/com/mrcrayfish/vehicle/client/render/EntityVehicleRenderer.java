@@ -2,7 +2,7 @@ package com.mrcrayfish.vehicle.client.render;
 
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mojang.blaze3d.systems.RenderSystem;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.raytrace.EntityRayTracer;
 import com.mrcrayfish.vehicle.common.entity.Transform;
 import com.mrcrayfish.vehicle.entity.EntityJack;
@@ -74,7 +74,7 @@ public class EntityVehicleRenderer<T extends VehicleEntity> extends EntityRender
 
     private void drawDebugging(T entity, MatrixStack stack)
     {
-        if(!Config.CLIENT.renderDebugging.get())
+        if(!ConfigSnapshot.client().renderDebugging)
             return;
 
         if(entity instanceof PoweredVehicleEntity)
@@ -10,6 +10,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mrcrayfish.vehicle.VehicleMod;
 import com.mrcrayfish.vehicle.client.model.IComplexModel;
 import com.mrcrayfish.vehicle.client.render.complex.transforms.Rotate;
 import com.mrcrayfish.vehicle.client.render.complex.transforms.Transform;
@@ -17,12 +18,9 @@ import com.mrcrayfish.vehicle.client.render.complex.transforms.Translate;
 import com.mrcrayfish.vehicle.client.render.complex.value.Dynamic;
 import com.mrcrayfish.vehicle.client.render.complex.value.Static;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
-import com.mrcrayfish.vehicle.util.RenderUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.IRenderTypeBuffer;
 import net.minecraft.client.renderer.model.IBakedModel;
-import net.minecraft.client.renderer.model.ItemCameraTransforms;
-import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.IResource;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
@@ -59,6 +57,7 @@ public class ComplexModel
     private final List<Transform> transforms;
     private final List<ComplexModel> children;
     private IBakedModel cachedModel;
+    private ModelProgram program;
 
     public ComplexModel(ResourceLocation modelLocation, List<Transform> transforms, List<ComplexModel> children)
     {
@@ -69,13 +68,20 @@ public class ComplexModel
 
     public void render(VehicleEntity entity, MatrixStack matrixStack, IRenderTypeBuffer renderTypeBuffer, float partialTicks, int color, int light)
     {
-        this.transforms.forEach(transform -> transform.apply(entity, matrixStack, partialTicks));
-        RenderUtil.renderColoredModel(this.getModel(), ItemCameraTransforms.TransformType.NONE, false, matrixStack, renderTypeBuffer, color, light, OverlayTexture.NO_OVERLAY);
-        this.children.forEach(model -> {
-            matrixStack.pushPose();
-            model.render(entity, matrixStack, renderTypeBuffer, partialTicks, color, light);
-            matrixStack.popPose();
-        });
+        this.getProgram().render(entity, matrixStack, renderTypeBuffer, partialTicks, color, light);
+    }
+
+    /**
+     * Gets the compiled program of this model and its children. Loaded models are compiled
+     * straight away, otherwise the program is compiled the first time it is needed.
+     */
+    public ModelProgram getProgram()
+    {
+        if(this.program == null)
+        {
+            this.program = ModelProgram.compile(this);
+        }
+        return this.program;
     }
 
     public final IBakedModel getModel()
@@ -153,7 +159,12 @@ public class ComplexModel
             {
                 IResource resource = minecraft.getResourceManager().getResource(complexLocation);
                 Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
-                return JSONUtils.fromJson(GSON, reader, ComplexModel.class);
+                ComplexModel complexModel = JSONUtils.fromJson(GSON, reader, ComplexModel.class);
+                if(complexModel != null)
+                {
+                    VehicleMod.LOGGER.debug("Compiled complex model '{}' into {} instructions", modelLocation, complexModel.getProgram().getLength());
+                }
+                return complexModel;
             }
         }
         catch(JsonParseException | ResourceLocationException | IOException e)
@@ -0,0 +1,218 @@
+package com.mrcrayfish.vehicle.client.render.complex;
+
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mrcrayfish.vehicle.client.render.complex.value.IValue;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import com.mrcrayfish.vehicle.util.RenderUtil;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.model.ItemCameraTransforms;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.util.math.vector.Matrix3f;
+import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraft.util.math.vector.Quaternion;
+import net.minecraft.util.math.vector.Vector3f;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A complex model compiled into a flat list of instructions. Instead of walking the tree of models
+ * and evaluating every transform each frame, consecutive transforms that only use constant values
+ * are folded into a single precomputed matrix, and only the transforms using dynamic values are
+ * evaluated when rendering.
+ *
+ * Author: MrCrayfish
+ */
+public class ModelProgram
+{
+    private static final int MATRIX = 0;
+    private static final int TRANSLATE = 1;
+    private static final int ROTATE_X = 2;
+    private static final int ROTATE_Y = 3;
+    private static final int ROTATE_Z = 4;
+    private static final int PUSH = 5;
+    private static final int POP = 6;
+    private static final int RENDER = 7;
+
+    private final int[] code;
+    private final IValue[] values;
+    private final float[] scales;
+    private final Matrix4f[] poses;
+    private final Matrix3f[] normals;
+    private final ComplexModel[] models;
+    private final Quaternion rotation = new Quaternion(0F, 0F, 0F, 1F);
+
+    private ModelProgram(Builder builder)
+    {
+        this.code = ArrayUtils.toPrimitive(builder.code.toArray(new Integer[0]));
+        this.values = builder.values.toArray(new IValue[0]);
+        this.scales = ArrayUtils.toPrimitive(builder.scales.toArray(new Float[0]));
+        this.poses = builder.poses.toArray(new Matrix4f[0]);
+        this.normals = builder.normals.toArray(new Matrix3f[0]);
+        this.models = builder.models.toArray(new ComplexModel[0]);
+    }
+
+    /**
+     * Compiles the given complex model and all of its children into a program
+     */
+    public static ModelProgram compile(ComplexModel model)
+    {
+        Builder builder = new Builder();
+        builder.compile(model);
+        return new ModelProgram(builder);
+    }
+
+    public void render(VehicleEntity entity, MatrixStack matrixStack, IRenderTypeBuffer renderTypeBuffer, float partialTicks, int color, int light)
+    {
+        for(int i = 0; i < this.code.length; i += 2)
+        {
+            int operand = this.code[i + 1];
+            switch(this.code[i])
+            {
+                case MATRIX:
+                    MatrixStack.Entry last = matrixStack.last();
+                    last.pose().multiply(this.poses[operand]);
+                    last.normal().mul(this.normals[operand]);
+                    break;
+                case TRANSLATE:
+                    float scale = this.scales[operand];
+                    double x = this.values[operand].getValue(entity, partialTicks) * scale;
+                    double y = this.values[operand + 1].getValue(entity, partialTicks) * scale;
+                    double z = this.values[operand + 2].getValue(entity, partialTicks) * scale;
+                    matrixStack.translate(x, y, z);
+                    break;
+                case ROTATE_X:
+                case ROTATE_Y:
+                case ROTATE_Z:
+                    float angle = (float) Math.toRadians(this.values[operand].getValue(entity, partialTicks)) * 0.5F;
+                    float sin = (float) Math.sin(angle);
+                    int axis = this.code[i] - ROTATE_X;
+                    this.rotation.set(axis == 0 ? sin : 0F, axis == 1 ? sin : 0F, axis == 2 ? sin : 0F, (float) Math.cos(angle));
+                    matrixStack.mulPose(this.rotation);
+                    break;
+                case PUSH:
+                    matrixStack.pushPose();
+                    break;
+                case POP:
+                    matrixStack.popPose();
+                    break;
+                case RENDER:
+                    RenderUtil.renderColoredModel(this.models[operand].getModel(), ItemCameraTransforms.TransformType.NONE, false, matrixStack, renderTypeBuffer, color, light, OverlayTexture.NO_OVERLAY);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return the amount of instructions in this program
+     */
+    public int getLength()
+    {
+        return this.code.length / 2;
+    }
+
+    /**
+     * Builds a program from the transforms of a complex model. Transforms emit their operations
+     * through {@link #translate} and {@link #rotate}, and constant operations are accumulated until
+     * a dynamic operation or the end of the transforms of a model is reached.
+     */
+    public static class Builder
+    {
+        private final List<Integer> code = new ArrayList<>();
+        private final List<IValue> values = new ArrayList<>();
+        private final List<Float> scales = new ArrayList<>();
+        private final List<Matrix4f> poses = new ArrayList<>();
+        private final List<Matrix3f> normals = new ArrayList<>();
+        private final List<ComplexModel> models = new ArrayList<>();
+        private MatrixStack pending = new MatrixStack();
+        private boolean hasPending;
+
+        private Builder() {}
+
+        private void compile(ComplexModel model)
+        {
+            model.getTransforms().forEach(transform -> transform.compile(this));
+            this.flush();
+            this.emit(RENDER, this.models.size());
+            this.models.add(model);
+            for(ComplexModel child : model.getChildren())
+            {
+                this.emit(PUSH, 0);
+                this.compile(child);
+                this.emit(POP, 0);
+            }
+        }
+
+        /**
+         * Adds a translation to the program. The values are multiplied by the given scale.
+         */
+        public void translate(IValue x, IValue y, IValue z, float scale)
+        {
+            if(x.isConstant() && y.isConstant() && z.isConstant())
+            {
+                double dx = x.getValue(null, 0F) * scale;
+                double dy = y.getValue(null, 0F) * scale;
+                double dz = z.getValue(null, 0F) * scale;
+                if(dx != 0 || dy != 0 || dz != 0)
+                {
+                    this.pending.translate(dx, dy, dz);
+                    this.hasPending = true;
+                }
+                return;
+            }
+            this.flush();
+            this.emit(TRANSLATE, this.values.size());
+            this.values.add(x);
+            this.values.add(y);
+            this.values.add(z);
+            this.scales.add(scale);
+            this.scales.add(scale);
+            this.scales.add(scale);
+        }
+
+        /**
+         * Adds a rotation in degrees around the given axis to the program. Only the positive unit
+         * axes are supported.
+         */
+        public void rotate(Vector3f axis, IValue angle)
+        {
+            if(angle.isConstant())
+            {
+                float degrees = (float) angle.getValue(null, 0F);
+                if(degrees != 0F)
+                {
+                    this.pending.mulPose(axis.rotationDegrees(degrees));
+                    this.hasPending = true;
+                }
+                return;
+            }
+            this.flush();
+            int op = axis == Vector3f.XP ? ROTATE_X : axis == Vector3f.YP ? ROTATE_Y : axis == Vector3f.ZP ? ROTATE_Z : -1;
+            if(op == -1)
+            {
+                throw new IllegalArgumentException("Only the positive unit axes are supported");
+            }
+            this.emit(op, this.values.size());
+            this.values.add(angle);
+            this.scales.add(1.0F);
+        }
+
+        private void flush()
+        {
+            if(!this.hasPending)
+                return;
+            this.emit(MATRIX, this.poses.size());
+            this.poses.add(this.pending.last().pose().copy());
+            this.normals.add(this.pending.last().normal().copy());
+            this.pending = new MatrixStack();
+            this.hasPending = false;
+        }
+
+        private void emit(int op, int operand)
+        {
+            this.code.add(op);
+            this.code.add(operand);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mrcrayfish.vehicle.client.raytrace.MatrixTransform;
+import com.mrcrayfish.vehicle.client.render.complex.ModelProgram;
 import com.mrcrayfish.vehicle.client.render.complex.value.Dynamic;
 import com.mrcrayfish.vehicle.client.render.complex.value.IValue;
 import com.mrcrayfish.vehicle.client.render.complex.value.Static;
@@ -44,6 +45,14 @@ public class Rotate implements Transform
         return MatrixTransform.rotate(new Quaternion((float) this.x.getValue(entity, partialTicks), (float) this.y.getValue(entity, partialTicks), (float) this.z.getValue(entity, partialTicks), true));
     }
 
+    @Override
+    public void compile(ModelProgram.Builder builder)
+    {
+        builder.rotate(Vector3f.XP, this.x);
+        builder.rotate(Vector3f.YP, this.y);
+        builder.rotate(Vector3f.ZP, this.z);
+    }
+
     public static class Deserializer implements JsonDeserializer<Rotate>
     {
         @Override
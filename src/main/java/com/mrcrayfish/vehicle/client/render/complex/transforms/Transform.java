@@ -2,6 +2,7 @@ package com.mrcrayfish.vehicle.client.render.complex.transforms;
 
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mrcrayfish.vehicle.client.raytrace.MatrixTransform;
+import com.mrcrayfish.vehicle.client.render.complex.ModelProgram;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
 
 /**
@@ -12,4 +13,9 @@ public interface Transform
     void apply(VehicleEntity entity, MatrixStack stack, float partialTicks);
 
     MatrixTransform create(VehicleEntity entity, float partialTicks);
+
+    /**
+     * Adds the operations of this transform to a compiled complex model
+     */
+    void compile(ModelProgram.Builder builder);
 }
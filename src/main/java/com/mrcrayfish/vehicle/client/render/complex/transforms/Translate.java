@@ -7,6 +7,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mrcrayfish.vehicle.client.raytrace.MatrixTransform;
+import com.mrcrayfish.vehicle.client.render.complex.ModelProgram;
 import com.mrcrayfish.vehicle.client.render.complex.value.Dynamic;
 import com.mrcrayfish.vehicle.client.render.complex.value.IValue;
 import com.mrcrayfish.vehicle.client.render.complex.value.Static;
@@ -40,6 +41,12 @@ public class Translate implements Transform
         return MatrixTransform.translate((float) this.x.getValue(entity, partialTicks) * 0.0625F, (float) this.y.getValue(entity, partialTicks) * 0.0625F, (float) this.z.getValue(entity, partialTicks) * 0.0625F);
     }
 
+    @Override
+    public void compile(ModelProgram.Builder builder)
+    {
+        builder.translate(this.x, this.y, this.z, 0.0625F);
+    }
+
     public static class Deserializer implements JsonDeserializer<Translate>
     {
         @Override
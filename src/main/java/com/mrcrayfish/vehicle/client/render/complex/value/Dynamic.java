@@ -5,37 +5,31 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.mrcrayfish.vehicle.entity.HelicopterEntity;
-import com.mrcrayfish.vehicle.entity.PlaneEntity;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
 import net.minecraft.util.JSONUtils;
 
-import javax.annotation.Nullable;
 import java.lang.reflect.Type;
-import java.util.Arrays;
-import java.util.function.BiFunction;
 
 /**
+ * A value read from a source registered in {@link DynamicSources}, such as the steering angle of
+ * a vehicle. The source is resolved when the value is deserialized.
+ *
  * Author: MrCrayfish
  */
 public class Dynamic implements IValue
 {
-    private final Source source;
-    private final boolean inverse;
-    private final float scale;
+    private final DynamicSources.Source source;
+    private final float multiplier;
 
-    public Dynamic(Source source, boolean inverse, float scale)
+    public Dynamic(DynamicSources.Source source, boolean inverse, float scale)
     {
         this.source = source;
-        this.inverse = inverse;
-        this.scale = scale;
+        this.multiplier = inverse ? -scale : scale;
     }
 
     public double getValue(VehicleEntity entity, float partialTicks)
     {
-        double value = this.source.valueFunction.apply(entity, partialTicks);
-        value *= this.scale;
-        return this.inverse ? -value : value;
+        return this.source.getValue(entity, partialTicks) * this.multiplier;
     }
 
     public static class Deserializer implements JsonDeserializer<Dynamic>
@@ -46,7 +40,7 @@ public class Dynamic implements IValue
             if(json.isJsonObject())
             {
                 JsonObject object = json.getAsJsonObject();
-                Source source = Source.fromKey(JSONUtils.getAsString(object, "source"));
+                DynamicSources.Source source = DynamicSources.get(JSONUtils.getAsString(object, "source"));
                 if(source == null) throw new JsonParseException("Invalid source: " + JSONUtils.getAsString(object, "source"));
                 boolean inverse = JSONUtils.getAsBoolean(object, "inverse", false);
                 float scale = JSONUtils.getAsFloat(object, "scale", 1.0F);
@@ -55,47 +49,4 @@ public class Dynamic implements IValue
             throw new JsonParseException("Dynamic values must be object");
         }
     }
-
-    // TODO remove hardcoded nature and allow externals to register custom sources
-    public enum Source
-    {
-        PLANE_AILERON("plane_aileron", (vehicle, partialTicks) -> {
-            return vehicle instanceof PlaneEntity ? (double) ((PlaneEntity) vehicle).getFlapAngle(partialTicks) : 0.0;
-        }),
-        PLANE_PROPELLER("plane_propeller", (vehicle, partialTicks) -> {
-            return vehicle instanceof PlaneEntity ? (double) ((PlaneEntity) vehicle).getPropellerRotation(partialTicks) : 0.0;
-        }),
-        PLANE_ELEVATOR("plane_elevator", (vehicle, partialTicks) -> {
-            return vehicle instanceof PlaneEntity ? (double) ((PlaneEntity) vehicle).getElevatorAngle(partialTicks) : 0.0;
-        }),
-        HELICOPTER_BLADES("helicopter_blades", (vehicle, partialTicks) -> {
-            return vehicle instanceof HelicopterEntity ? (double) ((HelicopterEntity) vehicle).getBladeRotation(partialTicks) : 0.0;
-        }),
-        HELICOPTER_FORWARDS("helicopter_forwards", (vehicle, partialTicks) -> {
-            return vehicle instanceof HelicopterEntity ? (double) ((HelicopterEntity) vehicle).getForwards(partialTicks) : 0.0;
-        }),
-        HELICOPTER_SIDEWARDS("helicopter_sidewards", (vehicle, partialTicks) -> {
-            return vehicle instanceof HelicopterEntity ? (double) ((HelicopterEntity) vehicle).getSidewards(partialTicks) : 0.0;
-        });
-
-        private final String key;
-        private final BiFunction<VehicleEntity, Float, Double> valueFunction;
-
-        Source(String key, BiFunction<VehicleEntity, Float, Double> valueFunction)
-        {
-            this.key = key;
-            this.valueFunction = valueFunction;
-        }
-
-        public String getKey()
-        {
-            return this.key;
-        }
-
-        @Nullable
-        public static Source fromKey(@Nullable String key)
-        {
-            return Arrays.stream(values()).filter(axis -> axis.key.equals(key)).findFirst().orElse(null);
-        }
-    }
 }
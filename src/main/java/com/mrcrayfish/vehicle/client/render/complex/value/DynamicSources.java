@@ -0,0 +1,77 @@
+package com.mrcrayfish.vehicle.client.render.complex.value;
+
+import com.mrcrayfish.vehicle.Reference;
+import com.mrcrayfish.vehicle.entity.HelicopterEntity;
+import com.mrcrayfish.vehicle.entity.PlaneEntity;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import net.minecraft.util.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of the sources that dynamic values in complex models can read from. Sources are
+ * identified by a resource location, and addons can register their own sources during client
+ * setup. Complex models resolve their sources once when they are loaded, so sources must be
+ * registered before models are baked.
+ *
+ * Author: MrCrayfish
+ */
+public class DynamicSources
+{
+    private static final Map<ResourceLocation, Source> SOURCES = new ConcurrentHashMap<>();
+
+    static
+    {
+        register(new ResourceLocation(Reference.MOD_ID, "plane_aileron"), (vehicle, partialTicks) -> {
+            return vehicle instanceof PlaneEntity ? ((PlaneEntity) vehicle).getFlapAngle(partialTicks) : 0F;
+        });
+        register(new ResourceLocation(Reference.MOD_ID, "plane_propeller"), (vehicle, partialTicks) -> {
+            return vehicle instanceof PlaneEntity ? ((PlaneEntity) vehicle).getPropellerRotation(partialTicks) : 0F;
+        });
+        register(new ResourceLocation(Reference.MOD_ID, "plane_elevator"), (vehicle, partialTicks) -> {
+            return vehicle instanceof PlaneEntity ? ((PlaneEntity) vehicle).getElevatorAngle(partialTicks) : 0F;
+        });
+        register(new ResourceLocation(Reference.MOD_ID, "helicopter_blades"), (vehicle, partialTicks) -> {
+            return vehicle instanceof HelicopterEntity ? ((HelicopterEntity) vehicle).getBladeRotation(partialTicks) : 0F;
+        });
+        register(new ResourceLocation(Reference.MOD_ID, "helicopter_forwards"), (vehicle, partialTicks) -> {
+            return vehicle instanceof HelicopterEntity ? ((HelicopterEntity) vehicle).getForwards(partialTicks) : 0F;
+        });
+        register(new ResourceLocation(Reference.MOD_ID, "helicopter_sidewards"), (vehicle, partialTicks) -> {
+            return vehicle instanceof HelicopterEntity ? ((HelicopterEntity) vehicle).getSidewards(partialTicks) : 0F;
+        });
+    }
+
+    /**
+     * Registers a source that can be used by dynamic values in complex models
+     *
+     * @param id     the id used to reference the source in complex models
+     * @param source the source
+     */
+    public static void register(ResourceLocation id, Source source)
+    {
+        if(SOURCES.putIfAbsent(id, source) != null)
+        {
+            throw new IllegalArgumentException("A dynamic source is already registered with the id: " + id);
+        }
+    }
+
+    /**
+     * Gets the source registered with the given id. Ids without a namespace default to the
+     * namespace of this mod.
+     */
+    @Nullable
+    public static Source get(String id)
+    {
+        ResourceLocation location = id.indexOf(':') >= 0 ? new ResourceLocation(id) : new ResourceLocation(Reference.MOD_ID, id);
+        return SOURCES.get(location);
+    }
+
+    @FunctionalInterface
+    public interface Source
+    {
+        float getValue(VehicleEntity vehicle, float partialTicks);
+    }
+}
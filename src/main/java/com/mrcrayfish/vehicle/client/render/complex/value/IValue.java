@@ -8,4 +8,13 @@ import com.mrcrayfish.vehicle.entity.VehicleEntity;
 public interface IValue
 {
     double getValue(VehicleEntity entity, float partialTicks);
+
+    /**
+     * @return true if this value never changes, allowing it to be folded when a complex model is
+     * compiled. Constant values must not depend on the vehicle.
+     */
+    default boolean isConstant()
+    {
+        return false;
+    }
 }
@@ -27,6 +27,12 @@ public class Static implements IValue
         return this.value;
     }
 
+    @Override
+    public boolean isConstant()
+    {
+        return true;
+    }
+
     public static class Deserializer implements JsonDeserializer<Static>
     {
         @Override
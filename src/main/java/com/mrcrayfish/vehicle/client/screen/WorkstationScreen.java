@@ -3,14 +3,13 @@ package com.mrcrayfish.vehicle.client.screen;
 import com.google.common.collect.Lists;
 import com.mojang.blaze3d.matrix.MatrixStack;
 import com.mojang.blaze3d.systems.RenderSystem;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.render.AbstractLandVehicleRenderer;
 import com.mrcrayfish.vehicle.client.render.AbstractPoweredRenderer;
 import com.mrcrayfish.vehicle.client.render.AbstractVehicleRenderer;
 import com.mrcrayfish.vehicle.client.render.Axis;
 import com.mrcrayfish.vehicle.client.render.CachedVehicle;
 import com.mrcrayfish.vehicle.common.entity.Transform;
-import com.mrcrayfish.vehicle.crafting.RecipeType;
 import com.mrcrayfish.vehicle.crafting.WorkstationIngredient;
 import com.mrcrayfish.vehicle.crafting.WorkstationRecipe;
 import com.mrcrayfish.vehicle.crafting.WorkstationRecipes;
@@ -19,6 +18,7 @@ import com.mrcrayfish.vehicle.entity.IEngineType;
 import com.mrcrayfish.vehicle.entity.VehicleEntity;
 import com.mrcrayfish.vehicle.entity.properties.PoweredProperties;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
+import com.mrcrayfish.vehicle.inventory.IngredientCounter;
 import com.mrcrayfish.vehicle.inventory.container.WorkstationContainer;
 import com.mrcrayfish.vehicle.item.EngineItem;
 import com.mrcrayfish.vehicle.item.WheelItem;
@@ -26,7 +26,6 @@ import com.mrcrayfish.vehicle.network.PacketHandler;
 import com.mrcrayfish.vehicle.network.message.MessageCraftVehicle;
 import com.mrcrayfish.vehicle.tileentity.WorkstationTileEntity;
 import com.mrcrayfish.vehicle.util.CommonUtils;
-import com.mrcrayfish.vehicle.util.InventoryUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.audio.SimpleSound;
 import net.minecraft.client.gui.screen.inventory.ContainerScreen;
@@ -78,6 +77,7 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
     private boolean transitioning;
     private int vehicleScale = 30;
     private int prevVehicleScale = 30;
+    private int materialsVersion = -1;
 
     public WorkstationScreen(WorkstationContainer container, PlayerInventory playerInventory, ITextComponent title)
     {
@@ -94,7 +94,7 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
 
     private List<EntityType<?>> getVehicleTypes(World world)
     {
-        return world.getRecipeManager().getRecipes().stream().filter(recipe -> recipe.getType() == RecipeType.WORKSTATION).map(recipe -> (WorkstationRecipe) recipe).map(WorkstationRecipe::getVehicle).filter(entityType -> !Config.SERVER.disabledVehicles.get().contains(Objects.requireNonNull(entityType.getRegistryName()).toString())).collect(Collectors.toList());
+        return WorkstationRecipes.getRecipes(world).stream().map(WorkstationRecipe::getVehicle).filter(entityType -> !ConfigSnapshot.server().isVehicleDisabled(Objects.requireNonNull(entityType.getRegistryName()))).collect(Collectors.toList());
     }
 
     @Override
@@ -131,8 +131,18 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
 
         this.validEngine = true;
 
+        /* The client never broadcasts the changes of a container, so it's done here to update the
+         * ingredient counter. The materials only need to be checked again if the counts changed. */
+        this.menu.broadcastChanges();
+        IngredientCounter counter = this.menu.getIngredientCounter();
+        boolean countsChanged = counter.getVersion() != this.materialsVersion;
+        this.materialsVersion = counter.getVersion();
         for(MaterialItem material : this.materials)
         {
+            if(countsChanged)
+            {
+                material.updateEnabledState(counter);
+            }
             material.tick();
         }
 
@@ -259,12 +269,12 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
             for(int i = 0; i < recipe.getMaterials().size(); i++)
             {
                 MaterialItem item = new MaterialItem(recipe.getMaterials().get(i));
-                item.updateEnabledState();
+                item.updateEnabledState(this.menu.getIngredientCounter());
                 this.materials.add(item);
             }
         }
 
-        if(Config.CLIENT.workstationAnimation.get() && prevCachedVehicle != null && prevCachedVehicle.getType() != cachedVehicle.getType())
+        if(ConfigSnapshot.client().workstationAnimation && prevCachedVehicle != null && prevCachedVehicle.getType() != cachedVehicle.getType())
         {
             this.transitioning = true;
         }
@@ -382,7 +392,7 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
 
                 if(this.checkBoxMaterials.isToggled())
                 {
-                    int count = InventoryUtil.getItemStackAmount(this.minecraft.player, stack);
+                    int count = this.menu.getIngredientCounter().getCount(materialItem.getIngredient());
                     stack = stack.copy();
                     stack.setCount(stack.getCount() - count);
                 }
@@ -511,7 +521,6 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
             if(this.ingredient == null)
                 return;
 
-            this.updateEnabledState();
             long currentTime = System.currentTimeMillis();
             if(currentTime - lastTime >= 1000)
             {
@@ -525,11 +534,11 @@ public class WorkstationScreen extends ContainerScreen<WorkstationContainer>
             return this.ingredient != null ? this.displayStacks.get(this.displayIndex) : ItemStack.EMPTY;
         }
 
-        public void updateEnabledState()
+        public void updateEnabledState(IngredientCounter counter)
         {
             if(this.ingredient != null)
             {
-                this.enabled = InventoryUtil.hasWorkstationIngredient(Minecraft.getInstance().player, this.ingredient);
+                this.enabled = counter.hasIngredient(this.ingredient);
             }
         }
 
@@ -2,6 +2,7 @@ package com.mrcrayfish.vehicle.client.util;
 
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.vector.Quaternion;
+import net.minecraft.util.math.vector.Vector3f;
 
 public class MathUtil
 {
@@ -13,19 +14,28 @@ public class MathUtil
      * @param start the starting quaternion
      * @param end the destination quaternion
      * @param t the weight of the interpolation in the range of [0, 1]
+     * @param result the quaternion to store the result in. May be the same as start or end.
+     * @return the result quaternion
      */
-    public static Quaternion slerp(Quaternion start, Quaternion end, float t)
+    public static Quaternion slerp(Quaternion start, Quaternion end, float t, Quaternion result)
     {
+        float startI = start.i(), startJ = start.j(), startK = start.k(), startR = start.r();
+        float endI = end.i(), endJ = end.j(), endK = end.k(), endR = end.r();
+
         // Skip operation if equal
-        if(start.equals(end))
+        if(startI == endI && startJ == endJ && startK == endK && startR == endR)
         {
-            return start;
+            result.set(startI, startJ, startK, startR);
+            return result;
         }
 
-        float dot = start.i() * end.i() + start.j() * end.j() + start.k() * end.k() + start.r() * end.r();
+        float dot = startI * endI + startJ * endJ + startK * endK + startR * endR;
         if(dot < 0.0F)
         {
-            end = new Quaternion(-end.i(), -end.j(), -end.k(), -end.r());
+            endI = -endI;
+            endJ = -endJ;
+            endK = -endK;
+            endR = -endR;
             dot = -dot;
         }
 
@@ -42,10 +52,47 @@ public class MathUtil
         }
 
         // Calculate new quaternion. Interpolation is linear unless above calculations are run.
-        float i = (scale0 * start.i()) + (scale1 * end.i());
-        float j = (scale0 * start.j()) + (scale1 * end.j());
-        float k = (scale0 * start.k()) + (scale1 * end.k());
-        float r = (scale0 * start.r()) + (scale1 * end.r());
-        return new Quaternion(i, j, k, r);
+        float i = (scale0 * startI) + (scale1 * endI);
+        float j = (scale0 * startJ) + (scale1 * endJ);
+        float k = (scale0 * startK) + (scale1 * endK);
+        float r = (scale0 * startR) + (scale1 * endR);
+        result.set(i, j, k, r);
+        return result;
+    }
+
+    /**
+     * Multiplies the quaternion by a rotation around one of the positive unit axes. This is the
+     * same as <code>quaternion.mul(axis.rotationDegrees(degrees))</code> without creating a new
+     * quaternion for the rotation.
+     *
+     * @param quaternion the quaternion to rotate
+     * @param scratch    a quaternion to hold the rotation, the value is overwritten
+     * @param axis       the axis, must be one of {@link Vector3f#XP}, {@link Vector3f#YP} or {@link Vector3f#ZP}
+     * @param degrees    the angle in degrees
+     */
+    public static void rotate(Quaternion quaternion, Quaternion scratch, Vector3f axis, float degrees)
+    {
+        float angle = degrees * ((float) Math.PI / 180F) * 0.5F;
+        float sin = (float) Math.sin(angle);
+        scratch.set(axis.x() * sin, axis.y() * sin, axis.z() * sin, (float) Math.cos(angle));
+        quaternion.mul(scratch);
+    }
+
+    /**
+     * Rotates the vector by the quaternion. This is the same as {@link Vector3f#transform(Quaternion)}
+     * but doesn't create any intermediate quaternions.
+     */
+    public static void transform(Vector3f vector, Quaternion quaternion)
+    {
+        float qi = quaternion.i(), qj = quaternion.j(), qk = quaternion.k(), qr = quaternion.r();
+        float x = vector.x(), y = vector.y(), z = vector.z();
+
+        // t = 2 * cross(q.xyz, v)
+        float tx = 2.0F * (qj * z - qk * y);
+        float ty = 2.0F * (qk * x - qi * z);
+        float tz = 2.0F * (qi * y - qj * x);
+
+        // v' = v + q.w * t + cross(q.xyz, t)
+        vector.set(x + qr * tx + (qj * tz - qk * ty), y + qr * ty + (qk * tx - qi * tz), z + qr * tz + (qi * ty - qj * tx));
     }
 }
@@ -2,7 +2,7 @@ package com.mrcrayfish.vehicle.common;
 
 import com.google.common.collect.ImmutableList;
 import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.Reference;
 import com.mrcrayfish.vehicle.common.entity.HeldVehicleDataHandler;
 import com.mrcrayfish.vehicle.entity.EntityJack;
@@ -15,7 +15,6 @@ import com.mrcrayfish.vehicle.init.ModSounds;
 import com.mrcrayfish.vehicle.item.FluidPipeItem;
 import com.mrcrayfish.vehicle.network.PacketHandler;
 import com.mrcrayfish.vehicle.network.message.MessageThrowVehicle;
-import com.mrcrayfish.vehicle.tileentity.GasPumpTileEntity;
 import com.mrcrayfish.vehicle.tileentity.JackTileEntity;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
@@ -127,7 +126,7 @@ public class CommonEvents
 
     public static boolean handleVehicleInteraction(World world, PlayerEntity player, Hand hand, Entity entity)
     {
-        if(!Config.SERVER.pickUpVehicles.get())
+        if(!ConfigSnapshot.server().pickUpVehicles)
             return false;
 
         if(hand != Hand.MAIN_HAND)
@@ -411,16 +410,6 @@ public class CommonEvents
             {
                 this.dropVehicle(player);
             }
-
-            Optional<BlockPos> pos = SyncedPlayerData.instance().get(player, ModDataKeys.GAS_PUMP);
-            if(pos.isPresent())
-            {
-                TileEntity tileEntity = world.getBlockEntity(pos.get());
-                if(!(tileEntity instanceof GasPumpTileEntity))
-                {
-                    SyncedPlayerData.instance().set(player, ModDataKeys.GAS_PUMP, Optional.empty());
-                }
-            }
         }
     }
 
@@ -100,6 +100,7 @@ public class CosmeticTracker
         if(FMLLoader.isProduction() && !this.isValidCosmeticModel(cosmeticId, modelLocation))
             return;
         Optional.ofNullable(this.selectedCosmetics.get(cosmeticId)).ifPresent(entry -> entry.setModelLocation(modelLocation));
+        Optional.ofNullable(this.vehicleRef.get()).ifPresent(VehicleEntity::wake);
         this.dirty = true;
     }
 
@@ -158,23 +159,43 @@ public class CosmeticTracker
         this.selectedCosmetics.forEach((cosmeticId, entry) -> entry.dirty = false);
     }
 
+    /**
+     * Writes the selected cosmetics to a compound tag. Only cosmetics where the model or the data
+     * of an action is different to the default are written, so the returned tag will be empty for
+     * a vehicle with unchanged cosmetics.
+     */
     public CompoundNBT write()
     {
         CompoundNBT tag = new CompoundNBT();
         ListNBT list = new ListNBT();
         this.selectedCosmetics.forEach((cosmeticId, entry) -> {
             CompoundNBT cosmeticTag = new CompoundNBT();
-            cosmeticTag.putString("Id", cosmeticId.toString());
-            cosmeticTag.putString("Model", entry.getModelLocation().toString());
+            if(!entry.getModelLocation().equals(entry.defaultModelLocation))
+            {
+                cosmeticTag.putString("Model", entry.getModelLocation().toString());
+            }
             CompoundNBT actions = new CompoundNBT();
-            entry.getActions().forEach(action -> {
-                ResourceLocation id = CosmeticActions.getId(action.getClass());
-                actions.put(id.toString(), action.save(false));
+            entry.actions.forEach((id, action) -> {
+                CompoundNBT actionTag = action.save(false);
+                if(!actionTag.equals(entry.defaultActionData.get(id)))
+                {
+                    actions.put(id.toString(), actionTag);
+                }
             });
-            cosmeticTag.put("Actions", actions);
-            list.add(cosmeticTag);
+            if(!actions.isEmpty())
+            {
+                cosmeticTag.put("Actions", actions);
+            }
+            if(!cosmeticTag.isEmpty())
+            {
+                cosmeticTag.putString("Id", cosmeticId.toString());
+                list.add(cosmeticTag);
+            }
         });
-        tag.put("Cosmetics", list);
+        if(!list.isEmpty())
+        {
+            tag.put("Cosmetics", list);
+        }
         return tag;
     }
 
@@ -186,12 +207,19 @@ public class CosmeticTracker
             list.forEach(nbt -> {
                 CompoundNBT cosmeticTag = (CompoundNBT) nbt;
                 ResourceLocation cosmeticId = new ResourceLocation(cosmeticTag.getString("Id"));
-                ResourceLocation modelLocation = new ResourceLocation(cosmeticTag.getString("Model"));
-                this.setSelectedModel(cosmeticId, modelLocation);
+                Entry entry = this.selectedCosmetics.get(cosmeticId);
+                if(entry == null)
+                    return;
+                if(cosmeticTag.contains("Model", Constants.NBT.TAG_STRING))
+                {
+                    this.setSelectedModel(cosmeticId, new ResourceLocation(cosmeticTag.getString("Model")));
+                }
                 CompoundNBT actions = cosmeticTag.getCompound("Actions");
-                this.selectedCosmetics.get(cosmeticId).getActions().forEach(action -> {
-                    ResourceLocation id = CosmeticActions.getId(action.getClass());
-                    action.load(actions.getCompound(id.toString()), false);
+                entry.actions.forEach((id, action) -> {
+                    if(actions.contains(id.toString(), Constants.NBT.TAG_COMPOUND))
+                    {
+                        action.load(actions.getCompound(id.toString()), false);
+                    }
                 });
             });
         }
@@ -245,7 +273,9 @@ public class CosmeticTracker
     public static class Entry
     {
         private ResourceLocation modelLocation;
+        private final ResourceLocation defaultModelLocation;
         private final Map<ResourceLocation, Action> actions;
+        private final Map<ResourceLocation, CompoundNBT> defaultActionData;
         private boolean dirty;
 
         @Nullable
@@ -254,7 +284,9 @@ public class CosmeticTracker
         public Entry(CosmeticProperties properties)
         {
             this.modelLocation = properties.getModelLocations().get(0);
+            this.defaultModelLocation = this.modelLocation;
             this.actions = ImmutableMap.copyOf(properties.getActions().stream().map(Supplier::get).collect(Collectors.toMap(a -> CosmeticActions.getId(a.getClass()), a -> a)));
+            this.defaultActionData = ImmutableMap.copyOf(this.actions.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().save(false))));
         }
 
         public void setModelLocation(ResourceLocation modelLocation)
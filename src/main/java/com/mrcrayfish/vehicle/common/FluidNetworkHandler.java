@@ -1,19 +1,30 @@
 package com.mrcrayfish.vehicle.common;
 
+import com.mrcrayfish.vehicle.VehicleMod;
 import com.mrcrayfish.vehicle.block.FluidPipeBlock;
 import com.mrcrayfish.vehicle.tileentity.PipeTileEntity;
 import com.mrcrayfish.vehicle.tileentity.PumpTileEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.block.BlockState;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
 import net.minecraft.util.RegistryKey;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.SectionPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,6 +32,12 @@ import java.util.Set;
  * Handles updating the disabled state of pipes. This runs after everything has ticked
  * to avoid race conditions.
  *
+ * Toggling a pipeline causes its pumps to rebuild their networks, which queues every pipe in the
+ * network for an update. The queued pipes are grouped by chunk section so the chunk of a group is
+ * only looked up once, and only the pipes whose state actually changes are set. Neighbours are
+ * notified once the whole batch has been set, and each neighbour only once, rather than every
+ * changed pipe notifying all six of its neighbours.
+ *
  * Author: MrCrayfish
  */
 public class FluidNetworkHandler
@@ -37,7 +54,7 @@ public class FluidNetworkHandler
     }
 
     private boolean dirty = false;
-    private Map<RegistryKey<World>, Set<BlockPos>> pipeUpdateMap = new HashMap<>();
+    private Map<RegistryKey<World>, Long2ObjectMap<Set<BlockPos>>> pipeUpdateMap = new HashMap<>();
 
     private FluidNetworkHandler() {}
 
@@ -46,7 +63,16 @@ public class FluidNetworkHandler
         if(!(tileEntity instanceof PumpTileEntity))
         {
             this.dirty = true;
-            this.pipeUpdateMap.computeIfAbsent(tileEntity.getLevel().dimension(), key -> new HashSet<>()).add(tileEntity.getBlockPos());
+            BlockPos pos = tileEntity.getBlockPos();
+            Long2ObjectMap<Set<BlockPos>> sections = this.pipeUpdateMap.computeIfAbsent(tileEntity.getLevel().dimension(), key -> new Long2ObjectOpenHashMap<>());
+            long sectionKey = SectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+            Set<BlockPos> positions = sections.get(sectionKey);
+            if(positions == null)
+            {
+                positions = new HashSet<>();
+                sections.put(sectionKey, positions);
+            }
+            positions.add(pos);
         }
     }
 
@@ -59,20 +85,10 @@ public class FluidNetworkHandler
         if(event.phase != TickEvent.Phase.END)
             return;
 
-        Set<BlockPos> positions = this.pipeUpdateMap.remove(event.world.dimension());
-        if(positions != null)
+        Long2ObjectMap<Set<BlockPos>> sections = this.pipeUpdateMap.remove(event.world.dimension());
+        if(sections != null)
         {
-            positions.forEach(pos ->
-            {
-                TileEntity tileEntity = event.world.getBlockEntity(pos);
-                if(tileEntity instanceof PipeTileEntity)
-                {
-                    PipeTileEntity pipeTileEntity = (PipeTileEntity) tileEntity;
-                    BlockState state = pipeTileEntity.getBlockState();
-                    boolean disabled = pipeTileEntity.getPumps().isEmpty() || event.world.hasNeighborSignal(pos);
-                    event.world.setBlock(pos, state.setValue(FluidPipeBlock.DISABLED, disabled), Constants.BlockFlags.BLOCK_UPDATE | Constants.BlockFlags.RERENDER_MAIN_THREAD);
-                }
-            });
+            this.updatePipes(event.world, sections);
         }
 
         if(this.pipeUpdateMap.isEmpty())
@@ -81,6 +97,68 @@ public class FluidNetworkHandler
         }
     }
 
+    private void updatePipes(World world, Long2ObjectMap<Set<BlockPos>> sections)
+    {
+        long startTime = System.nanoTime();
+        int count = 0;
+        List<BlockPos> changed = new ArrayList<>();
+        LongSet changedPositions = new LongOpenHashSet();
+        for(Long2ObjectMap.Entry<Set<BlockPos>> entry : Long2ObjectMaps.fastIterable(sections))
+        {
+            long sectionKey = entry.getLongKey();
+            Chunk chunk = world.getChunk(SectionPos.x(sectionKey), SectionPos.z(sectionKey));
+            for(BlockPos pos : entry.getValue())
+            {
+                count++;
+                TileEntity tileEntity = chunk.getBlockEntity(pos);
+                if(!(tileEntity instanceof PipeTileEntity))
+                    continue;
+
+                PipeTileEntity pipeTileEntity = (PipeTileEntity) tileEntity;
+                BlockState state = pipeTileEntity.getBlockState();
+                boolean disabled = pipeTileEntity.getPumps().isEmpty() || world.hasNeighborSignal(pos);
+                if(state.getValue(FluidPipeBlock.DISABLED) == disabled)
+                    continue;
+
+                /* The disabled state doesn't affect the shape of neighbouring pipes, so shape updates
+                 * are skipped. Otherwise every changed pipe would make its neighbours recalculate
+                 * their connections. Neighbours are notified below instead of by setBlock. */
+                world.setBlock(pos, state.setValue(FluidPipeBlock.DISABLED, disabled), Constants.BlockFlags.RERENDER_MAIN_THREAD | Constants.BlockFlags.UPDATE_NEIGHBORS);
+                changed.add(pos);
+                changedPositions.add(pos.asLong());
+            }
+        }
+        int notified = this.notifyNeighbors(world, changed, changedPositions);
+        VehicleMod.LOGGER.debug("Updated the disabled state of {} pipes ({} changed, {} chunk sections, {} neighbours notified) in {}ms", count, changed.size(), sections.size(), notified, (System.nanoTime() - startTime) / 1000000.0);
+    }
+
+    /**
+     * Notifies the neighbours of the changed pipes. Pipes changed in the same batch already have
+     * their new state, so they aren't notified, and a neighbour shared by multiple changed pipes is
+     * only notified once.
+     *
+     * @return the number of neighbours notified
+     */
+    private int notifyNeighbors(World world, List<BlockPos> changed, LongSet changedPositions)
+    {
+        LongSet notified = new LongOpenHashSet();
+        BlockPos.Mutable neighborPos = new BlockPos.Mutable();
+        for(BlockPos pos : changed)
+        {
+            BlockState state = world.getBlockState(pos);
+            for(Direction direction : Direction.values())
+            {
+                neighborPos.setWithOffset(pos, direction);
+                long key = neighborPos.asLong();
+                if(changedPositions.contains(key) || !notified.add(key))
+                    continue;
+
+                world.neighborChanged(neighborPos.immutable(), state.getBlock(), pos);
+            }
+        }
+        return notified.size();
+    }
+
     @SubscribeEvent
     public void onServerTick(TickEvent.ServerTickEvent event)
     {
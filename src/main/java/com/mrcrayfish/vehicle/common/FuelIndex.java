@@ -0,0 +1,158 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.VehicleMod;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.tags.ITag;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the fluids that can be used as fuel. Fuel entries are either the registry name of a
+ * fluid or a fluid tag prefixed with a hash (e.g. #forge:diesel). Entries are resolved into a set
+ * of fluids once and then rebuilt when the server config or tags are reloaded, so checking if a
+ * fluid is a fuel is a single identity lookup.
+ *
+ * Author: MrCrayfish
+ */
+public class FuelIndex
+{
+    private static FuelIndex instance;
+
+    public static FuelIndex instance()
+    {
+        if(instance == null)
+        {
+            instance = new FuelIndex();
+        }
+        return instance;
+    }
+
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile Resolved<Set<Fluid>> fuels;
+
+    private FuelIndex() {}
+
+    /**
+     * Checks if the given fluid is one of the valid fuels from the server config
+     */
+    public boolean isFuel(Fluid fluid)
+    {
+        int generation = this.generation.get();
+        Resolved<Set<Fluid>> fuels = this.fuels;
+        if(fuels == null || !fuels.isCurrent(generation))
+        {
+            Set<Fluid> fluids = Collections.newSetFromMap(new IdentityHashMap<>());
+            for(String entry : ConfigSnapshot.server().validFuels)
+            {
+                this.resolve(entry, fluids);
+            }
+            fuels = new Resolved<>(generation, fluids);
+            this.fuels = fuels;
+        }
+        return fuels.get().contains(fluid);
+    }
+
+    /**
+     * Gets the current generation of the index. The generation changes whenever the fuels need to
+     * be resolved again, allowing anything caching resolved fluids to know when to rebuild.
+     */
+    public int getGeneration()
+    {
+        return this.generation.get();
+    }
+
+    /**
+     * Resolves a map of fuel entries to efficiency multipliers into a map of fluids to efficiency
+     * multipliers. If a fluid is matched by multiple entries, the first entry is used.
+     *
+     * @param entries the fuel entries to resolve
+     * @return an identity map of fluids to efficiency multipliers
+     */
+    public Map<Fluid, Float> resolve(Map<String, Float> entries)
+    {
+        Map<Fluid, Float> fluids = new IdentityHashMap<>();
+        entries.forEach((entry, efficiency) ->
+        {
+            Set<Fluid> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.resolve(entry, resolved);
+            resolved.forEach(fluid -> fluids.putIfAbsent(fluid, efficiency));
+        });
+        return fluids;
+    }
+
+    private void resolve(String entry, Set<Fluid> fluids)
+    {
+        if(entry.startsWith("#"))
+        {
+            ResourceLocation id = ResourceLocation.tryParse(entry.substring(1));
+            ITag<Fluid> tag = id != null ? FluidTags.getAllTags().getTag(id) : null;
+            if(tag != null)
+            {
+                fluids.addAll(tag.getValues());
+            }
+            return;
+        }
+
+        ResourceLocation id = ResourceLocation.tryParse(entry);
+        if(id == null)
+        {
+            VehicleMod.LOGGER.warn("Invalid fuel entry: {}", entry);
+            return;
+        }
+
+        /* Fuels from mods that aren't installed are expected in the default config, so these are
+         * silently ignored */
+        if(ForgeRegistries.FLUIDS.containsKey(id))
+        {
+            fluids.add(ForgeRegistries.FLUIDS.getValue(id));
+        }
+    }
+
+    public void invalidate()
+    {
+        this.generation.incrementAndGet();
+    }
+
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event)
+    {
+        this.invalidate();
+    }
+
+    /**
+     * Fluids resolved from fuel entries, along with the generation of the index they were resolved
+     * in. Both are kept in the one immutable object so they can be published together through a
+     * single volatile field, and a reader never sees fluids paired with the wrong generation.
+     */
+    public static class Resolved<T>
+    {
+        private final int generation;
+        private final T value;
+
+        public Resolved(int generation, T value)
+        {
+            this.generation = generation;
+            this.value = value;
+        }
+
+        public boolean isCurrent(int generation)
+        {
+            return this.generation == generation;
+        }
+
+        public T get()
+        {
+            return this.value;
+        }
+    }
+}
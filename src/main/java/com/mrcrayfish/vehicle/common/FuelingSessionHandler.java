@@ -0,0 +1,240 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.entity.PoweredVehicleEntity;
+import com.mrcrayfish.vehicle.init.ModDataKeys;
+import com.mrcrayfish.vehicle.tileentity.GasPumpTileEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.Hand;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manages the fueling sessions between players and gas pumps on the server. A session is started
+ * when a player picks up the nozzle of a gas pump and owns the hose attachment until it is put
+ * back, the hose breaks, or either side goes away. Sessions are checked on a coarse timer instead
+ * of every tick, and players that aren't fueling have no cost at all. The synced player data and
+ * the gas pump are only updated when a session starts or ends.
+ *
+ * Fuel transfers from a gas pump are also scheduled here. Each request from the client queues one
+ * transfer, and queued transfers happen on the server tick, at most one per tick. Refueling runs at
+ * the rate the client sends requests, while requests arriving together are spread over ticks.
+ *
+ * Author: MrCrayfish
+ */
+public class FuelingSessionHandler
+{
+    private static final int CHECK_INTERVAL = 10;
+    private static final int MAX_PENDING_TRANSFERS = 4;
+
+    private static FuelingSessionHandler instance;
+
+    public static FuelingSessionHandler instance()
+    {
+        if(instance == null)
+        {
+            instance = new FuelingSessionHandler();
+        }
+        return instance;
+    }
+
+    private final Map<UUID, Session> playerSessions = new HashMap<>();
+    private final Map<GlobalPos, Session> pumpSessions = new HashMap<>();
+    private int tickCount;
+
+    private FuelingSessionHandler() {}
+
+    /**
+     * Checks if the given player is currently attached to a gas pump
+     */
+    public boolean isFueling(PlayerEntity player)
+    {
+        return this.playerSessions.containsKey(player.getUUID());
+    }
+
+    /**
+     * Gets the gas pump the given player is currently attached to
+     */
+    @Nullable
+    public GasPumpTileEntity getPump(PlayerEntity player)
+    {
+        Session session = this.playerSessions.get(player.getUUID());
+        return session != null ? session.pump : null;
+    }
+
+    /**
+     * Attaches the hose of the gas pump to the given player. Any existing session of the player or
+     * the gas pump is ended first.
+     */
+    public void startSession(PlayerEntity player, GasPumpTileEntity pump)
+    {
+        if(player.level.isClientSide() || pump.getLevel() == null)
+            return;
+
+        this.endSession(player);
+        Session existing = this.pumpSessions.get(getKey(pump));
+        if(existing != null)
+        {
+            this.endSession(existing.player);
+        }
+
+        Session session = new Session(player, pump);
+        session.nextCheckTick = this.tickCount + CHECK_INTERVAL;
+        this.playerSessions.put(player.getUUID(), session);
+        this.pumpSessions.put(getKey(pump), session);
+        SyncedPlayerData.instance().set(player, ModDataKeys.GAS_PUMP, Optional.of(pump.getBlockPos()));
+        pump.setFuelingEntity(player);
+    }
+
+    /**
+     * Detaches the hose from the given player if they are attached to a gas pump
+     */
+    public void endSession(PlayerEntity player)
+    {
+        Session session = this.playerSessions.get(player.getUUID());
+        if(session != null)
+        {
+            this.remove(session);
+            this.finish(session);
+        }
+    }
+
+    /**
+     * Requests fuel to be transferred from the gas pump the player is attached to into the given
+     * vehicle. Each request results in a single transfer.
+     */
+    public void requestTransfer(PlayerEntity player, PoweredVehicleEntity vehicle)
+    {
+        Session session = this.playerSessions.get(player.getUUID());
+        if(session != null)
+        {
+            if(session.vehicle != vehicle)
+            {
+                session.vehicle = vehicle;
+                session.pendingTransfers = 0;
+            }
+            session.pendingTransfers = Math.min(session.pendingTransfers + 1, MAX_PENDING_TRANSFERS);
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END)
+            return;
+
+        this.tickCount++;
+        if(this.playerSessions.isEmpty())
+            return;
+
+        Iterator<Session> it = this.playerSessions.values().iterator();
+        while(it.hasNext())
+        {
+            Session session = it.next();
+            if(this.tickCount >= session.nextCheckTick)
+            {
+                session.nextCheckTick = this.tickCount + CHECK_INTERVAL;
+                if(!this.isValid(session))
+                {
+                    it.remove();
+                    this.pumpSessions.remove(getKey(session.pump), session);
+                    if(session.player.isAlive())
+                    {
+                        session.player.level.playSound(null, session.player.blockPosition(), SoundEvents.ITEM_BREAK, SoundCategory.PLAYERS, 1.0F, 1.0F);
+                    }
+                    this.finish(session);
+                    continue;
+                }
+            }
+            this.updateTransfer(session);
+        }
+    }
+
+    private boolean isValid(Session session)
+    {
+        PlayerEntity player = session.player;
+        GasPumpTileEntity pump = session.pump;
+        if(!player.isAlive() || pump.isRemoved() || pump.getLevel() != player.level)
+            return false;
+
+        BlockPos pos = pump.getBlockPos();
+        double maxDistance = ConfigSnapshot.server().maxHoseDistance;
+        return player.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= maxDistance * maxDistance;
+    }
+
+    private void updateTransfer(Session session)
+    {
+        if(session.vehicle == null)
+            return;
+
+        if(session.pendingTransfers <= 0 || !session.vehicle.isAlive())
+        {
+            session.vehicle = null;
+            session.pendingTransfers = 0;
+            return;
+        }
+
+        session.pendingTransfers--;
+        session.vehicle.fuelVehicle(session.player, Hand.MAIN_HAND);
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        this.endSession(event.getPlayer());
+    }
+
+    @SubscribeEvent
+    public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        this.endSession(event.getPlayer());
+    }
+
+    private void remove(Session session)
+    {
+        this.playerSessions.remove(session.player.getUUID(), session);
+        this.pumpSessions.remove(getKey(session.pump), session);
+    }
+
+    private void finish(Session session)
+    {
+        SyncedPlayerData.instance().set(session.player, ModDataKeys.GAS_PUMP, Optional.empty());
+        if(!session.pump.isRemoved())
+        {
+            session.pump.setFuelingEntity(null);
+        }
+    }
+
+    private static GlobalPos getKey(GasPumpTileEntity pump)
+    {
+        return GlobalPos.of(pump.getLevel().dimension(), pump.getBlockPos());
+    }
+
+    private static class Session
+    {
+        private final PlayerEntity player;
+        private final GasPumpTileEntity pump;
+        private int nextCheckTick;
+        private PoweredVehicleEntity vehicle;
+        private int pendingTransfers;
+
+        private Session(PlayerEntity player, GasPumpTileEntity pump)
+        {
+            this.player = player;
+            this.pump = pump;
+        }
+    }
+}
@@ -0,0 +1,614 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.VehicleMod;
+import com.mrcrayfish.vehicle.block.FluidPipeBlock;
+import com.mrcrayfish.vehicle.block.FluidPumpBlock;
+import com.mrcrayfish.vehicle.common.data.PipeNetworkData;
+import com.mrcrayfish.vehicle.tileentity.PipeTileEntity;
+import com.mrcrayfish.vehicle.tileentity.PumpTileEntity;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Direction;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.LogicalSide;
+import net.minecraftforge.fml.event.server.FMLServerStoppedEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Builds the networks of pumps without blocking the server. The connections of every pipe are kept
+ * in an index stored in {@link PipeNetworkData}, which the pipe blocks keep up to date as they
+ * change. When a pump needs its network rebuilt, a snapshot of the index is taken at the end of
+ * the tick and the network is searched on a background thread. The result is applied to the pump
+ * on the server thread during a later tick.
+ *
+ * The index is validated lazily; when a chunk loads, the pipes in it are compared to the index and
+ * any network touching a pipe that changed is invalidated. If a search reaches a chunk that hasn't
+ * been indexed yet, the pump falls back to searching the world directly.
+ *
+ * Author: MrCrayfish
+ */
+public class PipeNetworkManager
+{
+    private static final int CONNECTIONS_MASK = 0b111111;
+    private static final int POWERED = 1 << 6;
+    private static final int PUMP = 1 << 7;
+    private static final int PUMP_DISABLED = 1 << 8;
+    private static final int POWER_UNKNOWN = 1 << 9;
+    private static final int TOPOLOGY_MASK = CONNECTIONS_MASK | PUMP | PUMP_DISABLED;
+
+    private static PipeNetworkManager instance;
+
+    public static PipeNetworkManager instance()
+    {
+        if(instance == null)
+        {
+            instance = new PipeNetworkManager();
+        }
+        return instance;
+    }
+
+    private final Map<RegistryKey<World>, Map<PumpTileEntity, Long>> pendingRebuilds = new HashMap<>();
+    private final Map<RegistryKey<World>, Queue<Result>> completedRebuilds = new ConcurrentHashMap<>();
+    private final Map<RegistryKey<World>, LongSet> unknownPower = new HashMap<>();
+    private final Statistics statistics = new Statistics();
+
+    private PipeNetworkManager() {}
+
+    /**
+     * Updates the index with the current state of a pipe. The power of the pipe is only checked if
+     * its connections have changed, since the disabled state of pipes changes a lot more often.
+     */
+    public void updatePipe(World world, BlockPos pos, BlockState state)
+    {
+        if(!(world instanceof ServerWorld) || !(state.getBlock() instanceof FluidPipeBlock))
+            return;
+
+        PipeNetworkData data = getData((ServerWorld) world);
+        int current = data.getState(pos);
+        if(current != -1 && (current & TOPOLOGY_MASK) == getTopology(state))
+            return;
+
+        data.setState(pos, getTopology(state) | getPower(world, pos, state));
+    }
+
+    /**
+     * Updates the power of a pipe in the index. Called when a neighbour of the pipe changes.
+     */
+    public void updatePipePower(World world, BlockPos pos, BlockState state)
+    {
+        if(!(world instanceof ServerWorld) || !(state.getBlock() instanceof FluidPipeBlock))
+            return;
+
+        /* Neighbours change a lot more often than the power of the pipe, so the index is only
+         * updated if the power has actually changed */
+        PipeNetworkData data = getData((ServerWorld) world);
+        int current = data.getState(pos);
+        int topology = getTopology(state);
+        int power = getPower(world, pos, state);
+        if(current != -1 && current == (topology | power))
+            return;
+
+        data.setState(pos, topology | power);
+    }
+
+    public void removePipe(World world, BlockPos pos)
+    {
+        if(world instanceof ServerWorld)
+        {
+            getData((ServerWorld) world).removeState(pos);
+        }
+    }
+
+    @Nullable
+    public PipeNetworkData.Network getNetwork(World world, BlockPos pumpPos)
+    {
+        return world instanceof ServerWorld ? getData((ServerWorld) world).getNetwork(pumpPos) : null;
+    }
+
+    public void saveNetwork(World world, BlockPos pumpPos, PipeNetworkData.Network network)
+    {
+        if(world instanceof ServerWorld)
+        {
+            getData((ServerWorld) world).putNetwork(pumpPos, network);
+        }
+    }
+
+    public void removeNetwork(World world, BlockPos pumpPos)
+    {
+        if(world instanceof ServerWorld)
+        {
+            getData((ServerWorld) world).removeNetwork(pumpPos);
+        }
+    }
+
+    /**
+     * Requests the network of the pump to be rebuilt. The result is given to the pump using
+     * {@link PumpTileEntity#applyPipeNetwork(Result)} once it's ready.
+     */
+    public void requestRebuild(PumpTileEntity pump)
+    {
+        World world = pump.getLevel();
+        if(world instanceof ServerWorld)
+        {
+            this.pendingRebuilds.computeIfAbsent(world.dimension(), key -> new LinkedHashMap<>()).putIfAbsent(pump, System.nanoTime());
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END || event.side != LogicalSide.SERVER)
+            return;
+
+        if(!(event.world instanceof ServerWorld))
+            return;
+
+        ServerWorld world = (ServerWorld) event.world;
+        this.resolveUnknownPower(world);
+        this.applyCompletedRebuilds(world);
+        this.startPendingRebuilds(world);
+    }
+
+    private void resolveUnknownPower(ServerWorld world)
+    {
+        LongSet positions = this.unknownPower.get(world.dimension());
+        if(positions == null)
+            return;
+
+        PipeNetworkData data = getData(world);
+        LongIterator it = positions.iterator();
+        while(it.hasNext())
+        {
+            BlockPos pos = BlockPos.of(it.nextLong());
+            if(!world.isAreaLoaded(pos, 1))
+                continue;
+
+            BlockState state = world.getBlockState(pos);
+            if(state.getBlock() instanceof FluidPipeBlock && data.getState(pos) != -1)
+            {
+                data.setState(pos, getTopology(state) | getPower(world, pos, state));
+            }
+            it.remove();
+        }
+
+        if(positions.isEmpty())
+        {
+            this.unknownPower.remove(world.dimension());
+        }
+    }
+
+    private void applyCompletedRebuilds(ServerWorld world)
+    {
+        Queue<Result> results = this.completedRebuilds.get(world.dimension());
+        if(results == null)
+            return;
+
+        Result result;
+        while((result = results.poll()) != null)
+        {
+            PumpTileEntity pump = result.pump;
+            if(pump.isRemoved() || !world.isLoaded(pump.getBlockPos()) || world.getBlockEntity(pump.getBlockPos()) != pump)
+                continue;
+
+            if(pump.applyPipeNetwork(result))
+            {
+                double latency = (System.nanoTime() - result.requestTime) / 1000000.0;
+                this.statistics.record(latency);
+                VehicleMod.LOGGER.debug("Rebuilt pipe network of pump at {} with {} pipes in {}ms", pump.getBlockPos(), result.pipes.length, latency);
+            }
+        }
+    }
+
+    private void startPendingRebuilds(ServerWorld world)
+    {
+        Map<PumpTileEntity, Long> requests = this.pendingRebuilds.remove(world.dimension());
+        if(requests == null || requests.isEmpty())
+            return;
+
+        /* One snapshot is shared by all the rebuilds started in this tick */
+        PipeNetworkData.Snapshot snapshot = getData(world).createSnapshot();
+        Queue<Result> results = this.completedRebuilds.computeIfAbsent(world.dimension(), key -> new ConcurrentLinkedQueue<>());
+        requests.forEach((pump, requestTime) ->
+        {
+            long pumpPos = pump.getBlockPos().asLong();
+            int version = pump.getNetworkVersion();
+            CompletableFuture.supplyAsync(() -> search(snapshot, pump, pumpPos, version, requestTime), Util.backgroundExecutor()).whenComplete((result, throwable) ->
+            {
+                if(throwable != null)
+                {
+                    VehicleMod.LOGGER.error("Failed to build pipe network of pump at {}", pump.getBlockPos(), throwable);
+                    result = new Result(pump, version, requestTime, new long[0], new long[0], new byte[0], true);
+                }
+                results.add(result);
+            });
+        });
+    }
+
+    /**
+     * Finds the pipes and the candidate fluid handlers of the network of a pump. This is the same
+     * search as {@link PumpTileEntity#generatePipeNetwork()} but reads the connections from the
+     * snapshot instead of the world. Positions are only used as keys, so the search runs safely on
+     * any thread.
+     */
+    private static Result search(PipeNetworkData.Snapshot snapshot, PumpTileEntity pump, long pumpPos, int version, long requestTime)
+    {
+        LongLinkedOpenHashSet visited = new LongLinkedOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        queue.enqueue(pumpPos);
+        while(!queue.isEmpty())
+        {
+            long pos = queue.dequeueLong();
+            int state = snapshot.getState(pos);
+            if(state == -1 || (state & POWER_UNKNOWN) != 0)
+                return new Result(pump, version, requestTime, new long[0], new long[0], new byte[0], true);
+
+            for(Direction direction : Direction.values())
+            {
+                long relativePos = BlockPos.offset(pos, direction);
+                if(visited.contains(relativePos) || !canFlow(state, direction))
+                    continue;
+
+                if(relativePos == pumpPos)
+                    continue;
+
+                if(!snapshot.isIndexed(relativePos))
+                    return new Result(pump, version, requestTime, new long[0], new long[0], new byte[0], true);
+
+                int relativeState = snapshot.getState(relativePos);
+                if(relativeState != -1 && isConnected(relativeState, direction.getOpposite()))
+                {
+                    visited.add(relativePos);
+                    queue.enqueue(relativePos);
+                }
+            }
+        }
+
+        /* Connected sides that don't lead to another pipe may be fluid handlers. Checking for the
+         * capability needs the world, so that's left to the server thread. */
+        LongArrayList handlers = new LongArrayList();
+        List<Byte> sides = new ArrayList<>();
+        LongIterator it = visited.iterator();
+        while(it.hasNext())
+        {
+            long pos = it.nextLong();
+            int state = snapshot.getState(pos);
+            for(Direction direction : Direction.values())
+            {
+                if(!canFlow(state, direction))
+                    continue;
+
+                long relativePos = BlockPos.offset(pos, direction);
+                if(snapshot.getState(relativePos) == -1)
+                {
+                    handlers.add(relativePos);
+                    sides.add((byte) direction.getOpposite().get3DDataValue());
+                }
+            }
+        }
+
+        byte[] sideArray = new byte[sides.size()];
+        for(int i = 0; i < sideArray.length; i++)
+        {
+            sideArray[i] = sides.get(i);
+        }
+        return new Result(pump, version, requestTime, visited.toLongArray(), handlers.toLongArray(), sideArray, false);
+    }
+
+    private static boolean isConnected(int state, Direction direction)
+    {
+        return (state & (1 << direction.get3DDataValue())) != 0;
+    }
+
+    /* Powered pipes and disabled pumps block the flow through them */
+    private static boolean canFlow(int state, Direction direction)
+    {
+        if(!isConnected(state, direction))
+            return false;
+        if((state & PUMP) != 0)
+            return (state & PUMP_DISABLED) == 0;
+        return (state & POWERED) == 0;
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event)
+    {
+        if(!(event.getWorld() instanceof ServerWorld) || !(event.getChunk() instanceof Chunk))
+            return;
+
+        ServerWorld world = (ServerWorld) event.getWorld();
+        Chunk chunk = (Chunk) event.getChunk();
+        PipeNetworkData data = getData(world);
+        Long2IntMap indexed = data.getChunkStates(chunk.getPos());
+        LongSet found = new LongOpenHashSet();
+        List<BlockPos> changed = new ArrayList<>();
+        for(TileEntity tileEntity : chunk.getBlockEntities().values())
+        {
+            if(!(tileEntity instanceof PipeTileEntity))
+                continue;
+
+            BlockPos pos = tileEntity.getBlockPos();
+            BlockState state = chunk.getBlockState(pos);
+            if(!(state.getBlock() instanceof FluidPipeBlock))
+                continue;
+
+            found.add(pos.asLong());
+            int previous = indexed != null ? indexed.get(pos.asLong()) : -1;
+            int topology = getTopology(state);
+            if(previous == -1 || (previous & TOPOLOGY_MASK) != topology)
+            {
+                /* Neighbouring chunks may not be loaded yet, so the power is checked on a later tick */
+                int power = previous != -1 ? previous & (POWERED | POWER_UNKNOWN) : state.getBlock() instanceof FluidPumpBlock ? 0 : POWER_UNKNOWN;
+                if((power & POWER_UNKNOWN) != 0)
+                {
+                    this.unknownPower.computeIfAbsent(world.dimension(), key -> new LongOpenHashSet()).add(pos.asLong());
+                }
+                data.setState(pos, topology | power);
+                changed.add(pos);
+            }
+
+            /* The pumps of a pipe are not saved with it, so they're linked again from the saved networks */
+            PipeTileEntity pipe = (PipeTileEntity) tileEntity;
+            LongIterator it = data.getPumps(pos).iterator();
+            while(it.hasNext())
+            {
+                pipe.addPump(BlockPos.of(it.nextLong()));
+            }
+        }
+
+        if(indexed != null)
+        {
+            /* The indexed states are a live view, so the missing pipes are collected before removing them */
+            List<BlockPos> removed = new ArrayList<>();
+            for(Long2IntMap.Entry entry : Long2IntMaps.fastIterable(indexed))
+            {
+                if(!found.contains(entry.getLongKey()))
+                {
+                    removed.add(BlockPos.of(entry.getLongKey()));
+                }
+            }
+            removed.forEach(data::removeState);
+            changed.addAll(removed);
+        }
+        data.markIndexed(chunk.getPos());
+
+        /* Only pipes that were already indexed can belong to a saved network */
+        if(indexed != null)
+        {
+            changed.forEach(pos -> this.invalidateNetworksAround(world, data, pos));
+        }
+    }
+
+    private void invalidateNetworksAround(ServerWorld world, PipeNetworkData data, BlockPos pos)
+    {
+        this.invalidateNetworks(world, data, pos);
+        for(Direction direction : Direction.values())
+        {
+            this.invalidateNetworks(world, data, pos.relative(direction));
+        }
+    }
+
+    private void invalidateNetworks(ServerWorld world, PipeNetworkData data, BlockPos pipePos)
+    {
+        LongSet pumps = data.getPumps(pipePos);
+        if(pumps.isEmpty())
+            return;
+
+        for(long pumpKey : pumps.toLongArray())
+        {
+            BlockPos pumpPos = BlockPos.of(pumpKey);
+            TileEntity tileEntity = world.isLoaded(pumpPos) ? world.getBlockEntity(pumpPos) : null;
+            if(tileEntity instanceof PumpTileEntity)
+            {
+                ((PumpTileEntity) tileEntity).invalidatePipeNetwork();
+            }
+            else
+            {
+                data.removeNetwork(pumpPos);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(FMLServerStoppedEvent event)
+    {
+        this.pendingRebuilds.clear();
+        this.completedRebuilds.clear();
+        this.unknownPower.clear();
+    }
+
+    public Statistics getStatistics()
+    {
+        return this.statistics;
+    }
+
+    /**
+     * @return the amount of pumps waiting to have their network rebuilt
+     */
+    public int getPendingCount()
+    {
+        int count = 0;
+        for(Map<PumpTileEntity, Long> requests : this.pendingRebuilds.values())
+        {
+            count += requests.size();
+        }
+        for(Queue<Result> results : this.completedRebuilds.values())
+        {
+            count += results.size();
+        }
+        return count;
+    }
+
+    private static PipeNetworkData getData(ServerWorld world)
+    {
+        return world.getDataStorage().computeIfAbsent(PipeNetworkData::new, PipeNetworkData.NAME);
+    }
+
+    private static int getTopology(BlockState state)
+    {
+        int topology = 0;
+        for(int i = 0; i < FluidPipeBlock.CONNECTED_PIPES.length; i++)
+        {
+            if(state.getValue(FluidPipeBlock.CONNECTED_PIPES[i]))
+            {
+                topology |= 1 << i;
+            }
+        }
+        if(state.getBlock() instanceof FluidPumpBlock)
+        {
+            topology |= PUMP;
+            if(state.getValue(FluidPipeBlock.DISABLED))
+            {
+                topology |= PUMP_DISABLED;
+            }
+        }
+        return topology;
+    }
+
+    /* Pumps ignore power when searching the network, they are disabled through their state instead */
+    private static int getPower(World world, BlockPos pos, BlockState state)
+    {
+        if(state.getBlock() instanceof FluidPumpBlock)
+            return 0;
+        return world.hasNeighborSignal(pos) ? POWERED : 0;
+    }
+
+    /**
+     * The outcome of searching the network of a pump
+     */
+    public static class Result
+    {
+        private final PumpTileEntity pump;
+        private final int version;
+        private final long requestTime;
+        private final long[] pipes;
+        private final long[] handlers;
+        private final byte[] sides;
+        private final boolean incomplete;
+
+        private Result(PumpTileEntity pump, int version, long requestTime, long[] pipes, long[] handlers, byte[] sides, boolean incomplete)
+        {
+            this.pump = pump;
+            this.version = version;
+            this.requestTime = requestTime;
+            this.pipes = pipes;
+            this.handlers = handlers;
+            this.sides = sides;
+            this.incomplete = incomplete;
+        }
+
+        /**
+         * @return the version of the network of the pump when the rebuild was started
+         */
+        public int getVersion()
+        {
+            return this.version;
+        }
+
+        /**
+         * @return true if the search reached pipes that aren't indexed, and the pump has to search
+         * the world itself
+         */
+        public boolean isIncomplete()
+        {
+            return this.incomplete;
+        }
+
+        public int getPipeCount()
+        {
+            return this.pipes.length;
+        }
+
+        public BlockPos getPipe(int index)
+        {
+            return BlockPos.of(this.pipes[index]);
+        }
+
+        public int getHandlerCount()
+        {
+            return this.handlers.length;
+        }
+
+        public BlockPos getHandlerPos(int index)
+        {
+            return BlockPos.of(this.handlers[index]);
+        }
+
+        public Direction getHandlerSide(int index)
+        {
+            return Direction.from3DDataValue(this.sides[index]);
+        }
+    }
+
+    public static class Statistics
+    {
+        private int rebuilds;
+        private double totalLatency;
+        private double maxLatency;
+        private double lastLatency;
+
+        private void record(double latency)
+        {
+            this.rebuilds++;
+            this.totalLatency += latency;
+            this.maxLatency = Math.max(this.maxLatency, latency);
+            this.lastLatency = latency;
+        }
+
+        public int getRebuilds()
+        {
+            return this.rebuilds;
+        }
+
+        /**
+         * @return the average time in milliseconds from requesting a rebuild to it being applied
+         */
+        public double getAverageLatency()
+        {
+            return this.rebuilds > 0 ? this.totalLatency / this.rebuilds : 0;
+        }
+
+        public double getMaxLatency()
+        {
+            return this.maxLatency;
+        }
+
+        public double getLastLatency()
+        {
+            return this.lastLatency;
+        }
+
+        public void reset()
+        {
+            this.rebuilds = 0;
+            this.totalLatency = 0;
+            this.maxLatency = 0;
+            this.lastLatency = 0;
+        }
+    }
+}
@@ -7,8 +7,6 @@ import com.mrcrayfish.vehicle.entity.Wheel;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.material.Material;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.MathHelper;
 
 import java.util.List;
 import java.util.Optional;
@@ -77,16 +75,9 @@ public class SurfaceHelper
 
         int wheelCount = 0;
         float surfaceModifier = 0F;
-        double[] wheelPositions = vehicle.getWheelPositions();
         for(int i = 0; i < wheels.size(); i++)
         {
-            double wheelX = wheelPositions[i * 3];
-            double wheelY = wheelPositions[i * 3 + 1];
-            double wheelZ = wheelPositions[i * 3 + 2];
-            int x = MathHelper.floor(vehicle.getX() + wheelX);
-            int y = MathHelper.floor(vehicle.getY() + wheelY - 0.2D);
-            int z = MathHelper.floor(vehicle.getZ() + wheelZ);
-            BlockState state = vehicle.level.getBlockState(new BlockPos(x, y, z));
+            BlockState state = vehicle.getWheelSurface(i);
             SurfaceType surfaceType = getSurfaceTypeForMaterial(state.getMaterial());
             if(surfaceType == SurfaceType.NONE)
                 continue;
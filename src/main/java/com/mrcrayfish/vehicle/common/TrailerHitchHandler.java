@@ -0,0 +1,285 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.entity.TrailerEntity;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of the vehicle to trailer connections in each world. Instead of vehicles searching
+ * for their trailer every tick, links are resolved when either side joins or leaves the world.
+ * If a trailer is still missing once the area it was last seen in has loaded, it no longer exists
+ * and the hitch is removed.
+ *
+ * Author: MrCrayfish
+ */
+public class TrailerHitchHandler
+{
+    /**
+     * How far from the tow bar of a vehicle to look for trailers when hitching
+     */
+    public static final double HITCH_SEARCH_RADIUS = 2.0;
+
+    private static final int LOOKUP_DELAY = 20;
+    private static final int LOOKUP_RADIUS = 8;
+
+    private static TrailerHitchHandler instance;
+
+    public static TrailerHitchHandler instance()
+    {
+        if(instance == null)
+        {
+            instance = new TrailerHitchHandler();
+        }
+        return instance;
+    }
+
+    private final Map<RegistryKey<World>, HitchRegistry> registries = new HashMap<>();
+
+    private TrailerHitchHandler() {}
+
+    @Nullable
+    private HitchRegistry getRegistry(World world)
+    {
+        if(world.isClientSide())
+            return null;
+        return this.registries.computeIfAbsent(world.dimension(), key -> new HitchRegistry());
+    }
+
+    /**
+     * Records that the given vehicle is hitched to the trailer with the specified id, or removes
+     * the hitch if the id is null. This is called by the vehicle whenever its trailer changes.
+     *
+     * @param vehicle   the vehicle towing the trailer
+     * @param trailerId the unique id of the trailer or null if unhitched
+     */
+    public void setHitch(VehicleEntity vehicle, @Nullable UUID trailerId)
+    {
+        HitchRegistry registry = this.getRegistry(vehicle.level);
+        if(registry != null)
+        {
+            registry.setHitch(vehicle.getUUID(), trailerId);
+            registry.lookups.remove(vehicle.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public void onEntityJoinWorld(EntityJoinWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+        if(!(entity instanceof VehicleEntity))
+            return;
+
+        HitchRegistry registry = this.getRegistry(event.getWorld());
+        if(registry == null)
+            return;
+
+        if(entity instanceof TrailerEntity)
+        {
+            TrailerEntity trailer = (TrailerEntity) entity;
+            registry.trailers.put(trailer.getUUID(), trailer);
+            UUID vehicleId = registry.trailerToVehicle.get(trailer.getUUID());
+            if(vehicleId != null)
+            {
+                VehicleEntity vehicle = registry.vehicles.get(vehicleId);
+                if(vehicle != null && vehicle.getTrailer() == null)
+                {
+                    vehicle.setTrailer(trailer);
+                    registry.lookups.remove(vehicleId);
+                }
+            }
+        }
+
+        VehicleEntity vehicle = (VehicleEntity) entity;
+        registry.vehicles.put(vehicle.getUUID(), vehicle);
+        UUID trailerId = vehicle.getTrailerId();
+        if(trailerId != null && vehicle.getTrailer() == null)
+        {
+            registry.setHitch(vehicle.getUUID(), trailerId);
+            TrailerEntity trailer = registry.trailers.get(trailerId);
+            if(trailer != null && trailer != vehicle)
+            {
+                vehicle.setTrailer(trailer);
+            }
+            else
+            {
+                /* The trailer was hitched when the vehicle was saved, so it should be close by */
+                registry.lookups.put(vehicle.getUUID(), new Lookup(vehicle.blockPosition()));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onEntityLeaveWorld(EntityLeaveWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+        if(!(entity instanceof VehicleEntity))
+            return;
+
+        HitchRegistry registry = this.getRegistry(event.getWorld());
+        if(registry == null)
+            return;
+
+        if(entity instanceof TrailerEntity)
+        {
+            TrailerEntity trailer = (TrailerEntity) entity;
+            registry.trailers.remove(trailer.getUUID());
+            UUID vehicleId = registry.trailerToVehicle.get(trailer.getUUID());
+            VehicleEntity vehicle = vehicleId != null ? registry.vehicles.get(vehicleId) : null;
+            if(vehicle != null && vehicle.getTrailer() == trailer)
+            {
+                /* A trailer that was killed is unhitched completely, however a trailer that has
+                 * only been unloaded keeps the hitch so it can be resolved when it loads again. */
+                if(trailer.removed)
+                {
+                    vehicle.setTrailer(null);
+                }
+                else
+                {
+                    vehicle.detachUnloadedTrailer();
+                    registry.lookups.put(vehicle.getUUID(), new Lookup(trailer.blockPosition()));
+                }
+            }
+        }
+
+        VehicleEntity vehicle = (VehicleEntity) entity;
+        registry.vehicles.remove(vehicle.getUUID());
+        registry.lookups.remove(vehicle.getUUID());
+        registry.setHitch(vehicle.getUUID(), null);
+        TrailerEntity trailer = vehicle.getTrailer();
+        if(trailer != null && trailer.getPullingEntity() == vehicle)
+        {
+            trailer.setPullingEntity(null);
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END)
+            return;
+
+        HitchRegistry registry = this.getRegistry(event.world);
+        if(registry == null)
+            return;
+
+        if(!registry.lookups.isEmpty())
+        {
+            this.updateLookups(event.world, registry);
+        }
+
+        if(registry.vehicleToTrailer.isEmpty())
+            return;
+
+        /* Updates periodically to ensure the client knows the vehicle/trailer connection. There is
+         * often problems on loading worlds that it doesn't sync correctly, so this is the fix. */
+        if(--registry.syncCooldown > 0)
+            return;
+
+        registry.syncCooldown = ConfigSnapshot.server().trailerSyncCooldown;
+        registry.vehicleToTrailer.keySet().forEach(vehicleId ->
+        {
+            VehicleEntity vehicle = registry.vehicles.get(vehicleId);
+            if(vehicle != null)
+            {
+                vehicle.syncTrailer();
+            }
+        });
+    }
+
+    /**
+     * Removes the hitch of vehicles whose trailer didn't load along with the area it was last seen
+     * in, as the trailer no longer exists. Lookups in areas that aren't loaded are tried again later.
+     */
+    private void updateLookups(World world, HitchRegistry registry)
+    {
+        List<VehicleEntity> unhitched = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Lookup>> it = registry.lookups.entrySet().iterator();
+        while(it.hasNext())
+        {
+            Map.Entry<UUID, Lookup> entry = it.next();
+            Lookup lookup = entry.getValue();
+            if(--lookup.delay > 0)
+                continue;
+
+            VehicleEntity vehicle = registry.vehicles.get(entry.getKey());
+            if(vehicle == null || vehicle.getTrailer() != null || vehicle.getTrailerId() == null)
+            {
+                it.remove();
+                continue;
+            }
+
+            BlockPos pos = lookup.pos;
+            if(!world.hasChunksAt(pos.offset(-LOOKUP_RADIUS, 0, -LOOKUP_RADIUS), pos.offset(LOOKUP_RADIUS, 0, LOOKUP_RADIUS)))
+            {
+                lookup.delay = LOOKUP_DELAY;
+                continue;
+            }
+
+            it.remove();
+            unhitched.add(vehicle);
+        }
+        unhitched.forEach(vehicle -> vehicle.setTrailer(null));
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        IWorld world = event.getWorld();
+        if(world instanceof World && !world.isClientSide())
+        {
+            this.registries.remove(((World) world).dimension());
+        }
+    }
+
+    private static class HitchRegistry
+    {
+        private final Map<UUID, VehicleEntity> vehicles = new HashMap<>();
+        private final Map<UUID, TrailerEntity> trailers = new HashMap<>();
+        private final Map<UUID, UUID> vehicleToTrailer = new HashMap<>();
+        private final Map<UUID, UUID> trailerToVehicle = new HashMap<>();
+        private final Map<UUID, Lookup> lookups = new HashMap<>();
+        private int syncCooldown;
+
+        private void setHitch(UUID vehicleId, @Nullable UUID trailerId)
+        {
+            UUID oldTrailerId = trailerId != null ? this.vehicleToTrailer.put(vehicleId, trailerId) : this.vehicleToTrailer.remove(vehicleId);
+            if(oldTrailerId != null && !oldTrailerId.equals(trailerId))
+            {
+                this.trailerToVehicle.remove(oldTrailerId, vehicleId);
+            }
+            if(trailerId != null)
+            {
+                this.trailerToVehicle.put(trailerId, vehicleId);
+            }
+        }
+    }
+
+    private static class Lookup
+    {
+        private final BlockPos pos;
+        private int delay = LOOKUP_DELAY;
+
+        private Lookup(BlockPos pos)
+        {
+            this.pos = pos;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.ConfigSnapshot;
+import com.mrcrayfish.vehicle.common.collision.SweepAndPrune;
+import com.mrcrayfish.vehicle.common.entity.Transform;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import com.mrcrayfish.vehicle.entity.Wheel;
+import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.MoverType;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.vector.Vector3d;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Handles collisions between vehicles. Each world keeps a {@link SweepAndPrune} broadphase of the
+ * bounding boxes of loaded vehicles. The broadphase is updated at the start of each world tick,
+ * before any vehicle moves, so every vehicle is tested against bounds from the same point in time.
+ * The bounds are expanded to allow for the movement of vehicles during the tick. Potential contacts
+ * are then tested against the footprint of each vehicle as an oriented box.
+ *
+ * Author: MrCrayfish
+ */
+public class VehicleCollisionHandler
+{
+    private static final double BROADPHASE_MARGIN = 0.5;
+    private static final double MAX_SEPARATION = 0.5;
+
+    private static VehicleCollisionHandler instance;
+
+    public static VehicleCollisionHandler instance()
+    {
+        if(instance == null)
+        {
+            instance = new VehicleCollisionHandler();
+        }
+        return instance;
+    }
+
+    /* Keyed by world instance since the client and server worlds exist together in single player */
+    private final Map<World, SweepAndPrune<VehicleEntity>> broadphases = new HashMap<>();
+    private final Map<VehicleProperties, Footprint> footprints = new WeakHashMap<>();
+
+    private VehicleCollisionHandler() {}
+
+    /**
+     * Moves the given vehicle out of any vehicles it is overlapping. This should only be called by
+     * the side that controls the movement of the vehicle.
+     *
+     * @param vehicle the vehicle to resolve collisions for
+     */
+    public void resolveCollisions(VehicleEntity vehicle)
+    {
+        if(!ConfigSnapshot.server().vehicleCollisions || vehicle.isPassenger())
+            return;
+
+        SweepAndPrune<VehicleEntity> broadphase = this.broadphases.get(vehicle.level);
+        if(broadphase == null)
+            return;
+
+        double separationX = 0;
+        double separationZ = 0;
+        for(VehicleEntity other : broadphase.getContacts(vehicle))
+        {
+            if(!other.isAlive() || other.isPassenger() || !this.canCollide(vehicle, other))
+                continue;
+
+            AxisAlignedBB box = vehicle.getBoundingBox();
+            AxisAlignedBB otherBox = other.getBoundingBox();
+            if(box.minY >= otherBox.maxY || box.maxY <= otherBox.minY)
+                continue;
+
+            Vector3d separation = this.getSeparation(vehicle, other);
+            if(separation != null)
+            {
+                // Sleeping vehicles don't resolve collisions, so wake it up to take its share
+                other.wake();
+
+                // Share the separation if the other vehicle will also be resolving the collision
+                double share = other.isControlledByLocalInstance() ? 0.5 : 1.0;
+                separationX += separation.x * share;
+                separationZ += separation.z * share;
+            }
+        }
+
+        if(separationX != 0 || separationZ != 0)
+        {
+            double length = Math.sqrt(separationX * separationX + separationZ * separationZ);
+            Vector3d normal = new Vector3d(separationX / length, 0, separationZ / length);
+            vehicle.move(MoverType.SELF, normal.scale(Math.min(length, MAX_SEPARATION)));
+            vehicle.onVehicleCollision(normal);
+        }
+    }
+
+    private boolean canCollide(VehicleEntity vehicle, VehicleEntity other)
+    {
+        if(vehicle.getRootVehicle() == other.getRootVehicle())
+            return false;
+        return vehicle.getTrailer() != other && other.getTrailer() != vehicle;
+    }
+
+    /**
+     * Tests the footprints of the given vehicles against each other using the separating axis
+     * theorem. If they are overlapping, the shortest vector to move the first vehicle out of the
+     * second vehicle is returned, otherwise null.
+     */
+    @Nullable
+    private Vector3d getSeparation(VehicleEntity vehicle, VehicleEntity other)
+    {
+        Footprint footprint = this.getFootprint(vehicle);
+        Footprint otherFootprint = this.getFootprint(other);
+
+        double yaw = Math.toRadians(vehicle.yRot);
+        double forwardX = -Math.sin(yaw);
+        double forwardZ = Math.cos(yaw);
+        double centerX = vehicle.getX() + forwardX * footprint.offsetZ;
+        double centerZ = vehicle.getZ() + forwardZ * footprint.offsetZ;
+
+        double otherYaw = Math.toRadians(other.yRot);
+        double otherForwardX = -Math.sin(otherYaw);
+        double otherForwardZ = Math.cos(otherYaw);
+        double otherCenterX = other.getX() + otherForwardX * otherFootprint.offsetZ;
+        double otherCenterZ = other.getZ() + otherForwardZ * otherFootprint.offsetZ;
+
+        double deltaX = otherCenterX - centerX;
+        double deltaZ = otherCenterZ - centerZ;
+
+        /* The side axis of each box is perpendicular to the forward axis, so only the forward axes
+         * are needed to describe the four axes that may separate the boxes. */
+        double[] axes = {forwardX, forwardZ, forwardZ, -forwardX, otherForwardX, otherForwardZ, otherForwardZ, -otherForwardX};
+        double minOverlap = Double.MAX_VALUE;
+        double normalX = 0;
+        double normalZ = 0;
+        for(int i = 0; i < axes.length; i += 2)
+        {
+            double axisX = axes[i];
+            double axisZ = axes[i + 1];
+            double radius = footprint.halfLength * Math.abs(forwardX * axisX + forwardZ * axisZ) + footprint.halfWidth * Math.abs(forwardZ * axisX - forwardX * axisZ);
+            double otherRadius = otherFootprint.halfLength * Math.abs(otherForwardX * axisX + otherForwardZ * axisZ) + otherFootprint.halfWidth * Math.abs(otherForwardZ * axisX - otherForwardX * axisZ);
+            double distance = deltaX * axisX + deltaZ * axisZ;
+            double overlap = radius + otherRadius - Math.abs(distance);
+            if(overlap <= 0)
+            {
+                return null;
+            }
+            if(overlap < minOverlap)
+            {
+                minOverlap = overlap;
+                normalX = distance > 0 ? -axisX : axisX;
+                normalZ = distance > 0 ? -axisZ : axisZ;
+            }
+        }
+        return new Vector3d(normalX * minOverlap, 0, normalZ * minOverlap);
+    }
+
+    private Footprint getFootprint(VehicleEntity vehicle)
+    {
+        return this.footprints.computeIfAbsent(vehicle.getProperties(), properties -> Footprint.create(properties, vehicle.getBbWidth()));
+    }
+
+    /**
+     * Updates the bounds of a vehicle for the broadphase. The bounds are expanded to cover the
+     * footprint when rotated and to allow for movement during the tick.
+     */
+    private void getBounds(VehicleEntity vehicle, double[] bounds)
+    {
+        AxisAlignedBB box = vehicle.getBoundingBox();
+        double radius = this.getFootprint(vehicle).radius + BROADPHASE_MARGIN;
+        bounds[0] = Math.min(box.minX, vehicle.getX() - radius);
+        bounds[1] = box.minY;
+        bounds[2] = Math.min(box.minZ, vehicle.getZ() - radius);
+        bounds[3] = Math.max(box.maxX, vehicle.getX() + radius);
+        bounds[4] = box.maxY;
+        bounds[5] = Math.max(box.maxZ, vehicle.getZ() + radius);
+    }
+
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.START)
+            return;
+
+        SweepAndPrune<VehicleEntity> broadphase = this.broadphases.get(event.world);
+        if(broadphase != null)
+        {
+            broadphase.update();
+        }
+    }
+
+    @SubscribeEvent
+    public void onEntityJoinWorld(EntityJoinWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+        if(entity instanceof VehicleEntity)
+        {
+            this.broadphases.computeIfAbsent(event.getWorld(), world -> new SweepAndPrune<>(this::getBounds)).add((VehicleEntity) entity);
+        }
+    }
+
+    @SubscribeEvent
+    public void onEntityLeaveWorld(EntityLeaveWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+        if(entity instanceof VehicleEntity)
+        {
+            SweepAndPrune<VehicleEntity> broadphase = this.broadphases.get(event.getWorld());
+            if(broadphase != null)
+            {
+                broadphase.remove((VehicleEntity) entity);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        IWorld world = event.getWorld();
+        if(world instanceof World)
+        {
+            this.broadphases.remove(world);
+        }
+    }
+
+    /**
+     * The area a vehicle covers on the ground, relative to the position and rotation of the
+     * vehicle. This is determined from the wheels and body transform in the vehicle properties.
+     */
+    private static class Footprint
+    {
+        private final double halfWidth;
+        private final double halfLength;
+        private final double offsetZ;
+        private final double radius;
+
+        private Footprint(double halfWidth, double halfLength, double offsetZ)
+        {
+            this.halfWidth = halfWidth;
+            this.halfLength = halfLength;
+            this.offsetZ = offsetZ;
+            this.radius = Math.abs(offsetZ) + Math.sqrt(halfWidth * halfWidth + halfLength * halfLength);
+        }
+
+        private static Footprint create(VehicleProperties properties, float width)
+        {
+            double halfWidth = width / 2.0;
+            double minZ = -halfWidth;
+            double maxZ = halfWidth;
+            List<Wheel> wheels = properties.getWheels();
+            if(wheels != null && !wheels.isEmpty())
+            {
+                Transform body = properties.getBodyTransform();
+                double scale = body.getScale() * 0.0625;
+                for(Wheel wheel : wheels)
+                {
+                    double radius = 4 * wheel.getScaleY() * scale;
+                    double side = (wheel.getOffsetX() + wheel.getWidth() * wheel.getScaleX()) * scale;
+                    double z = body.getZ() + wheel.getOffsetZ() * scale;
+                    halfWidth = Math.max(halfWidth, Math.abs(side));
+                    minZ = Math.min(minZ, z - radius);
+                    maxZ = Math.max(maxZ, z + radius);
+                }
+            }
+            return new Footprint(halfWidth, (maxZ - minZ) / 2.0, (maxZ + minZ) / 2.0);
+        }
+    }
+}
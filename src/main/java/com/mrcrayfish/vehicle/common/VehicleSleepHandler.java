@@ -0,0 +1,235 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.VehicleMod;
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IWorld;
+import net.minecraft.world.World;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveWorldEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wakes sleeping vehicles when any of the blocks they are resting on changes. Sleeping vehicles are
+ * indexed by the positions of every block under their bounding box, so they don't have to check the
+ * blocks every tick. Also keeps statistics of how many vehicle updates were skipped from sleeping or
+ * being far away, which are logged at debug level every few minutes.
+ *
+ * Author: MrCrayfish
+ */
+public class VehicleSleepHandler
+{
+    private static VehicleSleepHandler instance;
+
+    public static VehicleSleepHandler instance()
+    {
+        if(instance == null)
+        {
+            instance = new VehicleSleepHandler();
+        }
+        return instance;
+    }
+
+    private static final int LOG_INTERVAL = 6000;
+
+    /* Keyed by world instance since the client and server worlds exist together in single player */
+    private final Map<IWorld, Long2ObjectMap<List<VehicleEntity>>> sleepers = new HashMap<>();
+    private final Statistics statistics = new Statistics();
+    private final Statistics loggedStatistics = new Statistics();
+    private int logTimer;
+
+    private VehicleSleepHandler() {}
+
+    /**
+     * Gets the positions of the blocks a bounding box is resting on
+     *
+     * @param box the bounding box of a vehicle
+     * @return the positions as longs, see {@link BlockPos#asLong()}
+     */
+    public static long[] getSupportPositions(AxisAlignedBB box)
+    {
+        int y = MathHelper.floor(box.minY - 0.2);
+        int minX = MathHelper.floor(box.minX);
+        int minZ = MathHelper.floor(box.minZ);
+        int maxX = Math.max(minX, MathHelper.ceil(box.maxX) - 1);
+        int maxZ = Math.max(minZ, MathHelper.ceil(box.maxZ) - 1);
+        long[] positions = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+        int index = 0;
+        for(int x = minX; x <= maxX; x++)
+        {
+            for(int z = minZ; z <= maxZ; z++)
+            {
+                positions[index++] = BlockPos.asLong(x, y, z);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Adds a vehicle that has fallen asleep resting on the blocks at the given positions
+     */
+    public void addSleeper(VehicleEntity vehicle, long[] supportPositions)
+    {
+        Long2ObjectMap<List<VehicleEntity>> sleepers = this.sleepers.computeIfAbsent(vehicle.level, world -> new Long2ObjectOpenHashMap<>());
+        for(long pos : supportPositions)
+        {
+            sleepers.computeIfAbsent(pos, key -> new ArrayList<>(1)).add(vehicle);
+        }
+    }
+
+    /**
+     * Removes a vehicle that was asleep resting on the blocks at the given positions
+     */
+    public void removeSleeper(VehicleEntity vehicle, long[] supportPositions)
+    {
+        Long2ObjectMap<List<VehicleEntity>> sleepers = this.sleepers.get(vehicle.level);
+        if(sleepers == null)
+            return;
+
+        for(long pos : supportPositions)
+        {
+            List<VehicleEntity> vehicles = sleepers.get(pos);
+            if(vehicles != null)
+            {
+                vehicles.remove(vehicle);
+                if(vehicles.isEmpty())
+                {
+                    sleepers.remove(pos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a tick of a vehicle on the server
+     *
+     * @param sleeping if the update was skipped because the vehicle is asleep
+     * @param reduced  if the update was skipped because the vehicle is far away
+     */
+    public void recordTick(boolean sleeping, boolean reduced)
+    {
+        this.statistics.record(sleeping, reduced);
+        this.loggedStatistics.record(sleeping, reduced);
+    }
+
+    @SubscribeEvent
+    public void onNeighborNotify(BlockEvent.NeighborNotifyEvent event)
+    {
+        Long2ObjectMap<List<VehicleEntity>> sleepers = this.sleepers.get(event.getWorld());
+        if(sleepers == null || sleepers.isEmpty())
+            return;
+
+        List<VehicleEntity> vehicles = sleepers.get(event.getPos().asLong());
+        if(vehicles != null)
+        {
+            new ArrayList<>(vehicles).forEach(VehicleEntity::wake);
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END || ++this.logTimer < LOG_INTERVAL)
+            return;
+
+        this.logTimer = 0;
+        if(this.loggedStatistics.getTotalTicks() > 0)
+        {
+            VehicleMod.LOGGER.debug(this.loggedStatistics.getSummary());
+        }
+        this.loggedStatistics.reset();
+    }
+
+    @SubscribeEvent
+    public void onEntityLeaveWorld(EntityLeaveWorldEvent event)
+    {
+        Entity entity = event.getEntity();
+        if(entity instanceof VehicleEntity)
+        {
+            ((VehicleEntity) entity).wake();
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        this.sleepers.remove(event.getWorld());
+    }
+
+    /**
+     * Gets the statistics recorded since they were last reset by the tick stats command
+     */
+    public Statistics getStatistics()
+    {
+        return this.statistics;
+    }
+
+    public static class Statistics
+    {
+        private long updatedTicks;
+        private long sleepingTicks;
+        private long reducedTicks;
+
+        private void record(boolean sleeping, boolean reduced)
+        {
+            if(sleeping)
+            {
+                this.sleepingTicks++;
+            }
+            else if(reduced)
+            {
+                this.reducedTicks++;
+            }
+            else
+            {
+                this.updatedTicks++;
+            }
+        }
+
+        public long getUpdatedTicks()
+        {
+            return this.updatedTicks;
+        }
+
+        public long getSleepingTicks()
+        {
+            return this.sleepingTicks;
+        }
+
+        public long getReducedTicks()
+        {
+            return this.reducedTicks;
+        }
+
+        public long getTotalTicks()
+        {
+            return this.updatedTicks + this.sleepingTicks + this.reducedTicks;
+        }
+
+        public String getSummary()
+        {
+            long total = this.getTotalTicks();
+            double skipped = total > 0 ? (this.sleepingTicks + this.reducedTicks) * 100.0 / total : 0;
+            return String.format("Vehicle ticks: %d updated, %d skipped asleep, %d skipped distant (%.1f%% skipped)", this.updatedTicks, this.sleepingTicks, this.reducedTicks, skipped);
+        }
+
+        public void reset()
+        {
+            this.updatedTicks = 0;
+            this.sleepingTicks = 0;
+            this.reducedTicks = 0;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.mrcrayfish.vehicle.common;
+
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import com.mrcrayfish.vehicle.network.PacketHandler;
+import com.mrcrayfish.vehicle.network.datasync.VehicleDataValue;
+import com.mrcrayfish.vehicle.network.datasync.VehicleSnapshot;
+import com.mrcrayfish.vehicle.network.message.MessageVehicleSnapshot;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.network.PacketDistributor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Replicates the state of vehicles to the players tracking them using {@link VehicleSnapshot}s.
+ * Each player tracking a vehicle has its own baseline, which is the last snapshot sent to that
+ * player, and only the changes against it are sent. Snapshots are sent at an adaptive rate, based
+ * on the distance to the player and how fast the vehicle is moving, and all the vehicles due for
+ * an update are batched into a single message per player.
+ *
+ * The connection to the client is reliable and ordered, so the last snapshot sent is also the last
+ * snapshot the client will have applied. Keyframes are still sent periodically for vehicles that
+ * are changing, so a client can always recover a baseline.
+ *
+ * Author: MrCrayfish
+ */
+public class VehicleSnapshotHandler
+{
+    private static final int KEYFRAME_INTERVAL = 200;
+    private static final int CONTROLLER_INTERVAL = 10;
+    private static final int MAX_TICKS = 255;
+    private static final double NEAR_DISTANCE = 32.0;
+    private static final double MEDIUM_DISTANCE = 96.0;
+    private static final double SLOW_SPEED = 0.05;
+
+    /* Approximate size of the custom payload wrapping a message of the play channel. This includes
+     * the frame length, packet id, channel name and message discriminator. */
+    private static final int MESSAGE_OVERHEAD = 17;
+
+    private static VehicleSnapshotHandler instance;
+
+    public static VehicleSnapshotHandler instance()
+    {
+        if(instance == null)
+        {
+            instance = new VehicleSnapshotHandler();
+        }
+        return instance;
+    }
+
+    private final Map<UUID, PlayerState> players = new HashMap<>();
+    private Map<VehicleEntity, VehicleSnapshot> captures = new IdentityHashMap<>();
+    private Map<VehicleEntity, VehicleSnapshot> previousCaptures = new IdentityHashMap<>();
+    private final Statistics statistics = new Statistics();
+    private int tickCount;
+
+    private VehicleSnapshotHandler() {}
+
+    @SubscribeEvent
+    public void onStartTracking(PlayerEvent.StartTracking event)
+    {
+        if(!(event.getTarget() instanceof VehicleEntity) || !(event.getPlayer() instanceof ServerPlayerEntity))
+            return;
+
+        ServerPlayerEntity player = (ServerPlayerEntity) event.getPlayer();
+        PlayerState state = this.players.computeIfAbsent(player.getUUID(), uuid -> new PlayerState());
+        state.player = player;
+        state.trackers.put(event.getTarget().getId(), new Tracker((VehicleEntity) event.getTarget()));
+    }
+
+    @SubscribeEvent
+    public void onStopTracking(PlayerEvent.StopTracking event)
+    {
+        if(!(event.getTarget() instanceof VehicleEntity))
+            return;
+
+        PlayerState state = this.players.get(event.getPlayer().getUUID());
+        if(state != null)
+        {
+            state.trackers.remove(event.getTarget().getId());
+        }
+    }
+
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        this.players.remove(event.getPlayer().getUUID());
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event)
+    {
+        if(event.phase != TickEvent.Phase.END)
+            return;
+
+        this.tickCount++;
+        Iterator<PlayerState> playerIt = this.players.values().iterator();
+        while(playerIt.hasNext())
+        {
+            PlayerState state = playerIt.next();
+            if(state.player.hasDisconnected())
+            {
+                playerIt.remove();
+                continue;
+            }
+
+            List<MessageVehicleSnapshot.Entry> entries = null;
+            int size = 0;
+            Iterator<Tracker> it = state.trackers.values().iterator();
+            while(it.hasNext())
+            {
+                Tracker tracker = it.next();
+                VehicleEntity vehicle = tracker.vehicle;
+                if(!vehicle.isAlive())
+                {
+                    it.remove();
+                    continue;
+                }
+
+                VehicleSnapshot snapshot = this.capture(vehicle);
+                if(this.statistics.collecting)
+                {
+                    this.statistics.legacyBytes += this.estimateLegacyBytes(vehicle, snapshot);
+                    this.statistics.vehicleTicks++;
+                }
+
+                /* The controlling player simulates the vehicle, so it only receives the values the
+                 * server has authority over. The baseline is reset when switching between the two. */
+                boolean controller = vehicle.getControllingPassenger() == state.player;
+                if(controller != tracker.controller)
+                {
+                    tracker.controller = controller;
+                    tracker.baseline = null;
+                }
+
+                int elapsed = this.tickCount - tracker.lastSendTick;
+                int interval = controller ? CONTROLLER_INTERVAL : this.getSendInterval(vehicle, state.player);
+                if(tracker.baseline != null && elapsed < interval)
+                    continue;
+
+                VehicleSnapshot.Delta delta;
+                if(tracker.baseline != null)
+                {
+                    int valueMask = controller ? this.getControllerValueMask(vehicle) : -1;
+                    delta = snapshot.delta(tracker.baseline, valueMask, !controller);
+                    if(delta.isEmpty())
+                        continue;
+
+                    if(this.tickCount - tracker.lastKeyframeTick >= KEYFRAME_INTERVAL)
+                    {
+                        delta = snapshot.delta(null, -1, true);
+                    }
+                }
+                else
+                {
+                    delta = snapshot.delta(null, -1, true);
+                }
+
+                if(delta.isKeyframe())
+                {
+                    tracker.lastKeyframeTick = this.tickCount;
+                }
+                tracker.baseline = delta.apply(tracker.baseline);
+                tracker.lastSendTick = this.tickCount;
+
+                if(entries == null)
+                {
+                    entries = new ArrayList<>();
+                }
+                MessageVehicleSnapshot.Entry entry = new MessageVehicleSnapshot.Entry(vehicle.getId(), Math.min(Math.min(elapsed, interval), MAX_TICKS), delta);
+                entries.add(entry);
+                size += entry.getSize();
+            }
+
+            if(entries != null)
+            {
+                if(this.statistics.collecting)
+                {
+                    this.statistics.snapshotBytes += MESSAGE_OVERHEAD + PacketBuffer.getVarIntSize(entries.size()) + size;
+                }
+                ServerPlayerEntity player = state.player;
+                PacketHandler.getPlayChannel().send(PacketDistributor.PLAYER.with(() -> player), new MessageVehicleSnapshot(entries));
+            }
+        }
+
+        Map<VehicleEntity, VehicleSnapshot> previous = this.previousCaptures;
+        this.previousCaptures = this.captures;
+        this.captures = previous;
+        this.captures.clear();
+    }
+
+    /**
+     * Captures the snapshot of the given vehicle for this tick. The snapshot is shared between all
+     * the players tracking the vehicle.
+     */
+    private VehicleSnapshot capture(VehicleEntity vehicle)
+    {
+        return this.captures.computeIfAbsent(vehicle, VehicleSnapshot::capture);
+    }
+
+    /**
+     * Gets the amount of ticks between snapshots sent to the given player. Vehicles close to the
+     * player are updated every tick, while vehicles far away or barely moving are updated less.
+     */
+    private int getSendInterval(VehicleEntity vehicle, ServerPlayerEntity player)
+    {
+        double distance = vehicle.distanceToSqr(player);
+        int interval = distance < NEAR_DISTANCE * NEAR_DISTANCE ? 1 : distance < MEDIUM_DISTANCE * MEDIUM_DISTANCE ? 2 : 4;
+        double speed = vehicle.position().distanceToSqr(vehicle.xo, vehicle.yo, vehicle.zo);
+        if(speed < SLOW_SPEED * SLOW_SPEED)
+        {
+            interval *= 2;
+        }
+        return interval;
+    }
+
+    private int getControllerValueMask(VehicleEntity vehicle)
+    {
+        int mask = 0;
+        List<VehicleDataValue<?>> values = vehicle.getReplicatedValues();
+        for(int i = 0; i < values.size(); i++)
+        {
+            if(values.get(i).isSentToController())
+            {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Estimates the bytes the same update would have cost a single tracking player with vanilla
+     * movement packets sent every tick and the replicated values synced as entity data.
+     */
+    private int estimateLegacyBytes(VehicleEntity vehicle, VehicleSnapshot snapshot)
+    {
+        VehicleSnapshot previous = this.previousCaptures.get(vehicle);
+        if(previous == null)
+            return 0;
+
+        int bytes = 0;
+        int entityIdSize = PacketBuffer.getVarIntSize(vehicle.getId());
+        boolean moved = snapshot.getX() != previous.getX() || snapshot.getY() != previous.getY() || snapshot.getZ() != previous.getZ();
+        boolean rotated = snapshot.getYaw() != previous.getYaw() || snapshot.getPitch() != previous.getPitch();
+        if(moved || rotated)
+        {
+            // Frame length, packet id, entity id, position delta, rotation and on ground flag
+            bytes += 2 + entityIdSize + (moved ? 6 : 0) + (rotated ? 2 : 0) + 1;
+        }
+        if(moved)
+        {
+            // Velocity update
+            bytes += 2 + entityIdSize + 6;
+        }
+        int entries = 0;
+        for(int i = 0; i < snapshot.getValueCount(); i++)
+        {
+            if(i >= previous.getValueCount() || snapshot.getValue(i) != previous.getValue(i))
+            {
+                // Index, serializer id and a float value. Booleans are a little smaller.
+                entries += 6;
+            }
+        }
+        if(entries > 0)
+        {
+            // Entity data packet ending with a terminator
+            bytes += 2 + entityIdSize + entries + 1;
+        }
+        return bytes;
+    }
+
+    public Statistics getStatistics()
+    {
+        return this.statistics;
+    }
+
+    private static class PlayerState
+    {
+        private ServerPlayerEntity player;
+        private final Map<Integer, Tracker> trackers = new HashMap<>();
+    }
+
+    private static class Tracker
+    {
+        private final VehicleEntity vehicle;
+        private VehicleSnapshot baseline;
+        private boolean controller;
+        private int lastSendTick;
+        private int lastKeyframeTick;
+
+        private Tracker(VehicleEntity vehicle)
+        {
+            this.vehicle = vehicle;
+        }
+    }
+
+    /**
+     * Measured bytes sent by snapshots compared to an estimate of the previous scheme, where the
+     * movement of vehicles was sent every tick and the inputs were synced as entity data. Nothing
+     * is measured unless collecting has been started, since the estimate compares every tracked
+     * vehicle against its previous capture.
+     */
+    public static class Statistics
+    {
+        private boolean collecting;
+        private long snapshotBytes;
+        private long legacyBytes;
+        private long vehicleTicks;
+
+        /**
+         * @return the average bytes sent per tracked vehicle per second using snapshots
+         */
+        public double getSnapshotBytesPerSecond()
+        {
+            return this.vehicleTicks > 0 ? this.snapshotBytes * 20.0 / this.vehicleTicks : 0;
+        }
+
+        /**
+         * @return the estimated bytes per tracked vehicle per second with the previous scheme
+         */
+        public double getLegacyBytesPerSecond()
+        {
+            return this.vehicleTicks > 0 ? this.legacyBytes * 20.0 / this.vehicleTicks : 0;
+        }
+
+        public long getVehicleTicks()
+        {
+            return this.vehicleTicks;
+        }
+
+        public boolean isCollecting()
+        {
+            return this.collecting;
+        }
+
+        public void setCollecting(boolean collecting)
+        {
+            this.collecting = collecting;
+        }
+
+        public void reset()
+        {
+            this.snapshotBytes = 0;
+            this.legacyBytes = 0;
+            this.vehicleTicks = 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mrcrayfish.vehicle.common.collision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sweep and prune broadphase that finds the pairs of objects with overlapping bounds. Entries are
+ * kept sorted along the x-axis. Since objects rarely move far between updates, the order barely
+ * changes and an insertion sort restores it in close to linear time, rather than the cost of a
+ * full sort. The sorted sweep then only compares objects that overlap on the x-axis.
+ *
+ * Author: MrCrayfish
+ */
+public class SweepAndPrune<T>
+{
+    private final Bounds<T> bounds;
+    private final List<Entry<T>> entries = new ArrayList<>();
+    private final Map<T, Entry<T>> lookup = new HashMap<>();
+    private final double[] box = new double[6];
+    private boolean dirty;
+
+    /**
+     * @param bounds the function providing the bounds of an object when updated
+     */
+    public SweepAndPrune(Bounds<T> bounds)
+    {
+        this.bounds = bounds;
+    }
+
+    public void add(T object)
+    {
+        if(!this.lookup.containsKey(object))
+        {
+            Entry<T> entry = new Entry<>(object);
+            this.entries.add(entry);
+            this.lookup.put(object, entry);
+        }
+    }
+
+    public void remove(T object)
+    {
+        Entry<T> entry = this.lookup.remove(object);
+        if(entry != null)
+        {
+            entry.removed = true;
+            this.dirty = true;
+        }
+    }
+
+    public int size()
+    {
+        return this.lookup.size();
+    }
+
+    /**
+     * Gets the objects whose bounds overlapped the bounds of the given object during the last
+     * update. Objects removed since then may still be included.
+     */
+    public List<T> getContacts(T object)
+    {
+        Entry<T> entry = this.lookup.get(object);
+        return entry != null ? entry.contacts : Collections.emptyList();
+    }
+
+    /**
+     * Updates the bounds of every object, restores the sort order and finds all overlapping pairs
+     */
+    public void update()
+    {
+        if(this.dirty)
+        {
+            this.entries.removeIf(entry -> entry.removed);
+            this.dirty = false;
+        }
+
+        for(Entry<T> entry : this.entries)
+        {
+            this.bounds.get(entry.object, this.box);
+            entry.minX = this.box[0];
+            entry.minY = this.box[1];
+            entry.minZ = this.box[2];
+            entry.maxX = this.box[3];
+            entry.maxY = this.box[4];
+            entry.maxZ = this.box[5];
+            entry.contacts.clear();
+        }
+
+        for(int i = 1; i < this.entries.size(); i++)
+        {
+            Entry<T> entry = this.entries.get(i);
+            int j = i - 1;
+            while(j >= 0 && this.entries.get(j).minX > entry.minX)
+            {
+                this.entries.set(j + 1, this.entries.get(j));
+                j--;
+            }
+            this.entries.set(j + 1, entry);
+        }
+
+        for(int i = 0; i < this.entries.size(); i++)
+        {
+            Entry<T> entry = this.entries.get(i);
+            for(int j = i + 1; j < this.entries.size(); j++)
+            {
+                Entry<T> other = this.entries.get(j);
+                if(other.minX > entry.maxX)
+                    break;
+
+                if(entry.minZ <= other.maxZ && entry.maxZ >= other.minZ && entry.minY <= other.maxY && entry.maxY >= other.minY)
+                {
+                    entry.contacts.add(other.object);
+                    other.contacts.add(entry.object);
+                }
+            }
+        }
+    }
+
+    /**
+     * Provides the bounds of an object as min x, y, z followed by max x, y, z
+     */
+    public interface Bounds<T>
+    {
+        void get(T object, double[] box);
+    }
+
+    private static class Entry<T>
+    {
+        private final T object;
+        private final List<T> contacts = new ArrayList<>();
+        private boolean removed;
+        private double minX, minY, minZ;
+        private double maxX, maxY, maxZ;
+
+        private Entry(T object)
+        {
+            this.object = object;
+        }
+    }
+}
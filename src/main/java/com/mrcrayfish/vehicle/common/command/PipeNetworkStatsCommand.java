@@ -0,0 +1,34 @@
+package com.mrcrayfish.vehicle.common.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mrcrayfish.vehicle.common.PipeNetworkManager;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+
+/**
+ * Prints the time taken from requesting a pipe network rebuild to it being applied to the pump,
+ * then resets the statistics.
+ *
+ * Author: MrCrayfish
+ */
+public class PipeNetworkStatsCommand
+{
+    public static void register(CommandDispatcher<CommandSource> dispatcher)
+    {
+        dispatcher.register(Commands.literal("pipenetworkstats")
+            .requires(source -> source.hasPermission(2))
+            .executes(PipeNetworkStatsCommand::handle));
+    }
+
+    private static int handle(CommandContext<CommandSource> context)
+    {
+        PipeNetworkManager manager = PipeNetworkManager.instance();
+        PipeNetworkManager.Statistics statistics = manager.getStatistics();
+        String message = String.format("Pipe network rebuilds: %d, latency avg %.2fms, max %.2fms, last %.2fms, %d pending", statistics.getRebuilds(), statistics.getAverageLatency(), statistics.getMaxLatency(), statistics.getLastLatency(), manager.getPendingCount());
+        context.getSource().sendSuccess(new StringTextComponent(message), false);
+        statistics.reset();
+        return 1;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mrcrayfish.vehicle.common.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mrcrayfish.vehicle.common.VehicleSnapshotHandler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+
+/**
+ * Starts collecting the bytes sent per tracked vehicle per second by vehicle snapshots. Once
+ * stopped, prints them compared to an estimate of the previous scheme, then resets the statistics.
+ *
+ * Author: MrCrayfish
+ */
+public class SnapshotStatsCommand
+{
+    public static void register(CommandDispatcher<CommandSource> dispatcher)
+    {
+        dispatcher.register(Commands.literal("snapshotstats")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("start").executes(SnapshotStatsCommand::handleStart))
+            .then(Commands.literal("stop").executes(SnapshotStatsCommand::handleStop)));
+    }
+
+    private static int handleStart(CommandContext<CommandSource> context)
+    {
+        VehicleSnapshotHandler.Statistics statistics = VehicleSnapshotHandler.instance().getStatistics();
+        statistics.reset();
+        statistics.setCollecting(true);
+        context.getSource().sendSuccess(new StringTextComponent("Started collecting snapshot statistics"), false);
+        return 1;
+    }
+
+    private static int handleStop(CommandContext<CommandSource> context)
+    {
+        VehicleSnapshotHandler.Statistics statistics = VehicleSnapshotHandler.instance().getStatistics();
+        if(!statistics.isCollecting())
+        {
+            context.getSource().sendFailure(new StringTextComponent("Snapshot statistics are not being collected"));
+            return 0;
+        }
+        double seconds = statistics.getVehicleTicks() / 20.0;
+        double snapshot = statistics.getSnapshotBytesPerSecond();
+        double legacy = statistics.getLegacyBytesPerSecond();
+        String message = String.format("Snapshots: %.1f B/vehicle/s, previous scheme (estimated): %.1f B/vehicle/s, over %.1f vehicle seconds", snapshot, legacy, seconds);
+        context.getSource().sendSuccess(new StringTextComponent(message), false);
+        statistics.setCollecting(false);
+        statistics.reset();
+        return 1;
+    }
+}
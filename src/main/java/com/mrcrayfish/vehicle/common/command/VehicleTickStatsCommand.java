@@ -0,0 +1,32 @@
+package com.mrcrayfish.vehicle.common.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mrcrayfish.vehicle.common.VehicleSleepHandler;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+
+/**
+ * Prints how many vehicle updates were skipped on the server from vehicles sleeping or being far
+ * away from all players, then resets the statistics.
+ *
+ * Author: MrCrayfish
+ */
+public class VehicleTickStatsCommand
+{
+    public static void register(CommandDispatcher<CommandSource> dispatcher)
+    {
+        dispatcher.register(Commands.literal("vehicletickstats")
+            .requires(source -> source.hasPermission(2))
+            .executes(VehicleTickStatsCommand::handle));
+    }
+
+    private static int handle(CommandContext<CommandSource> context)
+    {
+        VehicleSleepHandler.Statistics statistics = VehicleSleepHandler.instance().getStatistics();
+        context.getSource().sendSuccess(new StringTextComponent(statistics.getSummary()), false);
+        statistics.reset();
+        return 1;
+    }
+}
@@ -0,0 +1,340 @@
+package com.mrcrayfish.vehicle.common.data;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArraySet;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.storage.WorldSavedData;
+import net.minecraftforge.common.util.Constants;
+import org.apache.commons.lang3.tuple.Pair;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores the topology of the pipes in a world, so pump networks don't have to be found again every
+ * time the world is loaded. There are two parts to it:
+ *
+ * The pipe index contains the connections of every pipe, grouped by chunk. It's kept up to date by
+ * the pipe blocks and checked against the actual blocks when a chunk loads. A chunk is only in the
+ * index once it has been checked, so a missing chunk means the pipes in it are unknown.
+ *
+ * The networks are the last result of building the network of each pump, which is restored when the
+ * pump is loaded instead of searching the pipes again.
+ *
+ * Author: MrCrayfish
+ */
+public class PipeNetworkData extends WorldSavedData
+{
+    public static final String NAME = "vehicle_pipe_networks";
+
+    /* The index is changed in place on the server thread. Snapshots read from the published copies
+     * of the chunks instead, which are never modified once published. Only the chunks that changed
+     * since the last snapshot are copied again, so a snapshot is a copy of the outer map plus the
+     * changed chunks, which can be safely read from another thread while the index keeps changing. */
+    private final Long2ObjectOpenHashMap<Long2IntOpenHashMap> chunks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<Long2IntOpenHashMap> publishedChunks = new Long2ObjectOpenHashMap<>();
+    private final LongSet changedChunks = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<Network> networks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<LongSet> pumpsByPipe = new Long2ObjectOpenHashMap<>();
+
+    public PipeNetworkData()
+    {
+        super(NAME);
+    }
+
+    /**
+     * @return the packed state of the pipe at the given position or -1 if there is no pipe indexed
+     */
+    public int getState(BlockPos pos)
+    {
+        Long2IntOpenHashMap states = this.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        return states != null ? states.get(pos.asLong()) : -1;
+    }
+
+    public void setState(BlockPos pos, int state)
+    {
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Long2IntOpenHashMap states = this.chunks.get(chunkKey);
+        if(states != null && states.get(pos.asLong()) == state)
+            return;
+
+        if(states == null)
+        {
+            states = new Long2IntOpenHashMap();
+            states.defaultReturnValue(-1);
+            this.chunks.put(chunkKey, states);
+        }
+        states.put(pos.asLong(), state);
+        this.changedChunks.add(chunkKey);
+        this.setDirty();
+    }
+
+    public void removeState(BlockPos pos)
+    {
+        long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        Long2IntOpenHashMap states = this.chunks.get(chunkKey);
+        if(states == null || !states.containsKey(pos.asLong()))
+            return;
+
+        states.remove(pos.asLong());
+        this.changedChunks.add(chunkKey);
+        this.setDirty();
+    }
+
+    /**
+     * @return a live view of the packed states of the pipes in the given chunk, or null if the
+     * chunk isn't indexed
+     */
+    @Nullable
+    public Long2IntMap getChunkStates(ChunkPos pos)
+    {
+        Long2IntOpenHashMap states = this.chunks.get(pos.toLong());
+        return states != null ? Long2IntMaps.unmodifiable(states) : null;
+    }
+
+    /**
+     * Marks the chunk as indexed, meaning every pipe in the chunk is in the index
+     */
+    public void markIndexed(ChunkPos pos)
+    {
+        if(!this.chunks.containsKey(pos.toLong()))
+        {
+            Long2IntOpenHashMap states = new Long2IntOpenHashMap();
+            states.defaultReturnValue(-1);
+            this.chunks.put(pos.toLong(), states);
+            this.changedChunks.add(pos.toLong());
+            this.setDirty();
+        }
+    }
+
+    /**
+     * Creates a snapshot of the pipe index that can be read from any thread
+     */
+    public Snapshot createSnapshot()
+    {
+        LongIterator it = this.changedChunks.iterator();
+        while(it.hasNext())
+        {
+            long chunkKey = it.nextLong();
+            Long2IntOpenHashMap states = this.chunks.get(chunkKey);
+            if(states != null)
+            {
+                Long2IntOpenHashMap copy = new Long2IntOpenHashMap(states);
+                copy.defaultReturnValue(-1);
+                this.publishedChunks.put(chunkKey, copy);
+            }
+            else
+            {
+                this.publishedChunks.remove(chunkKey);
+            }
+        }
+        this.changedChunks.clear();
+        return new Snapshot(new Long2ObjectOpenHashMap<>(this.publishedChunks));
+    }
+
+    @Nullable
+    public Network getNetwork(BlockPos pumpPos)
+    {
+        return this.networks.get(pumpPos.asLong());
+    }
+
+    public void putNetwork(BlockPos pumpPos, Network network)
+    {
+        this.removeNetwork(pumpPos);
+        long pumpKey = pumpPos.asLong();
+        this.networks.put(pumpKey, network);
+        for(long pipe : network.pipes)
+        {
+            this.pumpsByPipe.computeIfAbsent(pipe, key -> new LongArraySet()).add(pumpKey);
+        }
+        this.setDirty();
+    }
+
+    public void removeNetwork(BlockPos pumpPos)
+    {
+        long pumpKey = pumpPos.asLong();
+        Network network = this.networks.remove(pumpKey);
+        if(network == null)
+            return;
+
+        for(long pipe : network.pipes)
+        {
+            LongSet pumps = this.pumpsByPipe.get(pipe);
+            if(pumps != null)
+            {
+                pumps.remove(pumpKey);
+                if(pumps.isEmpty())
+                {
+                    this.pumpsByPipe.remove(pipe);
+                }
+            }
+        }
+        this.setDirty();
+    }
+
+    /**
+     * @return the positions of the pumps with a saved network that contains the given pipe
+     */
+    public LongSet getPumps(BlockPos pipePos)
+    {
+        LongSet pumps = this.pumpsByPipe.get(pipePos.asLong());
+        return pumps != null ? LongSets.unmodifiable(pumps) : LongSets.EMPTY_SET;
+    }
+
+    @Override
+    public void load(CompoundNBT compound)
+    {
+        this.chunks.clear();
+        this.publishedChunks.clear();
+        this.changedChunks.clear();
+        this.networks.clear();
+        this.pumpsByPipe.clear();
+
+        ListNBT chunkList = compound.getList("Chunks", Constants.NBT.TAG_COMPOUND);
+        for(int i = 0; i < chunkList.size(); i++)
+        {
+            CompoundNBT chunkTag = chunkList.getCompound(i);
+            long[] pipes = chunkTag.getLongArray("Pipes");
+            int[] states = chunkTag.getIntArray("States");
+            if(pipes.length != states.length)
+                continue;
+
+            Long2IntOpenHashMap map = new Long2IntOpenHashMap(pipes, states);
+            map.defaultReturnValue(-1);
+            this.chunks.put(chunkTag.getLong("Pos"), map);
+            this.changedChunks.add(chunkTag.getLong("Pos"));
+        }
+
+        ListNBT networkList = compound.getList("Networks", Constants.NBT.TAG_COMPOUND);
+        for(int i = 0; i < networkList.size(); i++)
+        {
+            CompoundNBT networkTag = networkList.getCompound(i);
+            long[] handlers = networkTag.getLongArray("Handlers");
+            byte[] sides = networkTag.getByteArray("Sides");
+            if(handlers.length != sides.length)
+                continue;
+
+            this.putNetwork(BlockPos.of(networkTag.getLong("Pump")), new Network(networkTag.getLongArray("Pipes"), handlers, sides));
+        }
+    }
+
+    @Override
+    public CompoundNBT save(CompoundNBT compound)
+    {
+        ListNBT chunkList = new ListNBT();
+        for(Long2ObjectMap.Entry<Long2IntOpenHashMap> entry : Long2ObjectMaps.fastIterable(this.chunks))
+        {
+            CompoundNBT chunkTag = new CompoundNBT();
+            chunkTag.putLong("Pos", entry.getLongKey());
+            chunkTag.putLongArray("Pipes", entry.getValue().keySet().toLongArray());
+            chunkTag.putIntArray("States", entry.getValue().values().toIntArray());
+            chunkList.add(chunkTag);
+        }
+        compound.put("Chunks", chunkList);
+
+        ListNBT networkList = new ListNBT();
+        for(Long2ObjectMap.Entry<Network> entry : Long2ObjectMaps.fastIterable(this.networks))
+        {
+            Network network = entry.getValue();
+            CompoundNBT networkTag = new CompoundNBT();
+            networkTag.putLong("Pump", entry.getLongKey());
+            networkTag.putLongArray("Pipes", network.pipes);
+            networkTag.putLongArray("Handlers", network.handlers);
+            networkTag.putByteArray("Sides", network.sides);
+            networkList.add(networkTag);
+        }
+        compound.put("Networks", networkList);
+        return compound;
+    }
+
+    /**
+     * A read only copy of the pipe index at a point in time
+     */
+    public static class Snapshot
+    {
+        private final Long2ObjectOpenHashMap<Long2IntOpenHashMap> chunks;
+
+        private Snapshot(Long2ObjectOpenHashMap<Long2IntOpenHashMap> chunks)
+        {
+            this.chunks = chunks;
+        }
+
+        public boolean isIndexed(long pos)
+        {
+            return this.chunks.containsKey(ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4));
+        }
+
+        /**
+         * @return the packed state of the pipe at the given position or -1 if there is no pipe
+         */
+        public int getState(long pos)
+        {
+            Long2IntOpenHashMap states = this.chunks.get(ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4));
+            return states != null ? states.get(pos) : -1;
+        }
+    }
+
+    /**
+     * The pipes and fluid handlers found when building the network of a pump
+     */
+    public static class Network
+    {
+        private final long[] pipes;
+        private final long[] handlers;
+        private final byte[] sides;
+
+        private Network(long[] pipes, long[] handlers, byte[] sides)
+        {
+            this.pipes = pipes;
+            this.handlers = handlers;
+            this.sides = sides;
+        }
+
+        public static Network create(Collection<BlockPos> pipes, List<Pair<BlockPos, Direction>> handlers)
+        {
+            long[] pipeArray = pipes.stream().mapToLong(BlockPos::asLong).toArray();
+            long[] handlerArray = new long[handlers.size()];
+            byte[] sideArray = new byte[handlers.size()];
+            for(int i = 0; i < handlers.size(); i++)
+            {
+                handlerArray[i] = handlers.get(i).getLeft().asLong();
+                sideArray[i] = (byte) handlers.get(i).getRight().get3DDataValue();
+            }
+            return new Network(pipeArray, handlerArray, sideArray);
+        }
+
+        public int getPipeCount()
+        {
+            return this.pipes.length;
+        }
+
+        public BlockPos getPipe(int index)
+        {
+            return BlockPos.of(this.pipes[index]);
+        }
+
+        public int getHandlerCount()
+        {
+            return this.handlers.length;
+        }
+
+        public Pair<BlockPos, Direction> getHandler(int index)
+        {
+            return Pair.of(BlockPos.of(this.handlers[index]), Direction.from3DDataValue(this.sides[index]));
+        }
+    }
+}
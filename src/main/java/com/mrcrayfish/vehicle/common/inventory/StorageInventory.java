@@ -26,6 +26,7 @@ public class StorageInventory extends Inventory
     private final WeakReference<Entity> entityRef;
     private final ITextComponent displayName;
     private final Predicate<ItemStack> itemPredicate;
+    private int version;
 
     public StorageInventory(Entity entity, ITextComponent displayName, int rows)
     {
@@ -59,6 +60,22 @@ public class StorageInventory extends Inventory
         return this.itemPredicate.test(stack);
     }
 
+    /**
+     * Gets the version of this inventory. The version is incremented every time the contents of
+     * the inventory are changed, which allows other code to cache information about the contents.
+     */
+    public int getVersion()
+    {
+        return this.version;
+    }
+
+    @Override
+    public void setChanged()
+    {
+        super.setChanged();
+        this.version++;
+    }
+
     public ListNBT createTag()
     {
         ListNBT tagList = new ListNBT();
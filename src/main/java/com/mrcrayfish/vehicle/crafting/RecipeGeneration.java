@@ -0,0 +1,28 @@
+package com.mrcrayfish.vehicle.crafting;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts how many times the recipes of an existing recipe manager have been replaced. The client
+ * reuses its recipe manager when it receives new recipes, so anything cached against the manager
+ * also has to check the generation to see the new recipes.
+ *
+ * Author: MrCrayfish
+ */
+public class RecipeGeneration
+{
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    public static int get()
+    {
+        return GENERATION.get();
+    }
+
+    /**
+     * Called when the recipes of an existing recipe manager are replaced
+     */
+    public static void increment()
+    {
+        GENERATION.incrementAndGet();
+    }
+}
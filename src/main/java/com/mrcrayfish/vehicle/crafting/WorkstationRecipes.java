@@ -1,21 +1,71 @@
 package com.mrcrayfish.vehicle.crafting;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import net.minecraft.entity.EntityType;
+import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Author: MrCrayfish
  */
 public class WorkstationRecipes
 {
+    /* A new recipe manager is created every time data packs are reloaded, so the recipes are cached
+     * per manager. The client and the integrated server each have their own manager, however the
+     * client reuses its manager when it receives new recipes, so it has to be invalidated. */
+    private static final Map<RecipeManager, Cache> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Gets all the workstation recipes of the given world
+     */
+    public static List<WorkstationRecipe> getRecipes(World world)
+    {
+        return getCache(world).recipes;
+    }
+
     @Nullable
     public static WorkstationRecipe getRecipe(EntityType<?> entityType, World world)
     {
-        List<WorkstationRecipe> recipes = world.getRecipeManager().getRecipes().stream().filter(recipe -> recipe.getType() == RecipeType.WORKSTATION).map(recipe -> (WorkstationRecipe) recipe).collect(Collectors.toList());
-        return recipes.stream().filter(recipe -> recipe.getVehicle() == entityType).findFirst().orElse(null);
+        return getCache(world).recipeByVehicle.get(entityType);
+    }
+
+    /**
+     * Clears the cached recipes of the given recipe manager. Only needed when the recipes of an
+     * existing manager are replaced.
+     */
+    public static void invalidate(RecipeManager manager)
+    {
+        CACHE.remove(manager);
+    }
+
+    private static Cache getCache(World world)
+    {
+        return CACHE.computeIfAbsent(world.getRecipeManager(), Cache::new);
+    }
+
+    private static class Cache
+    {
+        private final ImmutableList<WorkstationRecipe> recipes;
+        private final ImmutableMap<EntityType<?>, WorkstationRecipe> recipeByVehicle;
+
+        private Cache(RecipeManager manager)
+        {
+            ImmutableList.Builder<WorkstationRecipe> recipes = ImmutableList.builder();
+            Map<EntityType<?>, WorkstationRecipe> recipeByVehicle = new LinkedHashMap<>();
+            manager.getRecipes().stream().filter(recipe -> recipe.getType() == RecipeType.WORKSTATION).map(recipe -> (WorkstationRecipe) recipe).forEach(recipe -> {
+                recipes.add(recipe);
+                recipeByVehicle.putIfAbsent(recipe.getVehicle(), recipe);
+            });
+            this.recipes = recipes.build();
+            this.recipeByVehicle = ImmutableMap.copyOf(recipeByVehicle);
+        }
     }
 }
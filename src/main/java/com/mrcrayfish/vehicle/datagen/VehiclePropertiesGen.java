@@ -20,6 +20,7 @@ import com.mrcrayfish.vehicle.init.ModSounds;
 import com.mrcrayfish.vehicle.util.Axis;
 import net.minecraft.data.DataGenerator;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.data.ExistingFileHelper;
 import net.minecraftforge.fml.common.Mod;
 
 /**
@@ -32,6 +33,11 @@ public class VehiclePropertiesGen extends VehiclePropertiesProvider
         super(generator);
     }
 
+    public VehiclePropertiesGen(DataGenerator generator, ExistingFileHelper existingFileHelper)
+    {
+        super(generator, existingFileHelper);
+    }
+
     @Override
     public void registerProperties()
     {
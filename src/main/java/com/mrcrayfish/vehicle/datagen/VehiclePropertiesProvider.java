@@ -12,19 +12,23 @@ import net.minecraft.data.DirectoryCache;
 import net.minecraft.data.IDataProvider;
 import net.minecraft.entity.EntityType;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.data.ExistingFileHelper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Author: MrCrayfish
@@ -35,12 +39,24 @@ public abstract class VehiclePropertiesProvider implements IDataProvider
     private static final Gson GSON = new GsonBuilder().registerTypeAdapter(VehicleProperties.class, new VehicleProperties.Serializer()).create();
 
     private final DataGenerator generator;
+    private final VehiclePropertiesValidator validator;
     private final Map<ResourceLocation, VehicleProperties> vehiclePropertiesMap = new HashMap<>();
     private boolean scaleWheels = false;
 
     protected VehiclePropertiesProvider(DataGenerator generator)
+    {
+        this(generator, null);
+    }
+
+    /**
+     * @param generator          the data generator
+     * @param existingFileHelper used to check that the models of cosmetics exist when validating
+     *                           the properties. If null, models are not checked.
+     */
+    protected VehiclePropertiesProvider(DataGenerator generator, @Nullable ExistingFileHelper existingFileHelper)
     {
         this.generator = generator;
+        this.validator = new VehiclePropertiesValidator(existingFileHelper);
     }
 
     public void setScaleWheels(boolean scaleWheels)
@@ -70,79 +86,68 @@ public abstract class VehiclePropertiesProvider implements IDataProvider
     {
         this.vehiclePropertiesMap.clear();
         this.registerProperties();
-        this.vehiclePropertiesMap.forEach((id, properties) ->
+
+        /* Validation checks models through the existing file helper, which isn't thread safe */
+        List<String> errors = this.vehiclePropertiesMap.entrySet().stream().flatMap(entry -> this.validator.validate(entry.getKey(), entry.getValue()).stream()).sorted().collect(Collectors.toList());
+        if(!errors.isEmpty())
         {
-            String modId = id.getNamespace();
-            String vehicleId = id.getPath();
-            Path path = this.generator.getOutputFolder().resolve("data/" + modId + "/vehicles/properties/" + vehicleId + ".json");
-            try
-            {
-                String rawJson = GSON.toJson(properties);
-                String hash = SHA1.hashUnencodedChars(rawJson).toString();
-                if(!Objects.equals(cache.getHash(path), hash) || !Files.exists(path))
-                {
-                    Files.createDirectories(path.getParent());
-                    try(BufferedWriter writer = Files.newBufferedWriter(path))
-                    {
-                        writer.write(rawJson);
-                    }
-                }
-                cache.putNew(path, hash);
-            }
-            catch(IOException e)
-            {
-                LOGGER.error("Couldn't save vehicle properties to {}", path, e);
-            }
+            errors.forEach(LOGGER::error);
+            throw new IllegalStateException("Found " + errors.size() + " problem(s) with the vehicle properties, see the log for details");
+        }
+
+        /* Serialising and hashing doesn't touch the cache, so it can be done for every vehicle at the same time */
+        List<Output> outputs = this.vehiclePropertiesMap.entrySet().parallelStream().flatMap(entry -> this.createOutputs(entry.getKey(), entry.getValue()).stream()).collect(Collectors.toList());
 
-            if(properties.getCosmetics().isEmpty())
-                return;
+        /* The directory cache isn't thread safe, so only the writing of changed files is done in parallel */
+        List<Output> changed = outputs.stream().filter(output -> !Objects.equals(cache.getHash(output.path), output.hash) || !Files.exists(output.path)).collect(Collectors.toList());
+        changed.parallelStream().forEach(Output::write);
+        outputs.forEach(output -> cache.putNew(output.path, output.hash));
+    }
 
+    private List<Output> createOutputs(ResourceLocation id, VehicleProperties properties)
+    {
+        String modId = id.getNamespace();
+        String vehicleId = id.getPath();
+        List<Output> outputs = new ArrayList<>(2);
+        Path path = this.generator.getOutputFolder().resolve("data/" + modId + "/vehicles/properties/" + vehicleId + ".json");
+        outputs.add(new Output(path, GSON.toJson(properties), "vehicle properties"));
+        if(!properties.getCosmetics().isEmpty())
+        {
             path = this.generator.getOutputFolder().resolve("data/" + modId + "/vehicles/cosmetics/" + vehicleId + ".json");
-            try
+            outputs.add(new Output(path, GSON.toJson(this.createCosmeticsObject(properties)), "vehicle cosmetics"));
+        }
+        return outputs;
+    }
+
+    private JsonObject createCosmeticsObject(VehicleProperties properties)
+    {
+        JsonObject object = new JsonObject();
+        object.addProperty("replace", false);
+        JsonObject validModels = new JsonObject();
+        properties.getCosmetics().forEach((cosmeticId, cosmeticProperties) ->
+        {
+            JsonArray array = new JsonArray();
+            cosmeticProperties.getModelLocations().forEach(location ->
             {
-                JsonObject object = new JsonObject();
-                object.addProperty("replace", false);
-                JsonObject validModels = new JsonObject();
-                properties.getCosmetics().forEach((cosmeticId, cosmeticProperties) ->
+                List<ResourceLocation> disabledCosmetics = cosmeticProperties.getDisabledCosmetics().getOrDefault(location, Collections.emptyList());
+                if(disabledCosmetics.isEmpty())
                 {
-                    JsonArray array = new JsonArray();
-                    cosmeticProperties.getModelLocations().forEach(location ->
-                    {
-                        List<ResourceLocation> disabledCosmetics = cosmeticProperties.getDisabledCosmetics().getOrDefault(location, Collections.emptyList());
-                        if(disabledCosmetics.isEmpty())
-                        {
-                            array.add(location.toString());
-                        }
-                        else
-                        {
-                            JsonObject modelObject = new JsonObject();
-                            modelObject.addProperty("model", location.toString());
-                            JsonArray disables = new JsonArray();
-                            disabledCosmetics.forEach(disabledCosmeticId -> disables.add(disabledCosmeticId.toString()));
-                            modelObject.add("disables", disables);
-                            array.add(modelObject);
-                        }
-                    });
-                    validModels.add(cosmeticId.toString(), array);
-                });
-                object.add("valid_models", validModels);
-                String rawJson = GSON.toJson(object);
-                String hash = SHA1.hashUnencodedChars(rawJson).toString();
-                if(!Objects.equals(cache.getHash(path), hash) || !Files.exists(path))
+                    array.add(location.toString());
+                }
+                else
                 {
-                    Files.createDirectories(path.getParent());
-                    try(BufferedWriter writer = Files.newBufferedWriter(path))
-                    {
-                        writer.write(rawJson);
-                    }
+                    JsonObject modelObject = new JsonObject();
+                    modelObject.addProperty("model", location.toString());
+                    JsonArray disables = new JsonArray();
+                    disabledCosmetics.forEach(disabledCosmeticId -> disables.add(disabledCosmeticId.toString()));
+                    modelObject.add("disables", disables);
+                    array.add(modelObject);
                 }
-                cache.putNew(path, hash);
-            }
-            catch(IOException e)
-            {
-                LOGGER.error("Couldn't save vehicle cosmetics to {}", path, e);
-            }
+            });
+            validModels.add(cosmeticId.toString(), array);
         });
+        object.add("valid_models", validModels);
+        return object;
     }
 
     @Nonnull
@@ -151,4 +156,36 @@ public abstract class VehiclePropertiesProvider implements IDataProvider
     {
         return "VehicleProperties";
     }
+
+    private static class Output
+    {
+        private final Path path;
+        private final String json;
+        private final String hash;
+        private final String description;
+
+        private Output(Path path, String json, String description)
+        {
+            this.path = path;
+            this.json = json;
+            this.hash = SHA1.hashUnencodedChars(json).toString();
+            this.description = description;
+        }
+
+        private void write()
+        {
+            try
+            {
+                Files.createDirectories(this.path.getParent());
+                try(BufferedWriter writer = Files.newBufferedWriter(this.path))
+                {
+                    writer.write(this.json);
+                }
+            }
+            catch(IOException e)
+            {
+                LOGGER.error("Couldn't save {} to {}", this.description, this.path, e);
+            }
+        }
+    }
 }
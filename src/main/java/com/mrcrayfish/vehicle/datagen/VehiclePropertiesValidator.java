@@ -0,0 +1,167 @@
+package com.mrcrayfish.vehicle.datagen;
+
+import com.mrcrayfish.vehicle.common.Seat;
+import com.mrcrayfish.vehicle.entity.Wheel;
+import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
+import net.minecraft.resources.ResourcePackType;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.vector.Vector3d;
+import net.minecraftforge.common.data.ExistingFileHelper;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Checks generated vehicle properties for mistakes that would otherwise only show up in game, such
+ * as a cosmetic pointing to a model that doesn't exist, two seats in the same spot or a wheel with
+ * a scale that makes it invisible.
+ *
+ * Author: MrCrayfish
+ */
+public class VehiclePropertiesValidator
+{
+    @Nullable
+    private final Predicate<ResourceLocation> modelExists;
+
+    /**
+     * @param existingFileHelper the helper used to check if models exist, or null to skip checking models
+     */
+    public VehiclePropertiesValidator(@Nullable ExistingFileHelper existingFileHelper)
+    {
+        this(existingFileHelper != null ? location -> existingFileHelper.exists(location, ResourcePackType.CLIENT_RESOURCES, ".json", "models") : null);
+    }
+
+    /**
+     * @param modelExists tests if the model at a location exists, or null to skip checking models
+     */
+    public VehiclePropertiesValidator(@Nullable Predicate<ResourceLocation> modelExists)
+    {
+        this.modelExists = modelExists;
+    }
+
+    /**
+     * Validates the properties of a vehicle. The existing file helper isn't thread safe, so
+     * vehicles must be validated one at a time.
+     *
+     * @param id         the id of the vehicle
+     * @param properties the properties to validate
+     * @return a list of problems found, empty if the properties are valid
+     */
+    public List<String> validate(ResourceLocation id, VehicleProperties properties)
+    {
+        List<String> errors = new ArrayList<>();
+        this.validateSeats(id, properties.getSeats(), errors);
+        this.validateWheels(id, properties.getWheels(), errors);
+        this.validateModels(id, properties, errors);
+        return errors;
+    }
+
+    private void validateSeats(ResourceLocation id, List<Seat> seats, List<String> errors)
+    {
+        int drivers = 0;
+        for(int i = 0; i < seats.size(); i++)
+        {
+            Seat seat = seats.get(i);
+            if(seat.isDriver())
+            {
+                drivers++;
+            }
+            if(!isFinite(seat.getPosition()))
+            {
+                errors.add(String.format("%s: seat %d has an invalid position %s", id, i, seat.getPosition()));
+            }
+            for(int j = 0; j < i; j++)
+            {
+                if(seats.get(j).getPosition().equals(seat.getPosition()))
+                {
+                    errors.add(String.format("%s: seat %d has the same position as seat %d", id, i, j));
+                    break;
+                }
+            }
+        }
+        if(drivers > 1)
+        {
+            errors.add(String.format("%s: has %d driver seats but only one is allowed", id, drivers));
+        }
+    }
+
+    private void validateWheels(ResourceLocation id, List<Wheel> wheels, List<String> errors)
+    {
+        for(int i = 0; i < wheels.size(); i++)
+        {
+            Wheel wheel = wheels.get(i);
+            if(!isFinite(wheel.getOffset()))
+            {
+                errors.add(String.format("%s: wheel %d has an invalid offset %s", id, i, wheel.getOffset()));
+            }
+
+            /* Auto scaled wheels use zero for the axes that are generated when the properties are loaded */
+            Vector3d scale = wheel.getScale();
+            if(!isFinite(scale) || !isValidScale(scale.x, wheel) || !isValidScale(scale.y, wheel) || !isValidScale(scale.z, wheel))
+            {
+                errors.add(String.format("%s: wheel %d has an invalid scale %s", id, i, scale));
+            }
+
+            if(!Float.isFinite(wheel.getWidth()) || wheel.getWidth() <= 0)
+            {
+                errors.add(String.format("%s: wheel %d has an invalid width %s", id, i, wheel.getWidth()));
+            }
+
+            for(int j = 0; j < i; j++)
+            {
+                Wheel other = wheels.get(j);
+                if(other.getSide() == wheel.getSide() && other.getPosition() == wheel.getPosition() && other.getOffset().equals(wheel.getOffset()))
+                {
+                    errors.add(String.format("%s: wheel %d is a duplicate of wheel %d", id, i, j));
+                    break;
+                }
+            }
+        }
+    }
+
+    private void validateModels(ResourceLocation id, VehicleProperties properties, List<String> errors)
+    {
+        properties.getCosmetics().forEach((cosmeticId, cosmeticProperties) -> this.validateModels(id, cosmeticId, cosmeticProperties.getModelLocations(), errors));
+    }
+
+    /**
+     * Validates that the models of the cosmetics of a vehicle exist
+     *
+     * @param id     the id of the vehicle
+     * @param models the model locations of each cosmetic
+     * @return a list of problems found, empty if every model exists
+     */
+    public List<String> validateModels(ResourceLocation id, Map<ResourceLocation, List<ResourceLocation>> models)
+    {
+        List<String> errors = new ArrayList<>();
+        models.forEach((cosmeticId, locations) -> this.validateModels(id, cosmeticId, locations, errors));
+        return errors;
+    }
+
+    private void validateModels(ResourceLocation id, ResourceLocation cosmeticId, List<ResourceLocation> locations, List<String> errors)
+    {
+        if(this.modelExists == null)
+            return;
+
+        for(ResourceLocation location : locations)
+        {
+            if(!this.modelExists.test(location))
+            {
+                errors.add(String.format("%s: cosmetic %s uses the model %s which doesn't exist", id, cosmeticId, location));
+            }
+        }
+    }
+
+    private static boolean isValidScale(double value, Wheel wheel)
+    {
+        return wheel.isAutoScale() ? value >= 0 : value > 0;
+    }
+
+    private static boolean isFinite(Vector3d vec)
+    {
+        return Double.isFinite(vec.x) && Double.isFinite(vec.y) && Double.isFinite(vec.z);
+    }
+}
@@ -8,16 +8,20 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 
-import javax.annotation.Nullable;
-
 /**
  * Author: MrCrayfish
  */
 public abstract class BoatEntity extends PoweredVehicleEntity
 {
+    private static final int WATER_SCAN_INTERVAL = 10;
+
     protected State state;
     protected State previousState;
     private double waterLevel;
+    private double sourceWaterSurface;
+    private double flowingWaterSurface;
+    private int waterScanCooldown;
+    private final ScanKey waterScanKey = new ScanKey();
 
     public BoatEntity(EntityType<?> entityType, World worldIn)
     {
@@ -86,85 +90,88 @@ public abstract class BoatEntity extends PoweredVehicleEntity
         }
     }
 
-    private boolean checkInWater()
+    /**
+     * Scans the fluids at the bottom and top of the bounding box in a single pass. The surface
+     * heights found are cached and reused while the boat stays within the same blocks, only being
+     * rescanned periodically to pick up changes to the water around it.
+     */
+    private void scanWater(AxisAlignedBB boundingBox)
     {
-        AxisAlignedBB boundingBox = this.getBoundingBox();
         int minX = MathHelper.floor(boundingBox.minX);
         int maxX = MathHelper.ceil(boundingBox.maxX);
-        int minY = MathHelper.floor(boundingBox.minY);
-        int maxY = MathHelper.ceil(boundingBox.minY + 0.001D);
         int minZ = MathHelper.floor(boundingBox.minZ);
         int maxZ = MathHelper.ceil(boundingBox.maxZ);
-        boolean inWater = false;
-        this.waterLevel = Double.MIN_VALUE;
+        int bottomMinY = MathHelper.floor(boundingBox.minY);
+        int bottomMaxY = MathHelper.ceil(boundingBox.minY + 0.001D);
+        int topMinY = MathHelper.floor(boundingBox.maxY);
+        int topMaxY = MathHelper.ceil(boundingBox.maxY + 0.001D);
 
-        BlockPos.Mutable pooledMutable = new BlockPos.Mutable();
-        for(int x = minX; x < maxX; x++)
+        if(this.waterScanCooldown > 0 && this.waterScanKey.matches(minX, maxX, minZ, maxZ, bottomMinY, bottomMaxY, topMinY, topMaxY))
         {
-            for(int y = minY; y < maxY; y++)
-            {
-                for(int z = minZ; z < maxZ; z++)
-                {
-                    pooledMutable.set(x, y, z);
-                    FluidState fluidState = this.level.getFluidState(pooledMutable);
-                    if(fluidState.is(FluidTags.WATER))
-                    {
-                        float waterLevel = (float) y + fluidState.getHeight(this.level, pooledMutable);
-                        this.waterLevel = Math.max((double) waterLevel, this.waterLevel);
-                        inWater |= boundingBox.minY < (double) waterLevel;
-                    }
-                }
-            }
+            this.waterScanCooldown--;
+            return;
         }
+        this.waterScanKey.set(minX, maxX, minZ, maxZ, bottomMinY, bottomMaxY, topMinY, topMaxY);
+        this.waterScanCooldown = WATER_SCAN_INTERVAL;
 
-        return inWater;
-    }
+        this.waterLevel = Double.MIN_VALUE;
+        this.sourceWaterSurface = Double.MIN_VALUE;
+        this.flowingWaterSurface = Double.MIN_VALUE;
 
-    @Nullable
-    private State getUnderwaterState()
-    {
-        AxisAlignedBB axisalignedbb = this.getBoundingBox();
-        double height = axisalignedbb.maxY + 0.001D;
-        int minX = MathHelper.floor(axisalignedbb.minX);
-        int maxX = MathHelper.ceil(axisalignedbb.maxX);
-        int minY = MathHelper.floor(axisalignedbb.maxY);
-        int maxY = MathHelper.ceil(height);
-        int minZ = MathHelper.floor(axisalignedbb.minZ);
-        int maxZ = MathHelper.ceil(axisalignedbb.maxZ);
-        boolean underWater = false;
-
-        BlockPos.Mutable pooledMutable = new BlockPos.Mutable();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int minY = Math.min(bottomMinY, topMinY);
+        int maxY = Math.max(bottomMaxY, topMaxY);
         for(int x = minX; x < maxX; x++)
         {
-            for(int y = minY; y < maxY; y++)
+            for(int z = minZ; z < maxZ; z++)
             {
-                for(int z = minZ; z < maxZ; z++)
+                for(int y = minY; y < maxY; y++)
                 {
-                    pooledMutable.set(x, y, z);
-                    FluidState fluidState = this.level.getFluidState(pooledMutable);
-                    if(fluidState.is(FluidTags.WATER) && height < (double) ((float) pooledMutable.getY() + fluidState.getHeight(this.level, pooledMutable)))
+                    boolean bottom = y >= bottomMinY && y < bottomMaxY;
+                    boolean top = y >= topMinY && y < topMaxY;
+                    if(!bottom && !top)
+                        continue;
+
+                    pos.set(x, y, z);
+                    FluidState fluidState = this.level.getFluidState(pos);
+                    if(!fluidState.is(FluidTags.WATER))
+                        continue;
+
+                    double surface = (float) y + fluidState.getHeight(this.level, pos);
+                    if(bottom)
+                    {
+                        this.waterLevel = Math.max(surface, this.waterLevel);
+                    }
+                    if(top)
                     {
-                        if(!fluidState.isSource())
+                        if(fluidState.isSource())
                         {
-                            return State.UNDER_FLOWING_WATER;
+                            this.sourceWaterSurface = Math.max(surface, this.sourceWaterSurface);
+                        }
+                        else
+                        {
+                            this.flowingWaterSurface = Math.max(surface, this.flowingWaterSurface);
                         }
-                        underWater = true;
                     }
                 }
             }
         }
-
-        return underWater ? State.UNDER_WATER : null;
     }
 
     protected State getState()
     {
-        State state = this.getUnderwaterState();
-        if(state != null)
+        AxisAlignedBB boundingBox = this.getBoundingBox();
+        this.scanWater(boundingBox);
+        double height = boundingBox.maxY + 0.001D;
+        if(height < this.flowingWaterSurface)
         {
-            return state;
+            return State.UNDER_FLOWING_WATER;
         }
-        else if(this.checkInWater())
+        else if(height < this.sourceWaterSurface)
+        {
+            return State.UNDER_WATER;
+        }
+        else if(boundingBox.minY < this.waterLevel)
         {
             return State.IN_WATER;
         }
@@ -190,4 +197,31 @@ public abstract class BoatEntity extends PoweredVehicleEntity
         ON_LAND,
         IN_AIR;
     }
+
+    /**
+     * The block ranges covered by the last water scan
+     */
+    private static class ScanKey
+    {
+        private final int[] ranges = new int[8];
+
+        private boolean matches(int minX, int maxX, int minZ, int maxZ, int bottomMinY, int bottomMaxY, int topMinY, int topMaxY)
+        {
+            int[] r = this.ranges;
+            return r[0] == minX && r[1] == maxX && r[2] == minZ && r[3] == maxZ && r[4] == bottomMinY && r[5] == bottomMaxY && r[6] == topMinY && r[7] == topMaxY;
+        }
+
+        private void set(int minX, int maxX, int minZ, int maxZ, int bottomMinY, int bottomMaxY, int topMinY, int topMaxY)
+        {
+            int[] r = this.ranges;
+            r[0] = minX;
+            r[1] = maxX;
+            r[2] = minZ;
+            r[3] = maxZ;
+            r[4] = bottomMinY;
+            r[5] = bottomMaxY;
+            r[6] = topMinY;
+            r[7] = topMaxY;
+        }
+    }
 }
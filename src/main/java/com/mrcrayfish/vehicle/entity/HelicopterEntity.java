@@ -6,6 +6,7 @@ import com.mrcrayfish.vehicle.network.PacketHandler;
 import com.mrcrayfish.vehicle.network.datasync.VehicleDataValue;
 import com.mrcrayfish.vehicle.network.message.MessageHelicopterInput;
 import com.mrcrayfish.vehicle.util.CommonUtils;
+import com.mrcrayfish.vehicle.util.SaveDataHelper;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.player.ClientPlayerEntity;
 import net.minecraft.entity.Entity;
@@ -30,9 +31,9 @@ public abstract class HelicopterEntity extends PoweredVehicleEntity
     protected static final DataParameter<Float> FORWARD_INPUT = EntityDataManager.defineId(HelicopterEntity.class, DataSerializers.FLOAT);
     protected static final DataParameter<Float> SIDE_INPUT = EntityDataManager.defineId(HelicopterEntity.class, DataSerializers.FLOAT);
 
-    protected final VehicleDataValue<Float> lift = new VehicleDataValue<>(this, LIFT);
-    protected final VehicleDataValue<Float> forwardInput = new VehicleDataValue<>(this, FORWARD_INPUT);
-    protected final VehicleDataValue<Float> sideInput = new VehicleDataValue<>(this, SIDE_INPUT);
+    protected final VehicleDataValue<Float> lift = VehicleDataValue.replicatedFloat(this, LIFT, 1F / 256F, false);
+    protected final VehicleDataValue<Float> forwardInput = VehicleDataValue.replicatedFloat(this, FORWARD_INPUT, 1F / 256F, false);
+    protected final VehicleDataValue<Float> sideInput = VehicleDataValue.replicatedFloat(this, SIDE_INPUT, 1F / 256F, false);
 
     protected Vector3d velocity = Vector3d.ZERO;
     protected float bladeSpeed;
@@ -374,11 +375,7 @@ public abstract class HelicopterEntity extends PoweredVehicleEntity
     {
         super.addAdditionalSaveData(compound);
         compound.putFloat("BladeSpeed", this.bladeSpeed);
-        CompoundNBT velocity = new CompoundNBT();
-        velocity.putDouble("X", this.velocity.x);
-        velocity.putDouble("Y", this.velocity.y);
-        velocity.putDouble("Z", this.velocity.z);
-        compound.put("Velocity", velocity);
+        SaveDataHelper.putVector(compound, "Velocity", this.velocity);
     }
 
     @Override
@@ -386,7 +383,6 @@ public abstract class HelicopterEntity extends PoweredVehicleEntity
     {
         super.readAdditionalSaveData(compound);
         this.bladeSpeed = compound.getFloat("BladeSpeed");
-        CompoundNBT velocity = compound.getCompound("Velocity");
-        this.velocity = new Vector3d(velocity.getDouble("X"), velocity.getDouble("Y"), velocity.getDouble("Z"));
+        this.velocity = SaveDataHelper.getVector(compound, "Velocity");
     }
 }
@@ -5,6 +5,7 @@ import com.mrcrayfish.vehicle.common.entity.Transform;
 import com.mrcrayfish.vehicle.entity.properties.LandProperties;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
 import com.mrcrayfish.vehicle.util.CommonUtils;
+import com.mrcrayfish.vehicle.util.SaveDataHelper;
 import net.minecraft.entity.EntityType;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
@@ -189,6 +190,17 @@ public abstract class LandVehicleEntity extends PoweredVehicleEntity
         this.setDeltaMovement(this.getDeltaMovement().add(new Vector3d(0, -0.08, 0)));
     }
 
+    @Override
+    public void onVehicleCollision(Vector3d normal)
+    {
+        super.onVehicleCollision(normal);
+        double towards = this.velocity.dot(normal);
+        if(towards < 0)
+        {
+            this.velocity = this.velocity.subtract(normal.scale(towards));
+        }
+    }
+
     @Override
     protected void updateTurning()
     {
@@ -199,6 +211,12 @@ public abstract class LandVehicleEntity extends PoweredVehicleEntity
         }
     }
 
+    @Override
+    protected boolean willSpawnParticles()
+    {
+        return this.canDrive() && super.willSpawnParticles();
+    }
+
     @Override
     public void createParticles()
     {
@@ -381,11 +399,7 @@ public abstract class LandVehicleEntity extends PoweredVehicleEntity
     {
         super.addAdditionalSaveData(compound);
         compound.putFloat("Traction", this.traction);
-        CompoundNBT velocity = new CompoundNBT();
-        velocity.putDouble("X", this.velocity.x);
-        velocity.putDouble("Y", this.velocity.y);
-        velocity.putDouble("Z", this.velocity.z);
-        compound.put("Velocity", velocity);
+        SaveDataHelper.putVector(compound, "Velocity", this.velocity);
     }
 
     @Override
@@ -393,8 +407,7 @@ public abstract class LandVehicleEntity extends PoweredVehicleEntity
     {
         super.readAdditionalSaveData(compound);
         this.traction = compound.getFloat("Traction");
-        CompoundNBT velocity = compound.getCompound("Velocity");
-        this.velocity = new Vector3d(velocity.getDouble("X"), velocity.getDouble("Y"), velocity.getDouble("Z"));
+        this.velocity = SaveDataHelper.getVector(compound, "Velocity");
     }
 
     @Override
@@ -9,6 +9,7 @@ import com.mrcrayfish.vehicle.network.PacketHandler;
 import com.mrcrayfish.vehicle.network.datasync.VehicleDataValue;
 import com.mrcrayfish.vehicle.network.message.MessagePlaneInput;
 import com.mrcrayfish.vehicle.util.CommonUtils;
+import com.mrcrayfish.vehicle.util.SaveDataHelper;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
@@ -37,10 +38,10 @@ public abstract class PlaneEntity extends PoweredVehicleEntity
     protected static final DataParameter<Float> SIDE_INPUT = EntityDataManager.defineId(PlaneEntity.class, DataSerializers.FLOAT);
     protected static final DataParameter<Float> PLANE_ROLL = EntityDataManager.defineId(PlaneEntity.class, DataSerializers.FLOAT);
 
-    protected final VehicleDataValue<Float> lift = new VehicleDataValue<>(this, LIFT);
-    protected final VehicleDataValue<Float> forwardInput = new VehicleDataValue<>(this, FORWARD_INPUT);
-    protected final VehicleDataValue<Float> sideInput = new VehicleDataValue<>(this, SIDE_INPUT);
-    protected final VehicleDataValue<Float> planeRoll = new VehicleDataValue<>(this, PLANE_ROLL);
+    protected final VehicleDataValue<Float> lift = VehicleDataValue.replicatedFloat(this, LIFT, 1F / 256F, false);
+    protected final VehicleDataValue<Float> forwardInput = VehicleDataValue.replicatedFloat(this, FORWARD_INPUT, 1F / 256F, false);
+    protected final VehicleDataValue<Float> sideInput = VehicleDataValue.replicatedFloat(this, SIDE_INPUT, 1F / 256F, false);
+    protected final VehicleDataValue<Float> planeRoll = VehicleDataValue.replicatedFloat(this, PLANE_ROLL, 0.1F, false);
 
     protected Vector3d velocity = Vector3d.ZERO;
     protected float propellerSpeed;
@@ -320,11 +321,7 @@ public abstract class PlaneEntity extends PoweredVehicleEntity
         compound.putFloat("PropellerSpeed", this.propellerSpeed);
         compound.putFloat("FlapAngle", this.flapAngle);
         compound.putFloat("ElevatorAngle", this.elevatorAngle);
-        CompoundNBT velocity = new CompoundNBT();
-        velocity.putDouble("X", this.velocity.x);
-        velocity.putDouble("Y", this.velocity.y);
-        velocity.putDouble("Z", this.velocity.z);
-        compound.put("Velocity", velocity);
+        SaveDataHelper.putVector(compound, "Velocity", this.velocity);
     }
 
     @Override
@@ -336,8 +333,7 @@ public abstract class PlaneEntity extends PoweredVehicleEntity
         this.propellerSpeed = compound.getFloat("PropellerSpeed");
         this.flapAngle = compound.getFloat("FlapAngle");
         this.elevatorAngle = compound.getFloat("ElevatorAngle");
-        CompoundNBT velocity = compound.getCompound("Velocity");
-        this.velocity = new Vector3d(velocity.getDouble("X"), velocity.getDouble("Y"), velocity.getDouble("Z"));
+        this.velocity = SaveDataHelper.getVector(compound, "Velocity");
     }
 
     @Override
@@ -1,14 +1,14 @@
 package com.mrcrayfish.vehicle.entity;
 
-import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.block.VehicleCrateBlock;
+import com.mrcrayfish.vehicle.client.ParticleBudget;
 import com.mrcrayfish.vehicle.client.VehicleHelper;
+import com.mrcrayfish.vehicle.common.FuelingSessionHandler;
 import com.mrcrayfish.vehicle.common.SurfaceHelper;
 import com.mrcrayfish.vehicle.common.entity.Transform;
 import com.mrcrayfish.vehicle.entity.properties.PoweredProperties;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
-import com.mrcrayfish.vehicle.init.ModDataKeys;
 import com.mrcrayfish.vehicle.init.ModItems;
 import com.mrcrayfish.vehicle.init.ModSounds;
 import com.mrcrayfish.vehicle.inventory.container.EditVehicleContainer;
@@ -21,11 +21,14 @@ import com.mrcrayfish.vehicle.network.message.MessageHandbrake;
 import com.mrcrayfish.vehicle.network.message.MessageHorn;
 import com.mrcrayfish.vehicle.network.message.MessageThrottle;
 import com.mrcrayfish.vehicle.network.message.MessageTurnAngle;
+import com.mrcrayfish.vehicle.tileentity.BoostTileEntity;
 import com.mrcrayfish.vehicle.tileentity.GasPumpTankTileEntity;
 import com.mrcrayfish.vehicle.tileentity.GasPumpTileEntity;
 import com.mrcrayfish.vehicle.util.CommonUtils;
 import com.mrcrayfish.vehicle.util.InventoryUtil;
+import com.mrcrayfish.vehicle.util.SaveDataHelper;
 import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.block.material.Material;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
@@ -36,6 +39,7 @@ import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.fluid.Fluid;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.IInventoryChangedListener;
 import net.minecraft.inventory.Inventory;
@@ -91,11 +95,15 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     protected static final DataParameter<Boolean> NEEDS_KEY = EntityDataManager.defineId(PoweredVehicleEntity.class, DataSerializers.BOOLEAN);
     protected static final DataParameter<ItemStack> KEY_STACK = EntityDataManager.defineId(PoweredVehicleEntity.class, DataSerializers.ITEM_STACK);
     protected static final DataParameter<ItemStack> ENGINE_STACK = EntityDataManager.defineId(PoweredVehicleEntity.class, DataSerializers.ITEM_STACK);
+    protected static final DataParameter<Boolean> BOOSTING = EntityDataManager.defineId(PoweredVehicleEntity.class, DataSerializers.BOOLEAN);
 
     // Sensitive variables used for physics
-    private final VehicleDataValue<Float> throttle = new VehicleDataValue<>(this, THROTTLE);
-    private final VehicleDataValue<Boolean> handbrake = new VehicleDataValue<>(this, HANDBRAKE);
-    private final VehicleDataValue<Float> steeringAngle = new VehicleDataValue<>(this, STEERING_ANGLE);
+    private final VehicleDataValue<Float> throttle = VehicleDataValue.replicatedFloat(this, THROTTLE, 1F / 256F, false);
+    private final VehicleDataValue<Boolean> handbrake = VehicleDataValue.replicatedBoolean(this, HANDBRAKE, false);
+    private final VehicleDataValue<Float> steeringAngle = VehicleDataValue.replicatedFloat(this, STEERING_ANGLE, 0.1F, false);
+    private final VehicleDataValue<Boolean> horn = VehicleDataValue.replicatedBoolean(this, HORN, false);
+    private final VehicleDataValue<Float> currentFuel = VehicleDataValue.replicatedFloat(this, CURRENT_FUEL, 0.1F, true);
+    private final VehicleDataValue<Boolean> boostState = VehicleDataValue.replicatedBoolean(this, BOOSTING, false);
 
     protected UUID owner;
     protected float speedMultiplier;
@@ -104,12 +112,20 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     protected float boostStrength;
     protected boolean launching;
     protected int launchingTimer;
+    private long lastBoostTime = -1;
+    @Nullable
+    private BlockPos boostPos;
+    private float boostPadMultiplier;
     protected boolean disableFallDamage;
     protected boolean charging;
     protected float chargingAmount;
     private double[] wheelPositions;
+    private BlockState[] wheelSurfaces = new BlockState[0];
+    private BlockPos.Mutable[] wheelSurfacePositions = new BlockPos.Mutable[0];
+    private int particleAllowance;
     private boolean fueling;
     protected Vector3d motion = Vector3d.ZERO;
+    private float defaultStepHeight = Float.NaN;
     private Inventory vehicleInventory;
 
     @OnlyIn(Dist.CLIENT)
@@ -145,6 +161,7 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         this.entityData.define(NEEDS_KEY, false);
         this.entityData.define(KEY_STACK, ItemStack.EMPTY);
         this.entityData.define(ENGINE_STACK, ItemStack.EMPTY);
+        this.entityData.define(BOOSTING, false);
     }
 
     public final SoundEvent getEngineSound()
@@ -187,28 +204,30 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
     public void fuelVehicle(PlayerEntity player, Hand hand)
     {
-        if(SyncedPlayerData.instance().get(player, ModDataKeys.GAS_PUMP).isPresent())
+        GasPumpTileEntity gasPump = FuelingSessionHandler.instance().getPump(player);
+        if(gasPump != null)
         {
-            BlockPos pos = SyncedPlayerData.instance().get(player, ModDataKeys.GAS_PUMP).get();
-            TileEntity tileEntity = this.level.getBlockEntity(pos);
-            if(!(tileEntity instanceof GasPumpTileEntity))
+            if(gasPump.isRemoved())
                 return;
 
-            tileEntity = this.level.getBlockEntity(pos.below());
+            TileEntity tileEntity = this.level.getBlockEntity(gasPump.getBlockPos().below());
             if(!(tileEntity instanceof GasPumpTankTileEntity))
                 return;
 
             GasPumpTankTileEntity gasPumpTank = (GasPumpTankTileEntity) tileEntity;
             FluidTank tank = gasPumpTank.getFluidTank();
             FluidStack stack = tank.getFluid();
-            if(stack.isEmpty() || !Config.SERVER.validFuels.get().contains(stack.getFluid().getRegistryName().toString()))
+            if(!this.isValidFuel(stack))
                 return;
 
+            float efficiency = this.getFuelEfficiency(stack.getFluid());
             stack = tank.drain(200, IFluidHandler.FluidAction.EXECUTE);
             if(stack.isEmpty())
                 return;
 
-            stack.setAmount(this.addEnergy(stack.getAmount()));
+            // Any energy that didn't fit is converted back into fluid and returned to the tank
+            int remaining = this.addEnergy(Math.round(stack.getAmount() * efficiency));
+            stack.setAmount((int) (remaining / efficiency));
             if(stack.getAmount() <= 0)
                 return;
 
@@ -227,13 +246,14 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
         IFluidHandlerItem handler = optional.get();
         FluidStack fluidStack = handler.getFluidInTank(0);
-        if(fluidStack.isEmpty() || !Config.SERVER.validFuels.get().contains(fluidStack.getFluid().getRegistryName().toString()))
+        if(!this.isValidFuel(fluidStack))
             return;
 
+        float efficiency = this.getFuelEfficiency(fluidStack.getFluid());
         int transferAmount = Math.min(handler.getFluidInTank(0).getAmount(), jerryCan.getFillRate());
-        transferAmount = (int) Math.min(Math.floor(this.getEnergyCapacity() - this.getCurrentEnergy()), transferAmount);
+        transferAmount = (int) Math.min(Math.floor((this.getEnergyCapacity() - this.getCurrentEnergy()) / efficiency), transferAmount);
         handler.drain(transferAmount, IFluidHandler.FluidAction.EXECUTE);
-        this.addEnergy(transferAmount);
+        this.addEnergy(Math.round(transferAmount * efficiency));
     }
 
     @Override
@@ -302,17 +322,13 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     {
         if(this.level.isClientSide())
         {
+            /* Only vehicles that are going to spawn particles take a share of the budget */
+            this.particleAllowance = this.willSpawnParticles() ? ParticleBudget.instance().request(this) : 0;
             this.onClientUpdate();
         }
 
         Entity controllingPassenger = this.getControllingPassenger();
-
-        /* If there driver, create particles */
-        if(controllingPassenger != null)
-        {
-            this.createParticles();
-        }
-        else
+        if(controllingPassenger == null)
         {
             this.setThrottle(0F);
             this.steeringAngle.set(this, this.steeringAngle.get(this) * 0.85F);
@@ -322,6 +338,9 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         this.updateTurning();
         this.onVehicleTick();
 
+        /* Resolves the blocks under the wheels, which is used for friction and particles */
+        this.updateWheelSurfaces();
+
         /* Updates the vehicle motion */
         this.updateVehicleMotion();
 
@@ -332,8 +351,11 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
         this.updateWheelPositions();
 
-        // Move vehicle
-        this.move(MoverType.SELF, this.getDeltaMovement().add(this.motion));
+        // Move vehicle, unless the transform is driven by snapshots from the server
+        if(!this.isSnapshotDriven())
+        {
+            this.move(MoverType.SELF, this.getDeltaMovement().add(this.motion));
+        }
 
         /* Reduces the motion and speed multiplier */
         if(this.onGround)
@@ -345,6 +367,12 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
             this.setDeltaMovement(this.getDeltaMovement().multiply(0.98, 1.0, 0.98));
         }
 
+        /* If there driver, create particles. Uses the wheel surfaces resolved above */
+        if(controllingPassenger != null && this.level.isClientSide())
+        {
+            this.createParticles();
+        }
+
         if(this.boostTimer > 0 && this.getThrottle() > 0)
         {
             this.boostTimer--;
@@ -353,9 +381,15 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         {
             this.boostTimer = 0;
             this.boosting = false;
+            this.boostPos = null;
             this.speedMultiplier *= 0.85;
         }
 
+        if(!this.level.isClientSide())
+        {
+            this.boostState.set(this, this.boosting);
+        }
+
         if(this.launchingTimer > 0)
         {
             //Ensures fall damage is disabled while launching
@@ -374,7 +408,7 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         if(this.requiresEnergy() && controllingPassenger instanceof PlayerEntity && !((PlayerEntity) controllingPassenger).isCreative() && this.isEnginePowered())
         {
             float currentFuel = this.getCurrentEnergy();
-            currentFuel -= this.getEnergyConsumptionPerTick() * Config.SERVER.energyConsumptionFactor.get();
+            currentFuel -= this.getEnergyConsumptionPerTick() * ConfigSnapshot.server().energyConsumptionFactor;
             if(currentFuel < 0F) currentFuel = 0F;
             this.setCurrentEnergy(currentFuel);
         }
@@ -387,6 +421,12 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
     protected void onVehicleTick() {}
 
+    @Override
+    protected boolean canSleep()
+    {
+        return super.canSleep() && this.getThrottle() == 0F && !this.isBoosting() && !this.launching;
+    }
+
     protected abstract void updateVehicleMotion();
 
     public final FuelFillerType getFuelFillerType()
@@ -398,14 +438,27 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
     protected boolean showWheelParticles()
     {
-        return this.getThrottle() > 0 || this.charging || this.boosting;
+        return this.getThrottle() > 0 || this.charging || this.isBoosting();
     }
 
     protected boolean showTyreSmokeParticles()
     {
-        return this.charging || this.boosting;
+        return this.charging || this.isBoosting();
+    }
+
+    /**
+     * Determines if this vehicle is going to spawn any particles this tick. Vehicles that won't,
+     * such as parked vehicles, don't request a share of the client particle budget.
+     */
+    protected boolean willSpawnParticles()
+    {
+        return this.getControllingPassenger() != null && (this.showWheelParticles() || this.shouldShowExhaustFumes() && this.canDrive());
     }
 
+    /**
+     * Spawns the wheel, tyre smoke and exhaust particles of this vehicle. This is only called on
+     * the client and is limited by the particle allowance of this tick.
+     */
     public void createParticles()
     {
         if(this.showWheelParticles())
@@ -423,49 +476,53 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
                     if(!wheel.shouldSpawnParticles())
                         continue;
                     /* Gets the block under the wheel and spawns a particle */
-                    double wheelX = wheelPositions[i * 3];
-                    double wheelY = wheelPositions[i * 3 + 1];
-                    double wheelZ = wheelPositions[i * 3 + 2];
-                    int x = MathHelper.floor(this.getX() + wheelX);
-                    int y = MathHelper.floor(this.getY() + wheelY - 0.2D);
-                    int z = MathHelper.floor(this.getZ() + wheelZ);
-                    BlockPos pos = new BlockPos(x, y, z);
-                    BlockState state = this.level.getBlockState(pos);
-                    if(state.getMaterial() != Material.AIR && state.getMaterial().isSolid())
+                    BlockState state = this.getWheelSurface(i);
+                    if(state.getMaterial() != Material.AIR && state.getMaterial().isSolid() && this.consumeParticleAllowance())
                     {
                         Vector3d dirVec = this.calculateViewVector(this.xRot, this.yRot + 180F).add(0, this.charging ? 0.5 : 1.0, 0);
                         if(this.charging)
                         {
                             dirVec = dirVec.scale(this.chargingAmount * this.getEnginePower() / 3F);
                         }
-                        if(this.level.isClientSide())
+                        double wheelWorldX = this.getX() + wheelPositions[i * 3];
+                        double wheelWorldY = this.getY() + wheelPositions[i * 3 + 1];
+                        double wheelWorldZ = this.getZ() + wheelPositions[i * 3 + 2];
+                        VehicleHelper.spawnWheelParticle(this.wheelSurfacePositions[i].immutable(), state, wheelWorldX, wheelWorldY, wheelWorldZ, dirVec);
+                        if(this.showTyreSmokeParticles() && SurfaceHelper.getSurfaceTypeForMaterial(state.getMaterial()) == SurfaceHelper.SurfaceType.SOLID && this.consumeParticleAllowance())
                         {
-                            double wheelWorldX = this.getX() + wheelX;
-                            double wheelWorldY = this.getY() + wheelY;
-                            double wheelWorldZ = this.getZ() + wheelZ;
-                            VehicleHelper.spawnWheelParticle(pos, state, wheelWorldX, wheelWorldY, wheelWorldZ, dirVec);
-                            if(this.showTyreSmokeParticles() && SurfaceHelper.getSurfaceTypeForMaterial(state.getMaterial()) == SurfaceHelper.SurfaceType.SOLID)
-                            {
-                                VehicleHelper.spawnSmokeParticle(wheelWorldX, wheelWorldY, wheelWorldZ, dirVec.multiply(0.03 * this.random.nextFloat(), 0.03, 0.03 * this.random.nextFloat()));
-                            }
+                            VehicleHelper.spawnSmokeParticle(wheelWorldX, wheelWorldY, wheelWorldZ, dirVec.multiply(0.03 * this.random.nextFloat(), 0.03, 0.03 * this.random.nextFloat()));
                         }
                     }
                 }
             }
         }
 
-        if(this.shouldShowExhaustFumes() && this.canDrive() && this.tickCount % 2 == 0)
+        if(this.shouldShowExhaustFumes() && this.canDrive() && this.tickCount % 2 == 0 && this.consumeParticleAllowance())
         {
             //TODO maybe add more control of this
             Vector3d fumePosition = this.getExhaustFumesPosition().scale(0.0625).yRot(-this.yRot * 0.017453292F);
             this.level.addParticle(ParticleTypes.SMOKE, this.getX() + fumePosition.x, this.getY() + fumePosition.y, this.getZ() + fumePosition.z, -this.getDeltaMovement().x, 0.0D, -this.getDeltaMovement().z);
-            if(this.charging && this.isMoving())
+            if(this.charging && this.isMoving() && this.consumeParticleAllowance())
             {
                 this.level.addParticle(ParticleTypes.CRIT, this.getX() + fumePosition.x, this.getY() + fumePosition.y, this.getZ() + fumePosition.z, -this.getDeltaMovement().x, 0.0D, -this.getDeltaMovement().z);
             }
         }
     }
 
+    /**
+     * Uses up one particle from the allowance given to this vehicle by the client particle budget
+     * for this tick.
+     *
+     * @return true if a particle can be spawned
+     */
+    protected boolean consumeParticleAllowance()
+    {
+        if(this.particleAllowance <= 0)
+            return false;
+        this.particleAllowance--;
+        return true;
+    }
+
     @OnlyIn(Dist.CLIENT)
     public void onClientUpdate()
     {
@@ -511,27 +568,16 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     @Override
     protected void readAdditionalSaveData(CompoundNBT compound)
     {
+        this.getDefaultStepHeight();
         super.readAdditionalSaveData(compound);
-        if(compound.contains("Owner", Constants.NBT.TAG_COMPOUND))
-        {
-            this.owner = compound.getUUID("Owner");
-        }
+        this.owner = SaveDataHelper.getUUID(compound, "Owner");
         if(compound.contains("EngineStack", Constants.NBT.TAG_COMPOUND))
         {
             this.setEngineStack(ItemStack.of(compound.getCompound("EngineStack")));
         }
-        if(compound.contains("StepHeight", Constants.NBT.TAG_FLOAT))
-        {
-            this.maxUpStep = compound.getFloat("StepHeight");
-        }
-        if(compound.contains("CurrentFuel", Constants.NBT.TAG_FLOAT))
-        {
-            this.setCurrentEnergy(compound.getFloat("CurrentFuel"));
-        }
-        if(compound.contains("KeyNeeded", Constants.NBT.TAG_BYTE))
-        {
-            this.setKeyNeeded(compound.getBoolean("KeyNeeded"));
-        }
+        this.maxUpStep = SaveDataHelper.getFloat(compound, "StepHeight", this.getDefaultStepHeight());
+        this.setCurrentEnergy(SaveDataHelper.getFloat(compound, "CurrentFuel", 0F));
+        this.setKeyNeeded(SaveDataHelper.getBoolean(compound, "KeyNeeded", false));
         this.setKeyStack(CommonUtils.readItemStackFromTag(compound, "KeyStack"));
     }
 
@@ -539,22 +585,27 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     protected void addAdditionalSaveData(CompoundNBT compound)
     {
         super.addAdditionalSaveData(compound);
-        if(this.owner != null)
-        {
-            compound.putUUID("Owner", this.owner);
-        }
-        compound.putBoolean("HasEngine", this.hasEngine());
+        SaveDataHelper.putUUID(compound, "Owner", this.owner);
         CommonUtils.writeItemStackToTag(compound, "EngineStack", this.getEngineStack());
-        compound.putFloat("AccelerationSpeed", this.getAccelerationSpeed());
-        compound.putFloat("MaxSteeringAngle", this.getMaxSteeringAngle());
-        compound.putFloat("StepHeight", this.maxUpStep);
-        compound.putBoolean("RequiresFuel", this.requiresEnergy());
-        compound.putFloat("CurrentFuel", this.getCurrentEnergy());
-        compound.putFloat("FuelCapacity", this.getEnergyCapacity());
-        compound.putBoolean("KeyNeeded", this.isKeyNeeded());
+        SaveDataHelper.putFloat(compound, "StepHeight", this.maxUpStep, this.getDefaultStepHeight());
+        SaveDataHelper.putFloat(compound, "CurrentFuel", this.getCurrentEnergy(), 0F);
+        SaveDataHelper.putBoolean(compound, "KeyNeeded", this.isKeyNeeded(), false);
         CommonUtils.writeItemStackToTag(compound, "KeyStack", this.getKeyStack());
     }
 
+    /**
+     * Gets the step height this vehicle was created with. This is captured the first time the
+     * vehicle is saved or loaded, before any saved step height is applied.
+     */
+    private float getDefaultStepHeight()
+    {
+        if(Float.isNaN(this.defaultStepHeight))
+        {
+            this.defaultStepHeight = this.maxUpStep;
+        }
+        return this.defaultStepHeight;
+    }
+
     @Nullable
     public Entity getControllingPassenger()
     {
@@ -583,7 +634,7 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     //TODO remove these
     public float getAccelerationSpeed()
     {
-        return this.entityData.get(THROTTLE);
+        return this.getThrottle();
     }
 
     public double getSpeed()
@@ -662,13 +713,13 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
     {
         if(this.hasHorn())
         {
-            this.entityData.set(HORN, activated);
+            this.horn.set(this, activated);
         }
     }
 
     public boolean getHorn()
     {
-        return this.entityData.get(HORN);
+        return this.horn.get(this);
     }
 
     public void setBoosting(boolean boosting)
@@ -677,9 +728,49 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         this.boostTimer = 10;
     }
 
+    /**
+     * Vehicles driven by snapshots don't run into boost blocks themselves, so they use the boost
+     * state replicated from the server instead.
+     */
     public boolean isBoosting()
     {
-        return boosting;
+        return this.isSnapshotDriven() ? this.boostState.get(this) : this.boosting;
+    }
+
+    /**
+     * Boosts the vehicle from the boost pad or ramp at the given position. A vehicle can overlap
+     * several boost blocks and each of them calls this every tick, so only the first call in a tick
+     * does anything. The speed multiplier of the block is only looked up when the vehicle moves
+     * onto a different block, and forgotten once the boost runs out.
+     *
+     * @param pos the position of the boost block
+     * @return true if the vehicle has just started boosting
+     */
+    public boolean boostFrom(BlockPos pos)
+    {
+        if(this.hasBoostedThisTick())
+            return false;
+
+        this.lastBoostTime = this.level.getGameTime();
+        if(!pos.equals(this.boostPos))
+        {
+            this.boostPos = pos.immutable();
+            TileEntity tileEntity = this.level.getBlockEntity(pos);
+            this.boostPadMultiplier = tileEntity instanceof BoostTileEntity ? ((BoostTileEntity) tileEntity).getSpeedMultiplier() : 0.0F;
+        }
+
+        boolean started = !this.boosting;
+        this.setBoosting(true);
+        this.speedMultiplier = this.boostPadMultiplier;
+        return started;
+    }
+
+    /**
+     * @return true if the vehicle has already been boosted by a boost block during this tick
+     */
+    public boolean hasBoostedThisTick()
+    {
+        return this.lastBoostTime == this.level.getGameTime();
     }
 
     public void setLaunching(int hold)
@@ -696,7 +787,7 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
     public final boolean requiresEnergy()
     {
-        return this.getPoweredProperties().requiresEnergy() && Config.SERVER.fuelEnabled.get();
+        return this.getPoweredProperties().requiresEnergy() && ConfigSnapshot.server().fuelEnabled;
     }
 
     public boolean isFueled()
@@ -706,12 +797,12 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
 
     public void setCurrentEnergy(float fuel)
     {
-        this.entityData.set(CURRENT_FUEL, fuel);
+        this.currentFuel.set(this, fuel);
     }
 
     public float getCurrentEnergy()
     {
-        return this.entityData.get(CURRENT_FUEL);
+        return this.currentFuel.get(this);
     }
 
     public final float getEnergyCapacity()
@@ -719,6 +810,23 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         return this.getPoweredProperties().getEnergyCapacity();
     }
 
+    /**
+     * Checks if the given fluid can be used to fuel this vehicle
+     */
+    public boolean isValidFuel(FluidStack stack)
+    {
+        return !stack.isEmpty() && this.getFuelEfficiency(stack.getFluid()) > 0F;
+    }
+
+    /**
+     * Gets the amount of energy this vehicle gains per millibucket of the given fluid, or zero if
+     * the fluid is not a valid fuel for this vehicle.
+     */
+    public float getFuelEfficiency(Fluid fluid)
+    {
+        return this.getPoweredProperties().getFuelEfficiency(fluid);
+    }
+
     public final float getEnergyConsumptionPerTick()
     {
         return this.getPoweredProperties().getEnergyConsumptionPerTick();
@@ -956,6 +1064,37 @@ public abstract class PoweredVehicleEntity extends VehicleEntity implements IInv
         }
     }
 
+    private void updateWheelSurfaces()
+    {
+        List<Wheel> wheels = this.getProperties().getWheels();
+        if(this.wheelSurfaces.length != wheels.size())
+        {
+            this.wheelSurfaces = new BlockState[wheels.size()];
+            this.wheelSurfacePositions = new BlockPos.Mutable[wheels.size()];
+            for(int i = 0; i < wheels.size(); i++)
+            {
+                this.wheelSurfacePositions[i] = new BlockPos.Mutable();
+            }
+        }
+
+        double[] wheelPositions = this.getWheelPositions();
+        for(int i = 0; i < wheels.size(); i++)
+        {
+            BlockPos.Mutable pos = this.wheelSurfacePositions[i];
+            pos.set(this.getX() + wheelPositions[i * 3], this.getY() + wheelPositions[i * 3 + 1] - 0.2D, this.getZ() + wheelPositions[i * 3 + 2]);
+            this.wheelSurfaces[i] = this.level.getBlockState(pos);
+        }
+    }
+
+    /**
+     * Gets the block under the wheel at the given index, as resolved at the start of the last
+     * physics step.
+     */
+    public BlockState getWheelSurface(int index)
+    {
+        return index < this.wheelSurfaces.length && this.wheelSurfaces[index] != null ? this.wheelSurfaces[index] : Blocks.AIR.defaultBlockState();
+    }
+
     private void updateWheelPositions()
     {
         VehicleProperties properties = this.getProperties();
@@ -1,6 +1,6 @@
 package com.mrcrayfish.vehicle.entity;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.entity.properties.TrailerProperties;
 import com.mrcrayfish.vehicle.entity.properties.VehicleProperties;
 import net.minecraft.entity.Entity;
@@ -76,7 +76,7 @@ public abstract class TrailerEntity extends VehicleEntity
 
         if(this.pullingEntity != null && !this.level.isClientSide())
         {
-            double threshold = Config.SERVER.trailerDetachThreshold.get() + Math.abs(this.getHitchOffset() / 16.0) * this.getProperties().getBodyTransform().getScale();
+            double threshold = ConfigSnapshot.server().trailerDetachThreshold + Math.abs(this.getHitchOffset() / 16.0) * this.getProperties().getBodyTransform().getScale();
             if(this.pullingEntity.distanceTo(this) > threshold)
             {
                 this.level.playSound(null, this.pullingEntity.blockPosition(), SoundEvents.ITEM_BREAK, SoundCategory.PLAYERS, 1.0F, 1.0F);
@@ -103,6 +103,12 @@ public abstract class TrailerEntity extends VehicleEntity
         this.checkInsideBlocks();
     }
 
+    @Override
+    protected boolean canSleep()
+    {
+        return super.canSleep() && this.pullingEntity == null && this.entityData.get(PULLING_ENTITY) == -1;
+    }
+
     private void updatePullingMotion()
     {
         Vector3d towBar = this.pullingEntity.position();
@@ -131,7 +137,12 @@ public abstract class TrailerEntity extends VehicleEntity
         Vector3d vec = new Vector3d(0, 0, this.getHitchOffset() * bodyScale * 0.0625).yRot((float) Math.toRadians(-this.yRot)).add(towBar);
         Vector3d motion = this.getDeltaMovement();
         this.setDeltaMovement(vec.x - this.getX(), motion.y(), vec.z - this.getZ());
-        this.move(MoverType.SELF, this.getDeltaMovement());
+
+        // The position of the trailer is driven by snapshots from the server, so moving it here would fight them
+        if(!this.isSnapshotDriven())
+        {
+            this.move(MoverType.SELF, this.getDeltaMovement());
+        }
     }
 
     @Override
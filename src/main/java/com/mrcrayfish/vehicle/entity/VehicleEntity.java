@@ -1,12 +1,15 @@
 package com.mrcrayfish.vehicle.entity;
 
 import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.block.VehicleCrateBlock;
 import com.mrcrayfish.vehicle.client.VehicleHelper;
 import com.mrcrayfish.vehicle.common.CosmeticTracker;
 import com.mrcrayfish.vehicle.common.Seat;
 import com.mrcrayfish.vehicle.common.SeatTracker;
+import com.mrcrayfish.vehicle.common.TrailerHitchHandler;
+import com.mrcrayfish.vehicle.common.VehicleCollisionHandler;
+import com.mrcrayfish.vehicle.common.VehicleSleepHandler;
 import com.mrcrayfish.vehicle.common.cosmetic.actions.Action;
 import com.mrcrayfish.vehicle.common.entity.Transform;
 import com.mrcrayfish.vehicle.crafting.WorkstationRecipe;
@@ -16,8 +19,11 @@ import com.mrcrayfish.vehicle.init.ModDataKeys;
 import com.mrcrayfish.vehicle.init.ModItems;
 import com.mrcrayfish.vehicle.init.ModSounds;
 import com.mrcrayfish.vehicle.item.SprayCanItem;
+import com.mrcrayfish.vehicle.network.datasync.SnapshotBuffer;
 import com.mrcrayfish.vehicle.network.datasync.VehicleDataValue;
+import com.mrcrayfish.vehicle.network.datasync.VehicleSnapshot;
 import com.mrcrayfish.vehicle.util.CommonUtils;
+import com.mrcrayfish.vehicle.util.SaveDataHelper;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
@@ -56,7 +62,9 @@ import net.minecraftforge.fml.common.registry.IEntityAdditionalSpawnData;
 import net.minecraftforge.fml.network.NetworkHooks;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -66,6 +74,14 @@ import java.util.UUID;
  */
 public abstract class VehicleEntity extends Entity implements IEntityAdditionalSpawnData
 {
+    /* The version of the save data. Version 1 stopped writing values that are equal to their
+     * defaults or can be derived from the vehicle properties. */
+    protected static final int SAVE_VERSION = 1;
+    protected static final int DEFAULT_COLOR = 16383998;
+    protected static final int SLEEP_REST_TICKS = 100;
+    protected static final int REDUCED_TICK_INTERVAL = 4;
+    protected static final int DISTANCE_CHECK_INTERVAL = 20;
+
     public static final int[] DYE_TO_COLOR = new int[] {16383998, 16351261, 13061821, 3847130, 16701501, 8439583, 15961002, 4673362, 10329495, 1481884, 8991416, 3949738, 8606770, 6192150, 11546150, 1908001};
 
     protected static final DataParameter<Integer> COLOR = EntityDataManager.defineId(VehicleEntity.class, DataSerializers.INT);
@@ -76,7 +92,6 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
 
     protected UUID trailerId;
     protected TrailerEntity trailer = null;
-    private int searchDelay = 0;
 
     protected int lerpSteps;
     protected double lerpX;
@@ -85,9 +100,19 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     protected double lerpYaw;
     protected double lerpPitch;
 
+    private VehicleProperties properties;
+    private int propertiesEpoch;
+    private boolean sleeping;
+    private boolean resting;
+    private int restTicks;
+    private long[] sleepSupportPositions;
+    private boolean distant;
+
     protected final SeatTracker seatTracker;
     protected final CosmeticTracker cosmeticTracker;
     protected final Map<DataParameter<?>, VehicleDataValue<?>> paramToDataValue = new HashMap<>();
+    protected final List<VehicleDataValue<?>> replicatedValues = new ArrayList<>();
+    private SnapshotBuffer snapshotBuffer;
 
     @OnlyIn(Dist.CLIENT)
     protected float bodyRotationPitch;
@@ -118,7 +143,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     {
         this.entityData.define(TIME_SINCE_HIT, 0);
         this.entityData.define(HEALTH, 100F);
-        this.entityData.define(COLOR, 16383998);
+        this.entityData.define(COLOR, DEFAULT_COLOR);
         this.entityData.define(TRAILER, -1);
         this.entityData.define(WHEEL_STACK, ItemStack.EMPTY);
     }
@@ -126,12 +151,54 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     public void registerDataValue(VehicleDataValue<?> dataValue)
     {
         this.paramToDataValue.put(dataValue.getKey(), dataValue);
+        if(dataValue.isReplicated())
+        {
+            this.replicatedValues.add(dataValue);
+        }
+    }
+
+    /**
+     * Gets the data values of this vehicle that are replicated through snapshots. The order is the
+     * order the values were registered in, which is the same on the server and client.
+     */
+    public List<VehicleDataValue<?>> getReplicatedValues()
+    {
+        return this.replicatedValues;
+    }
+
+    /**
+     * Receives a snapshot delta sent from the server
+     *
+     * @param delta the received delta
+     * @param ticks the amount of ticks since the last snapshot sent for this vehicle
+     */
+    public void receiveSnapshot(VehicleSnapshot.Delta delta, int ticks)
+    {
+        this.wake();
+        if(this.snapshotBuffer == null)
+        {
+            this.snapshotBuffer = new SnapshotBuffer();
+        }
+        this.snapshotBuffer.receive(this, delta, ticks);
+    }
+
+    /**
+     * @return true if the transform of this vehicle is currently driven by snapshots received from
+     * the server rather than being simulated
+     */
+    public boolean isSnapshotDriven()
+    {
+        return this.snapshotBuffer != null && this.snapshotBuffer.isActive() && !this.isControlledByLocalInstance();
     }
 
     @Override
     public void onSyncedDataUpdated(DataParameter<?> key)
     {
         super.onSyncedDataUpdated(key);
+        if(this.level.isClientSide())
+        {
+            this.wake();
+        }
         // Yeah pretty cool java stuff
         Optional.ofNullable(this.getControllingPassenger())
                 .filter(entity -> entity instanceof PlayerEntity && !((PlayerEntity) entity).isLocalPlayer())
@@ -159,6 +226,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     @Override
     public ActionResultType interact(PlayerEntity player, Hand hand)
     {
+        this.wake();
         if(!this.level.isClientSide() && !player.isCrouching())
         {
             int trailerId = SyncedPlayerData.instance().get(player, ModDataKeys.TRAILER);
@@ -263,22 +331,12 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     @Override
     protected void readAdditionalSaveData(CompoundNBT compound)
     {
-        if(compound.contains("Color", Constants.NBT.TAG_INT_ARRAY))
-        {
-            int[] c = compound.getIntArray("Color");
-            if(c.length == 3)
-            {
-                int color = ((c[0] & 0xFF) << 16) | ((c[1] & 0xFF) << 8) | ((c[2] & 0xFF));
-                this.setColor(color);
-            }
-        }
-        if(compound.contains("Health", Constants.NBT.TAG_FLOAT))
-        {
-            this.setHealth(compound.getFloat("Health"));
-        }
-        if(compound.hasUUID("Trailer"))
+        this.setColor(SaveDataHelper.getColor(compound, "Color", DEFAULT_COLOR));
+        this.setHealth(SaveDataHelper.getFloat(compound, "Health", SaveDataHelper.getVersion(compound) >= 1 ? this.getMaxHealth() : this.getHealth()));
+        UUID trailerId = SaveDataHelper.getUUID(compound, "Trailer");
+        if(trailerId != null)
         {
-            this.trailerId = compound.getUUID("Trailer");
+            this.trailerId = trailerId;
         }
         if(compound.contains("SeatTracker", Constants.NBT.TAG_COMPOUND))
         {
@@ -297,55 +355,34 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     @Override
     protected void addAdditionalSaveData(CompoundNBT compound)
     {
-        compound.putIntArray("Color", this.getColorRGB());
-        compound.putFloat("MaxHealth", this.getMaxHealth());
-        compound.putFloat("Health", this.getHealth());
+        SaveDataHelper.putVersion(compound, SAVE_VERSION);
+        SaveDataHelper.putColor(compound, "Color", this.getColor(), DEFAULT_COLOR);
+        SaveDataHelper.putFloat(compound, "Health", this.getHealth(), this.getMaxHealth());
 
         //TODO make it save the entity
-        if(this.trailerId != null)
+        SaveDataHelper.putUUID(compound, "Trailer", this.trailerId);
+
+        CompoundNBT seatTracker = this.seatTracker.write();
+        if(!seatTracker.getList("PlayerSeatMap", Constants.NBT.TAG_COMPOUND).isEmpty())
         {
-            compound.putUUID("Trailer", this.trailerId);
+            compound.put("SeatTracker", seatTracker);
+        }
+        CompoundNBT cosmeticTracker = this.cosmeticTracker.write();
+        if(!cosmeticTracker.isEmpty())
+        {
+            compound.put("CosmeticTracker", cosmeticTracker);
         }
-
-        compound.put("SeatTracker", this.seatTracker.write());
-        compound.put("CosmeticTracker", this.cosmeticTracker.write());
         CommonUtils.writeItemStackToTag(compound, "WheelStack", this.getWheelStack());
     }
 
     @Override
     public void tick()
     {
-        this.cosmeticTracker.tick(this);
-
         if(this.getTimeSinceHit() > 0)
         {
             this.setTimeSinceHit(this.getTimeSinceHit() - 1);
         }
 
-        if(!this.level.isClientSide())
-        {
-            if(this.searchDelay <= 0)
-            {
-                if(this.trailer != null)
-                {
-                    /* Updates periodically to ensure the client knows the vehicle/trailer connection.
-                     * There is often problems on loading worlds that it doesn't sync correctly, so this
-                     * is the fix. */
-                    this.entityData.set(TRAILER, trailer.getId());
-                    this.trailer.getEntityData().set(TrailerEntity.PULLING_ENTITY, this.getId());
-                    this.searchDelay = Config.SERVER.trailerSyncCooldown.get();
-                }
-                else
-                {
-                    this.findTrailer();
-                }
-            }
-            else
-            {
-                this.searchDelay--;
-            }
-        }
-
         if(this.level.isClientSide)
         {
             int entityId = this.entityData.get(TRAILER);
@@ -377,8 +414,23 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
 
         super.tick();
         this.tickLerp();
+
+        boolean skip = this.shouldSkipTick();
+        if(!this.level.isClientSide())
+        {
+            VehicleSleepHandler.instance().recordTick(this.sleeping, skip && !this.sleeping);
+        }
+        if(skip)
+            return;
+
+        this.cosmeticTracker.tick(this);
         this.onUpdateVehicle();
 
+        if(this.isControlledByLocalInstance())
+        {
+            VehicleCollisionHandler.instance().resolveCollisions(this);
+        }
+
         if(this.level.isClientSide())
         {
             this.prevBodyRotationPitch = this.bodyRotationPitch;
@@ -403,28 +455,111 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
                 this.prevBodyRotationRoll += 360F;
             }
         }
+
+        this.updateRestState();
     }
 
-    private void findTrailer()
+    protected abstract void onUpdateVehicle();
+
+    /**
+     * Determines if the update of this vehicle should be skipped this tick. Vehicles that are
+     * asleep skip updates until they are disturbed, which is detected by events rather than by
+     * checking every tick, see {@link #wake()}. Vehicles with no passengers that are at rest and
+     * far away from all players only update every few ticks.
+     */
+    private boolean shouldSkipTick()
     {
-        if(!this.level.isClientSide && this.trailerId != null && this.trailer == null)
+        if(this.sleeping)
         {
-            ServerWorld server = (ServerWorld) this.level;
-            Entity entity = server.getEntity(this.trailerId);
-            if(entity instanceof TrailerEntity)
+            if(this.canSleep())
             {
-                this.setTrailer((TrailerEntity) entity);
-                return;
+                return true;
             }
-            this.trailerId = null;
+            this.wake();
+        }
+
+        if(!this.level.isClientSide() && ConfigSnapshot.server().reducedTickDistance > 0)
+        {
+            if((this.tickCount + this.getId()) % DISTANCE_CHECK_INTERVAL == 0)
+            {
+                this.distant = this.level.getNearestPlayer(this, ConfigSnapshot.server().reducedTickDistance) == null;
+            }
+
+            /* Vehicles still moving are updated every tick, otherwise they would slow down at a
+             * fraction of the normal rate */
+            return this.distant && this.resting && this.getDeltaMovement().lengthSqr() < 1.0E-7 && this.canSleep() && this.tickCount % REDUCED_TICK_INTERVAL != 0;
         }
+        return false;
     }
 
-    protected abstract void onUpdateVehicle();
+    /**
+     * Puts this vehicle to sleep once it has been at rest for long enough
+     */
+    private void updateRestState()
+    {
+        this.resting = this.getX() == this.xo && this.getY() == this.yo && this.getZ() == this.zo && MathHelper.wrapDegrees(this.yRot - this.yRotO) == 0F;
+        if(!this.resting || !this.canSleep() || !ConfigSnapshot.server().sleepIdleVehicles)
+        {
+            this.restTicks = 0;
+            return;
+        }
+
+        if(++this.restTicks >= SLEEP_REST_TICKS)
+        {
+            this.sleeping = true;
+            this.sleepSupportPositions = VehicleSleepHandler.getSupportPositions(this.getBoundingBox());
+            VehicleSleepHandler.instance().addSleeper(this, this.sleepSupportPositions);
+        }
+    }
+
+    /**
+     * Determines if this vehicle is allowed to sleep. A vehicle must be on the ground and have no
+     * passengers or trailer. Subclasses can add their own conditions, such as an engine running.
+     */
+    protected boolean canSleep()
+    {
+        return this.onGround && this.lerpSteps == 0 && (this.snapshotBuffer == null || this.snapshotBuffer.isSettled()) && this.getPassengers().isEmpty() && !this.isPassenger() && this.trailer == null && this.getTimeSinceHit() == 0;
+    }
+
+    /**
+     * Wakes this vehicle if it is asleep, resuming full updates
+     */
+    public void wake()
+    {
+        if(this.sleeping)
+        {
+            this.sleeping = false;
+            VehicleSleepHandler.instance().removeSleeper(this, this.sleepSupportPositions);
+            this.sleepSupportPositions = null;
+        }
+        this.restTicks = 0;
+    }
+
+    public boolean isSleeping()
+    {
+        return this.sleeping;
+    }
+
+    /**
+     * Called after this vehicle has been moved out of another vehicle. By default, any movement
+     * towards the other vehicle is removed.
+     *
+     * @param normal the direction this vehicle was pushed, pointing away from the other vehicle
+     */
+    public void onVehicleCollision(Vector3d normal)
+    {
+        Vector3d motion = this.getDeltaMovement();
+        double towards = motion.dot(normal);
+        if(towards < 0)
+        {
+            this.setDeltaMovement(motion.subtract(normal.scale(towards)));
+        }
+    }
 
     @Override
     public boolean hurt(DamageSource source, float amount)
     {
+        this.wake();
         if(this.isInvulnerableTo(source))
         {
             return false;
@@ -438,7 +573,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
             }
             else
             {
-                if(Config.SERVER.vehicleDamage.get())
+                if(ConfigSnapshot.server().vehicleDamage)
                 {
                     this.setTimeSinceHit(10);
                     this.setHealth(this.getHealth() - amount);
@@ -462,7 +597,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     @Override
     public boolean causeFallDamage(float distance, float damageMultiplier)
     {
-        if(Config.SERVER.vehicleDamage.get() && !this.immuneToFallDamage() && distance >= 4F && this.getDeltaMovement().y() < -1.0F)
+        if(ConfigSnapshot.server().vehicleDamage && !this.immuneToFallDamage() && distance >= 4F && this.getDeltaMovement().y() < -1.0F)
         {
             float damage = distance / 2F;
             this.hurt(DamageSource.FALL, damage);
@@ -509,6 +644,16 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
         {
             this.lerpSteps = 0;
             this.setPacketCoordinates(this.getX(), this.getY(), this.getZ());
+            if(this.snapshotBuffer != null)
+            {
+                this.snapshotBuffer.clear();
+            }
+        }
+
+        if(this.snapshotBuffer != null && this.snapshotBuffer.tick(this))
+        {
+            this.lerpSteps = 0;
+            return;
         }
 
         if(this.lerpSteps > 0)
@@ -529,6 +674,12 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     @Override
     public void lerpTo(double x, double y, double z, float yaw, float pitch, int posRotationIncrements, boolean teleport)
     {
+        this.wake();
+
+        // Snapshots take over from the vanilla movement updates, which are now only a fallback
+        if(this.isSnapshotDriven())
+            return;
+
         this.lerpX = x;
         this.lerpY = y;
         this.lerpZ = z;
@@ -701,6 +852,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
 
     public void setTrailer(TrailerEntity trailer)
     {
+        this.wake();
         if(trailer != null)
         {
             this.trailer = trailer;
@@ -718,6 +870,30 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
             this.trailerId = null;
             this.entityData.set(TRAILER, -1);
         }
+        TrailerHitchHandler.instance().setHitch(this, this.trailerId);
+    }
+
+    /**
+     * Clears the reference to the trailer when it has been unloaded from the world but keeps the
+     * trailer id so the hitch can be restored once it has been loaded again.
+     */
+    public void detachUnloadedTrailer()
+    {
+        this.trailer = null;
+        this.entityData.set(TRAILER, -1);
+    }
+
+    /**
+     * Sends the vehicle/trailer connection to tracking clients again. This is called periodically
+     * by {@link TrailerHitchHandler}.
+     */
+    public void syncTrailer()
+    {
+        if(this.trailer != null)
+        {
+            this.entityData.set(TRAILER, this.trailer.getId());
+            this.trailer.getEntityData().set(TrailerEntity.PULLING_ENTITY, this.getId());
+        }
     }
 
     @Nullable
@@ -754,7 +930,13 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
 
     public VehicleProperties getProperties()
     {
-        return VehicleProperties.get(this.getType());
+        int epoch = VehicleProperties.getEpoch();
+        if(this.properties == null || this.propertiesEpoch != epoch)
+        {
+            this.properties = VehicleProperties.get(this.getType());
+            this.propertiesEpoch = epoch;
+        }
+        return this.properties;
     }
 
     @Override
@@ -824,6 +1006,7 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
     public void addPassenger(Entity passenger)
     {
         super.addPassenger(passenger);
+        this.wake();
         if(this.isControlledByLocalInstance() && this.lerpSteps > 0)
         {
             this.lerpSteps = 0;
@@ -873,12 +1056,12 @@ public abstract class VehicleEntity extends Entity implements IEntityAdditionalS
                     if(this.level.isClientSide() && VehicleHelper.canFollowVehicleOrientation(passenger))
                     {
                         //TODO launch the game to test this
-                        if(Config.CLIENT.immersiveCamera.get() && Config.CLIENT.shouldFollowPitch.get())
+                        if(ConfigSnapshot.client().immersiveCamera && ConfigSnapshot.client().shouldFollowPitch)
                         {
                             passenger.xRotO = passenger.xRot;
                             passenger.xRot = this.xRot + this.passengerPitchOffset;
                         }
-                        if(this.canApplyYawOffset(passenger) && Config.CLIENT.shouldFollowYaw.get())
+                        if(this.canApplyYawOffset(passenger) && ConfigSnapshot.client().shouldFollowYaw)
                         {
                             passenger.yRot -= MathHelper.degreesDifference(this.yRot - this.passengerYawOffset, passenger.yRot);
                             passenger.setYHeadRot(passenger.yRot);
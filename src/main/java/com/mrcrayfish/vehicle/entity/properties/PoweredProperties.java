@@ -1,17 +1,22 @@
 package com.mrcrayfish.vehicle.entity.properties;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonObject;
 import com.mrcrayfish.vehicle.Reference;
+import com.mrcrayfish.vehicle.common.FuelIndex;
 import com.mrcrayfish.vehicle.common.entity.Transform;
 import com.mrcrayfish.vehicle.entity.EngineType;
 import com.mrcrayfish.vehicle.entity.FuelFillerType;
 import com.mrcrayfish.vehicle.entity.IEngineType;
 import com.mrcrayfish.vehicle.util.ExtraJSONUtils;
+import net.minecraft.fluid.Fluid;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.vector.Vector3d;
 
 import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Author: MrCrayfish
@@ -41,6 +46,7 @@ public final class PoweredProperties extends ExtendedProperties
     public static final Vector3d DEFAULT_REAR_AXLE_POSITION = Vector3d.ZERO;
     public static final ResourceLocation DEFAULT_ENGINE_SOUND = null;
     public static final ResourceLocation DEFAULT_HORN_SOUND = new ResourceLocation(Reference.MOD_ID, "entity.vehicle.horn");
+    public static final ImmutableMap<String, Float> DEFAULT_FUELS = ImmutableMap.of();
 
     private final boolean canDriveUpBlocks;
     private final float maxSteeringAngle;
@@ -65,6 +71,10 @@ public final class PoweredProperties extends ExtendedProperties
     private final Vector3d rearAxleOffset;
     private final ResourceLocation engineSound;
     private final ResourceLocation hornSound;
+    private final ImmutableMap<String, Float> fuels;
+
+    /* Resolved on both the server and client threads, see FuelIndex.Resolved */
+    private volatile FuelIndex.Resolved<Map<Fluid, Float>> resolvedFuels;
 
     public PoweredProperties(JsonObject object)
     {
@@ -91,9 +101,10 @@ public final class PoweredProperties extends ExtendedProperties
         this.rearAxleOffset = new Vector3d(0, 0, JSONUtils.getAsFloat(object, "rearAxleOffset", 0F));
         this.engineSound = ExtraJSONUtils.getAsResourceLocation(object, "engineSound", DEFAULT_ENGINE_SOUND);
         this.hornSound = ExtraJSONUtils.getAsResourceLocation(object, "hornSound", DEFAULT_HORN_SOUND);
+        this.fuels = getAsFuels(object, "fuels", DEFAULT_FUELS);
     }
 
-    public PoweredProperties(boolean canDriveUpBlocks, float maxSteeringAngle, boolean requiresEnergy, float energyCapacity, float energyConsumptionPerTick, IEngineType engineType, float enginePower, float minEnginePitch, float maxEnginePitch, boolean renderEngine, Transform engineTransform, Transform exhaustTransform, boolean showExhaustFumes, Vector3d exhaustFumesPosition, Transform fuelFillerTransform, FuelFillerType fuelFillerType, Transform ignitionTransform, boolean hasHorn, boolean canLockWithKey, Vector3d frontAxleOffset, Vector3d rearAxleOffset, ResourceLocation engineSound, ResourceLocation hornSound)
+    public PoweredProperties(boolean canDriveUpBlocks, float maxSteeringAngle, boolean requiresEnergy, float energyCapacity, float energyConsumptionPerTick, IEngineType engineType, float enginePower, float minEnginePitch, float maxEnginePitch, boolean renderEngine, Transform engineTransform, Transform exhaustTransform, boolean showExhaustFumes, Vector3d exhaustFumesPosition, Transform fuelFillerTransform, FuelFillerType fuelFillerType, Transform ignitionTransform, boolean hasHorn, boolean canLockWithKey, Vector3d frontAxleOffset, Vector3d rearAxleOffset, ResourceLocation engineSound, ResourceLocation hornSound, ImmutableMap<String, Float> fuels)
     {
         this.canDriveUpBlocks = canDriveUpBlocks;
         this.maxSteeringAngle = maxSteeringAngle;
@@ -118,6 +129,7 @@ public final class PoweredProperties extends ExtendedProperties
         this.rearAxleOffset = rearAxleOffset;
         this.engineSound = engineSound;
         this.hornSound = hornSound;
+        this.fuels = fuels;
     }
 
     public boolean canDriveUpBlocks()
@@ -236,6 +248,49 @@ public final class PoweredProperties extends ExtendedProperties
         return this.hornSound;
     }
 
+    /**
+     * Gets the fuels specific to this vehicle, mapped to their efficiency multiplier. Entries are
+     * either a fluid registry name or a fluid tag prefixed with a hash. If empty, the vehicle uses
+     * the valid fuels from the server config.
+     */
+    public ImmutableMap<String, Float> getFuels()
+    {
+        return this.fuels;
+    }
+
+    /**
+     * Gets the efficiency multiplier of the given fluid when used as fuel for this vehicle. This
+     * is the amount of energy gained per millibucket of the fluid.
+     *
+     * @param fluid the fluid to test
+     * @return the efficiency multiplier or zero if the fluid is not a valid fuel
+     */
+    public float getFuelEfficiency(Fluid fluid)
+    {
+        if(this.fuels.isEmpty())
+        {
+            return FuelIndex.instance().isFuel(fluid) ? 1.0F : 0F;
+        }
+        int generation = FuelIndex.instance().getGeneration();
+        FuelIndex.Resolved<Map<Fluid, Float>> resolvedFuels = this.resolvedFuels;
+        if(resolvedFuels == null || !resolvedFuels.isCurrent(generation))
+        {
+            resolvedFuels = new FuelIndex.Resolved<>(generation, FuelIndex.instance().resolve(this.fuels));
+            this.resolvedFuels = resolvedFuels;
+        }
+        return resolvedFuels.get().getOrDefault(fluid, 0F);
+    }
+
+    private static ImmutableMap<String, Float> getAsFuels(JsonObject object, String key, ImmutableMap<String, Float> defaultValue)
+    {
+        if(!object.has(key))
+            return defaultValue;
+        JsonObject fuelsObject = JSONUtils.getAsJsonObject(object, key);
+        ImmutableMap.Builder<String, Float> builder = ImmutableMap.builder();
+        fuelsObject.entrySet().forEach(entry -> builder.put(entry.getKey(), JSONUtils.convertToFloat(entry.getValue(), entry.getKey())));
+        return builder.build();
+    }
+
     @Override
     public void serialize(JsonObject object)
     {
@@ -262,6 +317,12 @@ public final class PoweredProperties extends ExtendedProperties
         ExtraJSONUtils.write(object, "rearAxleOffset", this.rearAxleOffset.z, DEFAULT_REAR_AXLE_POSITION.z);
         ExtraJSONUtils.write(object, "engineSound", this.engineSound, DEFAULT_ENGINE_SOUND);
         ExtraJSONUtils.write(object, "hornSound", this.hornSound, DEFAULT_HORN_SOUND);
+        if(!this.fuels.equals(DEFAULT_FUELS))
+        {
+            JsonObject fuelsObject = new JsonObject();
+            this.fuels.forEach(fuelsObject::addProperty);
+            object.add("fuels", fuelsObject);
+        }
     }
 
     public static Builder builder()
@@ -294,6 +355,7 @@ public final class PoweredProperties extends ExtendedProperties
         private Vector3d rearAxleOffset = DEFAULT_REAR_AXLE_POSITION;
         private ResourceLocation engineSound = DEFAULT_ENGINE_SOUND;
         private ResourceLocation hornSound = DEFAULT_HORN_SOUND;
+        private final Map<String, Float> fuels = new LinkedHashMap<>();
 
         private Builder() {}
 
@@ -435,9 +497,15 @@ public final class PoweredProperties extends ExtendedProperties
             return this;
         }
 
+        public Builder addFuel(String fuel, float efficiency)
+        {
+            this.fuels.put(fuel, efficiency);
+            return this;
+        }
+
         public PoweredProperties build()
         {
-            return new PoweredProperties(this.canDriveUpBlocks, this.maxSteeringAngle, this.requiresEnergy, this.energyCapacity, this.energyConsumptionPerTick, this.engineType, this.enginePower, this.minEnginePitch, this.maxEnginePitch, this.renderEngine, this.engineTransform, this.exhaustTransform, this.showExhaustFumes, this.exhaustFumesPosition, this.fuelFillerTransform, this.fuelFillerType, this.ignitionTransform, this.hasHorn, this.canLockWithKey, this.frontAxleOffset, this.rearAxleOffset, this.engineSound, this.hornSound);
+            return new PoweredProperties(this.canDriveUpBlocks, this.maxSteeringAngle, this.requiresEnergy, this.energyCapacity, this.energyConsumptionPerTick, this.engineType, this.enginePower, this.minEnginePitch, this.maxEnginePitch, this.renderEngine, this.engineTransform, this.exhaustTransform, this.showExhaustFumes, this.exhaustFumesPosition, this.fuelFillerTransform, this.fuelFillerType, this.ignitionTransform, this.hasHorn, this.canLockWithKey, this.frontAxleOffset, this.rearAxleOffset, this.engineSound, this.hornSound, ImmutableMap.copyOf(this.fuels));
         }
     }
 }
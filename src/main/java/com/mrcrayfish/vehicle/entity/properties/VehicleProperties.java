@@ -52,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -68,6 +69,7 @@ public class VehicleProperties
     private static final Map<ResourceLocation, VehicleProperties> NETWORK_VEHICLE_PROPERTIES = new HashMap<>(); // Properties from the server (client only)
     private static final Map<ResourceLocation, ExtendedProperties> GLOBAL_EXTENDED_PROPERTIES = new HashMap<>();
     private static final List<Supplier<VehiclePropertiesProvider>> DYNAMIC_SUPPLIERS = new ArrayList<>();
+    private static final AtomicInteger EPOCH = new AtomicInteger(); // Incremented whenever the effective properties may have changed
 
     public static final float DEFAULT_MAX_HEALTH = 100F;
     public static final float DEFAULT_AXLE_OFFSET = 0F;
@@ -247,6 +249,7 @@ public class VehicleProperties
         {
             DEFAULT_VEHICLE_PROPERTIES.computeIfAbsent(entityType.getRegistryName(), VehicleProperties::loadDefaultProperties);
         }
+        invalidate();
     }
 
     private static VehicleProperties loadDefaultProperties(ResourceLocation id)
@@ -330,6 +333,21 @@ public class VehicleProperties
         return properties;
     }
 
+    /**
+     * Gets the current properties epoch. The epoch changes whenever properties are reloaded or
+     * replaced, so anything holding onto resolved properties can compare the epoch it resolved
+     * them at against this value to know if they need to be resolved again.
+     */
+    public static int getEpoch()
+    {
+        return EPOCH.get();
+    }
+
+    private static void invalidate()
+    {
+        EPOCH.incrementAndGet();
+    }
+
     public static boolean updateNetworkVehicleProperties(HandshakeMessages.S2CVehicleProperties message)
     {
         Map<ResourceLocation, VehicleProperties> propertiesMap = message.getPropertiesMap();
@@ -351,6 +369,7 @@ public class VehicleProperties
         // Finally update the network properties
         NETWORK_VEHICLE_PROPERTIES.clear();
         NETWORK_VEHICLE_PROPERTIES.putAll(message.getPropertiesMap());
+        invalidate();
         return true;
     }
 
@@ -358,6 +377,7 @@ public class VehicleProperties
     public static void onClientDisconnect(ClientPlayerNetworkEvent.LoggedOutEvent event)
     {
         NETWORK_VEHICLE_PROPERTIES.clear();
+        invalidate();
     }
 
     /**
@@ -390,6 +410,7 @@ public class VehicleProperties
             provider.getVehiclePropertiesMap().forEach(DEFAULT_VEHICLE_PROPERTIES::put);
             provider.getVehiclePropertiesMap().forEach(NETWORK_VEHICLE_PROPERTIES::put);
         });
+        invalidate();
 
         Minecraft.getInstance().gui.setOverlayMessage(new StringTextComponent("Refreshed vehicle properties!"), false);
     }
@@ -849,6 +870,7 @@ public class VehicleProperties
         protected void apply(Map<ResourceLocation, VehicleProperties> propertiesMap, IResourceManager manager, IProfiler profiler)
         {
             this.vehicleProperties = ImmutableMap.copyOf(propertiesMap);
+            invalidate();
         }
 
         @Nullable
@@ -872,6 +894,7 @@ public class VehicleProperties
         public static void onServerStopped(FMLServerStoppedEvent event)
         {
             Manager.instance = null;
+            invalidate();
         }
 
         /**
@@ -1,7 +1,7 @@
 package com.mrcrayfish.vehicle.entity.trailer;
 
 import com.google.common.collect.ImmutableMap;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.raytrace.EntityRayTracer;
 import com.mrcrayfish.vehicle.common.inventory.IStorage;
 import com.mrcrayfish.vehicle.common.inventory.StorageInventory;
@@ -27,7 +27,6 @@ import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.ActionResultType;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.world.World;
 import net.minecraft.world.server.ServerWorld;
@@ -44,10 +43,11 @@ import java.util.Map;
 public class FertilizerTrailerEntity extends TrailerEntity implements IStorage
 {
     private static final String INVENTORY_STORAGE_KEY = "Inventory";
+    private static final double[] FERTILIZER_LANES = {1.0, 0.0, -1.0};
 
     private int inventoryTimer;
     private StorageInventory inventory;
-    private BlockPos[] lastPos = new BlockPos[3];
+    private FieldWorker fieldWorker;
 
     public FertilizerTrailerEntity(EntityType<? extends FertilizerTrailerEntity> type, World worldIn)
     {
@@ -78,7 +78,7 @@ public class FertilizerTrailerEntity extends TrailerEntity implements IStorage
     {
         super.tick();
 
-        if(!this.level.isClientSide() && Config.SERVER.trailerInventorySyncCooldown.get() > 0 && this.inventoryTimer++ == Config.SERVER.trailerInventorySyncCooldown.get())
+        if(!this.level.isClientSide() && ConfigSnapshot.server().trailerInventorySyncCooldown > 0 && this.inventoryTimer++ == ConfigSnapshot.server().trailerInventorySyncCooldown)
         {
             this.inventoryTimer = 0;
             PacketHandler.getPlayChannel().send(PacketDistributor.TRACKING_ENTITY.with(() -> this), new MessageSyncStorage(this, INVENTORY_STORAGE_KEY));
@@ -90,89 +90,33 @@ public class FertilizerTrailerEntity extends TrailerEntity implements IStorage
     {
         super.onUpdateVehicle();
 
-        if(!level.isClientSide)
+        if(!this.level.isClientSide())
         {
-            ItemStack fertilizer = this.getFertilizer();
-            if(fertilizer.isEmpty() && this.getPullingEntity() instanceof StorageTrailerEntity)
-            {
-                fertilizer = this.getFertilizerFromStorage((StorageTrailerEntity) this.getPullingEntity());
-            }
-            if(!fertilizer.isEmpty())
-            {
-                Vector3d lookVec = this.getLookAngle();
-                boolean applied = this.applyFertilizer(lookVec.yRot((float) Math.toRadians(90F)), 0);
-                applied |= this.applyFertilizer(Vector3d.ZERO, 1);
-                applied |= this.applyFertilizer(lookVec.yRot((float) Math.toRadians(-90F)), 2);
-                if(applied) fertilizer.shrink(1);
-            }
+            this.fieldWorker.tick();
         }
     }
 
-    private boolean applyFertilizer(Vector3d vec, int index)
+    private void applyFertilizer(BlockPos pos, ItemStack fertilizer)
     {
-        Vector3d prevPosVec = new Vector3d(xo, yo + 0.25, zo);
-        prevPosVec = prevPosVec.add(new Vector3d(0, 0, -1).yRot(-this.yRot * 0.017453292F));
-        BlockPos pos = new BlockPos(prevPosVec.x + vec.x, prevPosVec.y, prevPosVec.z + vec.z);
-
-        if(lastPos[index] != null && lastPos[index].equals(pos))
-        {
-            return false;
-        }
-        lastPos[index] = pos;
-
-        BlockState state = level.getBlockState(pos);
+        BlockState state = this.level.getBlockState(pos);
         if(state.getBlock() instanceof IGrowable)
         {
             IGrowable growable = (IGrowable) state.getBlock();
-            if(growable.isValidBonemealTarget(level, pos, state, false))
+            if(growable.isValidBonemealTarget(this.level, pos, state, false))
             {
-                if(growable.isBonemealSuccess(level, random, pos, state))
+                if(growable.isBonemealSuccess(this.level, this.random, pos, state))
                 {
-                    growable.performBonemeal((ServerWorld) level, random, pos, state);
-                    level.levelEvent(2005, pos, 0);
-                    return true;
+                    growable.performBonemeal((ServerWorld) this.level, this.random, pos, state);
+                    this.level.levelEvent(2005, pos, 0);
+                    this.fieldWorker.consumeOncePerRow(fertilizer);
                 }
             }
         }
-        return false;
-    }
-
-    private ItemStack getFertilizer()
-    {
-        for(int i = 0; i < this.inventory.getContainerSize(); i++)
-        {
-            ItemStack stack = this.inventory.getItem(i);
-            if(!stack.isEmpty() && stack.getItem() instanceof BoneMealItem)
-            {
-                return stack;
-            }
-        }
-        return ItemStack.EMPTY;
     }
 
-    private ItemStack getFertilizerFromStorage(StorageTrailerEntity storageTrailer)
+    private boolean isFertilizer(ItemStack stack)
     {
-        if(storageTrailer == null)
-            return ItemStack.EMPTY;
-
-        if(storageTrailer.getStorageInventories() != null)
-        {
-            StorageInventory storage = storageTrailer.getInventory();
-            for(int i = 0; i < storage.getContainerSize(); i++)
-            {
-                ItemStack stack = storage.getItem(i);
-                if(!stack.isEmpty() && stack.getItem() instanceof BoneMealItem)
-                {
-                    return stack;
-                }
-            }
-
-            if(storageTrailer.getPullingEntity() instanceof StorageTrailerEntity)
-            {
-                return this.getFertilizerFromStorage((StorageTrailerEntity) storageTrailer.getPullingEntity());
-            }
-        }
-        return ItemStack.EMPTY;
+        return !stack.isEmpty() && stack.getItem() instanceof BoneMealItem;
     }
 
     @Override
@@ -201,6 +145,7 @@ public class FertilizerTrailerEntity extends TrailerEntity implements IStorage
         StorageInventory original = this.inventory;
         this.inventory = new StorageInventory(this, this.getDisplayName(), 3, stack ->
                 !stack.isEmpty() && stack.getItem() instanceof BoneMealItem);
+        this.fieldWorker = new FieldWorker(this, this.inventory, this::isFertilizer, this::applyFertilizer, FERTILIZER_LANES, 1.0);
         // Copies the inventory if it exists already over to the new instance
         if(original != null)
         {
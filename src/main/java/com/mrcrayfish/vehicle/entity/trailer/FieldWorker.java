@@ -0,0 +1,295 @@
+package com.mrcrayfish.vehicle.entity.trailer;
+
+import com.mrcrayfish.vehicle.common.inventory.StorageInventory;
+import com.mrcrayfish.vehicle.entity.TrailerEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Performs field work (planting, fertilizing) for farming trailers. Rather than probing a fixed set
+ * of positions every tick, the worker sweeps the line the trailer travelled since the last tick and
+ * queues every block it passed over for each lane. Queued positions are then processed in a bounded
+ * batch each tick. The worker also keeps an index of the slots holding supplies (seeds, bone meal)
+ * across the trailer and any storage trailers pulling it, which is only rebuilt when one of those
+ * inventories changes.
+ *
+ * Author: MrCrayfish
+ */
+public class FieldWorker
+{
+    private static final int MAX_OPERATIONS_PER_TICK = 8;
+    private static final int MAX_PENDING_OPERATIONS = 64;
+    private static final int MAX_SWEEP_STEPS = 8;
+    private static final int MAX_CHAIN_LENGTH = 16;
+
+    private final TrailerEntity trailer;
+    private final StorageInventory inventory;
+    private final Predicate<ItemStack> supplyPredicate;
+    private final Operation operation;
+    private final double[] lanes;
+    private final double rearOffset;
+
+    private final long[] lastLanePos;
+    private final long[] pending = new long[MAX_PENDING_OPERATIONS];
+    private final int[] pendingRows = new int[MAX_PENDING_OPERATIONS];
+    private int pendingHead;
+    private int pendingSize;
+    private int nextRow;
+    private int currentRow;
+    private int lastConsumedRow = -1;
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+
+    private boolean started;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+
+    private final List<StorageInventory> chain = new ArrayList<>();
+    private int[] chainVersions = new int[0];
+    private final List<StorageInventory> supplyInventories = new ArrayList<>();
+    private final List<Integer> supplySlots = new ArrayList<>();
+
+    /**
+     * @param trailer         the trailer performing the work
+     * @param inventory       the inventory of the trailer
+     * @param supplyPredicate a predicate to test if an item is consumed by the operation
+     * @param operation       the operation to perform at each position
+     * @param lanes           the sideways offsets in blocks of each lane from the center of the trailer
+     * @param rearOffset      the distance in blocks behind the trailer where work is performed
+     */
+    public FieldWorker(TrailerEntity trailer, StorageInventory inventory, Predicate<ItemStack> supplyPredicate, Operation operation, double[] lanes, double rearOffset)
+    {
+        this.trailer = trailer;
+        this.inventory = inventory;
+        this.supplyPredicate = supplyPredicate;
+        this.operation = operation;
+        this.lanes = lanes;
+        this.rearOffset = rearOffset;
+        this.lastLanePos = new long[lanes.length];
+    }
+
+    /**
+     * Sweeps the area covered since the last tick and performs a batch of the queued operations.
+     * This should only be called on the server.
+     */
+    public void tick()
+    {
+        double yaw = Math.toRadians(this.trailer.yRot);
+        double forwardX = -Math.sin(yaw);
+        double forwardZ = Math.cos(yaw);
+        double x = this.trailer.xo - forwardX * this.rearOffset;
+        double y = this.trailer.yo + 0.25;
+        double z = this.trailer.zo - forwardZ * this.rearOffset;
+
+        if(this.getSupply().isEmpty())
+        {
+            this.pendingSize = 0;
+            this.started = false;
+            return;
+        }
+
+        this.sweep(x, y, z, forwardZ, -forwardX);
+
+        int operations = 0;
+        while(this.pendingSize > 0 && operations++ < MAX_OPERATIONS_PER_TICK)
+        {
+            ItemStack supply = this.getSupply();
+            if(supply.isEmpty())
+            {
+                this.pendingSize = 0;
+                break;
+            }
+            this.pos.set(this.pending[this.pendingHead]);
+            this.currentRow = this.pendingRows[this.pendingHead];
+            this.pendingHead = (this.pendingHead + 1) % MAX_PENDING_OPERATIONS;
+            this.pendingSize--;
+            this.operation.perform(this.pos, supply);
+        }
+    }
+
+    private void sweep(double x, double y, double z, double sideX, double sideZ)
+    {
+        if(!this.started)
+        {
+            this.started = true;
+            this.lastX = x;
+            this.lastY = y;
+            this.lastZ = z;
+            this.queueLanes(x, y, z, sideX, sideZ, true);
+            return;
+        }
+
+        double deltaX = x - this.lastX;
+        double deltaY = y - this.lastY;
+        double deltaZ = z - this.lastZ;
+        int steps = MathHelper.ceil(Math.sqrt(deltaX * deltaX + deltaZ * deltaZ));
+        if(steps > MAX_SWEEP_STEPS)
+        {
+            // The trailer has teleported or moved too far, so just start again from here
+            this.started = false;
+            return;
+        }
+
+        for(int i = 1; i <= steps; i++)
+        {
+            double t = (double) i / steps;
+            this.queueLanes(this.lastX + deltaX * t, this.lastY + deltaY * t, this.lastZ + deltaZ * t, sideX, sideZ, false);
+        }
+
+        this.lastX = x;
+        this.lastY = y;
+        this.lastZ = z;
+    }
+
+    private void queueLanes(double x, double y, double z, double sideX, double sideZ, boolean force)
+    {
+        int row = this.nextRow++;
+        for(int i = 0; i < this.lanes.length; i++)
+        {
+            double offset = this.lanes[i];
+            this.pos.set(x + sideX * offset, y, z + sideZ * offset);
+            long packedPos = this.pos.asLong();
+            if(!force && this.lastLanePos[i] == packedPos)
+                continue;
+
+            this.lastLanePos[i] = packedPos;
+            if(this.pendingSize < MAX_PENDING_OPERATIONS)
+            {
+                int index = (this.pendingHead + this.pendingSize) % MAX_PENDING_OPERATIONS;
+                this.pending[index] = packedPos;
+                this.pendingRows[index] = row;
+                this.pendingSize++;
+            }
+        }
+    }
+
+    /**
+     * Gets the first stack of supplies available to this trailer. The trailer's own inventory is
+     * checked first, followed by any storage trailers pulling it.
+     */
+    public ItemStack getSupply()
+    {
+        if(!this.isSupplyIndexValid())
+        {
+            this.rebuildSupplyIndex();
+        }
+
+        for(int i = 0; i < this.supplySlots.size(); i++)
+        {
+            ItemStack stack = this.supplyInventories.get(i).getItem(this.supplySlots.get(i));
+            if(this.supplyPredicate.test(stack))
+            {
+                return stack;
+            }
+        }
+        return ItemStack.EMPTY;
+    }
+
+    /**
+     * Shrinks the given stack of supplies by one and notifies the inventory holding it
+     */
+    public void consume(ItemStack stack)
+    {
+        for(int i = 0; i < this.supplySlots.size(); i++)
+        {
+            StorageInventory inventory = this.supplyInventories.get(i);
+            if(inventory.getItem(this.supplySlots.get(i)) == stack)
+            {
+                stack.shrink(1);
+                inventory.setChanged();
+
+                /* The slot still holds the same supplies, so the index doesn't need to be rebuilt */
+                int chainIndex = this.chain.indexOf(inventory);
+                if(!stack.isEmpty() && chainIndex != -1 && this.chainVersions[chainIndex] == inventory.getVersion() - 1)
+                {
+                    this.chainVersions[chainIndex] = inventory.getVersion();
+                }
+                return;
+            }
+        }
+        stack.shrink(1);
+    }
+
+    /**
+     * Shrinks the given stack of supplies by one, unless supplies have already been consumed for
+     * the row of lanes the current position was queued with. This lets one item cover every lane
+     * of a row, the same as a single pass of the trailer.
+     */
+    public void consumeOncePerRow(ItemStack stack)
+    {
+        if(this.currentRow == this.lastConsumedRow)
+            return;
+
+        this.lastConsumedRow = this.currentRow;
+        this.consume(stack);
+    }
+
+    private boolean isSupplyIndexValid()
+    {
+        int index = 0;
+        StorageInventory inventory = this.inventory;
+        Entity entity = this.trailer;
+        while(inventory != null && index < MAX_CHAIN_LENGTH)
+        {
+            if(index >= this.chain.size() || this.chain.get(index) != inventory || this.chainVersions[index] != inventory.getVersion())
+            {
+                return false;
+            }
+            index++;
+            entity = ((TrailerEntity) entity).getPullingEntity();
+            inventory = entity instanceof StorageTrailerEntity ? ((StorageTrailerEntity) entity).getInventory() : null;
+        }
+        return index == this.chain.size();
+    }
+
+    private void rebuildSupplyIndex()
+    {
+        this.chain.clear();
+        this.supplyInventories.clear();
+        this.supplySlots.clear();
+
+        StorageInventory inventory = this.inventory;
+        Entity entity = this.trailer;
+        while(inventory != null && this.chain.size() < MAX_CHAIN_LENGTH)
+        {
+            this.chain.add(inventory);
+            for(int i = 0; i < inventory.getContainerSize(); i++)
+            {
+                if(this.supplyPredicate.test(inventory.getItem(i)))
+                {
+                    this.supplyInventories.add(inventory);
+                    this.supplySlots.add(i);
+                }
+            }
+            entity = ((TrailerEntity) entity).getPullingEntity();
+            inventory = entity instanceof StorageTrailerEntity ? ((StorageTrailerEntity) entity).getInventory() : null;
+        }
+
+        if(this.chainVersions.length != this.chain.size())
+        {
+            this.chainVersions = new int[this.chain.size()];
+        }
+        for(int i = 0; i < this.chain.size(); i++)
+        {
+            this.chainVersions[i] = this.chain.get(i).getVersion();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation
+    {
+        /**
+         * Performs the field work at the given position
+         *
+         * @param pos    the position to work on. This is mutable and must be copied if stored.
+         * @param supply the stack of supplies to use
+         */
+        void perform(BlockPos pos, ItemStack supply);
+    }
+}
@@ -1,7 +1,7 @@
 package com.mrcrayfish.vehicle.entity.trailer;
 
 import com.google.common.collect.ImmutableMap;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.client.raytrace.EntityRayTracer;
 import com.mrcrayfish.vehicle.common.inventory.IStorage;
 import com.mrcrayfish.vehicle.common.inventory.StorageInventory;
@@ -30,7 +30,6 @@ import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.ActionResultType;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.world.World;
 import net.minecraftforge.api.distmarker.Dist;
@@ -48,9 +47,11 @@ import java.util.Map;
 public class SeederTrailerEntity extends TrailerEntity implements IStorage
 {
     private static final String INVENTORY_STORAGE_KEY = "Inventory";
+    private static final double[] SEED_LANES = {0.85, 0.0, -0.85};
 
     private int inventoryTimer;
     private StorageInventory inventory;
+    private FieldWorker fieldWorker;
 
     public SeederTrailerEntity(EntityType<? extends SeederTrailerEntity> type, World worldIn)
     {
@@ -80,7 +81,7 @@ public class SeederTrailerEntity extends TrailerEntity implements IStorage
     public void tick()
     {
         super.tick();
-        if(!this.level.isClientSide && Config.SERVER.trailerInventorySyncCooldown.get() > 0 && inventoryTimer++ == Config.SERVER.trailerInventorySyncCooldown.get())
+        if(!this.level.isClientSide && ConfigSnapshot.server().trailerInventorySyncCooldown > 0 && inventoryTimer++ == ConfigSnapshot.server().trailerInventorySyncCooldown)
         {
             this.inventoryTimer = 0;
             PacketHandler.getPlayChannel().send(PacketDistributor.TRACKING_ENTITY.with(() -> SeederTrailerEntity.this), new MessageSyncStorage(this, INVENTORY_STORAGE_KEY));
@@ -92,42 +93,20 @@ public class SeederTrailerEntity extends TrailerEntity implements IStorage
     {
         super.onUpdateVehicle();
 
-        Vector3d lookVec = this.getLookAngle();
-        this.plantSeed(lookVec.yRot((float) Math.toRadians(90F)).scale(0.85));
-        this.plantSeed(Vector3d.ZERO);
-        this.plantSeed(lookVec.yRot((float) Math.toRadians(-90F)).scale(0.85));
-    }
-
-    private void plantSeed(Vector3d vec)
-    {
-        BlockPos pos = new BlockPos(xo + vec.x, yo + 0.25, zo + vec.z);
-        if(level.isEmptyBlock(pos) && level.getBlockState(pos.below()).getBlock() instanceof FarmlandBlock)
+        if(!this.level.isClientSide())
         {
-            ItemStack seed = this.getSeed();
-            if(seed.isEmpty() && this.getPullingEntity() instanceof StorageTrailerEntity)
-            {
-                seed = this.getSeedFromStorage((StorageTrailerEntity) this.getPullingEntity());
-            }
-            if(this.isSeed(seed))
-            {
-                Block seedBlock = ((BlockNamedItem) seed.getItem()).getBlock();
-                this.level.setBlockAndUpdate(pos, seedBlock.defaultBlockState());
-                seed.shrink(1);
-            }
+            this.fieldWorker.tick();
         }
     }
 
-    private ItemStack getSeed()
+    private void plantSeed(BlockPos pos, ItemStack seed)
     {
-        for(int i = 0; i < this.inventory.getContainerSize(); i++)
+        if(this.level.isEmptyBlock(pos) && this.level.getBlockState(pos.below()).getBlock() instanceof FarmlandBlock)
         {
-            ItemStack stack = this.inventory.getItem(i);
-            if(this.isSeed(stack))
-            {
-                return stack;
-            }
+            Block seedBlock = ((BlockNamedItem) seed.getItem()).getBlock();
+            this.level.setBlockAndUpdate(pos, seedBlock.defaultBlockState());
+            this.fieldWorker.consume(seed);
         }
-        return ItemStack.EMPTY;
     }
 
     private boolean isSeed(ItemStack stack)
@@ -135,31 +114,6 @@ public class SeederTrailerEntity extends TrailerEntity implements IStorage
         return !stack.isEmpty() && stack.getItem() instanceof BlockNamedItem && ((BlockNamedItem) stack.getItem()).getBlock() instanceof CropsBlock;
     }
 
-    private ItemStack getSeedFromStorage(StorageTrailerEntity storageTrailer)
-    {
-        if(storageTrailer == null)
-            return ItemStack.EMPTY;
-
-        if(storageTrailer.getInventory() != null)
-        {
-            StorageInventory storage = storageTrailer.getInventory();
-            for(int i = 0; i < storage.getContainerSize(); i++)
-            {
-                ItemStack stack = storage.getItem(i);
-                if(!stack.isEmpty() && stack.getItem() instanceof net.minecraftforge.common.IPlantable)
-                {
-                    return stack;
-                }
-            }
-
-            if(storageTrailer.getPullingEntity() instanceof StorageTrailerEntity)
-            {
-                return this.getSeedFromStorage((StorageTrailerEntity) storageTrailer.getPullingEntity());
-            }
-        }
-        return ItemStack.EMPTY;
-    }
-
     @Override
     protected void readAdditionalSaveData(CompoundNBT compound)
     {
@@ -186,6 +140,7 @@ public class SeederTrailerEntity extends TrailerEntity implements IStorage
         StorageInventory original = this.inventory;
         this.inventory = new StorageInventory(this, this.getDisplayName(), 3, stack ->
                 !stack.isEmpty() && stack.getItem().is(Tags.Items.SEEDS));
+        this.fieldWorker = new FieldWorker(this, this.inventory, this::isSeed, this::plantSeed, SEED_LANES, 0.0);
         // Copies the inventory if it exists already over to the new instance
         if(original != null)
         {
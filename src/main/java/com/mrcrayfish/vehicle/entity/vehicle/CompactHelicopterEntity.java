@@ -30,12 +30,18 @@ public class CompactHelicopterEntity extends HelicopterEntity
         super(entityType, worldIn);
     }
 
+    @Override
+    protected boolean willSpawnParticles()
+    {
+        return this.canDrive() || this.bladeSpeed > 30.0F || super.willSpawnParticles();
+    }
+
     @Override
     public void onClientUpdate()
     {
         super.onClientUpdate();
 
-        if(this.canDrive() && this.tickCount % 2 == 0)
+        if(this.canDrive() && this.tickCount % 2 == 0 && this.consumeParticleAllowance())
         {
             Vector3d exhaust = this.getExhaustFumesPosition().scale(0.0625);
             Vector4f fumePosition = new Vector4f(new Vector3f(exhaust));
@@ -43,7 +49,7 @@ public class CompactHelicopterEntity extends HelicopterEntity
             this.level.addParticle(ParticleTypes.LARGE_SMOKE, this.getX() + fumePosition.x(), this.getY() + fumePosition.y(), this.getZ() + fumePosition.z(), -this.getDeltaMovement().x, 0.0D, -this.getDeltaMovement().z);
         }
 
-        if(this.bladeSpeed > 30.0F)
+        if(this.bladeSpeed > 30.0F && this.consumeParticleAllowance())
         {
             double bladeScale = this.bladeSpeed * 0.001;
             double spreadRange = 8.0;
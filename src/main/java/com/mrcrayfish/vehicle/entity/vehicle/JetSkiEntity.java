@@ -15,6 +15,12 @@ public class JetSkiEntity extends BoatEntity
         super(type, worldIn);
     }
 
+    @Override
+    protected boolean willSpawnParticles()
+    {
+        return this.getControllingPassenger() != null && this.state == State.IN_WATER && this.getThrottle() > 0;
+    }
+
     @Override
     public void createParticles()
     {
@@ -22,12 +28,12 @@ public class JetSkiEntity extends BoatEntity
         {
             if(this.getThrottle() > 0)
             {
-                for(int i = 0; i < 5; i++)
+                for(int i = 0; i < 5 && this.consumeParticleAllowance(); i++)
                 {
                     this.level.addParticle(ParticleTypes.SPLASH, this.getX() + ((double) this.random.nextFloat() - 0.5D) * (double) this.getBbWidth(), this.getBoundingBox().minY + 0.1D, this.getZ() + ((double) this.random.nextFloat() - 0.5D) * (double) this.getBbWidth(), -this.getDeltaMovement().x * 4.0D, 1.5D, -this.getDeltaMovement().z * 4.0D);
                 }
 
-                for(int i = 0; i < 5; i++)
+                for(int i = 0; i < 5 && this.consumeParticleAllowance(); i++)
                 {
                     this.level.addParticle(ParticleTypes.BUBBLE, this.getX() + ((double) this.random.nextFloat() - 0.5D) * (double) this.getBbWidth(), this.getBoundingBox().minY + 0.1D, this.getZ() + ((double) this.random.nextFloat() - 0.5D) * (double) this.getBbWidth(), -this.getDeltaMovement().x * 2.0D, 0.0D, -this.getDeltaMovement().z * 2.0D);
                 }
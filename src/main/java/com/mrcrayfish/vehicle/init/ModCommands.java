@@ -1,7 +1,10 @@
 package com.mrcrayfish.vehicle.init;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mrcrayfish.vehicle.common.command.PipeNetworkStatsCommand;
 import com.mrcrayfish.vehicle.common.command.SetCosmeticCommand;
+import com.mrcrayfish.vehicle.common.command.SnapshotStatsCommand;
+import com.mrcrayfish.vehicle.common.command.VehicleTickStatsCommand;
 import net.minecraft.command.CommandSource;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.event.server.FMLServerAboutToStartEvent;
@@ -27,5 +30,8 @@ public class ModCommands
         {
             SetCosmeticCommand.register(dispatcher);
         }
+        SnapshotStatsCommand.register(dispatcher);
+        PipeNetworkStatsCommand.register(dispatcher);
+        VehicleTickStatsCommand.register(dispatcher);
     }
 }
@@ -0,0 +1,123 @@
+package com.mrcrayfish.vehicle.inventory;
+
+import com.mrcrayfish.vehicle.crafting.WorkstationIngredient;
+import com.mrcrayfish.vehicle.crafting.WorkstationRecipe;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.container.Container;
+import net.minecraft.inventory.container.IContainerListener;
+import net.minecraft.inventory.container.Slot;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
+
+/**
+ * Keeps a count of every item in the main inventory of a player while a container is open. The
+ * counter is registered as a listener of the container, so it is built once when the container
+ * opens and then only updated for the slots that actually change. This allows checking if the
+ * player has the materials of a recipe without scanning their inventory for every ingredient.
+ *
+ * Workstation ingredients only match against the item of a stack, so the counts are kept per item.
+ *
+ * Author: MrCrayfish
+ */
+public class IngredientCounter implements IContainerListener
+{
+    private final Object2IntOpenHashMap<Item> counts = new Object2IntOpenHashMap<>();
+    private ItemStack[] tracked = new ItemStack[0];
+    private int version;
+
+    /**
+     * Gets the total amount of items in the inventory of the player matching the given ingredient
+     */
+    public int getCount(WorkstationIngredient ingredient)
+    {
+        int count = 0;
+        ItemStack[] stacks = ingredient.getItems();
+        for(int i = 0; i < stacks.length; i++)
+        {
+            Item item = stacks[i].getItem();
+            if(!this.isDuplicate(stacks, i, item))
+            {
+                count += this.counts.getInt(item);
+            }
+        }
+        return count;
+    }
+
+    /* An ingredient may list the same item more than once, which would otherwise be counted twice */
+    private boolean isDuplicate(ItemStack[] stacks, int index, Item item)
+    {
+        for(int i = 0; i < index; i++)
+        {
+            if(stacks[i].getItem() == item)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasIngredient(WorkstationIngredient ingredient)
+    {
+        return ingredient.getCount() <= this.getCount(ingredient);
+    }
+
+    public boolean hasMaterials(WorkstationRecipe recipe)
+    {
+        for(WorkstationIngredient ingredient : recipe.getMaterials())
+        {
+            if(!this.hasIngredient(ingredient))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a number that changes every time the counts are updated
+     */
+    public int getVersion()
+    {
+        return this.version;
+    }
+
+    @Override
+    public void refreshContainer(Container container, NonNullList<ItemStack> stacks)
+    {
+        this.counts.clear();
+        this.tracked = new ItemStack[stacks.size()];
+        for(int i = 0; i < stacks.size(); i++)
+        {
+            this.slotChanged(container, i, stacks.get(i));
+        }
+    }
+
+    @Override
+    public void slotChanged(Container container, int slotIndex, ItemStack stack)
+    {
+        if(slotIndex < 0 || slotIndex >= this.tracked.length)
+            return;
+
+        /* Only the main inventory is counted, the same as the materials consumed when crafting */
+        Slot slot = container.getSlot(slotIndex);
+        if(!(slot.container instanceof PlayerInventory) || slot.getSlotIndex() >= ((PlayerInventory) slot.container).items.size())
+            return;
+
+        ItemStack previous = this.tracked[slotIndex];
+        if(previous != null && !previous.isEmpty())
+        {
+            this.counts.addTo(previous.getItem(), -previous.getCount());
+        }
+        if(!stack.isEmpty())
+        {
+            this.counts.addTo(stack.getItem(), stack.getCount());
+        }
+        this.tracked[slotIndex] = stack.copy();
+        this.version++;
+    }
+
+    @Override
+    public void setContainerData(Container container, int id, int value) {}
+}
@@ -1,6 +1,7 @@
 package com.mrcrayfish.vehicle.inventory.container;
 
 import com.mrcrayfish.vehicle.init.ModContainers;
+import com.mrcrayfish.vehicle.inventory.IngredientCounter;
 import com.mrcrayfish.vehicle.item.EngineItem;
 import com.mrcrayfish.vehicle.item.WheelItem;
 import com.mrcrayfish.vehicle.tileentity.WorkstationTileEntity;
@@ -19,6 +20,7 @@ public class WorkstationContainer extends Container
 {
     private WorkstationTileEntity workstationTileEntity;
     private BlockPos pos;
+    private final IngredientCounter ingredientCounter = new IngredientCounter();
 
     public WorkstationContainer(int windowId, IInventory playerInventory, WorkstationTileEntity workstationTileEntity)
     {
@@ -83,6 +85,8 @@ public class WorkstationContainer extends Container
         {
             this.addSlot(new Slot(playerInventory, x, 8 + x * 18, 160));
         }
+
+        this.addSlotListener(this.ingredientCounter);
     }
 
     @Override
@@ -174,4 +178,14 @@ public class WorkstationContainer extends Container
     {
         return workstationTileEntity;
     }
+
+    /**
+     * Gets the counter of the items in the inventory of the player using this container. The
+     * counter is updated when the changes to the slots are broadcast, which only happens on the
+     * server. The client has to call {@link #broadcastChanges()} itself to keep it up to date.
+     */
+    public IngredientCounter getIngredientCounter()
+    {
+        return this.ingredientCounter;
+    }
 }
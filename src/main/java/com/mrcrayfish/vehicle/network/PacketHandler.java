@@ -55,6 +55,7 @@ public class PacketHandler
         registerPlayMessage(MessageSyncCosmetics.class, new MessageSyncCosmetics());
         registerPlayMessage(MessageInteractCosmetic.class, new MessageInteractCosmetic());
         registerPlayMessage(MessageSyncActionData.class, new MessageSyncActionData());
+        registerPlayMessage(MessageVehicleSnapshot.class, new MessageVehicleSnapshot());
     }
 
     private static <T> void registerPlayMessage(Class<T> clazz, IMessage<T> message)
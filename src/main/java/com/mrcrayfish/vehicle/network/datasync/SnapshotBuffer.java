@@ -0,0 +1,158 @@
+package com.mrcrayfish.vehicle.network.datasync;
+
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import net.minecraft.util.math.MathHelper;
+
+import java.util.List;
+
+/**
+ * Buffers the snapshots of a vehicle received on the client and plays them back with a small
+ * delay. The delay follows the rate the server is currently sending snapshots at, so the vehicle
+ * is always interpolated between two received snapshots instead of jumping to the latest one. If
+ * playback falls too far behind, for example after a lag spike, it snaps forward to catch up.
+ *
+ * Author: MrCrayfish
+ */
+public class SnapshotBuffer
+{
+    private static final int CAPACITY = 8;
+    private static final int MAX_LAG = 4;
+
+    private final VehicleSnapshot[] snapshots = new VehicleSnapshot[CAPACITY];
+    private final int[] times = new int[CAPACITY];
+    private VehicleSnapshot baseline;
+    private int head;
+    private int size;
+    private int delay;
+    private int playbackTime;
+
+    /**
+     * Receives a snapshot delta from the server
+     *
+     * @param vehicle the vehicle the snapshot is for
+     * @param delta   the received delta
+     * @param ticks   the amount of ticks since the last snapshot sent for the vehicle
+     */
+    public void receive(VehicleEntity vehicle, VehicleSnapshot.Delta delta, int ticks)
+    {
+        if(this.baseline == null && !delta.isKeyframe())
+            return;
+
+        this.baseline = delta.apply(this.baseline);
+
+        /* The local player is simulating the vehicle, so only values the server has authority over
+         * are applied and the transform is left alone */
+        if(vehicle.isControlledByLocalInstance())
+        {
+            this.clear();
+            List<VehicleDataValue<?>> values = vehicle.getReplicatedValues();
+            for(int i = 0; i < values.size() && i < this.baseline.getValueCount(); i++)
+            {
+                VehicleDataValue<?> value = values.get(i);
+                if(value.isSentToController())
+                {
+                    value.applyReplicated(vehicle, this.baseline.getValue(i), this.baseline.getValue(i), 1.0F);
+                }
+            }
+            return;
+        }
+
+        int time = this.size > 0 ? this.times[this.head] + Math.max(1, ticks) : 0;
+        this.head = (this.head + 1) % CAPACITY;
+        this.snapshots[this.head] = this.baseline;
+        this.times[this.head] = time;
+        this.size = Math.min(this.size + 1, CAPACITY);
+        this.delay = Math.max(1, ticks) + 1;
+        if(this.size == 1)
+        {
+            this.playbackTime = time;
+            this.apply(vehicle, this.baseline, this.baseline, 1.0F);
+        }
+    }
+
+    /**
+     * Advances playback by a tick and updates the vehicle to the interpolated snapshot
+     *
+     * @return true if the vehicle was updated from the buffer
+     */
+    public boolean tick(VehicleEntity vehicle)
+    {
+        if(this.size == 0)
+            return false;
+
+        int newest = this.times[this.head];
+        int target = newest - this.delay;
+        this.playbackTime++;
+        if(this.playbackTime < target - MAX_LAG)
+        {
+            this.playbackTime = target;
+        }
+        if(this.playbackTime > newest)
+        {
+            this.playbackTime = newest;
+        }
+
+        int oldest = (this.head - this.size + 1 + CAPACITY) % CAPACITY;
+        int from = oldest;
+        int to = oldest;
+        for(int i = 0; i < this.size; i++)
+        {
+            int index = (oldest + i) % CAPACITY;
+            to = index;
+            if(this.times[index] > this.playbackTime)
+                break;
+            from = index;
+        }
+
+        int span = this.times[to] - this.times[from];
+        float partialTicks = span > 0 ? MathHelper.clamp((this.playbackTime - this.times[from]) / (float) span, 0F, 1F) : 1.0F;
+        this.apply(vehicle, this.snapshots[from], this.snapshots[to], partialTicks);
+        return true;
+    }
+
+    private void apply(VehicleEntity vehicle, VehicleSnapshot from, VehicleSnapshot to, float partialTicks)
+    {
+        double x = MathHelper.lerp(partialTicks, from.getX(), to.getX());
+        double y = MathHelper.lerp(partialTicks, from.getY(), to.getY());
+        double z = MathHelper.lerp(partialTicks, from.getZ(), to.getZ());
+        vehicle.setPos(x, y, z);
+        vehicle.yRot = from.getYaw() + MathHelper.wrapDegrees(to.getYaw() - from.getYaw()) * partialTicks;
+        vehicle.xRot = MathHelper.lerp(partialTicks, from.getPitch(), to.getPitch());
+        vehicle.setOnGround(partialTicks < 1.0F ? from.isOnGround() : to.isOnGround());
+
+        List<VehicleDataValue<?>> values = vehicle.getReplicatedValues();
+        int count = Math.min(values.size(), Math.min(from.getValueCount(), to.getValueCount()));
+        for(int i = 0; i < count; i++)
+        {
+            values.get(i).applyReplicated(vehicle, from.getValue(i), to.getValue(i), partialTicks);
+        }
+    }
+
+    /**
+     * @return true if snapshots are currently driving the vehicle
+     */
+    public boolean isActive()
+    {
+        return this.size > 0;
+    }
+
+    /**
+     * @return true if playback has reached the latest received snapshot
+     */
+    public boolean isSettled()
+    {
+        return this.size == 0 || this.playbackTime >= this.times[this.head];
+    }
+
+    /**
+     * Clears the buffered snapshots. The baseline is kept since it is shared with the server.
+     */
+    public void clear()
+    {
+        this.size = 0;
+        for(int i = 0; i < CAPACITY; i++)
+        {
+            this.snapshots[i] = null;
+        }
+    }
+}
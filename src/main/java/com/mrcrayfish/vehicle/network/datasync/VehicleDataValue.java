@@ -4,6 +4,9 @@ import com.mrcrayfish.vehicle.entity.VehicleEntity;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.datasync.DataParameter;
+import net.minecraft.util.math.MathHelper;
+
+import javax.annotation.Nullable;
 
 /**
  * A wrapper class for data parameters that are registered on vehicles. The returned value depends
@@ -15,28 +18,99 @@ import net.minecraft.network.datasync.DataParameter;
  * on a high latency server. This also helps in the aid of reducing code, since remote client players
  * should continue to use the data parameter value, not the local value.
  *
+ * Values that change often can instead be replicated through {@link VehicleSnapshot}. The server
+ * then only keeps the value locally, and it is sent to clients quantized as part of the snapshots
+ * of the vehicle rather than dirtying the data parameter.
+ *
  * Author: MrCrayfish
  */
 public class VehicleDataValue<T>
 {
     private final DataParameter<T> key;
+    private final Quantizer<T> quantizer;
+    private final boolean sendToController;
     private T localValue;
 
     public VehicleDataValue(VehicleEntity vehicle, DataParameter<T> key)
+    {
+        this(vehicle, key, null, false);
+    }
+
+    private VehicleDataValue(VehicleEntity vehicle, DataParameter<T> key, @Nullable Quantizer<T> quantizer, boolean sendToController)
     {
         this.key = key;
+        this.quantizer = quantizer;
+        this.sendToController = sendToController;
         this.localValue = vehicle.getEntityData().get(key);
         vehicle.registerDataValue(this);
     }
 
+    /**
+     * Creates a float value that is replicated through snapshots
+     *
+     * @param vehicle          the vehicle the value belongs to
+     * @param key              the data parameter holding the value on clients
+     * @param precision        the smallest change in the value that is sent to clients
+     * @param sendToController if the value should also be sent to the player controlling the vehicle
+     */
+    public static VehicleDataValue<Float> replicatedFloat(VehicleEntity vehicle, DataParameter<Float> key, float precision, boolean sendToController)
+    {
+        return new VehicleDataValue<>(vehicle, key, new Quantizer<Float>()
+        {
+            @Override
+            public int quantize(Float value)
+            {
+                return Math.round(value / precision);
+            }
+
+            @Override
+            public Float interpolate(int from, int to, float partialTicks)
+            {
+                return MathHelper.lerp(partialTicks, from * precision, to * precision);
+            }
+        }, sendToController);
+    }
+
+    /**
+     * Creates a boolean value that is replicated through snapshots
+     *
+     * @param vehicle          the vehicle the value belongs to
+     * @param key              the data parameter holding the value on clients
+     * @param sendToController if the value should also be sent to the player controlling the vehicle
+     */
+    public static VehicleDataValue<Boolean> replicatedBoolean(VehicleEntity vehicle, DataParameter<Boolean> key, boolean sendToController)
+    {
+        return new VehicleDataValue<>(vehicle, key, new Quantizer<Boolean>()
+        {
+            @Override
+            public int quantize(Boolean value)
+            {
+                return value ? 1 : 0;
+            }
+
+            @Override
+            public Boolean interpolate(int from, int to, float partialTicks)
+            {
+                return (partialTicks < 1.0F ? from : to) != 0;
+            }
+        }, sendToController);
+    }
+
     public void set(VehicleEntity vehicle, T value)
     {
-        vehicle.getEntityData().set(this.key, value);
         this.localValue = value;
+        if(this.quantizer == null || vehicle.level.isClientSide())
+        {
+            vehicle.getEntityData().set(this.key, value);
+        }
     }
 
     public T get(VehicleEntity vehicle)
     {
+        if(this.quantizer != null && !vehicle.level.isClientSide())
+        {
+            return this.localValue;
+        }
         return this.isLocalPlayerDriving(vehicle) ? this.localValue : vehicle.getEntityData().get(this.key);
     }
 
@@ -60,4 +134,46 @@ public class VehicleDataValue<T>
     {
         this.localValue = vehicle.getEntityData().get(this.key);
     }
+
+    /**
+     * @return true if this value is replicated through snapshots instead of the data parameter
+     */
+    public boolean isReplicated()
+    {
+        return this.quantizer != null;
+    }
+
+    /**
+     * @return true if this value is replicated to the player controlling the vehicle
+     */
+    public boolean isSentToController()
+    {
+        return this.sendToController;
+    }
+
+    /**
+     * Gets the current value quantized for a snapshot. Only valid for replicated values.
+     */
+    public int getQuantized(VehicleEntity vehicle)
+    {
+        return this.quantizer.quantize(this.get(vehicle));
+    }
+
+    /**
+     * Applies a value received through snapshots on the client. The value is interpolated between
+     * the two given quantized values.
+     */
+    public void applyReplicated(VehicleEntity vehicle, int from, int to, float partialTicks)
+    {
+        T value = this.quantizer.interpolate(from, to, partialTicks);
+        vehicle.getEntityData().set(this.key, value);
+        this.localValue = value;
+    }
+
+    private interface Quantizer<T>
+    {
+        int quantize(T value);
+
+        T interpolate(int from, int to, float partialTicks);
+    }
 }
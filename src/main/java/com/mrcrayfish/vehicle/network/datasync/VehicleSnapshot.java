@@ -0,0 +1,376 @@
+package com.mrcrayfish.vehicle.network.datasync;
+
+import com.mrcrayfish.vehicle.entity.VehicleEntity;
+import net.minecraft.network.PacketBuffer;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact, quantized snapshot of the state of a vehicle that is replicated to clients. This
+ * includes the position and rotation of the vehicle and the quantized values of the data values
+ * registered as replicated (see {@link VehicleDataValue#isReplicated()}).
+ *
+ * Snapshots are never sent directly. Instead a {@link Delta} is created against the last snapshot
+ * sent to a player, only containing what has changed. Both the server and the client reconstruct
+ * the next snapshot by applying the delta to their baseline, which guarantees that both sides
+ * stay identical and quantization errors can't accumulate.
+ *
+ * Author: MrCrayfish
+ */
+public class VehicleSnapshot
+{
+    private static final VehicleSnapshot EMPTY = new VehicleSnapshot(0, 0, 0, (short) 0, (short) 0, false, new int[0]);
+    private static final double POSITION_SCALE = 4096.0;
+    private static final float ROTATION_SCALE = 65536F / 360F;
+
+    private final double x;
+    private final double y;
+    private final double z;
+    private final short yaw;
+    private final short pitch;
+    private final boolean onGround;
+    private final int[] values;
+
+    private VehicleSnapshot(double x, double y, double z, short yaw, short pitch, boolean onGround, int[] values)
+    {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.onGround = onGround;
+        this.values = values;
+    }
+
+    /**
+     * Captures the current state of the given vehicle
+     */
+    public static VehicleSnapshot capture(VehicleEntity vehicle)
+    {
+        List<VehicleDataValue<?>> replicatedValues = vehicle.getReplicatedValues();
+        int[] values = new int[replicatedValues.size()];
+        for(int i = 0; i < values.length; i++)
+        {
+            values[i] = replicatedValues.get(i).getQuantized(vehicle);
+        }
+        short yaw = (short) Math.round(vehicle.yRot * ROTATION_SCALE);
+        short pitch = (short) Math.round(vehicle.xRot * ROTATION_SCALE);
+        return new VehicleSnapshot(vehicle.getX(), vehicle.getY(), vehicle.getZ(), yaw, pitch, vehicle.isOnGround(), values);
+    }
+
+    public double getX()
+    {
+        return this.x;
+    }
+
+    public double getY()
+    {
+        return this.y;
+    }
+
+    public double getZ()
+    {
+        return this.z;
+    }
+
+    public float getYaw()
+    {
+        return this.yaw / ROTATION_SCALE;
+    }
+
+    public float getPitch()
+    {
+        return this.pitch / ROTATION_SCALE;
+    }
+
+    public boolean isOnGround()
+    {
+        return this.onGround;
+    }
+
+    public int getValueCount()
+    {
+        return this.values.length;
+    }
+
+    public int getValue(int index)
+    {
+        return this.values[index];
+    }
+
+    /**
+     * Creates a delta from the given baseline to this snapshot. If there is no baseline, a
+     * keyframe containing the full snapshot is created instead.
+     *
+     * @param baseline         the last snapshot known by the receiver, or null to create a keyframe
+     * @param valueMask        a bit mask of the replicated values that can be included
+     * @param includeTransform if the position and rotation can be included
+     */
+    public Delta delta(@Nullable VehicleSnapshot baseline, int valueMask, boolean includeTransform)
+    {
+        Delta delta = new Delta();
+        if(baseline == null)
+        {
+            delta.flags = Delta.KEYFRAME | Delta.POSITION_FULL | Delta.YAW | Delta.PITCH | (this.onGround ? Delta.ON_GROUND : 0);
+            delta.x = this.x;
+            delta.y = this.y;
+            delta.z = this.z;
+            delta.yaw = this.yaw;
+            delta.pitch = this.pitch;
+            delta.valueMask = (1 << this.values.length) - 1;
+            delta.values = Arrays.copyOf(this.values, this.values.length);
+            if(delta.valueMask != 0)
+            {
+                delta.flags |= Delta.VALUES;
+            }
+            return delta;
+        }
+
+        if(includeTransform)
+        {
+            long dx = Math.round((this.x - baseline.x) * POSITION_SCALE);
+            long dy = Math.round((this.y - baseline.y) * POSITION_SCALE);
+            long dz = Math.round((this.z - baseline.z) * POSITION_SCALE);
+            if(isShort(dx) && isShort(dy) && isShort(dz))
+            {
+                if(dx != 0 || dy != 0 || dz != 0)
+                {
+                    delta.flags |= Delta.POSITION;
+                    delta.dx = (short) dx;
+                    delta.dy = (short) dy;
+                    delta.dz = (short) dz;
+                }
+            }
+            else
+            {
+                delta.flags |= Delta.POSITION_FULL;
+                delta.x = this.x;
+                delta.y = this.y;
+                delta.z = this.z;
+            }
+            if(this.yaw != baseline.yaw)
+            {
+                delta.flags |= Delta.YAW;
+                delta.yaw = this.yaw;
+            }
+            if(this.pitch != baseline.pitch)
+            {
+                delta.flags |= Delta.PITCH;
+                delta.pitch = this.pitch;
+            }
+            if(this.onGround)
+            {
+                delta.flags |= Delta.ON_GROUND;
+            }
+            delta.groundChanged = this.onGround != baseline.onGround;
+        }
+        else if(baseline.onGround)
+        {
+            delta.flags |= Delta.ON_GROUND;
+        }
+
+        int changedCount = 0;
+        int[] changed = new int[this.values.length];
+        for(int i = 0; i < this.values.length; i++)
+        {
+            int base = i < baseline.values.length ? baseline.values[i] : 0;
+            if((valueMask & (1 << i)) != 0 && this.values[i] != base)
+            {
+                delta.valueMask |= 1 << i;
+                changed[changedCount++] = this.values[i] - base;
+            }
+        }
+        if(changedCount > 0)
+        {
+            delta.flags |= Delta.VALUES;
+            delta.values = Arrays.copyOf(changed, changedCount);
+        }
+        return delta;
+    }
+
+    private static boolean isShort(long value)
+    {
+        return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+    }
+
+    /**
+     * The changes between two snapshots. Deltas are written to the network and applied on top of
+     * the baseline of the receiver to get the next snapshot.
+     */
+    public static class Delta
+    {
+        private static final int KEYFRAME = 1;
+        private static final int POSITION = 1 << 1;
+        private static final int POSITION_FULL = 1 << 2;
+        private static final int YAW = 1 << 3;
+        private static final int PITCH = 1 << 4;
+        private static final int ON_GROUND = 1 << 5;
+        private static final int VALUES = 1 << 6;
+
+        private int flags;
+        private short dx, dy, dz;
+        private double x, y, z;
+        private short yaw;
+        private short pitch;
+        private int valueMask;
+        private int[] values = new int[0];
+        private boolean groundChanged;
+
+        private Delta() {}
+
+        public boolean isKeyframe()
+        {
+            return (this.flags & KEYFRAME) != 0;
+        }
+
+        /**
+         * @return true if this delta doesn't change anything and doesn't need to be sent
+         */
+        public boolean isEmpty()
+        {
+            return (this.flags & ~ON_GROUND) == 0 && !this.groundChanged;
+        }
+
+        /**
+         * Applies this delta on top of the given baseline
+         *
+         * @param baseline the last snapshot known by the receiver
+         * @return the new snapshot
+         */
+        public VehicleSnapshot apply(@Nullable VehicleSnapshot baseline)
+        {
+            VehicleSnapshot base = baseline == null || this.isKeyframe() ? EMPTY : baseline;
+            double x = base.x;
+            double y = base.y;
+            double z = base.z;
+            if((this.flags & POSITION) != 0)
+            {
+                x += this.dx / POSITION_SCALE;
+                y += this.dy / POSITION_SCALE;
+                z += this.dz / POSITION_SCALE;
+            }
+            else if((this.flags & POSITION_FULL) != 0)
+            {
+                x = this.x;
+                y = this.y;
+                z = this.z;
+            }
+            short yaw = (this.flags & YAW) != 0 ? this.yaw : base.yaw;
+            short pitch = (this.flags & PITCH) != 0 ? this.pitch : base.pitch;
+            boolean onGround = (this.flags & ON_GROUND) != 0;
+
+            int length = Math.max(base.values.length, 32 - Integer.numberOfLeadingZeros(this.valueMask));
+            int[] values = Arrays.copyOf(base.values, length);
+            for(int i = 0, j = 0; i < length && j < this.values.length; i++)
+            {
+                if((this.valueMask & (1 << i)) != 0)
+                {
+                    values[i] += this.values[j++];
+                }
+            }
+            return new VehicleSnapshot(x, y, z, yaw, pitch, onGround, values);
+        }
+
+        /**
+         * @return the size in bytes of this delta when written to a buffer
+         */
+        public int getSize()
+        {
+            int size = 1;
+            if((this.flags & POSITION) != 0) size += 6;
+            if((this.flags & POSITION_FULL) != 0) size += 24;
+            if((this.flags & YAW) != 0) size += 2;
+            if((this.flags & PITCH) != 0) size += 2;
+            if((this.flags & VALUES) != 0)
+            {
+                size += PacketBuffer.getVarIntSize(this.valueMask);
+                for(int value : this.values)
+                {
+                    size += PacketBuffer.getVarIntSize(zigzag(value));
+                }
+            }
+            return size;
+        }
+
+        public void write(PacketBuffer buffer)
+        {
+            buffer.writeByte(this.flags);
+            if((this.flags & POSITION) != 0)
+            {
+                buffer.writeShort(this.dx);
+                buffer.writeShort(this.dy);
+                buffer.writeShort(this.dz);
+            }
+            if((this.flags & POSITION_FULL) != 0)
+            {
+                buffer.writeDouble(this.x);
+                buffer.writeDouble(this.y);
+                buffer.writeDouble(this.z);
+            }
+            if((this.flags & YAW) != 0)
+            {
+                buffer.writeShort(this.yaw);
+            }
+            if((this.flags & PITCH) != 0)
+            {
+                buffer.writeShort(this.pitch);
+            }
+            if((this.flags & VALUES) != 0)
+            {
+                buffer.writeVarInt(this.valueMask);
+                for(int value : this.values)
+                {
+                    buffer.writeVarInt(zigzag(value));
+                }
+            }
+        }
+
+        public static Delta read(PacketBuffer buffer)
+        {
+            Delta delta = new Delta();
+            delta.flags = buffer.readUnsignedByte();
+            if((delta.flags & POSITION) != 0)
+            {
+                delta.dx = buffer.readShort();
+                delta.dy = buffer.readShort();
+                delta.dz = buffer.readShort();
+            }
+            if((delta.flags & POSITION_FULL) != 0)
+            {
+                delta.x = buffer.readDouble();
+                delta.y = buffer.readDouble();
+                delta.z = buffer.readDouble();
+            }
+            if((delta.flags & YAW) != 0)
+            {
+                delta.yaw = buffer.readShort();
+            }
+            if((delta.flags & PITCH) != 0)
+            {
+                delta.pitch = buffer.readShort();
+            }
+            if((delta.flags & VALUES) != 0)
+            {
+                delta.valueMask = buffer.readVarInt();
+                delta.values = new int[Integer.bitCount(delta.valueMask)];
+                for(int i = 0; i < delta.values.length; i++)
+                {
+                    delta.values[i] = unzigzag(buffer.readVarInt());
+                }
+            }
+            return delta;
+        }
+
+        private static int zigzag(int value)
+        {
+            return (value << 1) ^ (value >> 31);
+        }
+
+        private static int unzigzag(int value)
+        {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mrcrayfish.vehicle.network.message;
+
+import com.mrcrayfish.vehicle.network.datasync.VehicleSnapshot;
+import com.mrcrayfish.vehicle.network.play.ClientPlayHandler;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.network.NetworkDirection;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sends the snapshot deltas of all the vehicles due for an update to a player in a single message
+ *
+ * Author: MrCrayfish
+ */
+public class MessageVehicleSnapshot implements IMessage<MessageVehicleSnapshot>
+{
+    private List<Entry> entries;
+
+    public MessageVehicleSnapshot() {}
+
+    public MessageVehicleSnapshot(List<Entry> entries)
+    {
+        this.entries = entries;
+    }
+
+    @Override
+    public void encode(MessageVehicleSnapshot message, PacketBuffer buffer)
+    {
+        buffer.writeVarInt(message.entries.size());
+        for(Entry entry : message.entries)
+        {
+            buffer.writeVarInt(entry.entityId);
+            buffer.writeByte(entry.ticks);
+            entry.delta.write(buffer);
+        }
+    }
+
+    @Override
+    public MessageVehicleSnapshot decode(PacketBuffer buffer)
+    {
+        int size = buffer.readVarInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for(int i = 0; i < size; i++)
+        {
+            int entityId = buffer.readVarInt();
+            int ticks = buffer.readUnsignedByte();
+            VehicleSnapshot.Delta delta = VehicleSnapshot.Delta.read(buffer);
+            entries.add(new Entry(entityId, ticks, delta));
+        }
+        return new MessageVehicleSnapshot(entries);
+    }
+
+    @Override
+    public void handle(MessageVehicleSnapshot message, Supplier<NetworkEvent.Context> supplier)
+    {
+        if(supplier.get().getDirection() == NetworkDirection.PLAY_TO_CLIENT)
+        {
+            IMessage.enqueueTask(supplier, () -> ClientPlayHandler.handleVehicleSnapshot(message));
+        }
+    }
+
+    public List<Entry> getEntries()
+    {
+        return this.entries;
+    }
+
+    public static class Entry
+    {
+        private final int entityId;
+        private final int ticks;
+        private final VehicleSnapshot.Delta delta;
+
+        public Entry(int entityId, int ticks, VehicleSnapshot.Delta delta)
+        {
+            this.entityId = entityId;
+            this.ticks = ticks;
+            this.delta = delta;
+        }
+
+        public int getEntityId()
+        {
+            return this.entityId;
+        }
+
+        public int getTicks()
+        {
+            return this.ticks;
+        }
+
+        public VehicleSnapshot.Delta getDelta()
+        {
+            return this.delta;
+        }
+
+        /**
+         * @return the size in bytes of this entry when written to a buffer
+         */
+        public int getSize()
+        {
+            return PacketBuffer.getVarIntSize(this.entityId) + 1 + this.delta.getSize();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.mrcrayfish.vehicle.network.message.MessageSyncCosmetics;
 import com.mrcrayfish.vehicle.network.message.MessageSyncHeldVehicle;
 import com.mrcrayfish.vehicle.network.message.MessageSyncPlayerSeat;
 import com.mrcrayfish.vehicle.network.message.MessageSyncStorage;
+import com.mrcrayfish.vehicle.network.message.MessageVehicleSnapshot;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
@@ -143,4 +144,20 @@ public class ClientPlayHandler
             });
         });
     }
+
+    public static void handleVehicleSnapshot(MessageVehicleSnapshot message)
+    {
+        World world = Minecraft.getInstance().level;
+        if(world == null)
+            return;
+
+        for(MessageVehicleSnapshot.Entry entry : message.getEntries())
+        {
+            Entity entity = world.getEntity(entry.getEntityId());
+            if(entity instanceof VehicleEntity)
+            {
+                ((VehicleEntity) entity).receiveSnapshot(entry.getDelta(), entry.getTicks());
+            }
+        }
+    }
 }
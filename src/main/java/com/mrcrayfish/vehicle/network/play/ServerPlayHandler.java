@@ -1,12 +1,14 @@
 package com.mrcrayfish.vehicle.network.play;
 
 import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.block.VehicleCrateBlock;
 import com.mrcrayfish.vehicle.common.CommonEvents;
 import com.mrcrayfish.vehicle.common.CosmeticTracker;
+import com.mrcrayfish.vehicle.common.FuelingSessionHandler;
 import com.mrcrayfish.vehicle.common.Seat;
 import com.mrcrayfish.vehicle.common.SeatTracker;
+import com.mrcrayfish.vehicle.common.TrailerHitchHandler;
 import com.mrcrayfish.vehicle.common.VehicleRegistry;
 import com.mrcrayfish.vehicle.common.entity.HeldVehicleDataHandler;
 import com.mrcrayfish.vehicle.common.inventory.IAttachableChest;
@@ -111,7 +113,7 @@ public class ServerPlayHandler
             return;
 
         ResourceLocation entityId = new ResourceLocation(message.getVehicleId());
-        if(Config.SERVER.disabledVehicles.get().contains(entityId.toString()))
+        if(ConfigSnapshot.server().isVehicleDisabled(entityId))
             return;
 
         EntityType<?> entityType = ForgeRegistries.ENTITIES.getValue(entityId);
@@ -122,7 +124,12 @@ public class ServerPlayHandler
             return;
 
         WorkstationRecipe recipe = WorkstationRecipes.getRecipe(entityType, world);
-        if(recipe == null || !recipe.hasMaterials(player))
+        if(recipe == null)
+            return;
+
+        /* Brings the ingredient counter up to date with any changes made since the last tick */
+        workstation.broadcastChanges();
+        if(!workstation.getIngredientCounter().hasMaterials(recipe))
             return;
 
         Entity entity = entityType.create(world);
@@ -246,6 +253,12 @@ public class ServerPlayHandler
         Entity targetEntity = player.level.getEntity(message.getEntityId());
         if(targetEntity instanceof PoweredVehicleEntity)
         {
+            // Fueling from a gas pump is scheduled by the session, otherwise transfer from the held item
+            if(FuelingSessionHandler.instance().isFueling(player))
+            {
+                FuelingSessionHandler.instance().requestTransfer(player, (PoweredVehicleEntity) targetEntity);
+                return;
+            }
             ((PoweredVehicleEntity) targetEntity).fuelVehicle(player, message.getHand());
         }
     }
@@ -297,10 +310,13 @@ public class ServerPlayHandler
             vehicleVec = vehicleVec.add(towBarVec.yRot((float) Math.toRadians(-vehicle.yRot)));
 
             AxisAlignedBB towBarBox = new AxisAlignedBB(vehicleVec.x, vehicleVec.y, vehicleVec.z, vehicleVec.x, vehicleVec.y, vehicleVec.z).inflate(0.25);
-            List<TrailerEntity> trailers = player.level.getEntitiesOfClass(TrailerEntity.class, vehicle.getBoundingBox().inflate(5), input -> input.getPullingEntity() == null);
-            for(TrailerEntity trailer : trailers)
+
+            /* The hitch of a trailer is never further than a couple of blocks from its centre, so
+             * only trailers with a bounding box near the tow bar can possibly be hitched */
+            AxisAlignedBB searchBox = towBarBox.inflate(TrailerHitchHandler.HITCH_SEARCH_RADIUS);
+            for(TrailerEntity trailer : player.level.getEntitiesOfClass(TrailerEntity.class, searchBox))
             {
-                if(trailer.getPullingEntity() != null)
+                if(trailer.getPullingEntity() != null || trailer == vehicle)
                     continue;
 
                 Vector3d trailerVec = trailer.position();
@@ -1,8 +1,9 @@
 package com.mrcrayfish.vehicle.tileentity;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.block.FluidMixerBlock;
 import com.mrcrayfish.vehicle.crafting.FluidExtractorRecipe;
+import com.mrcrayfish.vehicle.crafting.RecipeGeneration;
 import com.mrcrayfish.vehicle.crafting.RecipeType;
 import com.mrcrayfish.vehicle.init.ModTileEntities;
 import com.mrcrayfish.vehicle.inventory.container.FluidExtractorContainer;
@@ -17,6 +18,7 @@ import net.minecraft.inventory.ItemStackHelper;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.inventory.container.INamedContainerProvider;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.util.Direction;
@@ -59,6 +61,13 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
     private int extractionProgress;
     private int capacity;
     private boolean extracting;
+    private boolean dormant;
+
+    /* The state the last recipe lookup failed with. The lookup is only retried once the source
+     * item or the recipes have changed. */
+    private RecipeManager failedRecipes;
+    private int failedGeneration;
+    private ItemStack failedSource = ItemStack.EMPTY;
 
     private String customName;
 
@@ -116,21 +125,21 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
 
     public FluidExtractorTileEntity()
     {
-        super(ModTileEntities.FLUID_EXTRACTOR.get(), Config.SERVER.extractorCapacity.get(), stack -> true);
-        this.capacity = Config.SERVER.extractorCapacity.get();
+        super(ModTileEntities.FLUID_EXTRACTOR.get(), ConfigSnapshot.server().extractorCapacity, stack -> true);
+        this.capacity = ConfigSnapshot.server().extractorCapacity;
     }
 
     @Override
     public void tick()
     {
-        if(this.level != null && !this.level.isClientSide())
+        if(this.level != null && !this.level.isClientSide() && !this.dormant)
         {
             ItemStack source = this.getItem(SLOT_FLUID_SOURCE);
             ItemStack fuel = this.getItem(SLOT_FUEL_SOURCE);
 
             if(this.currentRecipe == null && !source.isEmpty())
             {
-                this.currentRecipe = this.getRecipe().orElse(null);
+                this.currentRecipe = this.findRecipe().orElse(null);
             }
             else if(source.isEmpty())
             {
@@ -144,7 +153,7 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
             {
                 this.setExtracting(true);
 
-                if(this.extractionProgress++ == Config.SERVER.extractorExtractTime.get())
+                if(this.extractionProgress++ == ConfigSnapshot.server().extractorExtractTime)
                 {
                     this.tank.fill(this.currentRecipe.getResult().createStack(), IFluidHandler.FluidAction.EXECUTE);
                     this.extractionProgress = 0;
@@ -169,9 +178,30 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
                     this.setExtracting(false);
                 }
             }
+
+            // Nothing can happen until a source item or fuel is inserted. The tank only holds the output.
+            if(this.remainingFuel == 0 && source.isEmpty() && fuel.isEmpty())
+            {
+                this.dormant = true;
+            }
         }
     }
 
+    @Override
+    public void setChanged()
+    {
+        super.setChanged();
+        this.wake();
+    }
+
+    /**
+     * Resumes ticking of this fluid extractor after its inventory has changed
+     */
+    private void wake()
+    {
+        this.dormant = false;
+    }
+
     private void updateFuel(ItemStack source, ItemStack fuel)
     {
         if(!fuel.isEmpty() && this.remainingFuel == 0 && this.canFillWithFluid(source))
@@ -195,7 +225,7 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
         {
             if(this.currentRecipe == null)
             {
-                this.currentRecipe = this.getRecipe().orElse(null);
+                this.currentRecipe = this.findRecipe().orElse(null);
             }
         }
         else
@@ -260,6 +290,7 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
     @Override
     public ItemStack removeItemNoUpdate(int index)
     {
+        this.wake();
         return ItemStackHelper.takeItem(this.inventory, index);
     }
 
@@ -416,6 +447,28 @@ public class FluidExtractorTileEntity extends TileFluidHandlerSynced implements
         return this.level.getRecipeManager().getRecipeFor(RecipeType.FLUID_EXTRACTOR, this, this.level);
     }
 
+    /**
+     * Finds the recipe for the current source item, unless the lookup already failed for the same
+     * item. Reloading datapacks creates a new recipe manager on the server and replaces the recipes
+     * of the existing manager on the client, which both retry it.
+     */
+    private Optional<FluidExtractorRecipe> findRecipe()
+    {
+        RecipeManager recipes = this.level.getRecipeManager();
+        int generation = RecipeGeneration.get();
+        ItemStack source = this.getItem(SLOT_FLUID_SOURCE);
+        if(this.failedRecipes == recipes && this.failedGeneration == generation && InventoryUtil.areItemStacksEqualIgnoreCount(source, this.failedSource))
+        {
+            return Optional.empty();
+        }
+
+        Optional<FluidExtractorRecipe> recipe = this.getRecipe();
+        this.failedRecipes = recipe.isPresent() ? null : recipes;
+        this.failedGeneration = generation;
+        this.failedSource = recipe.isPresent() ? ItemStack.EMPTY : source.copy();
+        return recipe;
+    }
+
     public boolean isValidIngredient(ItemStack ingredient)
     {
         List<FluidExtractorRecipe> recipes = this.level.getRecipeManager().getRecipes().stream().filter(recipe -> recipe.getType() == RecipeType.FLUID_EXTRACTOR).map(recipe -> (FluidExtractorRecipe) recipe).collect(Collectors.toList());
@@ -1,10 +1,11 @@
 package com.mrcrayfish.vehicle.tileentity;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.block.FluidMixerBlock;
 import com.mrcrayfish.vehicle.block.RotatedObjectBlock;
 import com.mrcrayfish.vehicle.crafting.FluidEntry;
 import com.mrcrayfish.vehicle.crafting.FluidMixerRecipe;
+import com.mrcrayfish.vehicle.crafting.RecipeGeneration;
 import com.mrcrayfish.vehicle.crafting.RecipeType;
 import com.mrcrayfish.vehicle.init.ModFluids;
 import com.mrcrayfish.vehicle.init.ModTileEntities;
@@ -20,6 +21,7 @@ import net.minecraft.inventory.ItemStackHelper;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.inventory.container.INamedContainerProvider;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.util.Direction;
@@ -44,6 +46,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -53,9 +56,9 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
 {
     private NonNullList<ItemStack> inventory = NonNullList.withSize(7, ItemStack.EMPTY);
 
-    private FluidTank tankBlaze = new FluidTank(Config.SERVER.mixerInputCapacity.get(), this::isValidFluid);
-    private FluidTank tankEnderSap = new FluidTank(Config.SERVER.mixerInputCapacity.get(), this::isValidFluid);
-    private FluidTank tankFuelium = new FluidTank(Config.SERVER.mixerOutputCapacity.get(), stack -> stack.getFluid() == ModFluids.FUELIUM.get());
+    private FluidTank tankBlaze = this.createTank(ConfigSnapshot.server().mixerInputCapacity, this::isValidFluid);
+    private FluidTank tankEnderSap = this.createTank(ConfigSnapshot.server().mixerInputCapacity, this::isValidFluid);
+    private FluidTank tankFuelium = this.createTank(ConfigSnapshot.server().mixerOutputCapacity, stack -> stack.getFluid() == ModFluids.FUELIUM.get());
 
     private static final int SLOT_FUEL = 0;
     public static final int SLOT_INGREDIENT = 1;
@@ -65,6 +68,15 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
     private int fuelMaxProgress;
     private int extractionProgress;
     private boolean mixing = false;
+    private boolean dormant;
+
+    /* The state the last recipe lookup failed with. The lookup is only retried once the
+     * ingredient, the input fluids or the recipes have changed. */
+    private RecipeManager failedRecipes;
+    private int failedGeneration;
+    private ItemStack failedIngredient = ItemStack.EMPTY;
+    private Fluid failedBlaze;
+    private Fluid failedEnderSap;
 
     private String customName;
 
@@ -150,6 +162,18 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
         super(ModTileEntities.FLUID_MIXER.get());
     }
 
+    private FluidTank createTank(int capacity, Predicate<FluidStack> validator)
+    {
+        return new FluidTank(capacity, validator)
+        {
+            @Override
+            protected void onContentsChanged()
+            {
+                FluidMixerTileEntity.this.wake();
+            }
+        };
+    }
+
     @Override
     public int getContainerSize()
     {
@@ -189,6 +213,7 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
     @Override
     public ItemStack removeItemNoUpdate(int index)
     {
+        this.wake();
         return ItemStackHelper.takeItem(this.inventory, index);
     }
 
@@ -229,17 +254,32 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
         this.inventory.clear();
     }
 
+    @Override
+    public void setChanged()
+    {
+        super.setChanged();
+        this.wake();
+    }
+
+    /**
+     * Resumes ticking of this fluid mixer after its inventory or tanks have changed
+     */
+    private void wake()
+    {
+        this.dormant = false;
+    }
+
     @Override
     public void tick()
     {
-        if(this.level != null && !this.level.isClientSide())
+        if(this.level != null && !this.level.isClientSide() && !this.dormant)
         {
             ItemStack ingredient = this.getItem(SLOT_INGREDIENT);
             ItemStack fuel = this.getItem(SLOT_FUEL);
 
             if(this.currentRecipe == null && !ingredient.isEmpty())
             {
-                this.currentRecipe = this.getRecipe().orElse(null);
+                this.currentRecipe = this.findRecipe().orElse(null);
             }
             else if(!this.canMix(this.currentRecipe))
             {
@@ -255,7 +295,7 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
                 {
                     this.setMixing(true);
 
-                    if(this.extractionProgress++ == Config.SERVER.mixerMixTime.get())
+                    if(this.extractionProgress++ == ConfigSnapshot.server().mixerMixTime)
                     {
                         FluidMixerRecipe recipe = this.currentRecipe;
                         this.tankFuelium.fill(recipe.getResult().createStack(), IFluidHandler.FluidAction.EXECUTE);
@@ -289,6 +329,12 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
                     this.setMixing(false);
                 }
             }
+
+            // Nothing can happen until an ingredient, fuel or fluid is inserted
+            if(this.remainingFuel == 0 && ingredient.isEmpty() && fuel.isEmpty() && this.tankBlaze.isEmpty() && this.tankEnderSap.isEmpty())
+            {
+                this.dormant = true;
+            }
         }
     }
 
@@ -310,7 +356,7 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
         {
             if(this.currentRecipe == null)
             {
-                this.currentRecipe = this.getRecipe().orElse(null);
+                this.currentRecipe = this.findRecipe().orElse(null);
             }
         }
         else
@@ -532,6 +578,32 @@ public class FluidMixerTileEntity extends TileEntitySynced implements IInventory
         return this.level.getRecipeManager().getRecipeFor(RecipeType.FLUID_MIXER, this, this.level);
     }
 
+    /**
+     * Finds the recipe for the current ingredient and fluids, unless the lookup already failed for
+     * the same state. Reloading datapacks creates a new recipe manager on the server and replaces
+     * the recipes of the existing manager on the client, which both retry it.
+     */
+    private Optional<FluidMixerRecipe> findRecipe()
+    {
+        RecipeManager recipes = this.level.getRecipeManager();
+        int generation = RecipeGeneration.get();
+        ItemStack ingredient = this.getItem(SLOT_INGREDIENT);
+        Fluid blaze = this.tankBlaze.getFluid().getFluid();
+        Fluid enderSap = this.tankEnderSap.getFluid().getFluid();
+        if(this.failedRecipes == recipes && this.failedGeneration == generation && this.failedBlaze == blaze && this.failedEnderSap == enderSap && InventoryUtil.areItemStacksEqualIgnoreCount(ingredient, this.failedIngredient))
+        {
+            return Optional.empty();
+        }
+
+        Optional<FluidMixerRecipe> recipe = this.getRecipe();
+        this.failedRecipes = recipe.isPresent() ? null : recipes;
+        this.failedGeneration = generation;
+        this.failedIngredient = recipe.isPresent() ? ItemStack.EMPTY : ingredient.copy();
+        this.failedBlaze = blaze;
+        this.failedEnderSap = enderSap;
+        return recipe;
+    }
+
     private boolean isValidIngredient(ItemStack ingredient)
     {
         List<FluidMixerRecipe> recipes = this.level.getRecipeManager().getRecipes().stream().filter(recipe -> recipe.getType() == RecipeType.FLUID_MIXER).map(recipe -> (FluidMixerRecipe) recipe).collect(Collectors.toList());
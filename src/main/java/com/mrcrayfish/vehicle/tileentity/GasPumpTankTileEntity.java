@@ -1,6 +1,6 @@
 package com.mrcrayfish.vehicle.tileentity;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.init.ModTileEntities;
 
 /**
@@ -10,6 +10,6 @@ public class GasPumpTankTileEntity extends TileFluidHandlerSynced
 {
     public GasPumpTankTileEntity()
     {
-        super(ModTileEntities.GAS_PUMP_TANK.get(), Config.SERVER.gasPumpCapacity.get());
+        super(ModTileEntities.GAS_PUMP_TANK.get(), ConfigSnapshot.server().gasPumpCapacity);
     }
 }
\ No newline at end of file
@@ -1,19 +1,13 @@
 package com.mrcrayfish.vehicle.tileentity;
 
-import com.mrcrayfish.obfuscate.common.data.SyncedPlayerData;
-import com.mrcrayfish.vehicle.Config;
 import com.mrcrayfish.vehicle.client.util.HermiteInterpolator;
-import com.mrcrayfish.vehicle.init.ModDataKeys;
+import com.mrcrayfish.vehicle.common.FuelingSessionHandler;
 import com.mrcrayfish.vehicle.init.ModTileEntities;
-import com.mrcrayfish.vehicle.util.TileEntityUtil;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.tileentity.TileEntity;
-import net.minecraft.util.SoundCategory;
-import net.minecraft.util.SoundEvents;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
@@ -21,14 +15,13 @@ import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fluids.capability.templates.FluidTank;
 
 import javax.annotation.Nullable;
-import java.util.Optional;
 
 /**
  * Author: MrCrayfish
  */
-public class GasPumpTileEntity extends TileEntitySynced implements ITickableTileEntity
+public class GasPumpTileEntity extends TileEntitySynced
 {
-    private int fuelingEntityId;
+    private int fuelingEntityId = -1;
     private PlayerEntity fuelingEntity;
 
     private HermiteInterpolator cachedSpline;
@@ -70,67 +63,36 @@ public class GasPumpTileEntity extends TileEntitySynced implements ITickableTile
         return null;
     }
 
+    /**
+     * Gets the player currently attached to the hose of this gas pump. On the server this is
+     * managed by {@link FuelingSessionHandler}, while on the client it is resolved from the synced
+     * entity id when needed.
+     */
+    @Nullable
     public PlayerEntity getFuelingEntity()
     {
-        return this.fuelingEntity;
-    }
-
-    public void setFuelingEntity(@Nullable PlayerEntity entity)
-    {
-        if(!this.level.isClientSide)
+        if(this.level != null && this.level.isClientSide() && this.fuelingEntityId != -1)
         {
-            if(this.fuelingEntity != null)
-            {
-                SyncedPlayerData.instance().set(this.fuelingEntity, ModDataKeys.GAS_PUMP, Optional.empty());
-            }
-            this.fuelingEntity = null;
-            this.fuelingEntityId = -1;
-            if(entity != null)
+            if(this.fuelingEntity == null || this.fuelingEntity.getId() != this.fuelingEntityId || this.fuelingEntity.removed)
             {
-                this.fuelingEntityId = entity.getId();
-                SyncedPlayerData.instance().set(entity, ModDataKeys.GAS_PUMP, Optional.of(this.getBlockPos()));
+                Entity entity = this.level.getEntity(this.fuelingEntityId);
+                this.fuelingEntity = entity instanceof PlayerEntity ? (PlayerEntity) entity : null;
             }
-            this.syncToClient();
         }
+        return this.fuelingEntity;
     }
 
-    @Override
-    public void tick()
+    /**
+     * Sets the player attached to the hose of this gas pump and syncs it to clients. This should
+     * only be called by {@link FuelingSessionHandler}.
+     */
+    public void setFuelingEntity(@Nullable PlayerEntity entity)
     {
-        if(this.fuelingEntityId != -1)
-        {
-            if(this.fuelingEntity == null)
-            {
-                Entity entity = this.level.getEntity(this.fuelingEntityId);
-                if(entity instanceof PlayerEntity)
-                {
-                    this.fuelingEntity = (PlayerEntity) entity;
-                }
-                else if(!this.level.isClientSide)
-                {
-                    this.fuelingEntityId = -1;
-                    this.syncFuelingEntity();
-                }
-            }
-        }
-        else if(this.level.isClientSide && this.fuelingEntity != null)
-        {
-            this.fuelingEntity = null;
-        }
-
-        if(!this.level.isClientSide && this.fuelingEntity != null)
+        if(!this.level.isClientSide())
         {
-            if(Math.sqrt(this.fuelingEntity.distanceToSqr(this.worldPosition.getX() + 0.5, this.worldPosition.getY() + 0.5, this.worldPosition.getZ() + 0.5)) > Config.SERVER.maxHoseDistance.get() || !this.fuelingEntity.isAlive())
-            {
-                if(this.fuelingEntity.isAlive())
-                {
-                    this.level.playSound(null, this.fuelingEntity.blockPosition(), SoundEvents.ITEM_BREAK, SoundCategory.PLAYERS, 1.0F, 1.0F);
-                }
-                SyncedPlayerData.instance().set(this.fuelingEntity, ModDataKeys.GAS_PUMP, Optional.empty());
-                this.fuelingEntityId = -1;
-                this.fuelingEntity = null;
-                this.syncFuelingEntity();
-            }
+            this.fuelingEntity = entity;
+            this.fuelingEntityId = entity != null ? entity.getId() : -1;
+            this.syncToClient();
         }
     }
 
@@ -138,24 +100,23 @@ public class GasPumpTileEntity extends TileEntitySynced implements ITickableTile
     public void load(BlockState state, CompoundNBT compound)
     {
         super.load(state, compound);
-        if(compound.contains("FuelingEntity", Constants.NBT.TAG_INT))
+
+        /* Entity ids are only valid for the current session, so the fueling entity is only read
+         * from update packets on the client. The server ignores any value in older save data. */
+        if(this.level != null && this.level.isClientSide() && compound.contains("FuelingEntity", Constants.NBT.TAG_INT))
         {
             this.fuelingEntityId = compound.getInt("FuelingEntity");
+            this.fuelingEntity = null;
         }
     }
 
     @Override
-    public CompoundNBT save(CompoundNBT compound)
-    {
-        compound.putInt("FuelingEntity", this.fuelingEntityId);
-        return super.save(compound);
-    }
-
-    private void syncFuelingEntity()
+    public CompoundNBT getUpdateTag()
     {
-        CompoundNBT compound = new CompoundNBT();
+        // Entity ids aren't persistent, so the fueling entity is only sent to clients
+        CompoundNBT compound = super.getUpdateTag();
         compound.putInt("FuelingEntity", this.fuelingEntityId);
-        TileEntityUtil.sendUpdatePacket(this, super.save(compound));
+        return compound;
     }
 
     @Override
@@ -2,11 +2,13 @@ package com.mrcrayfish.vehicle.tileentity;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import com.mrcrayfish.vehicle.Reference;
 import com.mrcrayfish.vehicle.block.FluidPipeBlock;
 import com.mrcrayfish.vehicle.block.FluidPumpBlock;
 import com.mrcrayfish.vehicle.common.FluidNetworkHandler;
+import com.mrcrayfish.vehicle.common.PipeNetworkManager;
+import com.mrcrayfish.vehicle.common.data.PipeNetworkData;
 import com.mrcrayfish.vehicle.init.ModTileEntities;
 import com.mrcrayfish.vehicle.util.FluidUtils;
 import com.mrcrayfish.vehicle.util.TileEntityUtil;
@@ -38,6 +40,9 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
     private Map<BlockPos, PipeNode> fluidNetwork = new HashMap<>();
     private List<Pair<BlockPos, Direction>> fluidHandlers = new ArrayList<>();
     private PowerMode powerMode = PowerMode.ALWAYS_ACTIVE;
+    private int networkVersion;
+    private boolean restoreNetwork = true;
+    private boolean rebuildingNetwork;
 
     public PumpTileEntity()
     {
@@ -52,7 +57,7 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
             if(!this.validatedNetwork)
             {
                 this.validatedNetwork = true;
-                this.generatePipeNetwork();
+                this.updatePipeNetwork();
             }
 
             this.pumpFluid();
@@ -72,6 +77,143 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
     public void invalidatePipeNetwork()
     {
         this.validatedNetwork = false;
+        this.restoreNetwork = false;
+        this.networkVersion++;
+    }
+
+    /**
+     * @return a number that changes every time the network of this pump is invalidated
+     */
+    public int getNetworkVersion()
+    {
+        return this.networkVersion;
+    }
+
+    /**
+     * Restores the network saved with the world when the pump is first loaded, otherwise requests
+     * the network to be rebuilt in the background. The pump stays linked to the pipes of its old
+     * network until the new one is applied, so changes to those pipes in the meantime still
+     * invalidate it.
+     */
+    private void updatePipeNetwork()
+    {
+        Preconditions.checkNotNull(this.level);
+
+        PipeNetworkManager manager = PipeNetworkManager.instance();
+        if(this.restoreNetwork)
+        {
+            this.restoreNetwork = false;
+            PipeNetworkData.Network network = manager.getNetwork(this.level, this.worldPosition);
+            if(network != null)
+            {
+                this.restorePipeNetwork(network);
+                return;
+            }
+        }
+
+        manager.removeNetwork(this.level, this.worldPosition);
+        if(!this.powerMode.test(this))
+        {
+            this.clearPipeNetwork();
+            return;
+        }
+
+        this.rebuildingNetwork = true;
+        manager.requestRebuild(this);
+    }
+
+    private void restorePipeNetwork(PipeNetworkData.Network network)
+    {
+        this.clearPipeNetwork();
+        for(int i = 0; i < network.getPipeCount(); i++)
+        {
+            BlockPos pos = network.getPipe(i);
+            PipeNode node = new PipeNode();
+            this.fluidNetwork.put(pos, node);
+            this.linkPipe(pos, node, false);
+        }
+        for(int i = 0; i < network.getHandlerCount(); i++)
+        {
+            this.fluidHandlers.add(network.getHandler(i));
+        }
+    }
+
+    /**
+     * Applies a network built by the {@link PipeNetworkManager}. If the network of the pump has been
+     * invalidated since the rebuild was requested, the result is out of date and is ignored.
+     *
+     * @return true if the network was applied
+     */
+    public boolean applyPipeNetwork(PipeNetworkManager.Result result)
+    {
+        Preconditions.checkNotNull(this.level);
+
+        if(result.getVersion() != this.networkVersion)
+            return false;
+
+        this.rebuildingNetwork = false;
+        if(result.isIncomplete())
+        {
+            this.generatePipeNetwork();
+        }
+        else
+        {
+            this.clearPipeNetwork();
+            for(int i = 0; i < result.getPipeCount(); i++)
+            {
+                BlockPos pos = result.getPipe(i);
+                PipeNode node = new PipeNode();
+                this.fluidNetwork.put(pos, node);
+                this.linkPipe(pos, node, true);
+            }
+
+            // Handlers in unloaded chunks are kept, they are checked again when fluid is pumped
+            for(int i = 0; i < result.getHandlerCount(); i++)
+            {
+                BlockPos pos = result.getHandlerPos(i);
+                Direction side = result.getHandlerSide(i);
+                if(this.level.isLoaded(pos))
+                {
+                    TileEntity tileEntity = this.level.getBlockEntity(pos);
+                    if(tileEntity == null || !tileEntity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, side).isPresent())
+                        continue;
+                }
+                this.fluidHandlers.add(Pair.of(pos, side));
+            }
+
+            this.addAdjacentFluidHandlers();
+        }
+
+        PipeNetworkManager.instance().saveNetwork(this.level, this.worldPosition, PipeNetworkData.Network.create(this.fluidNetwork.keySet(), this.fluidHandlers));
+        return true;
+    }
+
+    private void linkPipe(BlockPos pos, PipeNode node, boolean update)
+    {
+        if(this.level == null || !this.level.isLoaded(pos))
+            return;
+
+        TileEntity tileEntity = this.level.getBlockEntity(pos);
+        if(tileEntity instanceof PipeTileEntity)
+        {
+            PipeTileEntity pipeTileEntity = (PipeTileEntity) tileEntity;
+            pipeTileEntity.addPump(this.worldPosition);
+            node.tileEntity = new WeakReference<>(pipeTileEntity);
+            if(update)
+            {
+                FluidNetworkHandler.instance().addPipeForUpdate(pipeTileEntity);
+            }
+        }
+    }
+
+    private void clearPipeNetwork()
+    {
+        // Removes the pump from the old network pipes
+        this.removePumpFromPipes();
+
+        this.lastHandlerIndex = 0;
+        this.fluidHandlers.clear();
+        this.fluidNetwork.clear();
     }
 
     private void pumpFluid()
@@ -79,6 +221,10 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
         if(this.fluidHandlers.isEmpty() || this.level == null)
             return;
 
+        // Waits for the new network instead of pumping into pipes that may have changed
+        if(this.rebuildingNetwork)
+            return;
+
         if(!this.powerMode.test(this))
             return;
 
@@ -92,7 +238,7 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
 
         IFluidHandler sourceHandler = source.get();
         int outputCount = handlers.size();
-        int remainingAmount = Math.min(sourceHandler.getFluidInTank(0).getAmount(), Config.SERVER.pumpTransferAmount.get());
+        int remainingAmount = Math.min(sourceHandler.getFluidInTank(0).getAmount(), ConfigSnapshot.server().pumpTransferAmount);
         int splitAmount = remainingAmount / outputCount;
         if(splitAmount > 0)
         {
@@ -133,17 +279,15 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
         }
     }
 
-    // This can probably be optimised...
+    /**
+     * Searches the world for the network of this pump. Only used when the network couldn't be built
+     * from the pipe index, as this can load chunks and blocks the server until it's done.
+     */
     private void generatePipeNetwork()
     {
         Preconditions.checkNotNull(this.level);
 
-        // Removes the pump from the old network pipes
-        this.removePumpFromPipes();
-
-        this.lastHandlerIndex = 0;
-        this.fluidHandlers.clear();
-        this.fluidNetwork.clear();
+        this.clearPipeNetwork();
 
         if(!this.powerMode.test(this))
             return;
@@ -226,7 +370,13 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
             }
         });
 
-        // Gets fluid handler directly next to the pump
+        this.addAdjacentFluidHandlers();
+    }
+
+    // Gets fluid handler directly next to the pump
+    private void addAdjacentFluidHandlers()
+    {
+        Preconditions.checkNotNull(this.level);
         BlockState state = this.getBlockState();
         for(Direction direction : Direction.values())
         {
@@ -246,7 +396,12 @@ public class PumpTileEntity extends PipeTileEntity implements ITickableTileEntit
     {
         this.fluidNetwork.forEach((pos, node) ->
         {
-            PipeTileEntity tileEntity = node.tileEntity.get();
+            PipeTileEntity tileEntity = node.tileEntity != null ? node.tileEntity.get() : null;
+            if(tileEntity == null && this.level != null && this.level.isLoaded(pos))
+            {
+                /* Pipes that were loaded after the network was restored are linked by the pipe network manager */
+                tileEntity = FluidPipeBlock.getPipeTileEntity(this.level, pos);
+            }
             if(tileEntity != null)
             {
                 tileEntity.removePump(this.worldPosition);
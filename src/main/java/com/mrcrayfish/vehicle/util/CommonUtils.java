@@ -1,6 +1,6 @@
 package com.mrcrayfish.vehicle.util;
 
-import com.mrcrayfish.vehicle.Config;
+import com.mrcrayfish.vehicle.ConfigSnapshot;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.item.ItemStack;
@@ -92,6 +92,6 @@ public class CommonUtils
 
     public static Vector3d clampSpeed(Vector3d motion)
     {
-        return motion.normalize().scale(MathHelper.clamp(motion.length(), 0F, Config.SERVER.globalSpeedLimit.get()));
+        return motion.normalize().scale(MathHelper.clamp(motion.length(), 0F, ConfigSnapshot.server().globalSpeedLimit));
     }
 }
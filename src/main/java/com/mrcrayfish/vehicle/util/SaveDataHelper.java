@@ -0,0 +1,124 @@
+package com.mrcrayfish.vehicle.util;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.math.vector.Vector3d;
+import net.minecraftforge.common.util.Constants;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Reads and writes the values in the save data of vehicles. Values equal to their default are not
+ * written, and reading a missing value gives back the default, so the saved data stays small
+ * without changing what is loaded. Data saved before versioning was introduced contains every
+ * value and reads back the same way.
+ *
+ * Author: MrCrayfish
+ */
+public class SaveDataHelper
+{
+    public static final String VERSION = "SaveVersion";
+
+    /**
+     * Gets the version of the given save data. Data saved before versioning was introduced is
+     * version 0 and contains every value, even if it was equal to the default.
+     */
+    public static int getVersion(CompoundNBT compound)
+    {
+        return compound.getInt(VERSION);
+    }
+
+    public static void putVersion(CompoundNBT compound, int version)
+    {
+        compound.putInt(VERSION, version);
+    }
+
+    public static void putFloat(CompoundNBT compound, String key, float value, float defaultValue)
+    {
+        if(Float.compare(value, defaultValue) != 0)
+        {
+            compound.putFloat(key, value);
+        }
+    }
+
+    public static float getFloat(CompoundNBT compound, String key, float defaultValue)
+    {
+        return compound.contains(key, Constants.NBT.TAG_FLOAT) ? compound.getFloat(key) : defaultValue;
+    }
+
+    public static void putBoolean(CompoundNBT compound, String key, boolean value, boolean defaultValue)
+    {
+        if(value != defaultValue)
+        {
+            compound.putBoolean(key, value);
+        }
+    }
+
+    public static boolean getBoolean(CompoundNBT compound, String key, boolean defaultValue)
+    {
+        return compound.contains(key, Constants.NBT.TAG_BYTE) ? compound.getBoolean(key) : defaultValue;
+    }
+
+    /**
+     * Writes a color as its red, green and blue components
+     */
+    public static void putColor(CompoundNBT compound, String key, int color, int defaultColor)
+    {
+        if(color != defaultColor)
+        {
+            compound.putIntArray(key, new int[]{(color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF});
+        }
+    }
+
+    public static int getColor(CompoundNBT compound, String key, int defaultColor)
+    {
+        if(compound.contains(key, Constants.NBT.TAG_INT_ARRAY))
+        {
+            int[] c = compound.getIntArray(key);
+            if(c.length == 3)
+            {
+                return ((c[0] & 0xFF) << 16) | ((c[1] & 0xFF) << 8) | ((c[2] & 0xFF));
+            }
+        }
+        return defaultColor;
+    }
+
+    public static void putUUID(CompoundNBT compound, String key, @Nullable UUID uuid)
+    {
+        if(uuid != null)
+        {
+            compound.putUUID(key, uuid);
+        }
+    }
+
+    @Nullable
+    public static UUID getUUID(CompoundNBT compound, String key)
+    {
+        return compound.hasUUID(key) ? compound.getUUID(key) : null;
+    }
+
+    /**
+     * Writes a vector, unless it's zero
+     */
+    public static void putVector(CompoundNBT compound, String key, Vector3d vec)
+    {
+        if(!vec.equals(Vector3d.ZERO))
+        {
+            CompoundNBT tag = new CompoundNBT();
+            tag.putDouble("X", vec.x);
+            tag.putDouble("Y", vec.y);
+            tag.putDouble("Z", vec.z);
+            compound.put(key, tag);
+        }
+    }
+
+    public static Vector3d getVector(CompoundNBT compound, String key)
+    {
+        if(compound.contains(key, Constants.NBT.TAG_COMPOUND))
+        {
+            CompoundNBT tag = compound.getCompound(key);
+            return new Vector3d(tag.getDouble("X"), tag.getDouble("Y"), tag.getDouble("Z"));
+        }
+        return Vector3d.ZERO;
+    }
+}
@@ -60,7 +60,7 @@ public class VehicleUtil
 
     private static <T extends Entity> EntityType<T> buildVehicleType(ResourceLocation id, BiFunction<EntityType<T>, World, T> function, float width, float height)
     {
-        return EntityType.Builder.of(function::apply, EntityClassification.MISC).sized(width, height).setTrackingRange(256).setUpdateInterval(1).fireImmune().setShouldReceiveVelocityUpdates(true).build(id.toString());
+        return EntityType.Builder.of(function::apply, EntityClassification.MISC).sized(width, height).setTrackingRange(256).setUpdateInterval(20).fireImmune().setShouldReceiveVelocityUpdates(true).build(id.toString());
     }
 
     @OnlyIn(Dist.CLIENT)
@@ -0,0 +1,122 @@
+package com.mrcrayfish.vehicle.common.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the time per tick of the sweep and prune broadphase against checking all pairs of
+ * vehicles. Vehicles are scattered over an area with roughly the density of a busy car park and
+ * drift a little every tick. Run the main method directly; it isn't part of the test suite.
+ *
+ * Author: MrCrayfish
+ */
+public class SweepAndPruneBenchmark
+{
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 1000;
+
+    public static void main(String[] args)
+    {
+        System.out.println("vehicles, all pairs (us/tick), sweep and prune (us/tick), pairs");
+        for(int count : new int[]{50, 100, 250, 500, 1000, 2000})
+        {
+            double allPairs = measureAllPairs(count);
+            double sweepAndPrune = measureSweepAndPrune(count);
+            System.out.printf("%d, %.1f, %.1f, %d%n", count, allPairs, sweepAndPrune, pairs);
+        }
+    }
+
+    private static int pairs;
+
+    private static double measureAllPairs(int count)
+    {
+        Random random = new Random(count);
+        List<Vehicle> vehicles = scatter(random, count);
+        double[] box = new double[6];
+        double[] otherBox = new double[6];
+        long start = 0;
+        for(int tick = 0; tick < WARMUP_TICKS + MEASURED_TICKS; tick++)
+        {
+            if(tick == WARMUP_TICKS)
+            {
+                start = System.nanoTime();
+            }
+            int found = 0;
+            for(int i = 0; i < vehicles.size(); i++)
+            {
+                vehicles.get(i).getBounds(box);
+                for(int j = i + 1; j < vehicles.size(); j++)
+                {
+                    vehicles.get(j).getBounds(otherBox);
+                    if(box[0] <= otherBox[3] && box[3] >= otherBox[0] && box[1] <= otherBox[4] && box[4] >= otherBox[1] && box[2] <= otherBox[5] && box[5] >= otherBox[2])
+                    {
+                        found++;
+                    }
+                }
+            }
+            pairs = found;
+            vehicles.forEach(vehicle -> vehicle.move(random));
+        }
+        return (System.nanoTime() - start) / 1000.0 / MEASURED_TICKS;
+    }
+
+    private static double measureSweepAndPrune(int count)
+    {
+        Random random = new Random(count);
+        List<Vehicle> vehicles = scatter(random, count);
+        SweepAndPrune<Vehicle> broadphase = new SweepAndPrune<>(Vehicle::getBounds);
+        vehicles.forEach(broadphase::add);
+        long start = 0;
+        for(int tick = 0; tick < WARMUP_TICKS + MEASURED_TICKS; tick++)
+        {
+            if(tick == WARMUP_TICKS)
+            {
+                start = System.nanoTime();
+            }
+            broadphase.update();
+            vehicles.forEach(vehicle -> vehicle.move(random));
+        }
+        return (System.nanoTime() - start) / 1000.0 / MEASURED_TICKS;
+    }
+
+    /* About one vehicle per 40 square blocks, no matter the count */
+    private static List<Vehicle> scatter(Random random, int count)
+    {
+        double range = Math.sqrt(count * 40.0);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for(int i = 0; i < count; i++)
+        {
+            vehicles.add(new Vehicle(random.nextDouble() * range, random.nextDouble() * range));
+        }
+        return vehicles;
+    }
+
+    private static class Vehicle
+    {
+        private double x, z;
+
+        private Vehicle(double x, double z)
+        {
+            this.x = x;
+            this.z = z;
+        }
+
+        private void move(Random random)
+        {
+            this.x += (random.nextDouble() - 0.5) * 0.5;
+            this.z += (random.nextDouble() - 0.5) * 0.5;
+        }
+
+        /* A car sized footprint expanded by the broadphase margin */
+        private void getBounds(double[] box)
+        {
+            box[0] = this.x - 2.5;
+            box[1] = 0;
+            box[2] = this.z - 2.5;
+            box[3] = this.x + 2.5;
+            box[4] = 1.5;
+            box[5] = this.z + 2.5;
+        }
+    }
+}
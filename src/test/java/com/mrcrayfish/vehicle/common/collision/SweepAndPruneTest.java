@@ -0,0 +1,137 @@
+package com.mrcrayfish.vehicle.common.collision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: MrCrayfish
+ */
+public class SweepAndPruneTest
+{
+    @Test
+    public void testMatchesAllPairs()
+    {
+        Random random = new Random(42);
+        List<Box> boxes = Box.scatter(random, 500, 128.0);
+        SweepAndPrune<Box> broadphase = new SweepAndPrune<>(Box::getBounds);
+        boxes.forEach(broadphase::add);
+
+        for(int tick = 0; tick < 20; tick++)
+        {
+            broadphase.update();
+            for(Box box : boxes)
+            {
+                assertEquals(Box.findContacts(box, boxes), new HashSet<>(broadphase.getContacts(box)), "Contacts differ on tick " + tick);
+            }
+            boxes.forEach(box -> box.move(random));
+        }
+    }
+
+    @Test
+    public void testRemovedObjectsAreIgnored()
+    {
+        Box first = new Box(0, 0, 0, 2);
+        Box second = new Box(1, 0, 1, 2);
+        Box third = new Box(1.5, 0, 0, 2);
+        SweepAndPrune<Box> broadphase = new SweepAndPrune<>(Box::getBounds);
+        broadphase.add(first);
+        broadphase.add(second);
+        broadphase.add(third);
+        broadphase.update();
+        assertEquals(2, broadphase.getContacts(first).size());
+
+        broadphase.remove(second);
+        broadphase.update();
+        assertEquals(2, broadphase.size());
+        assertEquals(1, broadphase.getContacts(first).size());
+        assertTrue(broadphase.getContacts(second).isEmpty());
+    }
+
+    @Test
+    public void testSeparatedOnOtherAxes()
+    {
+        Box first = new Box(0, 0, 0, 2);
+        Box above = new Box(0, 5, 0, 2);
+        Box behind = new Box(0, 0, 5, 2);
+        SweepAndPrune<Box> broadphase = new SweepAndPrune<>(Box::getBounds);
+        broadphase.add(first);
+        broadphase.add(above);
+        broadphase.add(behind);
+        broadphase.update();
+        assertTrue(broadphase.getContacts(first).isEmpty());
+    }
+
+    static class Box
+    {
+        private double x, y, z;
+        private final double size;
+
+        Box(double x, double y, double z, double size)
+        {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.size = size;
+        }
+
+        static List<Box> scatter(Random random, int count, double range)
+        {
+            List<Box> boxes = new ArrayList<>();
+            for(int i = 0; i < count; i++)
+            {
+                boxes.add(new Box(random.nextDouble() * range, 0, random.nextDouble() * range, 2.0 + random.nextDouble() * 2.0));
+            }
+            return boxes;
+        }
+
+        void move(Random random)
+        {
+            this.x += (random.nextDouble() - 0.5) * 1.5;
+            this.z += (random.nextDouble() - 0.5) * 1.5;
+        }
+
+        void getBounds(double[] box)
+        {
+            double half = this.size / 2.0;
+            box[0] = this.x - half;
+            box[1] = this.y;
+            box[2] = this.z - half;
+            box[3] = this.x + half;
+            box[4] = this.y + 1.0;
+            box[5] = this.z + half;
+        }
+
+        boolean overlaps(Box other)
+        {
+            double[] a = new double[6];
+            double[] b = new double[6];
+            this.getBounds(a);
+            other.getBounds(b);
+            return a[0] <= b[3] && a[3] >= b[0] && a[1] <= b[4] && a[4] >= b[1] && a[2] <= b[5] && a[5] >= b[2];
+        }
+
+        /**
+         * The all pairs check the broadphase replaces
+         */
+        static Set<Box> findContacts(Box box, List<Box> boxes)
+        {
+            Set<Box> contacts = new HashSet<>();
+            for(Box other : boxes)
+            {
+                if(other != box && box.overlaps(other))
+                {
+                    contacts.add(other);
+                }
+            }
+            return contacts;
+        }
+    }
+}
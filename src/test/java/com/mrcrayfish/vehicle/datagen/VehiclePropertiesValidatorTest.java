@@ -0,0 +1,99 @@
+package com.mrcrayfish.vehicle.datagen;
+
+import com.mrcrayfish.vehicle.common.cosmetic.CosmeticProperties;
+import net.minecraft.util.ResourceLocation;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the cosmetic models in the generated vehicle files against the models in the resources,
+ * so a missing model fails the build rather than only showing up in game.
+ *
+ * Author: MrCrayfish
+ */
+public class VehiclePropertiesValidatorTest
+{
+    private static final Path[] RESOURCES = {Paths.get("src/main/resources"), Paths.get("src/generated/resources")};
+    private static final Path GENERATED_DATA = Paths.get("src/generated/resources/data");
+
+    private final VehiclePropertiesValidator validator = new VehiclePropertiesValidator(VehiclePropertiesValidatorTest::modelExists);
+
+    @Test
+    public void testGeneratedCosmeticModelsExist() throws IOException
+    {
+        List<Path> files = findCosmeticFiles();
+        assertFalse(files.isEmpty(), "No generated cosmetic files found in " + GENERATED_DATA.toAbsolutePath());
+
+        List<String> errors = new ArrayList<>();
+        for(Path file : files)
+        {
+            String namespace = GENERATED_DATA.relativize(file).getName(0).toString();
+            String name = file.getFileName().toString().replace(".json", "");
+            errors.addAll(this.validator.validateModels(new ResourceLocation(namespace, name), loadModels(file)));
+        }
+        assertTrue(errors.isEmpty(), String.join("\n", errors));
+    }
+
+    @Test
+    public void testMissingModelIsReported()
+    {
+        ResourceLocation vehicleId = new ResourceLocation("vehicle", "mini_bus");
+        ResourceLocation cosmeticId = new ResourceLocation("vehicle", "roof");
+        ResourceLocation missing = new ResourceLocation("vehicle", "vehicle/mini_bus/cosmetics/missing_roof");
+        List<String> errors = this.validator.validateModels(vehicleId, Collections.singletonMap(cosmeticId, Collections.singletonList(missing)));
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains(missing.toString()));
+    }
+
+    private static boolean modelExists(ResourceLocation location)
+    {
+        for(Path resources : RESOURCES)
+        {
+            if(Files.exists(resources.resolve(Paths.get("assets", location.getNamespace(), "models", location.getPath() + ".json"))))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Path> findCosmeticFiles() throws IOException
+    {
+        if(!Files.isDirectory(GENERATED_DATA))
+            return Collections.emptyList();
+
+        try(Stream<Path> stream = Files.walk(GENERATED_DATA))
+        {
+            return stream.filter(path -> path.getParent().endsWith(Paths.get("vehicles", "cosmetics")) && path.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static Map<ResourceLocation, List<ResourceLocation>> loadModels(Path file) throws IOException
+    {
+        Map<ResourceLocation, List<Pair<ResourceLocation, List<ResourceLocation>>>> modelMap = new HashMap<>();
+        try(InputStream is = Files.newInputStream(file))
+        {
+            CosmeticProperties.deserializeModels(is, modelMap);
+        }
+        Map<ResourceLocation, List<ResourceLocation>> models = new HashMap<>();
+        modelMap.forEach((cosmeticId, pairs) -> models.put(cosmeticId, pairs.stream().map(Pair::getLeft).collect(Collectors.toList())));
+        return models;
+    }
+}
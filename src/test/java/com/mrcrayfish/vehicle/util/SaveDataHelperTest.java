@@ -0,0 +1,205 @@
+package com.mrcrayfish.vehicle.util;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.util.math.vector.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves the values of a vehicle the same way the vehicle entities do, then loads them back from
+ * the bytes written to disk. Vehicles can't be created outside of a running game, so the values
+ * are held by {@link SavedVehicle}, which calls the helper for each value in the same way.
+ *
+ * Author: MrCrayfish
+ */
+public class SaveDataHelperTest
+{
+    private static final int DEFAULT_COLOR = 16383998;
+    private static final float MAX_HEALTH = 100F;
+    private static final float DEFAULT_STEP_HEIGHT = 1.0F;
+
+    @Test
+    public void testDefaultValuesAreOmitted() throws IOException
+    {
+        SavedVehicle vehicle = new SavedVehicle();
+        CompoundNBT compound = vehicle.save();
+        assertEquals(1, compound.size(), "Only the version should be saved");
+        assertEquals(1, SaveDataHelper.getVersion(compound));
+
+        SavedVehicle loaded = new SavedVehicle();
+        loaded.health = 50F;
+        loaded.load(roundTrip(compound));
+        vehicle.assertMatches(loaded);
+    }
+
+    @Test
+    public void testNonDefaultValuesRoundTrip() throws IOException
+    {
+        SavedVehicle vehicle = new SavedVehicle();
+        vehicle.color = 0x12AB34;
+        vehicle.health = 37.5F;
+        vehicle.trailer = UUID.fromString("5d1c3e2a-8f4b-4a7e-9c61-2b8f0d4e7a13");
+        vehicle.owner = UUID.fromString("0f6a9b2c-3d4e-4f50-8a1b-c2d3e4f5a6b7");
+        vehicle.stepHeight = 0.5F;
+        vehicle.currentFuel = 1234.5F;
+        vehicle.keyNeeded = true;
+        vehicle.velocity = new Vector3d(0.25, -0.125, 3.5);
+
+        CompoundNBT compound = vehicle.save();
+        assertEquals(9, compound.size());
+
+        SavedVehicle loaded = new SavedVehicle();
+        loaded.load(roundTrip(compound));
+        vehicle.assertMatches(loaded);
+    }
+
+    @Test
+    public void testValuesNextToDefaultRoundTrip() throws IOException
+    {
+        SavedVehicle vehicle = new SavedVehicle();
+        vehicle.color = DEFAULT_COLOR - 1;
+        vehicle.health = Math.nextDown(MAX_HEALTH);
+        vehicle.currentFuel = Float.MIN_VALUE;
+        vehicle.velocity = new Vector3d(0, 0, -1.0E-9);
+
+        SavedVehicle loaded = new SavedVehicle();
+        loaded.load(roundTrip(vehicle.save()));
+        vehicle.assertMatches(loaded);
+    }
+
+    /**
+     * Vehicles saved before versioning wrote every value, including some that were never read
+     */
+    @Test
+    public void testLegacyTagLoads() throws IOException
+    {
+        UUID owner = UUID.fromString("0f6a9b2c-3d4e-4f50-8a1b-c2d3e4f5a6b7");
+        CompoundNBT compound = new CompoundNBT();
+        compound.putIntArray("Color", new int[]{255, 0, 128});
+        compound.putFloat("MaxHealth", MAX_HEALTH);
+        compound.putFloat("Health", 64F);
+        compound.putUUID("Owner", owner);
+        compound.putBoolean("HasEngine", true);
+        compound.putFloat("AccelerationSpeed", 0.5F);
+        compound.putFloat("MaxSteeringAngle", 35F);
+        compound.putFloat("StepHeight", DEFAULT_STEP_HEIGHT);
+        compound.putBoolean("RequiresFuel", true);
+        compound.putFloat("CurrentFuel", 0F);
+        compound.putFloat("FuelCapacity", 15000F);
+        compound.putBoolean("KeyNeeded", false);
+        CompoundNBT velocity = new CompoundNBT();
+        velocity.putDouble("X", 0.0);
+        velocity.putDouble("Y", 0.0);
+        velocity.putDouble("Z", 0.0);
+        compound.put("Velocity", velocity);
+
+        SavedVehicle loaded = new SavedVehicle();
+        loaded.load(roundTrip(compound));
+        assertEquals(0, SaveDataHelper.getVersion(compound));
+        assertEquals(0xFF0080, loaded.color);
+        assertEquals(64F, loaded.health);
+        assertEquals(owner, loaded.owner);
+        assertNull(loaded.trailer);
+        assertEquals(DEFAULT_STEP_HEIGHT, loaded.stepHeight);
+        assertEquals(0F, loaded.currentFuel);
+        assertFalse(loaded.keyNeeded);
+        assertEquals(Vector3d.ZERO, loaded.velocity);
+
+        /* Saving it again only keeps the values that aren't defaults */
+        CompoundNBT resaved = loaded.save();
+        assertEquals(4, resaved.size());
+        assertTrue(resaved.contains("Color"));
+        assertTrue(resaved.contains("Health"));
+        assertTrue(resaved.hasUUID("Owner"));
+    }
+
+    @Test
+    public void testMissingHealthDependsOnVersion()
+    {
+        SavedVehicle current = new SavedVehicle();
+        current.health = 10F;
+        current.load(new CompoundNBT());
+        assertEquals(10F, current.health, "Legacy data without health keeps the current health");
+
+        CompoundNBT compound = new CompoundNBT();
+        SaveDataHelper.putVersion(compound, 1);
+        SavedVehicle versioned = new SavedVehicle();
+        versioned.health = 10F;
+        versioned.load(compound);
+        assertEquals(MAX_HEALTH, versioned.health, "Versioned data without health is at max health");
+    }
+
+    private static CompoundNBT roundTrip(CompoundNBT compound) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(compound, new DataOutputStream(bytes));
+        return CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /**
+     * The values saved by a powered land vehicle, written and read like
+     * VehicleEntity, PoweredVehicleEntity and LandVehicleEntity do.
+     */
+    private static class SavedVehicle
+    {
+        private int color = DEFAULT_COLOR;
+        private float health = MAX_HEALTH;
+        private UUID trailer;
+        private UUID owner;
+        private float stepHeight = DEFAULT_STEP_HEIGHT;
+        private float currentFuel;
+        private boolean keyNeeded;
+        private Vector3d velocity = Vector3d.ZERO;
+
+        private CompoundNBT save()
+        {
+            CompoundNBT compound = new CompoundNBT();
+            SaveDataHelper.putVersion(compound, 1);
+            SaveDataHelper.putColor(compound, "Color", this.color, DEFAULT_COLOR);
+            SaveDataHelper.putFloat(compound, "Health", this.health, MAX_HEALTH);
+            SaveDataHelper.putUUID(compound, "Trailer", this.trailer);
+            SaveDataHelper.putUUID(compound, "Owner", this.owner);
+            SaveDataHelper.putFloat(compound, "StepHeight", this.stepHeight, DEFAULT_STEP_HEIGHT);
+            SaveDataHelper.putFloat(compound, "CurrentFuel", this.currentFuel, 0F);
+            SaveDataHelper.putBoolean(compound, "KeyNeeded", this.keyNeeded, false);
+            SaveDataHelper.putVector(compound, "Velocity", this.velocity);
+            return compound;
+        }
+
+        private void load(CompoundNBT compound)
+        {
+            this.color = SaveDataHelper.getColor(compound, "Color", DEFAULT_COLOR);
+            this.health = SaveDataHelper.getFloat(compound, "Health", SaveDataHelper.getVersion(compound) >= 1 ? MAX_HEALTH : this.health);
+            this.trailer = SaveDataHelper.getUUID(compound, "Trailer");
+            this.owner = SaveDataHelper.getUUID(compound, "Owner");
+            this.stepHeight = SaveDataHelper.getFloat(compound, "StepHeight", DEFAULT_STEP_HEIGHT);
+            this.currentFuel = SaveDataHelper.getFloat(compound, "CurrentFuel", 0F);
+            this.keyNeeded = SaveDataHelper.getBoolean(compound, "KeyNeeded", false);
+            this.velocity = SaveDataHelper.getVector(compound, "Velocity");
+        }
+
+        private void assertMatches(SavedVehicle other)
+        {
+            assertEquals(this.color, other.color, "Color");
+            assertEquals(this.health, other.health, "Health");
+            assertEquals(this.trailer, other.trailer, "Trailer");
+            assertEquals(this.owner, other.owner, "Owner");
+            assertEquals(this.stepHeight, other.stepHeight, "StepHeight");
+            assertEquals(this.currentFuel, other.currentFuel, "CurrentFuel");
+            assertEquals(this.keyNeeded, other.keyNeeded, "KeyNeeded");
+            assertEquals(this.velocity, other.velocity, "Velocity");
+        }
+    }
+}